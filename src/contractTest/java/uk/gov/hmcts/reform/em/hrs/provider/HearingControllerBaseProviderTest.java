@@ -23,12 +23,11 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import uk.gov.hmcts.reform.em.hrs.config.WebConfig;
 import uk.gov.hmcts.reform.em.hrs.controller.HearingRecordingController;
-import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.queue.HearingRecordingQueue;
 import uk.gov.hmcts.reform.em.hrs.service.HearingRecordingService;
 import uk.gov.hmcts.reform.em.hrs.service.ScheduledTaskRunner;
 import uk.gov.hmcts.reform.em.hrs.service.ShareAndNotifyService;
 
-import java.util.concurrent.LinkedBlockingQueue;
 
 @PactBroker(
     url = "${PACT_BROKER_FULL_URL:http://localhost:80}",
@@ -54,7 +53,7 @@ public abstract class HearingControllerBaseProviderTest {
     protected ShareAndNotifyService shareAndNotifyService;
 
     @MockitoBean(name = "ingestionQueue")
-    protected LinkedBlockingQueue<HearingRecordingDto> ingestionQueue;
+    protected HearingRecordingQueue ingestionQueue;
 
     @Autowired
     protected HearingControllerBaseProviderTest(MockMvc mockMvc) {
@@ -0,0 +1,96 @@
+package uk.gov.hmcts.reform.em.hrs.auditlog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
+import uk.gov.hmcts.reform.em.hrs.domain.AuditEntry;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingAuditEntry;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegmentAuditEntry;
+import uk.gov.hmcts.reform.em.hrs.repository.AbstractRepositoryIntegrationTest;
+
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditEntryWriterIntegrationTest extends AbstractRepositoryIntegrationTest {
+
+    private static final String SERVICE_NAME = "audit-writer-test";
+
+    @TempDir
+    Path directory;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private AuditEntryWriter underTest;
+
+    @Autowired
+    public AuditEntryWriterIntegrationTest(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @BeforeEach
+    void setUp() {
+        underTest = new AuditEntryWriter(jdbcTemplate, true, 100, 10, 50,
+                                         directory.resolve("spill.jsonl").toString());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        underTest.shutdown();
+        jdbcTemplate.update("DELETE FROM audit_entry WHERE service_name = :serviceName",
+                            new MapSqlParameterSource("serviceName", SERVICE_NAME));
+    }
+
+    @Test
+    void shouldInsertBatchOfEntriesInOneStatement() {
+        for (int i = 0; i < 25; i++) {
+            underTest.write(entry(new HearingRecordingSegmentAuditEntry(new HearingRecordingSegment())));
+        }
+        AuditEntry withoutUser = entry(new HearingRecordingAuditEntry(new HearingRecording()));
+        withoutUser.setUsername(null);
+        withoutUser.setCaseId(null);
+        underTest.write(withoutUser);
+
+        await().untilAsserted(() -> assertThat(countWritten()).isEqualTo(26));
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+            "SELECT type, action, username, case_id FROM audit_entry WHERE id = :id",
+            new MapSqlParameterSource("id", withoutUser.getId())
+        );
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row).containsEntry("type", "hearing_recording")
+                .containsEntry("action", AuditActions.USER_DOWNLOAD_OK.name());
+            assertThat(row.get("username")).isNull();
+            assertThat(row.get("case_id")).isNull();
+        });
+    }
+
+    private Integer countWritten() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM audit_entry WHERE service_name = :serviceName",
+                                           new MapSqlParameterSource("serviceName", SERVICE_NAME), Integer.class);
+    }
+
+    private static AuditEntry entry(AuditEntry entry) {
+        entry.setId(UUID.randomUUID());
+        entry.setAction(AuditActions.USER_DOWNLOAD_OK);
+        entry.setServiceName(SERVICE_NAME);
+        entry.setUsername("user@example.com");
+        entry.setIpAddress("127.0.0.1");
+        entry.setCaseId(1234L);
+        entry.setEventDateTime(new Date());
+        return entry;
+    }
+}
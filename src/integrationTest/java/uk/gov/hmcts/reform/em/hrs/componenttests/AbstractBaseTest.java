@@ -19,7 +19,10 @@ import uk.gov.hmcts.reform.em.hrs.config.WebConfig;
 import uk.gov.hmcts.reform.em.hrs.config.security.JwtGrantedAuthoritiesConverter;
 
 @SpringBootTest(classes = {TestApplicationConfig.class, TestSecurityConfiguration.class, TestAzureStorageConfig.class},
-    properties = { "spring.main.allow-bean-definition-overriding = true" }
+    properties = {
+        "spring.main.allow-bean-definition-overriding = true",
+        "hrs.ingestion-workers.enabled = false"
+    }
 )
 @ExtendWith({MockitoExtension.class})
 public abstract class AbstractBaseTest extends AbstractDataSourceTest {
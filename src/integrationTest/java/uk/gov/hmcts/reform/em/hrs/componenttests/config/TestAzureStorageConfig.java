@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.em.hrs.componenttests.config;
 
+import com.azure.storage.blob.BlobContainerAsyncClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobContainerClientBuilder;
 import jakarta.annotation.PostConstruct;
@@ -77,6 +78,24 @@ public class TestAzureStorageConfig {
 
     }
 
+    @Primary
+    @Bean("hrsCvpBlobContainerAsyncClient")
+    public BlobContainerAsyncClient provideHrsCvpBlobContainerAsyncClient() {
+        return new BlobContainerClientBuilder()
+            .connectionString(connectionString)
+            .containerName(HRS_CVP_CONTAINER)
+            .buildAsyncClient();
+    }
+
+    @Primary
+    @Bean("hrsVhBlobContainerAsyncClient")
+    public BlobContainerAsyncClient provideHrsVhBlobContainerAsyncClient() {
+        return new BlobContainerClientBuilder()
+            .connectionString(connectionString)
+            .containerName(HRS_VH_CONTAINER)
+            .buildAsyncClient();
+    }
+
     @Primary
     @Bean("hrsVhBlobContainerClient")
     public BlobContainerClient provideHrsVhBlobContainerClient() {
@@ -7,7 +7,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import uk.gov.hmcts.reform.em.hrs.componenttests.config.TestAzureStorageConfig;
 import uk.gov.hmcts.reform.em.hrs.helper.AzureIntegrationTestOperations;
+import uk.gov.hmcts.reform.em.hrs.storage.BlobInfoCache;
 import uk.gov.hmcts.reform.em.hrs.storage.BlobstoreClientImpl;
+import uk.gov.hmcts.reform.em.hrs.storage.ParallelRangeDownloader;
+import uk.gov.hmcts.reform.em.hrs.storage.SegmentDiskCache;
 
 import java.time.Period;
 import java.util.Map;
@@ -17,6 +20,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @SpringBootTest(classes = {
     TestAzureStorageConfig.class,
     BlobstoreClientImpl.class,
+    ParallelRangeDownloader.class,
+    BlobInfoCache.class,
+    SegmentDiskCache.class,
     AzureIntegrationTestOperations.class
 })
 @EnableConfigurationProperties(value = TTLMapperConfig.class)
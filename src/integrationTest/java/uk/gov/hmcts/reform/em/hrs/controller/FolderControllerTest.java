@@ -3,11 +3,14 @@ package uk.gov.hmcts.reform.em.hrs.controller;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.web.context.WebApplicationContext;
+import uk.gov.hmcts.reform.em.hrs.dto.FolderListing;
 import uk.gov.hmcts.reform.em.hrs.service.FolderService;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Set;
 
@@ -19,6 +22,7 @@ import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,6 +34,8 @@ public class FolderControllerTest extends BaseWebTest {
 
     private static final String FILENAMES = "$.filenames";
     private static final String FOLDER_NAME = "$.folder-name";
+    private static final String CURSOR = "$.cursor";
+    private static final String VERSION = "abc123";
 
     @Autowired
     public FolderControllerTest(WebApplicationContext context) {
@@ -43,7 +49,8 @@ public class FolderControllerTest extends BaseWebTest {
         var fileName2 = "dcfds9923-ss-FB.mpeg";
         Set<String> folderSet = Set.of(fileName1, fileName2);
 
-        when(folderService.getStoredFiles(folderName)).thenReturn(folderSet);
+        when(folderService.getStoredFiles(folderName, null, Collections.emptySet()))
+            .thenReturn(new FolderListing(VERSION, null, folderSet));
 
         mockMvc.perform(get("/folders/" + folderName)
                             .accept(MediaType.APPLICATION_JSON_VALUE))
@@ -54,14 +61,15 @@ public class FolderControllerTest extends BaseWebTest {
             .andExpect(jsonPath(FILENAMES, hasSize(2)))
             .andExpect(jsonPath(FILENAMES, containsInAnyOrder(fileName1, fileName2)));
 
-        verify(folderService, times(1)).getStoredFiles(folderName);
+        verify(folderService, times(1)).getStoredFiles(folderName, null, Collections.emptySet());
     }
 
     @Test
     void shouldReturnEmptyListOfFiles() throws Exception {
         var folderName = "audioStream9084";
 
-        when(folderService.getStoredFiles(folderName)).thenReturn(Collections.emptySet());
+        when(folderService.getStoredFiles(folderName, null, Collections.emptySet()))
+            .thenReturn(new FolderListing(VERSION, null, Collections.emptySet()));
 
         mockMvc.perform(get("/folders/" + folderName)
                             .accept(MediaType.APPLICATION_JSON_VALUE))
@@ -71,6 +79,48 @@ public class FolderControllerTest extends BaseWebTest {
             .andExpect(jsonPath(FOLDER_NAME).value(folderName))
             .andExpect(jsonPath(FILENAMES, hasSize(0)));
 
-        verify(folderService, times(1)).getStoredFiles(folderName);
+        verify(folderService, times(1)).getStoredFiles(folderName, null, Collections.emptySet());
+    }
+
+    @Test
+    void shouldReturnFilesCreatedSinceCursor() throws Exception {
+        var folderName = "audioStream123";
+        var since = LocalDateTime.of(2026, 10, 1, 12, 0);
+        var cursor = since.plusMinutes(5);
+        var fileName = "32123-32-23-333.mpeg";
+
+        when(folderService.getStoredFiles(folderName, since, Collections.emptySet()))
+            .thenReturn(new FolderListing(VERSION, cursor, Set.of(fileName)));
+
+        mockMvc.perform(get("/folders/" + folderName)
+                            .param("since", since.toString())
+                            .accept(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + VERSION + "\""))
+            .andExpect(jsonPath(CURSOR).value(cursor.toString()))
+            .andExpect(jsonPath(FILENAMES, containsInAnyOrder(fileName)));
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenEtagMatches() throws Exception {
+        var folderName = "audioStream123";
+
+        when(folderService.getStoredFiles(folderName, null, Set.of(VERSION)))
+            .thenReturn(FolderListing.unchanged(VERSION, null));
+
+        mockMvc.perform(get("/folders/" + folderName)
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"" + VERSION + "\"")
+                            .accept(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + VERSION + "\""))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidCursor() throws Exception {
+        mockMvc.perform(get("/folders/audioStream123")
+                            .param("since", "yesterday")
+                            .accept(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(status().isBadRequest());
     }
 }
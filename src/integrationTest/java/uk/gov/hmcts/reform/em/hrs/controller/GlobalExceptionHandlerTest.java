@@ -17,6 +17,7 @@ import uk.gov.hmcts.reform.em.hrs.exception.ValidationErrorException;
 import uk.gov.hmcts.reform.em.hrs.service.FolderService;
 import uk.gov.hmcts.reform.em.hrs.service.ShareAndNotifyService;
 
+import java.util.Collections;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -121,7 +122,8 @@ class GlobalExceptionHandlerTest extends AbstractBaseTest {
     void testShouldReturnInternalServerErrorWithMessageToCatchAllOtherExceptions() throws Exception {
         final String testFolder = "folder-1";
         final String path = "/folders/" + testFolder;
-        doThrow(RuntimeException.class).when(folderService).getStoredFiles(testFolder);
+        doThrow(RuntimeException.class).when(folderService)
+            .getStoredFiles(testFolder, null, Collections.emptySet());
 
         final MvcResult mvcResult = mockMvc.perform(get(path).accept(APPLICATION_JSON_VALUE))
             .andExpect(status().isInternalServerError())
@@ -137,7 +139,8 @@ class GlobalExceptionHandlerTest extends AbstractBaseTest {
         final String path = "/folders/" + testFolder;
         final String expectedMessage = "Invalid API Key provided";
 
-        doThrow(new InvalidApiKeyException(expectedMessage)).when(folderService).getStoredFiles(testFolder);
+        doThrow(new InvalidApiKeyException(expectedMessage)).when(folderService)
+            .getStoredFiles(testFolder, null, Collections.emptySet());
 
         mockMvc.perform(get(path).accept(APPLICATION_JSON_VALUE))
             .andExpect(status().isUnauthorized())
@@ -150,7 +153,8 @@ class GlobalExceptionHandlerTest extends AbstractBaseTest {
         final String path = "/folders/" + testFolder;
         final String expectedMessage = "Service not authorised to make this request";
 
-        doThrow(new UnauthorisedServiceException(expectedMessage)).when(folderService).getStoredFiles(testFolder);
+        doThrow(new UnauthorisedServiceException(expectedMessage)).when(folderService)
+            .getStoredFiles(testFolder, null, Collections.emptySet());
 
         mockMvc.perform(get(path).accept(APPLICATION_JSON_VALUE))
             .andExpect(status().isForbidden())
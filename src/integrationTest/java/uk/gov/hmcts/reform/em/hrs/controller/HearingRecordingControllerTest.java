@@ -19,6 +19,7 @@ import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegmentAuditEntry;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
 import uk.gov.hmcts.reform.em.hrs.exception.SegmentDownloadException;
 import uk.gov.hmcts.reform.em.hrs.exception.UnauthorisedServiceException;
+import uk.gov.hmcts.reform.em.hrs.queue.InMemoryHearingRecordingQueue;
 import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentRepository;
 import uk.gov.hmcts.reform.em.hrs.service.AuditEntryService;
 import uk.gov.hmcts.reform.em.hrs.service.Constants;
@@ -34,7 +35,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -75,7 +75,7 @@ class HearingRecordingControllerTest extends AbstractBaseTest {
 
     @Autowired
     @Qualifier("ingestionQueue")
-    private LinkedBlockingQueue<HearingRecordingDto> ingestionQueue;
+    private InMemoryHearingRecordingQueue ingestionQueue;
 
     @MockitoBean
     private AuditEntryService auditEntryService;
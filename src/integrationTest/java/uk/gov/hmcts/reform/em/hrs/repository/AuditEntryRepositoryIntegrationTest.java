@@ -0,0 +1,99 @@
+package uk.gov.hmcts.reform.em.hrs.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditEntryRepositoryIntegrationTest extends AbstractRepositoryIntegrationTest {
+
+    private final AuditEntryRepository underTest;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AuditEntryRepositoryIntegrationTest(AuditEntryRepository underTest, JdbcTemplate jdbcTemplate) {
+        this.underTest = underTest;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    void shouldHavePartitionForCurrentMonth() {
+        String partition = underTest.createPartition(LocalDate.now());
+
+        assertThat(partitions()).contains(partition);
+    }
+
+    @Test
+    void shouldCreatePartitionOnce() {
+        assertThat(underTest.createPartition(LocalDate.of(2031, 5, 10))).isEqualTo("audit_entry_2031_05");
+        assertThat(underTest.createPartition(LocalDate.of(2031, 5, 1))).isEqualTo("audit_entry_2031_05");
+
+        assertThat(partitions()).containsOnlyOnce("audit_entry_2031_05");
+    }
+
+    @Test
+    void shouldMoveEntriesOutOfDefaultPartitionWhenTheirMonthIsCreated() {
+        jdbcTemplate.update("""
+            INSERT INTO audit_entry (type, id, action, service_name, event_date_time)
+            VALUES ('hearing_recording', gen_random_uuid(), 'USER_DOWNLOAD_OK', 'em_hrs_api', '2033-03-15 10:00:00'),
+                   ('hearing_recording', gen_random_uuid(), 'USER_DOWNLOAD_OK', 'em_hrs_api', '2033-04-01 00:00:00')
+            """);
+        assertThat(partitionsOfEntries()).containsExactly("audit_entry_default", "audit_entry_default");
+
+        String partition = underTest.createPartition(LocalDate.of(2033, 3, 1));
+
+        assertThat(partition).isEqualTo("audit_entry_2033_03");
+        assertThat(partitionsOfEntries()).containsExactly("audit_entry_2033_03", "audit_entry_default");
+    }
+
+    @Test
+    void shouldDropOnlyMonthsEndingBeforeCutoff() {
+        underTest.createPartition(LocalDate.of(2001, 1, 1));
+        underTest.createPartition(LocalDate.of(2001, 2, 1));
+
+        List<String> dropped = underTest.dropPartitionsBefore(LocalDate.of(2001, 2, 15));
+
+        assertThat(dropped).containsExactly("audit_entry_2001_01");
+        assertThat(partitions()).doesNotContain("audit_entry_2001_01").contains("audit_entry_2001_02");
+    }
+
+    @Test
+    void shouldOnlyScanPartitionOfReportedMonth() {
+        underTest.createPartition(LocalDate.of(2031, 5, 1));
+        underTest.createPartition(LocalDate.of(2031, 6, 1));
+
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+            """
+                EXPLAIN SELECT * FROM audit_entry
+                WHERE event_date_time BETWEEN '2031-05-01 00:00:00' AND '2031-05-31 23:59:59'
+                """,
+            String.class
+        ));
+
+        assertThat(plan).contains("audit_entry_2031_05").doesNotContain("audit_entry_2031_06", "audit_entry_default");
+    }
+
+    private List<String> partitionsOfEntries() {
+        return jdbcTemplate.queryForList(
+            """
+                SELECT tableoid::regclass::text FROM audit_entry
+                WHERE event_date_time >= '2033-01-01' ORDER BY event_date_time
+                """,
+            String.class
+        );
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList(
+            """
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'public.audit_entry'::regclass
+                """,
+            String.class
+        );
+    }
+}
@@ -0,0 +1,84 @@
+package uk.gov.hmcts.reform.em.hrs.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import uk.gov.hmcts.reform.em.hrs.model.AuditReportRow;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Sql({"/data/create-sharees.sql"})
+class AuditReportRepositoryIntegrationTest extends AbstractRepositoryIntegrationTest {
+
+    private static final LocalDateTime START_OF_MONTH = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime END_OF_MONTH = LocalDateTime.of(2025, 1, 31, 23, 59, 59);
+
+    private final AuditReportRepository underTest;
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditEntryRepository auditEntryRepository;
+
+    @Autowired
+    public AuditReportRepositoryIntegrationTest(DataSource dataSource, JdbcTemplate jdbcTemplate,
+                                                AuditEntryRepository auditEntryRepository) {
+        this.underTest = new AuditReportRepository(dataSource, 2);
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditEntryRepository = auditEntryRepository;
+    }
+
+    @BeforeEach
+    void setUp() {
+        auditEntryRepository.createPartition(LocalDate.of(2025, 1, 1));
+        auditEntryRepository.createPartition(LocalDate.of(2025, 2, 1));
+        jdbcTemplate.update("""
+            UPDATE hearing_recording
+            SET hearing_source = 'CVP', service_code = 'ABA1', created_on = '2024-12-01 09:00:00'
+            WHERE id = 'C0A80101-0000-4000-8000-000000000001'
+            """);
+        jdbcTemplate.update("""
+            UPDATE hearing_recording_segment
+            SET ingestion_file_source_uri = 'https://cvp/shared-ref-1.mp4', file_size_mb = 2500,
+                created_on = '2024-12-01 10:00:00'
+            WHERE id = 'C0A80101-0000-4000-8000-000000000011'
+            """);
+        jdbcTemplate.update("""
+            INSERT INTO audit_entry (type, id, action, service_name, username, event_date_time,
+                                     hearing_recording_id, hearing_recording_segment_id, hearing_recording_sharee_id)
+            VALUES ('hearing_recording', gen_random_uuid(), 'USER_DOWNLOAD_REQUESTED', 'em_hrs_api', 'a@example.com',
+                    '2025-01-10 10:00:00', 'C0A80101-0000-4000-8000-000000000001', NULL, NULL),
+                   ('hearing_recording_segment', gen_random_uuid(), 'USER_DOWNLOAD_OK', 'em_hrs_api', 'b@example.com',
+                    '2025-01-11 10:00:00', NULL, 'C0A80101-0000-4000-8000-000000000011', NULL),
+                   ('hearing_recording_sharee', gen_random_uuid(), 'SHARE_GRANT_OK', 'em_hrs_api', 'c@example.com',
+                    '2025-01-12 10:00:00', NULL, NULL, 'C0A80101-0000-4000-8000-000000000101'),
+                   ('hearing_recording_segment', gen_random_uuid(), 'USER_DOWNLOAD_OK', 'em_hrs_api', 'd@example.com',
+                    '2025-02-01 00:00:00', NULL, 'C0A80101-0000-4000-8000-000000000011', NULL)
+            """);
+    }
+
+    @Test
+    void shouldJoinEachEntryOfTheMonthToWhatItAudits() {
+        List<AuditReportRow> rows;
+        try (Stream<AuditReportRow> stream = underTest.streamReportRows(START_OF_MONTH, END_OF_MONTH)) {
+            rows = stream.toList();
+        }
+
+        LocalDateTime recordingCreatedOn = LocalDateTime.of(2024, 12, 1, 9, 0);
+        assertThat(rows).containsExactly(
+            new AuditReportRow("USER_DOWNLOAD_REQUESTED", "a@example.com", null, null, "CVP", "ABA1",
+                               null, 101L, recordingCreatedOn, null, null),
+            new AuditReportRow("USER_DOWNLOAD_OK", "b@example.com", "shared-ref-1.mp4",
+                               "https://cvp/shared-ref-1.mp4", "CVP", "ABA1", 2500L, 101L,
+                               LocalDateTime.of(2024, 12, 1, 10, 0), null, null),
+            new AuditReportRow("SHARE_GRANT_OK", "c@example.com", null, null, "CVP", "ABA1",
+                               null, 101L, recordingCreatedOn, rows.get(2).sharedOn(), "Sharee@Example.com")
+        );
+        assertThat(rows.get(2).sharedOn()).isNotNull();
+    }
+}
@@ -2,25 +2,41 @@ package uk.gov.hmcts.reform.em.hrs.repository;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
+import uk.gov.hmcts.reform.em.hrs.dto.CaseRecordingDeletionDto;
+import uk.gov.hmcts.reform.em.hrs.dto.FolderSegmentSummary;
+import uk.gov.hmcts.reform.em.hrs.model.HearingReportRow;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @Sql({"/data/create-folder.sql"})
 class HearingRecordingSegmentRepositoryIntegrationTest extends AbstractRepositoryIntegrationTest {
 
     private HearingRecordingSegmentRepository hearingRecordingSegmentRepository;
+    private HearingRecordingRepository hearingRecordingRepository;
+    private HearingRecordingSegmentAuditEntryRepository hearingRecordingSegmentAuditEntryRepository;
+    private JdbcTemplate jdbcTemplate;
 
     @Autowired
     public HearingRecordingSegmentRepositoryIntegrationTest(
-        HearingRecordingSegmentRepository hearingRecordingSegmentRepository
+        HearingRecordingSegmentRepository hearingRecordingSegmentRepository,
+        HearingRecordingRepository hearingRecordingRepository,
+        HearingRecordingSegmentAuditEntryRepository hearingRecordingSegmentAuditEntryRepository,
+        JdbcTemplate jdbcTemplate
     ) {
         this.hearingRecordingSegmentRepository = hearingRecordingSegmentRepository;
+        this.hearingRecordingRepository = hearingRecordingRepository;
+        this.hearingRecordingSegmentAuditEntryRepository = hearingRecordingSegmentAuditEntryRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     @Test
@@ -35,10 +51,88 @@ class HearingRecordingSegmentRepositoryIntegrationTest extends AbstractRepositor
 
 
     @Test
-    void testShouldFindSegmentsByFolderName() {
-        Set<HearingRecordingSegment> set =
-            hearingRecordingSegmentRepository.findByHearingRecordingFolderName("folder-1");
+    void testShouldFindFilenamesByFolderName() {
+        Set<String> filenames = hearingRecordingSegmentRepository.findFilenamesByFolderName("folder-2");
 
-        assertThat(set.size()).isEqualTo(7);
+        assertThat(filenames).containsExactly("folder-2-file-1.mp4");
+    }
+
+    @Test
+    void testShouldSummariseSegmentsInFolder() {
+        FolderSegmentSummary summary = hearingRecordingSegmentRepository.summariseFolder("folder-1");
+
+        assertThat(summary.segmentCount()).isEqualTo(7);
+    }
+
+    @Test
+    void testShouldFindNoFilenamesCreatedAfterLatestSegment() {
+        Set<String> filenames = hearingRecordingSegmentRepository.findFilenamesByFolderNameCreatedAfter(
+            "folder-1", LocalDateTime.now().plusDays(1));
+
+        assertThat(filenames).isEmpty();
+    }
+
+    @Test
+    void testShouldStreamReportRowsOfSegmentsCreatedInPeriod() {
+        jdbcTemplate.update("""
+            UPDATE hearing_recording
+            SET service_code = 'ABA1', jurisdiction_code = 'HRS', hearing_source = 'CVP'
+            WHERE id = '05A13771-58DF-4ABD-B62D-4A3F8DDF4286'
+            """);
+        jdbcTemplate.update("""
+            UPDATE hearing_recording_segment
+            SET created_on = '2024-06-10 10:00:00', file_size_mb = 2500,
+                ingestion_file_source_uri = 'https://cvp/f1.mp4'
+            WHERE id = '8A4FDAD2-D53E-40A2-AE88-6DF8FBD6CC1D'
+            """);
+        jdbcTemplate.update("""
+            UPDATE hearing_recording_segment
+            SET created_on = '2024-07-01 00:00:00'
+            WHERE id = 'F143C97E-0F7B-41C2-9243-8F4C433913AA'
+            """);
+
+        List<HearingReportRow> rows;
+        try (Stream<HearingReportRow> stream = hearingRecordingSegmentRepository.streamReportRowsCreatedBetween(
+            LocalDateTime.of(2024, 6, 1, 0, 0), LocalDateTime.of(2024, 6, 30, 23, 59, 59))) {
+            rows = stream.toList();
+        }
+
+        assertThat(rows).containsExactly(new HearingReportRow(
+            "folder-1-file-1.mp4", "https://cvp/f1.mp4", "CVP", "ABA1", "HRS", 2500L, 1L,
+            LocalDateTime.of(2024, 6, 10, 10, 0)
+        ));
+    }
+
+    @Test
+    void testShouldFindRecordingsAndSegmentsOfCases() {
+        List<CaseRecordingDeletionDto> rows =
+            hearingRecordingRepository.findRecordingsAndSegmentsByCcdCaseIds(List.of(1L, 3L));
+
+        assertThat(rows).extracting(CaseRecordingDeletionDto::ccdCaseId, CaseRecordingDeletionDto::filename)
+            .containsExactlyInAnyOrder(
+                tuple(1L, "folder-1-file-1.mp4"),
+                tuple(3L, "folder-2-file-1.mp4")
+            );
+    }
+
+    @Test
+    void testShouldDeleteSegmentsAndTheirAuditEntriesByRecordingIds() {
+        UUID hearingRecordingId = UUID.fromString("66DCF6B9-2999-49CC-8175-7D67531C0F7C");
+        jdbcTemplate.update("""
+            INSERT INTO audit_entry (type, id, action, service_name, event_date_time, hearing_recording_segment_id)
+            VALUES ('hearing_recording_segment', gen_random_uuid(), 'USER_DOWNLOAD_OK', 'em_hrs_api', localtimestamp,
+                    'F143C97E-0F7B-41C2-9243-8F4C433913AA'),
+                   ('hearing_recording_segment', gen_random_uuid(), 'USER_DOWNLOAD_OK', 'em_hrs_api', localtimestamp,
+                    '8A4FDAD2-D53E-40A2-AE88-6DF8FBD6CC1D')
+            """);
+
+        hearingRecordingSegmentAuditEntryRepository.deleteByHearingRecordingIds(List.of(hearingRecordingId));
+        hearingRecordingSegmentRepository.deleteByHearingRecordingIds(List.of(hearingRecordingId));
+
+        assertThat(hearingRecordingSegmentRepository.findByHearingRecordingId(hearingRecordingId)).isEmpty();
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT hearing_recording_segment_id FROM audit_entry WHERE hearing_recording_segment_id IS NOT NULL",
+            UUID.class
+        )).containsExactly(UUID.fromString("8A4FDAD2-D53E-40A2-AE88-6DF8FBD6CC1D"));
     }
 }
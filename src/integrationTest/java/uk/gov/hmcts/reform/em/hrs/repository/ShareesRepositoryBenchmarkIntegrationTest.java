@@ -0,0 +1,99 @@
+package uk.gov.hmcts.reform.em.hrs.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks sharee authorisation stays flat as the number of shares for an email grows, which it did not when every
+ * share for the email was loaded and filtered in memory. The plan is asserted, the timings are only logged, as wall
+ * clock times on shared build agents are too noisy to assert on.
+ */
+@Sql({"/data/create-sharees.sql"})
+class ShareesRepositoryBenchmarkIntegrationTest extends AbstractRepositoryIntegrationTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShareesRepositoryBenchmarkIntegrationTest.class);
+
+    private static final String FEW_SHARES_EMAIL = "sharee@example.com";
+    private static final String MANY_SHARES_EMAIL = "Busy.Sharee@example.com";
+    private static final UUID SHARED_RECORDING_ID = UUID.fromString("C0A80101-0000-4000-8000-000000000001");
+    private static final int SHARE_COUNT = 10_000;
+    private static final int WARM_UP_RUNS = 50;
+    private static final int MEASURED_RUNS = 200;
+
+    private final ShareesRepository underTest;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ShareesRepositoryBenchmarkIntegrationTest(ShareesRepository underTest, JdbcTemplate jdbcTemplate) {
+        this.underTest = underTest;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @BeforeEach
+    void setUp() {
+        // one recording per share, plus a share of the recording under test
+        jdbcTemplate.update("""
+            INSERT INTO hearing_recording(id, deleted, ccd_case_id, folder_id, recording_ref)
+            SELECT gen_random_uuid(), false, 1000 + g, 'A1E3A1A4-5B2C-4E0D-9F7B-1D0B6C5E4F01', 'bulk-' || g
+            FROM generate_series(1, ?) g
+            """, SHARE_COUNT);
+        jdbcTemplate.update("""
+            INSERT INTO hearing_recording_sharee(id, sharee_email, shared_on, hearing_recording_id)
+            SELECT gen_random_uuid(), ?, now() - interval '1 hour', id
+            FROM hearing_recording
+            WHERE recording_ref LIKE 'bulk-%' OR id = ?
+            """, MANY_SHARES_EMAIL, SHARED_RECORDING_ID);
+        jdbcTemplate.execute("ANALYZE hearing_recording_sharee");
+        jdbcTemplate.execute("ANALYZE hearing_recording_segment");
+    }
+
+    @Test
+    void testShouldUseLowerEmailIndex() {
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+            "EXPLAIN SELECT count(*) FROM hearing_recording_sharee "
+                + "WHERE lower(sharee_email) = lower('" + MANY_SHARES_EMAIL + "') "
+                + "AND hearing_recording_id = '" + SHARED_RECORDING_ID + "'",
+            String.class
+        ));
+
+        assertThat(plan).contains("hearing_recording_sharee_lower_sharee_email");
+    }
+
+    @Test
+    void testLogLatencyWithNumberOfShares() {
+        LocalDateTime sharedAfter = LocalDateTime.now().minusHours(72);
+
+        long fewSharesMedian = medianNanos(() -> underTest.existsValidShareOfSegment(
+            FEW_SHARES_EMAIL, SHARED_RECORDING_ID, 1, sharedAfter));
+        long manySharesMedian = medianNanos(() -> underTest.existsValidShareOfSegment(
+            MANY_SHARES_EMAIL, SHARED_RECORDING_ID, 1, sharedAfter));
+
+        LOGGER.info("Median authorisation time with 1 share {}us, with {} shares {}us",
+                    fewSharesMedian / 1000, SHARE_COUNT, manySharesMedian / 1000);
+    }
+
+    private static long medianNanos(BooleanSupplier query) {
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            assertThat(query.getAsBoolean()).isTrue();
+        }
+        long[] timings = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            query.getAsBoolean();
+            timings[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        return timings[MEASURED_RUNS / 2];
+    }
+}
@@ -2,10 +2,12 @@ package uk.gov.hmcts.reform.em.hrs.repository;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSharee;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static uk.gov.hmcts.reform.em.hrs.componenttests.TestUtil.SHAREE_EMAIL_ADDRESS;
@@ -13,6 +15,10 @@ import static uk.gov.hmcts.reform.em.hrs.componenttests.TestUtil.hearingRecordin
 
 class ShareesRepositoryIntegrationTest extends AbstractRepositoryIntegrationTest {
 
+    private static final String SHAREE_EMAIL = "SHAREE@example.com";
+    private static final UUID SHARED_RECORDING_ID = UUID.fromString("C0A80101-0000-4000-8000-000000000001");
+    private static final UUID EXPIRED_RECORDING_ID = UUID.fromString("C0A80101-0000-4000-8000-000000000002");
+    private static final int TTL_IN_HOURS = 72;
 
     private ShareesRepository underTest;
 
@@ -48,4 +54,47 @@ class ShareesRepositoryIntegrationTest extends AbstractRepositoryIntegrationTest
         assertThat(savedSharee)
             .satisfies(x -> assertThat(x.getSharedOn()).isBetween(preTest, postTest));
     }
+
+    @Test
+    @Sql({"/data/create-sharees.sql"})
+    void testShouldFindSharesByEmailIgnoringCase() {
+        assertThat(underTest.existsByShareeEmail(SHAREE_EMAIL)).isTrue();
+        assertThat(underTest.existsByShareeEmail("someone-else@example.com")).isFalse();
+
+        assertThat(underTest.existsByShareeEmailAndRecordingId(SHAREE_EMAIL, SHARED_RECORDING_ID)).isTrue();
+        assertThat(underTest.existsByShareeEmailAndRecordingId(SHAREE_EMAIL, UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    @Sql({"/data/create-sharees.sql"})
+    void testShouldFindValidShareOfSegment() {
+        assertThat(underTest.existsValidShareOfSegment(SHAREE_EMAIL, SHARED_RECORDING_ID, 2, sharedAfter()))
+            .isTrue();
+        assertThat(underTest.existsValidShareOfSegment(SHAREE_EMAIL, SHARED_RECORDING_ID, 3, sharedAfter()))
+            .isFalse();
+    }
+
+    @Test
+    @Sql({"/data/create-sharees.sql"})
+    void testShouldFindValidShareOfFile() {
+        assertThat(underTest.existsValidShareOfFile(SHAREE_EMAIL, SHARED_RECORDING_ID, "shared-ref-1.mp4",
+                                                    sharedAfter())).isTrue();
+        // a file of a different recording
+        assertThat(underTest.existsValidShareOfFile(SHAREE_EMAIL, SHARED_RECORDING_ID, "other-ref-1.mp4",
+                                                    sharedAfter())).isFalse();
+    }
+
+    @Test
+    @Sql({"/data/create-sharees.sql"})
+    void testShouldNotFindExpiredShare() {
+        assertThat(underTest.existsByShareeEmailAndRecordingId(SHAREE_EMAIL, EXPIRED_RECORDING_ID)).isTrue();
+        assertThat(underTest.existsValidShareOfSegment(SHAREE_EMAIL, EXPIRED_RECORDING_ID, 1, sharedAfter()))
+            .isFalse();
+        assertThat(underTest.existsValidShareOfFile(SHAREE_EMAIL, EXPIRED_RECORDING_ID, "other-ref-1.mp4",
+                                                    sharedAfter())).isFalse();
+    }
+
+    private static LocalDateTime sharedAfter() {
+        return LocalDateTime.now().minusHours(TTL_IN_HOURS);
+    }
 }
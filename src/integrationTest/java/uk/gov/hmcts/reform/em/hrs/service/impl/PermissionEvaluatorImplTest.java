@@ -15,13 +15,11 @@ import org.springframework.test.util.ReflectionTestUtils;
 import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSharee;
 import uk.gov.hmcts.reform.em.hrs.repository.ShareesRepository;
 import uk.gov.hmcts.reform.em.hrs.service.AuditEntryService;
 import uk.gov.hmcts.reform.em.hrs.service.SecurityService;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -67,8 +65,6 @@ class PermissionEvaluatorImplTest {
         .hearingRecording(HearingRecording.builder().id(recordingId).build())
         .build();
     private final String shareeEmail = "sharee@sharee.com";
-    private List<HearingRecordingSharee> hearingRecordingWithSharee;
-    private final List<HearingRecordingSharee> hearingRecordingWithNoSharees = new ArrayList<>();
 
     @Autowired
     PermissionEvaluatorImpl permissionEvaluator;
@@ -81,12 +77,6 @@ class PermissionEvaluatorImplTest {
             .build();
         Collection<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("SCOPE_read");
         authentication = new JwtAuthenticationToken(jwt, authorities);
-
-        HearingRecordingSharee hearingRecordingSharee = new HearingRecordingSharee();
-        HearingRecording hearingRecording = new HearingRecording();
-        hearingRecording.setId(recordingId);
-        hearingRecordingSharee.setHearingRecording(hearingRecording);
-        hearingRecordingWithSharee = List.of(hearingRecordingSharee);
         setRolesAllowedToDownloadByDefaultToBeCaseworkerHrsSearcher();
 
     }
@@ -108,17 +98,16 @@ class PermissionEvaluatorImplTest {
     void testPermissionOnDownloadShareeSuccess() {
         when(securityService.getUserInfo(Mockito.anyString())).thenReturn(HRS_SHAREE_INFO);
         when(securityService.getUserEmail(Mockito.anyString())).thenReturn(shareeEmail);
-        when(shareesRepository.findByShareeEmailIgnoreCase(Mockito.anyString())).thenReturn(hearingRecordingWithSharee);
+        when(shareesRepository.existsByShareeEmailAndRecordingId(shareeEmail, recordingId)).thenReturn(true);
         assertTrue(permissionEvaluator.hasPermission(authentication, segment, "READ"));
     }
 
     @Test
     void testPermissionOnDownloadShareeButForDifferentRecordingFailure() {
-        HearingRecordingSharee otherShare = new HearingRecordingSharee();
-        otherShare.setHearingRecording(HearingRecording.builder().id(UUID.randomUUID()).build());
+        UUID otherRecordingId = UUID.randomUUID();
         when(securityService.getUserInfo(Mockito.anyString())).thenReturn(HRS_SHAREE_INFO);
         when(securityService.getUserEmail(Mockito.anyString())).thenReturn(shareeEmail);
-        when(shareesRepository.findByShareeEmailIgnoreCase(Mockito.anyString())).thenReturn(List.of(otherShare));
+        when(shareesRepository.existsByShareeEmailAndRecordingId(shareeEmail, otherRecordingId)).thenReturn(true);
 
         boolean permissionResult = permissionEvaluator.hasPermission(authentication, segment, "READ");
 
@@ -133,8 +122,7 @@ class PermissionEvaluatorImplTest {
     void testPermissionOnDownloadShareeFailure() {
         when(securityService.getUserInfo(Mockito.anyString())).thenReturn(HRS_SHAREE_INFO);
         when(securityService.getUserEmail(Mockito.anyString())).thenReturn(shareeEmail);
-        when(shareesRepository.findByShareeEmailIgnoreCase(Mockito.anyString()))
-            .thenReturn(hearingRecordingWithNoSharees);
+        when(shareesRepository.existsByShareeEmailAndRecordingId(shareeEmail, recordingId)).thenReturn(false);
         boolean permissionResult = permissionEvaluator.hasPermission(authentication, segment, "READ");
         assertFalse(permissionResult);
         verify(auditEntryService, times(1)).createAndSaveEntry(
@@ -147,8 +135,7 @@ class PermissionEvaluatorImplTest {
     void testPermissionOnDownloadWithNoRolesAndNoShareGrantFailure() {
         when(securityService.getUserInfo(Mockito.anyString())).thenReturn(HRS_NO_ROLES_INFO);
         when(securityService.getUserEmail(Mockito.anyString())).thenReturn(shareeEmail);
-        when(shareesRepository.findByShareeEmailIgnoreCase(Mockito.anyString()))
-            .thenReturn(hearingRecordingWithNoSharees);
+        when(shareesRepository.existsByShareeEmailAndRecordingId(shareeEmail, recordingId)).thenReturn(false);
 
         boolean permissionResult = permissionEvaluator.hasPermission(authentication, segment, "READ");
 
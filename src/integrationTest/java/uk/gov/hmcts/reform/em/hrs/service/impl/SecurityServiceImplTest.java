@@ -14,6 +14,7 @@ import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
 import uk.gov.hmcts.reform.authorisation.validators.AuthTokenValidator;
 import uk.gov.hmcts.reform.em.hrs.service.idam.cache.CachedIdamCredential;
 import uk.gov.hmcts.reform.em.hrs.service.idam.cache.IdamCachedClient;
+import uk.gov.hmcts.reform.em.hrs.service.idam.cache.IdamUserInfoCache;
 import uk.gov.hmcts.reform.idam.client.IdamClient;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
@@ -32,8 +33,9 @@ import static uk.gov.hmcts.reform.em.hrs.componenttests.TestUtil.SERVICE_AUTHORI
 import static uk.gov.hmcts.reform.em.hrs.componenttests.TestUtil.SHARER_EMAIL_ADDRESS;
 import static uk.gov.hmcts.reform.em.hrs.service.impl.SecurityServiceImpl.CLIENTIP;
 
-@SpringBootTest(classes = {SecurityServiceImpl.class},
-    properties = {"idam.system-user.username=SystemUser", "idam.system-user.password=SystemPassword"})
+@SpringBootTest(classes = {SecurityServiceImpl.class, IdamUserInfoCache.class},
+    properties = {"idam.system-user.username=SystemUser", "idam.system-user.password=SystemPassword",
+        "idam.client.cache.user-info.enabled=false"})
 class SecurityServiceImplTest {
 
     private static final String DUMMY_NAME = "dummyName";
@@ -22,6 +22,9 @@ import static org.awaitility.Awaitility.await;
 @SpringBootTest(classes = {
     TestAzureStorageConfig.class,
     BlobstoreClientImpl.class,
+    ParallelRangeDownloader.class,
+    BlobInfoCache.class,
+    SegmentDiskCache.class,
     AzureIntegrationTestOperations.class
 })
 class BlobstoreClientImplTest {
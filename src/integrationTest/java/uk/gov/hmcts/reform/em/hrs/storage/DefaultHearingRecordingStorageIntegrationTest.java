@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.em.hrs.storage;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -13,6 +14,7 @@ import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
 import uk.gov.hmcts.reform.em.hrs.exception.BlobCopyException;
 import uk.gov.hmcts.reform.em.hrs.exception.BlobNotFoundException;
 import uk.gov.hmcts.reform.em.hrs.helper.AzureIntegrationTestOperations;
+import uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics;
 
 import java.io.File;
 import java.security.SecureRandom;
@@ -36,6 +38,11 @@ import static uk.gov.hmcts.reform.em.hrs.dto.HearingSource.CVP;
     TestAzureStorageConfig.class,
     TestApplicationConfig.class,
     HearingRecordingStorageImpl.class,
+    BlobCopyTracker.class,
+    UserDelegationSasGenerator.class,
+    ParallelBlockCopier.class,
+    IngestionMetrics.class,
+    SimpleMeterRegistry.class,
     AzureIntegrationTestOperations.class}
 )
 class DefaultHearingRecordingStorageIntegrationTest {
@@ -52,12 +59,16 @@ class DefaultHearingRecordingStorageIntegrationTest {
 
     private HearingRecordingStorageImpl underTest;
 
+    private BlobCopyTracker blobCopyTracker;
+
     @Autowired
     public DefaultHearingRecordingStorageIntegrationTest(
         AzureIntegrationTestOperations azureIntegrationTestOperations,
-        HearingRecordingStorageImpl underTest) {
+        HearingRecordingStorageImpl underTest,
+        BlobCopyTracker blobCopyTracker) {
         this.azureIntegrationTestOperations = azureIntegrationTestOperations;
         this.underTest = underTest;
+        this.blobCopyTracker = blobCopyTracker;
     }
 
     @BeforeEach
@@ -129,6 +140,25 @@ class DefaultHearingRecordingStorageIntegrationTest {
                 .isEqualTo(file1));
     }
 
+    @Test
+    void testShouldCopyCvpBlobAsynchronously() {
+        final String folder = UUID.randomUUID().toString();
+        final String file = folder + "/" + UUID.randomUUID() + ".txt";
+        azureIntegrationTestOperations.uploadToCvpContainer(file);
+        final String sourceUrl = azureIntegrationTestOperations.getBlobUrl(file);
+
+        HearingRecordingDto hrDto =
+            HearingRecordingDto.builder().sourceBlobUrl(sourceUrl).filename(file).recordingSource(CVP).build();
+        var copy = underTest.copyRecordingAsync(hrDto);
+
+        await().atMost(TEN_SECONDS)
+            .untilAsserted(() -> {
+                blobCopyTracker.sweep();
+                assertThat(copy).isCompleted();
+            });
+        assertThat(azureIntegrationTestOperations.getHrsBlobsFrom(folder)).singleElement().isEqualTo(file);
+    }
+
     @Test
     void testStorageReport() {
         StorageReport storageReport = underTest.getStorageReport();
@@ -0,0 +1,17 @@
+INSERT INTO folder(id, name)
+VALUES ('A1E3A1A4-5B2C-4E0D-9F7B-1D0B6C5E4F01', 'sharee-folder');
+
+INSERT INTO hearing_recording(id, deleted, ccd_case_id, folder_id, recording_ref)
+VALUES ('C0A80101-0000-4000-8000-000000000001', false, 101, 'A1E3A1A4-5B2C-4E0D-9F7B-1D0B6C5E4F01', 'shared-ref'),
+       ('C0A80101-0000-4000-8000-000000000002', false, 102, 'A1E3A1A4-5B2C-4E0D-9F7B-1D0B6C5E4F01', 'other-ref');
+
+INSERT INTO hearing_recording_segment(id, filename, deleted, recording_segment, hearing_recording_id)
+VALUES ('C0A80101-0000-4000-8000-000000000011', 'shared-ref-1.mp4', false, 1, 'C0A80101-0000-4000-8000-000000000001'),
+       ('C0A80101-0000-4000-8000-000000000012', 'shared-ref-2.mp4', false, 2, 'C0A80101-0000-4000-8000-000000000001'),
+       ('C0A80101-0000-4000-8000-000000000021', 'other-ref-1.mp4', false, 1, 'C0A80101-0000-4000-8000-000000000002');
+
+INSERT INTO hearing_recording_sharee(id, sharee_email, shared_on, hearing_recording_id)
+VALUES ('C0A80101-0000-4000-8000-000000000101', 'Sharee@Example.com', now() - interval '1 hour',
+        'C0A80101-0000-4000-8000-000000000001'),
+       ('C0A80101-0000-4000-8000-000000000102', 'sharee@example.com', now() - interval '100 hours',
+        'C0A80101-0000-4000-8000-000000000002');
@@ -0,0 +1,353 @@
+package uk.gov.hmcts.reform.em.hrs.auditlog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
+import uk.gov.hmcts.reform.em.hrs.domain.AuditEntry;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingAuditEntry;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegmentAuditEntry;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingShareeAuditEntry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit entries behind the request. Entries are queued once the surrounding transaction, if any, has committed
+ * and a background thread inserts them in multi-row batches when a batch fills or the flush interval passes. Entries
+ * that cannot be written because the queue is full or the database is unavailable are appended to a spill file, which
+ * is replayed once the database is back and on the next start, so no entry is lost.
+ */
+@Component
+public class AuditEntryWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditEntryWriter.class);
+
+    private static final String INSERT_SQL = """
+        INSERT INTO audit_entry (type, id, action, service_name, username, ip_address, case_id, event_date_time,
+                                 hearing_recording_id, hearing_recording_segment_id, hearing_recording_sharee_id,
+                                 last_event_date_time, request_count, bytes_served)
+        VALUES :rows
+        """;
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration MAX_WAIT = Duration.ofMillis(100);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean async;
+    private final int batchSize;
+    private final long flushIntervalInMillis;
+    private final Path spillFile;
+    private final BlockingQueue<PendingEntry> queue;
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final Object spillLock = new Object();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    @Autowired
+    public AuditEntryWriter(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        @Value("${hrs.audit-writer.async}") boolean async,
+        @Value("${hrs.audit-writer.capacity}") int capacity,
+        @Value("${hrs.audit-writer.batch-size}") int batchSize,
+        @Value("${hrs.audit-writer.flush-interval-in-ms}") long flushIntervalInMillis,
+        @Value("${hrs.audit-writer.spill-file}") String spillFile
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.async = async;
+        this.batchSize = batchSize;
+        this.flushIntervalInMillis = flushIntervalInMillis;
+        this.spillFile = Paths.get(spillFile);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.flusher = new Thread(this::flushUntilStopped, "audit-entry-writer");
+        this.flusher.setDaemon(true);
+        if (async) {
+            flusher.start();
+        }
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Queues the entry, which must already hold everything taken from the request. An id is assigned straight away.
+     */
+    public void write(AuditEntry auditEntry) {
+        auditEntry.setId(UUID.randomUUID());
+        PendingEntry entry = PendingEntry.of(auditEntry);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // the entry may refer to rows the transaction has not committed yet
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.join(SHUTDOWN_TIMEOUT.toMillis());
+        List<PendingEntry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            LOGGER.warn("Spilling {} audit entries not written before shutdown", remaining.size());
+            spill(remaining);
+        }
+    }
+
+    private void enqueue(PendingEntry entry) {
+        if (!running || !queue.offer(entry)) {
+            LOGGER.warn("Audit writer is full or stopped, spilling entry {}", entry.id());
+            spill(List.of(entry));
+        }
+    }
+
+    private void flushUntilStopped() {
+        replaySpillFile();
+        List<PendingEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                spill(batch);
+                return;
+            }
+            if (batch.isEmpty()) {
+                replaySpillFile();
+            } else {
+                insert(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Takes entries until the batch is full or the flush interval has passed. Each wait is short so a shutdown is
+     * noticed straight away.
+     */
+    private void fillBatch(List<PendingEntry> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalInMillis);
+        while (true) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || !running || remaining <= 0) {
+                return;
+            }
+            PendingEntry next = queue.poll(Math.min(remaining, MAX_WAIT.toNanos()), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    private void insert(List<PendingEntry> batch) {
+        try {
+            insertRows(batch);
+        } catch (DataIntegrityViolationException e) {
+            // one bad entry, usually for a recording deleted since, should not take the rest with it
+            insertOneByOne(batch);
+        } catch (DataAccessException e) {
+            LOGGER.error("Could not write {} audit entries, spilling them to {}", batch.size(), spillFile, e);
+            spill(batch);
+        }
+    }
+
+    private void insertOneByOne(List<PendingEntry> batch) {
+        for (PendingEntry entry : batch) {
+            try {
+                insertRows(List.of(entry));
+            } catch (DataIntegrityViolationException e) {
+                LOGGER.error("Dropping audit entry {} which can no longer be written: {}", entry, e.getMessage());
+            } catch (DataAccessException e) {
+                LOGGER.error("Could not write audit entry {}, spilling it to {}", entry.id(), spillFile, e);
+                spill(List.of(entry));
+            }
+        }
+    }
+
+    private void insertRows(Collection<PendingEntry> entries) {
+        List<Object[]> rows = entries.stream().map(PendingEntry::toRow).toList();
+        jdbcTemplate.update(INSERT_SQL, new MapSqlParameterSource("rows", rows));
+    }
+
+    private void spill(List<PendingEntry> entries) {
+        synchronized (spillLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(
+                spillFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (PendingEntry entry : entries) {
+                    writer.write(objectMapper.writeValueAsString(entry));
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                // the entries are still in the application log
+                LOGGER.error("Could not spill {} audit entries to {}", entries.size(), spillFile, e);
+            }
+        }
+    }
+
+    /**
+     * Writes spilled entries once the database is back. The file is moved aside first so entries spilled meanwhile
+     * go to a new file, and is only deleted once every entry in it has been written or spilled again. Entries written
+     * before a crash fail as duplicates when replayed again and are dropped.
+     */
+    private void replaySpillFile() {
+        Path replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+        List<PendingEntry> spilled = new ArrayList<>();
+        try {
+            synchronized (spillLock) {
+                if (!Files.exists(replayFile)) {
+                    if (!Files.exists(spillFile)) {
+                        return;
+                    }
+                    Files.move(spillFile, replayFile);
+                }
+            }
+            for (String line : Files.readAllLines(replayFile, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    spilled.add(objectMapper.readValue(line, PendingEntry.class));
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.error("Could not read spilled audit entries from {}", replayFile, e);
+            return;
+        }
+
+        for (int from = 0; from < spilled.size(); from += batchSize) {
+            List<PendingEntry> batch = spilled.subList(from, Math.min(from + batchSize, spilled.size()));
+            try {
+                insertRows(batch);
+            } catch (DataIntegrityViolationException e) {
+                insertOneByOne(batch);
+            } catch (DataAccessException e) {
+                LOGGER.warn("Database still unavailable, keeping {} spilled audit entries", spilled.size() - from);
+                spill(spilled.subList(from, spilled.size()));
+                break;
+            }
+        }
+        try {
+            Files.delete(replayFile);
+        } catch (IOException e) {
+            LOGGER.error("Could not delete replayed audit entries {}", replayFile, e);
+        }
+    }
+
+    record PendingEntry(
+        String type,
+        UUID id,
+        AuditActions action,
+        String serviceName,
+        String username,
+        String ipAddress,
+        Long caseId,
+        long eventDateTime,
+        UUID hearingRecordingId,
+        UUID hearingRecordingSegmentId,
+        UUID hearingRecordingShareeId,
+        Long lastEventDateTime,
+        Integer requestCount,
+        Long bytesServed
+    ) {
+
+        static PendingEntry of(AuditEntry auditEntry) {
+            String type;
+            UUID hearingRecordingId = null;
+            UUID segmentId = null;
+            UUID shareeId = null;
+            Long lastEventDateTime = null;
+            Integer requestCount = null;
+            Long bytesServed = null;
+            if (auditEntry instanceof HearingRecordingSegmentAuditEntry segmentEntry) {
+                type = "hearing_recording_segment";
+                segmentId = segmentEntry.getHearingRecordingSegment().getId();
+                if (segmentEntry.getLastEventDateTime() != null) {
+                    lastEventDateTime = segmentEntry.getLastEventDateTime().getTime();
+                }
+                requestCount = segmentEntry.getRequestCount();
+                bytesServed = segmentEntry.getBytesServed();
+            } else if (auditEntry instanceof HearingRecordingShareeAuditEntry shareeEntry) {
+                type = "hearing_recording_sharee";
+                shareeId = shareeEntry.getHearingRecordingSharee().getId();
+            } else if (auditEntry instanceof HearingRecordingAuditEntry recordingEntry) {
+                type = "hearing_recording";
+                hearingRecordingId = recordingEntry.getHearingRecording().getId();
+            } else {
+                throw new IllegalArgumentException("Unknown audit entry " + auditEntry.getClass());
+            }
+            return new PendingEntry(
+                type,
+                auditEntry.getId(),
+                auditEntry.getAction(),
+                auditEntry.getServiceName(),
+                auditEntry.getUsername(),
+                auditEntry.getIpAddress(),
+                auditEntry.getCaseId(),
+                auditEntry.getEventDateTime().getTime(),
+                hearingRecordingId,
+                segmentId,
+                shareeId,
+                lastEventDateTime,
+                requestCount,
+                bytesServed
+            );
+        }
+
+        Object[] toRow() {
+            // typed so nulls need no parameter metadata lookup
+            return new Object[]{
+                new SqlParameterValue(Types.VARCHAR, type),
+                new SqlParameterValue(Types.OTHER, id),
+                new SqlParameterValue(Types.VARCHAR, action.name()),
+                new SqlParameterValue(Types.VARCHAR, serviceName),
+                new SqlParameterValue(Types.VARCHAR, username),
+                new SqlParameterValue(Types.VARCHAR, ipAddress),
+                new SqlParameterValue(Types.BIGINT, caseId),
+                new SqlParameterValue(Types.TIMESTAMP, timestamp(eventDateTime)),
+                new SqlParameterValue(Types.OTHER, hearingRecordingId),
+                new SqlParameterValue(Types.OTHER, hearingRecordingSegmentId),
+                new SqlParameterValue(Types.OTHER, hearingRecordingShareeId),
+                new SqlParameterValue(Types.TIMESTAMP, timestamp(lastEventDateTime)),
+                new SqlParameterValue(Types.INTEGER, requestCount),
+                new SqlParameterValue(Types.BIGINT, bytesServed)
+            };
+        }
+
+        private static Timestamp timestamp(Long epochMillis) {
+            return epochMillis == null ? null : new Timestamp(epochMillis);
+        }
+    }
+}
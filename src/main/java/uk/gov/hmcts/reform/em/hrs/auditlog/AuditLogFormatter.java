@@ -4,6 +4,7 @@ package uk.gov.hmcts.reform.em.hrs.auditlog;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
 import uk.gov.hmcts.reform.em.hrs.domain.AuditEntry;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegmentAuditEntry;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -21,6 +22,9 @@ public class AuditLogFormatter {
     private static final String COLON = ":";
 
     public String format(AuditEntry entry) {
+        Long bytesServed = entry instanceof HearingRecordingSegmentAuditEntry segmentEntry
+            ? segmentEntry.getBytesServed()
+            : null;
         return new StringBuilder(TAG)
             .append(" ")
             .append(getFirstPair("dateTime", entry.getEventDateTime()))
@@ -29,6 +33,7 @@ public class AuditLogFormatter {
             .append(getPair("service", entry.getServiceName()))
             .append(getPair("user", entry.getUsername()))
             .append(getPair("caseId", entry.getCaseId()))
+            .append(getPair("bytesServed", bytesServed))
             .toString();
     }
 
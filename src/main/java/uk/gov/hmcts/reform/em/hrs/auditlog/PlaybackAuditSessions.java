@@ -0,0 +1,184 @@
+package uk.gov.hmcts.reform.em.hrs.auditlog;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegmentAuditEntry;
+import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentAuditEntryRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges the requests a user makes for one segment into a single audit entry per playback session. A player seeking
+ * through a recording makes hundreds of range requests, which would otherwise each write their own entries. A session
+ * is written once no request has come within the window, or once it reaches the maximum duration, with the time of its
+ * first and last request, the number of requests and the bytes served. Each request is still in the application log.
+ */
+@Component
+public class PlaybackAuditSessions {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PlaybackAuditSessions.class);
+
+    private static final Duration SWEEP_INTERVAL = Duration.ofSeconds(1);
+
+    private final boolean enabled;
+    private final Duration window;
+    private final Duration maxDuration;
+    private final Clock clock;
+    private final AuditEntryWriter auditEntryWriter;
+    private final HearingRecordingSegmentAuditEntryRepository segmentAuditEntryRepository;
+    private final ConcurrentMap<SessionKey, Session> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    @Autowired
+    public PlaybackAuditSessions(
+        @Value("${hrs.audit-playback-session.enabled}") boolean enabled,
+        @Value("${hrs.audit-playback-session.window-in-sec}") long windowInSeconds,
+        @Value("${hrs.audit-playback-session.max-duration-in-min}") long maxDurationInMinutes,
+        AuditEntryWriter auditEntryWriter,
+        HearingRecordingSegmentAuditEntryRepository segmentAuditEntryRepository
+    ) {
+        this(enabled, Duration.ofSeconds(windowInSeconds), Duration.ofMinutes(maxDurationInMinutes),
+             Clock.systemUTC(), auditEntryWriter, segmentAuditEntryRepository);
+    }
+
+    PlaybackAuditSessions(
+        boolean enabled,
+        Duration window,
+        Duration maxDuration,
+        Clock clock,
+        AuditEntryWriter auditEntryWriter,
+        HearingRecordingSegmentAuditEntryRepository segmentAuditEntryRepository
+    ) {
+        this.enabled = enabled;
+        this.window = window;
+        this.maxDuration = maxDuration;
+        this.clock = clock;
+        this.auditEntryWriter = auditEntryWriter;
+        this.segmentAuditEntryRepository = segmentAuditEntryRepository;
+        if (enabled) {
+            this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "playback-audit-sessions");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sweeper.scheduleWithFixedDelay(this::closeIdleSessions, SWEEP_INTERVAL.toMillis(),
+                                           SWEEP_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.sweeper = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds the request to the open session of its user, segment and action, or opens one with it.
+     *
+     * @param entry       the entry for this request, holding everything taken from the request
+     * @param bytesServed the bytes sent in response to this request
+     */
+    public void record(HearingRecordingSegmentAuditEntry entry, long bytesServed) {
+        Instant now = clock.instant();
+        sessions.merge(
+            SessionKey.of(entry),
+            new Session(entry, now, now, 1, bytesServed),
+            (open, request) -> open.extend(request.last(), request.bytesServed())
+        );
+    }
+
+    /**
+     * Writes and forgets every session that has been idle for the window or open for the maximum duration.
+     */
+    void closeIdleSessions() {
+        Instant now = clock.instant();
+        sessions.forEach((key, session) -> {
+            if (session.isDue(now, window, maxDuration) && sessions.remove(key, session)) {
+                // a request that extended the session meanwhile replaced it, so it is not removed
+                save(session);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        sessions.forEach((key, session) -> {
+            if (sessions.remove(key, session)) {
+                save(session);
+            }
+        });
+    }
+
+    private void save(Session session) {
+        try {
+            HearingRecordingSegmentAuditEntry entry = session.toEntry();
+            if (auditEntryWriter.isAsync()) {
+                auditEntryWriter.write(entry);
+            } else {
+                segmentAuditEntryRepository.save(entry);
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Could not write playback audit session {}", session, e);
+        }
+    }
+
+    private record SessionKey(String username, String serviceName, UUID segmentId, AuditActions action) {
+
+        static SessionKey of(HearingRecordingSegmentAuditEntry entry) {
+            return new SessionKey(
+                entry.getUsername(),
+                entry.getServiceName(),
+                entry.getHearingRecordingSegment().getId(),
+                entry.getAction()
+            );
+        }
+    }
+
+    private record Session(
+        HearingRecordingSegmentAuditEntry first,
+        Instant start,
+        Instant last,
+        int requestCount,
+        long bytesServed
+    ) {
+
+        Session extend(Instant at, long bytes) {
+            return new Session(first, start, at, requestCount + 1, bytesServed + bytes);
+        }
+
+        boolean isDue(Instant now, Duration window, Duration maxDuration) {
+            return !last.plus(window).isAfter(now) || !start.plus(maxDuration).isAfter(now);
+        }
+
+        HearingRecordingSegmentAuditEntry toEntry() {
+            var entry = new HearingRecordingSegmentAuditEntry(first.getHearingRecordingSegment());
+            entry.setAction(first.getAction());
+            entry.setUsername(first.getUsername());
+            entry.setServiceName(first.getServiceName());
+            entry.setIpAddress(first.getIpAddress());
+            entry.setCaseId(first.getCaseId());
+            entry.setEventDateTime(Date.from(start));
+            entry.setLastEventDateTime(Date.from(last));
+            entry.setRequestCount(requestCount);
+            entry.setBytesServed(bytesServed);
+            return entry;
+        }
+    }
+}
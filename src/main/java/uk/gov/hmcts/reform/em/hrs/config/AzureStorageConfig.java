@@ -2,6 +2,7 @@ package uk.gov.hmcts.reform.em.hrs.config;
 
 import com.azure.identity.DefaultAzureCredential;
 import com.azure.identity.DefaultAzureCredentialBuilder;
+import com.azure.storage.blob.BlobContainerAsyncClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobContainerClientBuilder;
 import org.slf4j.Logger;
@@ -54,6 +55,22 @@ public class AzureStorageConfig {
 
     }
 
+    @Bean("hrsCvpBlobContainerAsyncClient")
+    public BlobContainerAsyncClient provideHrsCvpBlobContainerAsyncClient() {
+        return new BlobContainerClientBuilder()
+            .connectionString(hrsConnectionString)
+            .containerName(hrsCvpContainer)
+            .buildAsyncClient();
+    }
+
+    @Bean("hrsVhBlobContainerAsyncClient")
+    public BlobContainerAsyncClient provideHrsVhBlobContainerAsyncClient() {
+        return new BlobContainerClientBuilder()
+            .connectionString(hrsConnectionString)
+            .containerName(hrsVhContainer)
+            .buildAsyncClient();
+    }
+
     @Bean("hrsVhBlobContainerClient")
     public BlobContainerClient provideHrsVhBlobContainerClient() {
         BlobContainerClient blobContainerClient = new BlobContainerClientBuilder()
@@ -1,25 +1,70 @@
 package uk.gov.hmcts.reform.em.hrs.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
-
-import java.util.concurrent.LinkedBlockingQueue;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics;
+import uk.gov.hmcts.reform.em.hrs.queue.HearingRecordingQueue;
+import uk.gov.hmcts.reform.em.hrs.queue.InMemoryHearingRecordingQueue;
+import uk.gov.hmcts.reform.em.hrs.queue.JdbcHearingRecordingQueue;
+import uk.gov.hmcts.reform.em.hrs.queue.MeteredHearingRecordingQueue;
 
 @Configuration
 public class QueueConfig {
 
-    private static final int DEFAULT_CAPACITY = 1000;
+    private static final String INGESTION_QUEUE_NAME = "ingestion";
+    private static final String CCD_UPLOAD_QUEUE_NAME = "ccd-upload";
+
+    @Value("${hrs.queue.durable}")
+    private boolean durable;
+
+    @Value("${hrs.queue.capacity}")
+    private int capacity;
+
+    @Value("${hrs.queue.lease-in-seconds}")
+    private int leaseInSeconds;
+
+    @Value("${hrs.queue.max-attempts}")
+    private int maxAttempts;
 
     @Bean
-    public LinkedBlockingQueue<HearingRecordingDto> ingestionQueue() {
-        return new LinkedBlockingQueue<>(DEFAULT_CAPACITY);
+    public HearingRecordingQueue ingestionQueue(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                                IngestionMetrics ingestionMetrics) {
+        return new MeteredHearingRecordingQueue(
+            createQueue(INGESTION_QUEUE_NAME, jdbcTemplate, objectMapper),
+            INGESTION_QUEUE_NAME,
+            ingestionMetrics
+        );
     }
 
 
     @Bean
-    public LinkedBlockingQueue<HearingRecordingDto> ccdUploadQueue() {
-        return new LinkedBlockingQueue<>(DEFAULT_CAPACITY);
+    public HearingRecordingQueue ccdUploadQueue(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                                IngestionMetrics ingestionMetrics) {
+        return new MeteredHearingRecordingQueue(
+            createQueue(CCD_UPLOAD_QUEUE_NAME, jdbcTemplate, objectMapper),
+            CCD_UPLOAD_QUEUE_NAME,
+            ingestionMetrics
+        );
     }
 
+    private HearingRecordingQueue createQueue(
+        String queueName,
+        NamedParameterJdbcTemplate jdbcTemplate,
+        ObjectMapper objectMapper
+    ) {
+        if (!durable) {
+            return new InMemoryHearingRecordingQueue(capacity);
+        }
+        return new JdbcHearingRecordingQueue(
+            jdbcTemplate,
+            objectMapper,
+            queueName,
+            capacity,
+            leaseInSeconds,
+            maxAttempts
+        );
+    }
 }
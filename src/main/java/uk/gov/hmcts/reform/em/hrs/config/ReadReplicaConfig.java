@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.em.hrs.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.time.Duration;
+import javax.sql.DataSource;
+
+/**
+ * Adds a pool for the read replica when one is configured, so that report generation does not take connections from
+ * ingestion. Without it the single pool Spring Boot configures from {@code spring.datasource} is used for everything.
+ */
+@Configuration
+@ConditionalOnProperty(value = "hrs.read-replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("hrs.read-replica.hikari")
+    public HikariDataSource replicaDataSource(
+        @Value("${hrs.read-replica.url}") String url,
+        @Value("${hrs.read-replica.username}") String username,
+        @Value("${hrs.read-replica.password}") String password
+    ) {
+        return DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ReplicaLagMonitor replicaLagMonitor(
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        @Value("${hrs.read-replica.max-lag-in-seconds}") long maxLagInSeconds,
+        @Value("${hrs.read-replica.lag-check-interval-in-seconds}") long lagCheckIntervalInSeconds
+    ) {
+        ReplicaLagMonitor monitor =
+            new ReplicaLagMonitor(new JdbcTemplate(replicaDataSource), Duration.ofSeconds(maxLagInSeconds));
+        monitor.start(Duration.ofSeconds(lagCheckIntervalInSeconds));
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        ReplicaLagMonitor replicaLagMonitor
+    ) {
+        ReadReplicaRoutingDataSource routingDataSource =
+            new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
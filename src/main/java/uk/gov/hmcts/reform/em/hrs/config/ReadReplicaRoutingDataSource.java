@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.em.hrs.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import javax.sql.DataSource;
+
+/**
+ * Sends the connections of read-only transactions the application declares, such as report generation, to the read
+ * replica while it is within the allowed lag, and everything else to the primary.
+ *
+ * <p>Spring Data runs each repository call outside a transaction in a read-only transaction of its own. Those stay on
+ * the primary, so a request reads what it has just written.
+ *
+ * <p>The connection is chosen when it is taken from the pool, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which only takes it once the transaction
+ * has started and is known to be read-only.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String SPRING_DATA_TRANSACTION_PREFIX = "org.springframework.data.";
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return isDeclaredReadOnlyTransaction() && replicaLagMonitor.isReplicaUsable() ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    private static boolean isDeclaredReadOnlyTransaction() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name == null || !name.startsWith(SPRING_DATA_TRANSACTION_PREFIX);
+    }
+}
@@ -0,0 +1,94 @@
+package uk.gov.hmcts.reform.em.hrs.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks in the background how far the read replica is behind the primary, so that choosing where a transaction goes
+ * never waits on the replica. The replica is only used once a check has found it within the maximum lag, and not
+ * again after a check finds it further behind, not streaming from the primary, or cannot reach it.
+ *
+ * <p>The replica user needs pg_read_all_stats to see the state of the WAL receiver, without it the replica is never
+ * used.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // null when the lag is unknown. A replica cut off from the primary has replayed all it received too, so it only
+    // counts as caught up while streaming, and then however long ago the last write was.
+    static final String LAG_IN_SECONDS_QUERY = """
+        SELECT CASE
+                   WHEN NOT pg_is_in_recovery() THEN 0
+                   WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL
+                   WHEN pg_last_xact_replay_timestamp() IS NULL THEN NULL
+                   WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                   ELSE extract(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+               END
+        """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private ScheduledExecutorService checker;
+    private volatile boolean replicaUsable;
+
+    public ReplicaLagMonitor(JdbcTemplate replicaJdbcTemplate, Duration maxLag) {
+        this.replicaJdbcTemplate = replicaJdbcTemplate;
+        this.maxLag = maxLag;
+    }
+
+    /**
+     * Starts checking the replica, the first check straight away.
+     *
+     * @param checkInterval the time between the end of one check and the start of the next
+     */
+    public synchronized void start(Duration checkInterval) {
+        if (checker != null) {
+            return;
+        }
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-replica-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    void check() {
+        boolean usable;
+        try {
+            Double lagInSeconds = replicaJdbcTemplate.queryForObject(LAG_IN_SECONDS_QUERY, Double.class);
+            usable = lagInSeconds != null && lagInSeconds * 1000 <= maxLag.toMillis();
+            if (usable != replicaUsable && lagInSeconds == null) {
+                LOGGER.warn("Read replica is not streaming from the primary, not using it");
+            } else if (usable != replicaUsable) {
+                LOGGER.info("Read replica is {} seconds behind, {}", lagInSeconds,
+                            usable ? "using it" : "not using it");
+            }
+        } catch (RuntimeException e) {
+            usable = false;
+            if (replicaUsable) {
+                LOGGER.warn("Could not check read replica lag, not using it", e);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    public synchronized void shutdown() {
+        replicaUsable = false;
+        if (checker != null) {
+            checker.shutdownNow();
+            checker = null;
+        }
+    }
+}
@@ -10,13 +10,27 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import uk.gov.hmcts.reform.em.hrs.dto.FolderListing;
 import uk.gov.hmcts.reform.em.hrs.dto.RecordingFilenameDto;
+import uk.gov.hmcts.reform.em.hrs.exception.ValidationErrorException;
 import uk.gov.hmcts.reform.em.hrs.service.FolderService;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
@@ -43,19 +57,39 @@ public class FolderController {
         parameters = {
             @Parameter(in = ParameterIn.HEADER, name = "serviceauthorization",
                 description = "Service Authorization (S2S Bearer token)", required = true,
+                schema = @Schema(type = "string")),
+            @Parameter(in = ParameterIn.QUERY, name = "since",
+                description = "Cursor from a previous response, only completed files created after it are returned",
+                schema = @Schema(type = "string")),
+            @Parameter(in = ParameterIn.HEADER, name = "If-None-Match",
+                description = "ETag from a previous response with the same cursor",
                 schema = @Schema(type = "string"))}
     )
     @ApiResponses(
         value = {
             @ApiResponse(responseCode = "200", description = "Names of successfully stored recording files"),
+            @ApiResponse(responseCode = "304", description = "The folder has not changed since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
         }
     )
-    public ResponseEntity<RecordingFilenameDto> getFilenames(@PathVariable("name") final String folderName) {
-        var recordingFilenameDto = new RecordingFilenameDto(
-            folderName,
-            folderService.getStoredFiles(folderName)
-        );
+    public ResponseEntity<RecordingFilenameDto> getFilenames(
+        @PathVariable("name") final String folderName,
+        @RequestParam(value = "since", required = false) final String since,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) final List<String> ifNoneMatch) {
+
+        FolderListing folderListing =
+            folderService.getStoredFiles(folderName, parseCursor(since), versions(ifNoneMatch));
+        if (folderListing.isUnchanged()) {
+            LOGGER.debug("Folder {} not modified since cursor {}", folderName, since);
+            return ResponseEntity
+                .status(HttpStatus.NOT_MODIFIED)
+                .eTag(folderListing.version())
+                .build();
+        }
+
+        String cursor = folderListing.cursor() == null ? null : folderListing.cursor().toString();
+        var recordingFilenameDto = new RecordingFilenameDto(folderName, folderListing.filenames(), cursor);
 
         LOGGER.debug(
             "Under folder {} Completed Filenames: {} ",
@@ -65,8 +99,29 @@ public class FolderController {
         return ResponseEntity
             .ok()
             .contentType(APPLICATION_JSON)
+            .eTag(folderListing.version())
             .body(recordingFilenameDto);
     }
 
+    private static LocalDateTime parseCursor(final String since) {
+        if (since == null || since.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(since);
+        } catch (DateTimeParseException e) {
+            throw new ValidationErrorException(Map.of("since", since));
+        }
+    }
 
+    private static Set<String> versions(final List<String> ifNoneMatch) {
+        if (ifNoneMatch == null) {
+            return Collections.emptySet();
+        }
+        return ifNoneMatch.stream()
+            .map(String::trim)
+            .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+            .map(tag -> tag.replace("\"", ""))
+            .collect(Collectors.toUnmodifiableSet());
+    }
 }
@@ -29,6 +29,7 @@ import uk.gov.hmcts.reform.ccd.client.model.CallbackRequest;
 import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.queue.HearingRecordingQueue;
 import uk.gov.hmcts.reform.em.hrs.service.Constants;
 import uk.gov.hmcts.reform.em.hrs.service.HearingRecordingService;
 import uk.gov.hmcts.reform.em.hrs.service.SegmentDownloadService;
@@ -39,7 +40,6 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Supplier;
 
 import static org.springframework.http.HttpStatus.ACCEPTED;
@@ -55,7 +55,7 @@ public class HearingRecordingController {
 
     private final ShareAndNotifyService shareAndNotifyService;
     private final SegmentDownloadService segmentDownloadService;
-    private final LinkedBlockingQueue<HearingRecordingDto> ingestionQueue;
+    private final HearingRecordingQueue ingestionQueue;
     private final HearingRecordingService hearingRecordingService;
 
     @Value("${endpoint.deleteCase.enabled}")
@@ -64,7 +64,7 @@ public class HearingRecordingController {
     @Autowired
     public HearingRecordingController(
         final ShareAndNotifyService shareAndNotifyService,
-        @Qualifier("ingestionQueue") final LinkedBlockingQueue<HearingRecordingDto> ingestionQueue,
+        @Qualifier("ingestionQueue") final HearingRecordingQueue ingestionQueue,
         SegmentDownloadService segmentDownloadService, HearingRecordingService hearingRecordingService) {
         this.shareAndNotifyService = shareAndNotifyService;
         this.ingestionQueue = ingestionQueue;
@@ -174,6 +174,8 @@ public class HearingRecordingController {
                 schema = @Schema(type = "string"))})
     @ApiResponses(value =
         {@ApiResponse(responseCode = "200", description = "Return the requested hearing recording segment"),
+            @ApiResponse(responseCode = "302", description = "Redirect to a short-lived signed URL for the segment"),
+            @ApiResponse(responseCode = "304", description = "The client already has the current copy"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")}
     )
     public ResponseEntity<Void> getSegmentBinary(@PathVariable("recordingId") UUID recordingId,
@@ -206,6 +208,8 @@ public class HearingRecordingController {
                 schema = @Schema(type = "string"))})
     @ApiResponses(value =
         {@ApiResponse(responseCode = "200", description = "Return the requested hearing recording"),
+            @ApiResponse(responseCode = "302", description = "Redirect to a short-lived signed URL for the recording"),
+            @ApiResponse(responseCode = "304", description = "The client already has the current copy"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")}
     )
     public ResponseEntity<Void> getSegmentBinaryByFileName(
@@ -242,6 +246,8 @@ public class HearingRecordingController {
                 schema = @Schema(type = "string"))})
     @ApiResponses(
         value = {@ApiResponse(responseCode = "200", description = "Return the requested hearing recording segment"),
+            @ApiResponse(responseCode = "302", description = "Redirect to a short-lived signed URL for the segment"),
+            @ApiResponse(responseCode = "304", description = "The client already has the current copy"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")}
     )
     public ResponseEntity<Void> getSegmentBinaryForShareeByFileName(
@@ -279,6 +285,8 @@ public class HearingRecordingController {
                 schema = @Schema(type = "string"))})
     @ApiResponses(
         value = {@ApiResponse(responseCode = "200", description = "Return the requested hearing recording segment"),
+            @ApiResponse(responseCode = "302", description = "Redirect to a short-lived signed URL for the segment"),
+            @ApiResponse(responseCode = "304", description = "The client already has the current copy"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")}
     )
     public ResponseEntity<Void> getSegmentBinaryForSharee(
@@ -332,6 +340,16 @@ public class HearingRecordingController {
         try {
             HearingRecordingSegment segment = func.get();
             segmentDownloadService.download(segment, request, response);
+            if (request.isAsyncStarted()) {
+                // the body is still being written, returning no entity leaves the response alone
+                return null;
+            }
+            int status = response.getStatus();
+            if (status == HttpStatus.PARTIAL_CONTENT.value() || status == HttpStatus.NOT_MODIFIED.value()
+                || status == HttpStatus.PRECONDITION_FAILED.value()) {
+                // a short response may not be committed yet, so returning 200 here would overwrite the status
+                return new ResponseEntity<>(HttpStatus.valueOf(status));
+            }
         } catch (AccessDeniedException e) {
             LOGGER.warn(
                 "User does not have permission to download recording {}",
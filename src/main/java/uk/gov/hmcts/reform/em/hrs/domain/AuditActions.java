@@ -8,6 +8,7 @@ public enum AuditActions {
     NOTIFY_FAIL,
     USER_DOWNLOAD_REQUESTED,
     USER_DOWNLOAD_OK,
+    USER_DOWNLOAD_REDIRECTED,
     USER_DOWNLOAD_UNAUTHORIZED,
     USER_DOWNLOAD_FAIL,
 }
@@ -75,6 +75,8 @@ public class HearingRecordingSegment {
     private Integer recordingSegment;
     private String interpreter;
     private String mimeType;
+    private Long blobSize;
+    private String blobContentType;
 
 
     public HearingRecordingSegment() {
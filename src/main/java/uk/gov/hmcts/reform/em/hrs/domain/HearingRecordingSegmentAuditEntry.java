@@ -4,10 +4,14 @@ import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.Date;
+
 @Entity
 @NoArgsConstructor
 @DiscriminatorValue(value = "hearing_recording_segment")
@@ -18,8 +22,28 @@ public class HearingRecordingSegmentAuditEntry extends AuditEntry {
     @ManyToOne(fetch = FetchType.LAZY)
     private HearingRecordingSegment hearingRecordingSegment;
 
+    // set on playback session entries, which cover every request from eventDateTime to here
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date lastEventDateTime;
+
+    @Getter
+    @Setter
+    private Integer requestCount;
+
+    @Getter
+    @Setter
+    private Long bytesServed;
+
     public HearingRecordingSegmentAuditEntry(HearingRecordingSegment hearingRecordingSegment) {
         super();
         this.hearingRecordingSegment = hearingRecordingSegment;
     }
+
+    public Date getLastEventDateTime() {
+        return lastEventDateTime == null ? null : new Date(lastEventDateTime.getTime());
+    }
+
+    public void setLastEventDateTime(Date lastEventDateTime) {
+        this.lastEventDateTime = lastEventDateTime == null ? null : new Date(lastEventDateTime.getTime());
+    }
 }
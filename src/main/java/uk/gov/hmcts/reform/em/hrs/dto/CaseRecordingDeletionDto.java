@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.em.hrs.dto;
+
+import java.util.UUID;
+
+/**
+ * A segment of a recording of a case being deleted, or just the recording when it has no segments.
+ */
+public record CaseRecordingDeletionDto(
+        Long ccdCaseId,
+        UUID hearingRecordingId,
+        String hearingSource,
+        UUID hearingRecordingSegmentId,
+        String filename
+) {
+}
@@ -0,0 +1,23 @@
+package uk.gov.hmcts.reform.em.hrs.dto;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Files stored in a folder, with the version of the folder they were read at. Filenames are null when the caller
+ * already holds the current version.
+ */
+public record FolderListing(
+        String version,
+        LocalDateTime cursor,
+        Set<String> filenames
+) {
+
+    public static FolderListing unchanged(String version, LocalDateTime cursor) {
+        return new FolderListing(version, cursor, null);
+    }
+
+    public boolean isUnchanged() {
+        return filenames == null;
+    }
+}
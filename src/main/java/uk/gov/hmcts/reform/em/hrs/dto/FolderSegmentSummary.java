@@ -0,0 +1,9 @@
+package uk.gov.hmcts.reform.em.hrs.dto;
+
+import java.time.LocalDateTime;
+
+public record FolderSegmentSummary(
+        long segmentCount,
+        LocalDateTime latestCreatedOn
+) {
+}
@@ -0,0 +1,63 @@
+package uk.gov.hmcts.reform.em.hrs.job;
+
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.em.hrs.repository.AuditEntryRepository;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Keeps the monthly partitions of audit_entry ahead of time, and drops whole months once they are past retention
+ * rather than deleting their rows.
+ */
+@Component
+@ConditionalOnProperty(value = "scheduling.task.audit-entry-partitions.enabled")
+public class AuditEntryPartitionTask {
+
+    private static final String TASK_NAME = "audit-entry-partitions";
+    private static final Logger logger = getLogger(AuditEntryPartitionTask.class);
+
+    private final AuditEntryRepository auditEntryRepository;
+    private final int monthsAhead;
+    private final int retentionInMonths;
+
+    public AuditEntryPartitionTask(
+        AuditEntryRepository auditEntryRepository,
+        @Value("${scheduling.task.audit-entry-partitions.months-ahead}") int monthsAhead,
+        @Value("${scheduling.task.audit-entry-partitions.retention-in-months}") int retentionInMonths
+    ) {
+        this.auditEntryRepository = auditEntryRepository;
+        this.monthsAhead = monthsAhead;
+        this.retentionInMonths = retentionInMonths;
+    }
+
+    @Scheduled(cron = "${scheduling.task.audit-entry-partitions.cron}", zone = "Europe/London")
+    @SchedulerLock(name = TASK_NAME)
+    public void run() {
+        logger.info("Started {} job", TASK_NAME);
+        LocalDate thisMonth = LocalDate.now(Clock.systemUTC()).withDayOfMonth(1);
+        try {
+            for (int month = 0; month <= monthsAhead; month++) {
+                auditEntryRepository.createPartition(thisMonth.plusMonths(month));
+            }
+            // 0 keeps every month
+            if (retentionInMonths > 0) {
+                List<String> dropped = auditEntryRepository.dropPartitionsBefore(
+                    thisMonth.minusMonths(retentionInMonths)
+                );
+                logger.info("Dropped audit entry partitions {}", dropped);
+            }
+        } catch (Exception ex) {
+            logger.error("ERROR in {} job", TASK_NAME, ex);
+        }
+        logger.info("Finished {} job", TASK_NAME);
+    }
+}
@@ -6,55 +6,90 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.quartz.QuartzJobBean;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.queue.HearingRecordingQueue;
+import uk.gov.hmcts.reform.em.hrs.queue.QueuedHearingRecording;
 import uk.gov.hmcts.reform.em.hrs.service.JobInProgressService;
 import uk.gov.hmcts.reform.em.hrs.service.ccd.CcdUploadService;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.LinkedBlockingQueue;
-
 
 @Component
 @DisallowConcurrentExecution
 public class CcdUploadJob extends QuartzJobBean {
     private static final Logger LOGGER = LoggerFactory.getLogger(CcdUploadJob.class);
 
-    private LinkedBlockingQueue<HearingRecordingDto> ccdUploadQueue;
+    private HearingRecordingQueue ccdUploadQueue;
 
     private JobInProgressService jobInProgressService;
 
     private CcdUploadService ccdUploadService;
 
+    private int batchSize;
+
     // Required by Quartz
     public CcdUploadJob() {
     }
 
     @Autowired
-    CcdUploadJob(@Qualifier("ccdUploadQueue") final LinkedBlockingQueue<HearingRecordingDto> ccdUploadQueue,
+    CcdUploadJob(@Qualifier("ccdUploadQueue") final HearingRecordingQueue ccdUploadQueue,
                  final CcdUploadService ccdUploadService,
-                 final JobInProgressService jobInProgressService) {
+                 final JobInProgressService jobInProgressService,
+                 @Value("${hrs.ccdupload-batch-size}") final int batchSize) {
         this.ccdUploadQueue = ccdUploadQueue;
         this.ccdUploadService = ccdUploadService;
         this.jobInProgressService = jobInProgressService;
+        this.batchSize = batchSize;
     }
 
+    /**
+     * Takes up to batchSize segments from the queue and uploads the segments of each recording together, so a
+     * recording split into several files is added to its case in one CCD event rather than one event per file.
+     */
     @Override
     protected void executeInternal(final JobExecutionContext context) {
         LOGGER.info("CCD upload job starting");
-        Optional.ofNullable(ccdUploadQueue.poll())
-            .ifPresent(this::uploadGracefully);
+        Map<RecordingKey, List<QueuedHearingRecording>> recordings = new LinkedHashMap<>();
+        for (int i = 0; i < batchSize; i++) {
+            Optional<QueuedHearingRecording> queuedRecording = ccdUploadQueue.poll();
+            if (queuedRecording.isEmpty()) {
+                break;
+            }
+            HearingRecordingDto hrDto = queuedRecording.get().hearingRecordingDto();
+            recordings.computeIfAbsent(new RecordingKey(hrDto.getFolder(), hrDto.getRecordingRef()),
+                                       key -> new ArrayList<>())
+                .add(queuedRecording.get());
+        }
+        recordings.values().forEach(this::uploadGracefully);
     }
 
-    private void uploadGracefully(HearingRecordingDto hrDto) {
+    private void uploadGracefully(List<QueuedHearingRecording> queuedRecordings) {
+        List<HearingRecordingDto> hrDtos = queuedRecordings.stream()
+            .map(QueuedHearingRecording::hearingRecordingDto)
+            .toList();
         LOGGER.info("attempting to create/update case in ccd gracefully");
         try {
-            ccdUploadService.upload(hrDto);
+            if (hrDtos.size() == 1) {
+                ccdUploadService.upload(hrDtos.get(0));
+            } else {
+                ccdUploadService.uploadSegments(hrDtos);
+            }
         } catch (Exception e) {
             LOGGER.error("Unhandled Exception: {}", e.toString());
         }
-        jobInProgressService.deRegister(hrDto);
+        for (QueuedHearingRecording queuedRecording : queuedRecordings) {
+            jobInProgressService.deRegister(queuedRecording.hearingRecordingDto());
+            ccdUploadQueue.acknowledge(queuedRecording);
+        }
     }
-}
 
+    private record RecordingKey(String folder, String recordingRef) {
+    }
+}
@@ -8,11 +8,14 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.quartz.QuartzJobBean;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.queue.HearingRecordingQueue;
+import uk.gov.hmcts.reform.em.hrs.queue.QueuedHearingRecording;
 import uk.gov.hmcts.reform.em.hrs.service.IngestionService;
 import uk.gov.hmcts.reform.em.hrs.service.JobInProgressService;
 
 import java.util.Optional;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.RejectedExecutionException;
 
 @Component
@@ -20,13 +23,13 @@ public class IngestionJob extends QuartzJobBean {
     private static final Logger LOGGER = LoggerFactory.getLogger(IngestionJob.class);
 
     @Qualifier("ingestionQueue")
-    private LinkedBlockingQueue<HearingRecordingDto> ingestionQueue;
+    private HearingRecordingQueue ingestionQueue;
 
     private JobInProgressService jobInProgressService;
 
     private IngestionService ingestionService;
 
-    private LinkedBlockingQueue<HearingRecordingDto> ccdUploadQueue;
+    private HearingRecordingQueue ccdUploadQueue;
 
 
     // Required by Quartz
@@ -34,9 +37,9 @@ public class IngestionJob extends QuartzJobBean {
     }
 
     @Autowired
-    IngestionJob(@Qualifier("ingestionQueue") final LinkedBlockingQueue<HearingRecordingDto> ingestionQueue,
+    IngestionJob(@Qualifier("ingestionQueue") final HearingRecordingQueue ingestionQueue,
                  final IngestionService ingestionService, final JobInProgressService jobInProgressService,
-                 @Qualifier("ccdUploadQueue") LinkedBlockingQueue<HearingRecordingDto> ccdUploadQueue) {
+                 @Qualifier("ccdUploadQueue") HearingRecordingQueue ccdUploadQueue) {
         this.ingestionQueue = ingestionQueue;
         this.ingestionService = ingestionService;
         this.jobInProgressService = jobInProgressService;
@@ -45,29 +48,87 @@ public class IngestionJob extends QuartzJobBean {
 
     @Override
     protected void executeInternal(final JobExecutionContext context) {
-        Optional.ofNullable(ingestionQueue.poll())
-            .ifPresent(this::ingestGracefully);
+        ingestNext();
     }
 
-    private void ingestGracefully(HearingRecordingDto hrDto) {
+    /**
+     * Ingests the next queued recording, if any.
+     *
+     * @return false when the ingestion queue was empty
+     */
+    public boolean ingestNext() {
+        Optional<QueuedHearingRecording> queuedRecording = ingestionQueue.poll();
+        queuedRecording.ifPresent(this::ingestGracefully);
+        return queuedRecording.isPresent();
+    }
+
+    /**
+     * Starts ingesting the next queued recording without waiting for the blob copy, which is finished by the
+     * returned future.
+     *
+     * @return empty when the ingestion queue was empty
+     */
+    public Optional<CompletableFuture<Void>> ingestNextAsync() {
+        return ingestionQueue.poll()
+            .map(this::ingestAsync);
+    }
+
+    private void ingestGracefully(QueuedHearingRecording queuedRecording) {
+        HearingRecordingDto hrDto = queuedRecording.hearingRecordingDto();
         try {
             jobInProgressService.register(hrDto);
             ingestionService.ingest(hrDto);
-            boolean accepted = ccdUploadQueue.offer(hrDto);
-            if (accepted) {
-                LOGGER.warn("CCD Upload Job accepted for file: {} ", hrDto.getFilename());
+            onIngested(queuedRecording, null);
+        } catch (Exception e) {
+            onIngested(queuedRecording, e);
+        }
+    }
+
+    private CompletableFuture<Void> ingestAsync(QueuedHearingRecording queuedRecording) {
+        HearingRecordingDto hrDto = queuedRecording.hearingRecordingDto();
+        CompletableFuture<Void> copy;
+        try {
+            jobInProgressService.register(hrDto);
+            copy = ingestionService.ingestAsync(hrDto);
+        } catch (Exception e) {
+            copy = CompletableFuture.failedFuture(e);
+        }
+        return copy.handle((ignored, throwable) -> {
+            onIngested(queuedRecording, throwable);
+            return null;
+        });
+    }
+
+    private void onIngested(QueuedHearingRecording queuedRecording, Throwable throwable) {
+        HearingRecordingDto hrDto = queuedRecording.hearingRecordingDto();
+        try {
+            if (throwable == null) {
+                queueForCcdUpload(hrDto);
             } else {
-                LOGGER.warn("CCD Upload Queue Full. Not uploading file: {} ", hrDto.getFilename());
+                Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                if (cause instanceof RejectedExecutionException) {
+                    LOGGER.warn("Execution Rejected: {}", cause.toString());//likely to be timeouts with azure copies
+                } else {
+                    LOGGER.error("Unhandled Exception: {}", cause.toString());
+                }
                 jobInProgressService.deRegister(hrDto);
             }
-        } catch (RejectedExecutionException re) {
-            LOGGER.warn("Execution Rejected: {}", re.toString());//likely to be timeouts with azure copies of blobstore
-            jobInProgressService.deRegister(hrDto);
         } catch (Exception e) {
             LOGGER.error("Unhandled Exception: {}", e.toString());
             jobInProgressService.deRegister(hrDto);
+        } finally {
+            ingestionQueue.acknowledge(queuedRecording);
         }
     }
 
-}
+    private void queueForCcdUpload(HearingRecordingDto hrDto) {
+        boolean accepted = ccdUploadQueue.offer(hrDto);
+        if (accepted) {
+            LOGGER.warn("CCD Upload Job accepted for file: {} ", hrDto.getFilename());
+        } else {
+            LOGGER.warn("CCD Upload Queue Full. Not uploading file: {} ", hrDto.getFilename());
+            jobInProgressService.deRegister(hrDto);
+        }
+    }
 
+}
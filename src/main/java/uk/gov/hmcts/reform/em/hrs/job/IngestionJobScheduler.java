@@ -11,11 +11,12 @@ import org.quartz.Trigger;
 import org.quartz.TriggerBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.stereotype.Component;
 
 @Component
-@ConditionalOnProperty(value = "hrs.ingestion-enabled")
+// fallback for when the continuous ingestion workers are switched off
+@ConditionalOnExpression("${hrs.ingestion-enabled} and !${hrs.ingestion-workers.enabled}")
 public class IngestionJobScheduler {
     private final Scheduler scheduler;
     private final int intervalInSeconds;
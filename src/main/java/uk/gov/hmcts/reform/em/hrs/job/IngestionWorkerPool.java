@@ -0,0 +1,130 @@
+package uk.gov.hmcts.reform.em.hrs.job;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.em.hrs.queue.HearingRecordingQueue;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the ingestion queue continuously with a fixed number of workers, instead of one file per quartz firing.
+ * Workers only start blob copies, which are finished by the BlobCopyTracker, so at most maxInFlight copies are
+ * outstanding on this node. Workers stop taking new files while the ccd upload queue is full, as ingested files
+ * would otherwise be dropped.
+ */
+@Component
+@ConditionalOnExpression("${hrs.ingestion-enabled} and ${hrs.ingestion-workers.enabled}")
+public class IngestionWorkerPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IngestionWorkerPool.class);
+
+    private final IngestionJob ingestionJob;
+    private final HearingRecordingQueue ccdUploadQueue;
+    private final int workerCount;
+    private final int idleWaitInMillis;
+    private final int maxInFlight;
+    private final int drainTimeoutInSeconds;
+    private final Semaphore inFlight;
+
+    private ExecutorService executorService;
+    private volatile boolean running;
+
+    @Autowired
+    public IngestionWorkerPool(final IngestionJob ingestionJob,
+                               @Qualifier("ccdUploadQueue") final HearingRecordingQueue ccdUploadQueue,
+                               @Value("${hrs.ingestion-workers.count}") final int workerCount,
+                               @Value("${hrs.ingestion-workers.max-in-flight}") final int maxInFlight,
+                               @Value("${hrs.ingestion-workers.idle-wait-in-millis}") final int idleWaitInMillis,
+                               @Value("${hrs.ingestion-workers.drain-timeout-in-seconds}")
+                               final int drainTimeoutInSeconds) {
+        this.ingestionJob = ingestionJob;
+        this.ccdUploadQueue = ccdUploadQueue;
+        this.workerCount = workerCount;
+        this.maxInFlight = maxInFlight;
+        this.idleWaitInMillis = idleWaitInMillis;
+        this.drainTimeoutInSeconds = drainTimeoutInSeconds;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        executorService = Executors.newFixedThreadPool(
+            workerCount,
+            new ThreadFactoryBuilder().setNameFormat("ingestion-worker-%d").build()
+        );
+        for (int i = 0; i < workerCount; i++) {
+            executorService.execute(this::work);
+        }
+        LOGGER.info("Started {} ingestion workers", workerCount);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        executorService.shutdown();
+        boolean drained = executorService.awaitTermination(drainTimeoutInSeconds, TimeUnit.SECONDS)
+            && inFlight.tryAcquire(maxInFlight, drainTimeoutInSeconds, TimeUnit.SECONDS);
+        if (!drained) {
+            // leased items will be picked up again by another server once the lease expires
+            LOGGER.warn("Ingestion workers did not drain within {} seconds, interrupting", drainTimeoutInSeconds);
+            executorService.shutdownNow();
+        }
+        LOGGER.info("Stopped ingestion workers");
+    }
+
+    void work() {
+        while (running) {
+            try {
+                if (!runOnce()) {
+                    Thread.sleep(idleWaitInMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                LOGGER.error("Ingestion worker failed: {}", e.toString());
+            }
+        }
+    }
+
+    /**
+     * Starts ingesting one file if a copy slot is free and the ccd upload queue can take the result.
+     *
+     * @return false when the worker should back off
+     */
+    boolean runOnce() throws InterruptedException {
+        if (ccdUploadQueue.remainingCapacity() == 0) {
+            LOGGER.debug("CCD Upload Queue Full, pausing ingestion");
+            return false;
+        }
+        if (!inFlight.tryAcquire(idleWaitInMillis, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        Optional<CompletableFuture<Void>> ingestion;
+        try {
+            ingestion = ingestionJob.ingestNextAsync();
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+        if (ingestion.isEmpty()) {
+            inFlight.release();
+            return false;
+        }
+        ingestion.get().whenComplete((ignored, throwable) -> inFlight.release());
+        return true;
+    }
+}
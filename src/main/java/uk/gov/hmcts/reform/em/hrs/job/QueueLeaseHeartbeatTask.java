@@ -0,0 +1,64 @@
+package uk.gov.hmcts.reform.em.hrs.job;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.em.hrs.queue.HearingRecordingQueue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Renews the leases on queue items this node is working on. Runs on a thread of its own rather than the shared
+ * scheduler, where a long report or sweep would hold it back until the leases ran out and other nodes took the items.
+ */
+@Component
+public class QueueLeaseHeartbeatTask {
+
+    private static final Logger logger = getLogger(QueueLeaseHeartbeatTask.class);
+
+    private final List<HearingRecordingQueue> queues;
+    private final ScheduledExecutorService heartbeat;
+
+    @Autowired
+    public QueueLeaseHeartbeatTask(
+        List<HearingRecordingQueue> queues,
+        @Value("${hrs.queue.heartbeat-interval-in-seconds}") long heartbeatIntervalInSeconds
+    ) {
+        this(queues, Duration.ofSeconds(heartbeatIntervalInSeconds));
+    }
+
+    QueueLeaseHeartbeatTask(List<HearingRecordingQueue> queues, Duration heartbeatInterval) {
+        this.queues = queues;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "queue-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::run, heartbeatInterval.toMillis(), heartbeatInterval.toMillis(),
+                                         TimeUnit.MILLISECONDS);
+    }
+
+    // runs on every node, each node only renews the leases it holds
+    public void run() {
+        for (HearingRecordingQueue queue : queues) {
+            try {
+                queue.heartbeat();
+            } catch (Exception ex) {
+                logger.warn("Failed to renew queue leases", ex);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+    }
+}
@@ -0,0 +1,159 @@
+package uk.gov.hmcts.reform.em.hrs.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+import uk.gov.hmcts.reform.em.hrs.queue.HearingRecordingQueue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Timers for each stage a recording passes through between the ingestor and CCD, tagged by hearing source, plus
+ * gauges for the depth of the work queues. A timer's count, split by outcome, doubles as the stage's counter.
+ */
+@Component
+public class IngestionMetrics {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IngestionMetrics.class);
+
+    public static final String STAGE_REGISTER_JOB = "register_job";
+    public static final String STAGE_SAS = "sas";
+    public static final String STAGE_COPY = "copy";
+    public static final String STAGE_CCD_START_EVENT = "ccd_start_event";
+    public static final String STAGE_CCD_SUBMIT_EVENT = "ccd_submit_event";
+    public static final String STAGE_MIME_DETECTION = "mime_detection";
+    public static final String STAGE_SEGMENT_SAVE = "segment_save";
+
+    static final String STAGE_TIMER = "hrs.ingestion.stage";
+    static final String QUEUE_WAIT_TIMER = "hrs.ingestion.queue.wait";
+    static final String QUEUE_DEPTH_GAUGE = "hrs.ingestion.queue.depth";
+    static final String QUEUE_REMAINING_CAPACITY_GAUGE = "hrs.ingestion.queue.remaining.capacity";
+
+    private static final String UNKNOWN_SOURCE = "unknown";
+
+    // the depth gauges of a queue share one count by source, taken at most this often whoever scrapes them
+    private static final Duration QUEUE_DEPTH_TTL = Duration.ofSeconds(15);
+
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Duration queueDepthTtl;
+
+    @Autowired
+    public IngestionMetrics(final MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemUTC(), QUEUE_DEPTH_TTL);
+    }
+
+    IngestionMetrics(final MeterRegistry meterRegistry, final Clock clock, final Duration queueDepthTtl) {
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.queueDepthTtl = queueDepthTtl;
+    }
+
+    public <T> T time(final String stage, final HearingSource source, final Supplier<T> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean success = false;
+        try {
+            T result = action.get();
+            success = true;
+            return result;
+        } finally {
+            sample.stop(stageTimer(stage, source, success));
+        }
+    }
+
+    public void time(final String stage, final HearingSource source, final Runnable action) {
+        time(stage, source, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Times a stage that finishes when the returned future completes rather than when the call returns.
+     */
+    public <T> CompletableFuture<T> timeAsync(final String stage, final HearingSource source,
+                                              final Supplier<CompletableFuture<T>> action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<T> future;
+        try {
+            future = action.get();
+        } catch (RuntimeException e) {
+            sample.stop(stageTimer(stage, source, false));
+            throw e;
+        }
+        return future.whenComplete(
+            (ignored, throwable) -> sample.stop(stageTimer(stage, source, throwable == null))
+        );
+    }
+
+    public void recordQueueWait(final String queueName, final HearingSource source, final Duration wait) {
+        Timer.builder(QUEUE_WAIT_TIMER)
+            .description("Time a recording spent in a work queue before being picked up")
+            .tags(Tags.of("queue", queueName, "source", sourceTag(source)))
+            .register(meterRegistry)
+            .record(wait.isNegative() ? Duration.ZERO : wait);
+    }
+
+    public void registerQueueGauges(final String queueName, final HearingRecordingQueue queue) {
+        QueueDepths queueDepths = new QueueDepths(queueName, queue);
+        for (HearingSource source : HearingSource.values()) {
+            Gauge.builder(QUEUE_DEPTH_GAUGE, queueDepths, depths -> depths.count(source))
+                .description("Recordings waiting in a work queue")
+                .tags(Tags.of("queue", queueName, "source", source.name()))
+                // nothing else references the shared counts
+                .strongReference(true)
+                .register(meterRegistry);
+        }
+        Gauge.builder(QUEUE_REMAINING_CAPACITY_GAUGE, queue, HearingRecordingQueue::remainingCapacity)
+            .description("Recordings a work queue can still accept, shared by all sources")
+            .tags(Tags.of("queue", queueName))
+            .register(meterRegistry);
+    }
+
+    private Timer stageTimer(final String stage, final HearingSource source, final boolean success) {
+        return Timer.builder(STAGE_TIMER)
+            .description("Time taken by one stage of the ingestion pipeline")
+            .tags(Tags.of("stage", stage, "source", sourceTag(source), "outcome", success ? "success" : "failure"))
+            .register(meterRegistry);
+    }
+
+    private static String sourceTag(final HearingSource source) {
+        return source == null ? UNKNOWN_SOURCE : source.name();
+    }
+
+    private final class QueueDepths {
+        private final String queueName;
+        private final HearingRecordingQueue queue;
+        private Map<HearingSource, Long> counts = Map.of();
+        private Instant countedOn;
+
+        private QueueDepths(final String queueName, final HearingRecordingQueue queue) {
+            this.queueName = queueName;
+            this.queue = queue;
+        }
+
+        synchronized long count(final HearingSource source) {
+            Instant now = clock.instant();
+            if (countedOn == null || !countedOn.plus(queueDepthTtl).isAfter(now)) {
+                // a failed count also waits out the ttl, the last counts are reported meanwhile
+                countedOn = now;
+                try {
+                    counts = queue.countBySource();
+                } catch (RuntimeException e) {
+                    LOGGER.warn("Could not count items on queue {}: {}", queueName, e.getMessage());
+                }
+            }
+            return counts.getOrDefault(source, 0L);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package uk.gov.hmcts.reform.em.hrs.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of the monthly audit report, with what it needs of the audited recording, segment or share already joined
+ * in. Columns that do not apply to the kind of entry are null.
+ */
+public record AuditReportRow(
+    String action,
+    String username,
+    String filename,
+    String sourceUri,
+    String hearingSource,
+    String serviceCode,
+    Long fileSizeMb,
+    Long ccdCaseId,
+    LocalDateTime dateProcessed,
+    LocalDateTime sharedOn,
+    String shareeEmail
+) {
+}
@@ -0,0 +1,19 @@
+package uk.gov.hmcts.reform.em.hrs.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of the hearing report, a segment with what it needs of its recording. Being a projection rather than the
+ * entities, the rows are never held by the persistence context, however many a report streams.
+ */
+public record HearingReportRow(
+    String filename,
+    String sourceUri,
+    String hearingSource,
+    String serviceCode,
+    String jurisdictionCode,
+    Long fileSizeMb,
+    Long ccdCaseId,
+    LocalDateTime createdOn
+) {
+}
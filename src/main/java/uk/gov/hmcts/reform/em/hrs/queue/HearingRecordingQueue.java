@@ -0,0 +1,36 @@
+package uk.gov.hmcts.reform.em.hrs.queue;
+
+import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Work queue for hearing recordings waiting to be ingested or uploaded to CCD.
+ * Items returned by {@link #poll()} are leased to the caller until they are acknowledged.
+ */
+public interface HearingRecordingQueue {
+
+    boolean offer(HearingRecordingDto hearingRecordingDto);
+
+    Optional<QueuedHearingRecording> poll();
+
+    void acknowledge(QueuedHearingRecording queuedHearingRecording);
+
+    int size();
+
+    int remainingCapacity();
+
+    /**
+     * Number of queued items per recording source, sources with nothing queued are left out.
+     */
+    Map<HearingSource, Long> countBySource();
+
+    /**
+     * Extends the lease on items claimed by this node, so they are not handed to another node mid-process.
+     */
+    default void heartbeat() {
+        // leases only apply to shared queues
+    }
+}
@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.em.hrs.queue;
+
+import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-node queue, items are lost on restart. Used when the shared database queue is disabled.
+ */
+public class InMemoryHearingRecordingQueue implements HearingRecordingQueue {
+
+    private final LinkedBlockingQueue<QueueEntry> queue;
+
+    public InMemoryHearingRecordingQueue(int capacity) {
+        this.queue = new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public boolean offer(HearingRecordingDto hearingRecordingDto) {
+        return queue.offer(new QueueEntry(hearingRecordingDto, Instant.now()));
+    }
+
+    @Override
+    public Optional<QueuedHearingRecording> poll() {
+        return Optional.ofNullable(queue.poll())
+            .map(entry -> new QueuedHearingRecording(
+                UUID.randomUUID(),
+                entry.hearingRecordingDto(),
+                entry.enqueuedOn()
+            ));
+    }
+
+    @Override
+    public void acknowledge(QueuedHearingRecording queuedHearingRecording) {
+        // item was removed from the queue when it was polled
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return queue.remainingCapacity();
+    }
+
+    @Override
+    public Map<HearingSource, Long> countBySource() {
+        return queue.stream()
+            .map(entry -> entry.hearingRecordingDto().getRecordingSource())
+            .filter(Objects::nonNull)
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+
+    public void clear() {
+        queue.clear();
+    }
+
+    private record QueueEntry(HearingRecordingDto hearingRecordingDto, Instant enqueuedOn) {
+    }
+}
@@ -0,0 +1,238 @@
+package uk.gov.hmcts.reform.em.hrs.queue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Postgres backed queue shared by every node. Items are claimed with FOR UPDATE SKIP LOCKED and leased to the
+ * claiming node, an item whose lease runs out (eg the pod was killed) becomes claimable by any other node.
+ */
+public class JdbcHearingRecordingQueue implements HearingRecordingQueue {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcHearingRecordingQueue.class);
+
+    private static final String COUNT_SQL = "SELECT count(*) FROM work_queue_item WHERE queue_name = :queueName";
+
+    private static final String COUNT_BY_SOURCE_SQL = """
+        SELECT payload::jsonb ->> 'recordingSource' AS source, count(*) AS items
+        FROM work_queue_item
+        WHERE queue_name = :queueName
+        GROUP BY 1
+        """;
+
+    // the capacity is soft, offers running at the same time each see the count from before the others' inserts
+    private static final String INSERT_SQL = """
+        INSERT INTO work_queue_item (id, queue_name, folder, filename, payload, enqueued_on, attempts)
+        SELECT :id, :queueName, :folder, :filename, :payload, now(), 0
+        WHERE (SELECT count(*) FROM work_queue_item WHERE queue_name = :queueName) < :capacity
+        ON CONFLICT (queue_name, folder, filename) DO NOTHING
+        """;
+
+    private static final String QUEUED_SQL = """
+        SELECT EXISTS (
+            SELECT 1 FROM work_queue_item
+            WHERE queue_name = :queueName AND folder = :folder AND filename = :filename
+        )
+        """;
+
+    private static final String CLAIM_SQL = """
+        UPDATE work_queue_item
+        SET leased_by = :leasedBy,
+            lease_expires_on = now() + (:leaseInSeconds * interval '1 second'),
+            attempts = attempts + 1
+        WHERE id = (
+            SELECT id FROM work_queue_item
+            WHERE queue_name = :queueName
+            AND (lease_expires_on IS NULL OR lease_expires_on < now())
+            ORDER BY enqueued_on
+            LIMIT 1
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id, payload, attempts, (extract(epoch FROM now() - enqueued_on) * 1000)::bigint AS waited_millis
+        """;
+
+    private static final String DELETE_SQL = "DELETE FROM work_queue_item WHERE id = :id";
+
+    private static final String HEARTBEAT_SQL = """
+        UPDATE work_queue_item
+        SET lease_expires_on = now() + (:leaseInSeconds * interval '1 second')
+        WHERE leased_by = :leasedBy AND id IN (:ids)
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String queueName;
+    private final int capacity;
+    private final int leaseInSeconds;
+    private final int maxAttempts;
+    private final String leasedBy = UUID.randomUUID().toString();
+    private final Set<UUID> leasedItems = ConcurrentHashMap.newKeySet();
+
+    public JdbcHearingRecordingQueue(
+        NamedParameterJdbcTemplate jdbcTemplate,
+        ObjectMapper objectMapper,
+        String queueName,
+        int capacity,
+        int leaseInSeconds,
+        int maxAttempts
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.queueName = queueName;
+        this.capacity = capacity;
+        this.leaseInSeconds = leaseInSeconds;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public boolean offer(HearingRecordingDto hrDto) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(hrDto);
+        } catch (JsonProcessingException e) {
+            LOGGER.error("Could not serialise file {} for queue {}", hrDto.getFilename(), queueName, e);
+            return false;
+        }
+
+        var params = new MapSqlParameterSource()
+            .addValue("id", UUID.randomUUID())
+            .addValue("queueName", queueName)
+            .addValue("folder", hrDto.getFolder())
+            .addValue("filename", hrDto.getFilename())
+            .addValue("payload", payload)
+            .addValue("capacity", capacity);
+        if (jdbcTemplate.update(INSERT_SQL, params) > 0) {
+            return true;
+        }
+
+        // nothing was inserted, either the file is queued already or the queue is full
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(QUEUED_SQL, params, Boolean.class))) {
+            LOGGER.info("File {} is already queued on {}", hrDto.getFilename(), queueName);
+            return true;
+        }
+        LOGGER.warn("Queue {} is full, rejecting file: {}", queueName, hrDto.getFilename());
+        return false;
+    }
+
+    @Override
+    public Optional<QueuedHearingRecording> poll() {
+        var params = new MapSqlParameterSource()
+            .addValue("leasedBy", leasedBy)
+            .addValue("leaseInSeconds", leaseInSeconds)
+            .addValue("queueName", queueName);
+
+        List<ClaimedItem> claimed = jdbcTemplate.query(
+            CLAIM_SQL,
+            params,
+            (rs, rowNum) -> new ClaimedItem(
+                rs.getObject("id", UUID.class),
+                rs.getString("payload"),
+                rs.getInt("attempts"),
+                rs.getLong("waited_millis")
+            )
+        );
+        if (claimed.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ClaimedItem item = claimed.get(0);
+        if (item.attempts() > maxAttempts) {
+            LOGGER.error(
+                "Dropping item {} from queue {} after {} attempts",
+                item.id(),
+                queueName,
+                item.attempts() - 1
+            );
+            delete(item.id());
+            return Optional.empty();
+        }
+
+        try {
+            HearingRecordingDto hrDto = objectMapper.readValue(item.payload(), HearingRecordingDto.class);
+            leasedItems.add(item.id());
+            Instant enqueuedOn = Instant.now().minusMillis(item.waitedMillis());
+            return Optional.of(new QueuedHearingRecording(item.id(), hrDto, enqueuedOn));
+        } catch (JsonProcessingException e) {
+            LOGGER.error("Dropping unreadable item {} from queue {}", item.id(), queueName, e);
+            delete(item.id());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void acknowledge(QueuedHearingRecording queuedHearingRecording) {
+        delete(queuedHearingRecording.id());
+        leasedItems.remove(queuedHearingRecording.id());
+    }
+
+    @Override
+    public int size() {
+        Integer count = jdbcTemplate.queryForObject(
+            COUNT_SQL,
+            new MapSqlParameterSource("queueName", queueName),
+            Integer.class
+        );
+        return count == null ? 0 : count;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Math.max(0, capacity - size());
+    }
+
+    @Override
+    public Map<HearingSource, Long> countBySource() {
+        Map<HearingSource, Long> counts = new EnumMap<>(HearingSource.class);
+        jdbcTemplate.query(
+            COUNT_BY_SOURCE_SQL,
+            new MapSqlParameterSource("queueName", queueName),
+            rs -> {
+                String source = rs.getString("source");
+                Optional<HearingSource> hearingSource = Arrays.stream(HearingSource.values())
+                    .filter(value -> value.name().equals(source))
+                    .findFirst();
+                if (hearingSource.isPresent()) {
+                    counts.put(hearingSource.get(), rs.getLong("items"));
+                } else {
+                    LOGGER.warn("Queue {} has {} items of unknown source {}", queueName, rs.getLong("items"), source);
+                }
+            }
+        );
+        return counts;
+    }
+
+    @Override
+    public void heartbeat() {
+        if (leasedItems.isEmpty()) {
+            return;
+        }
+        var params = new MapSqlParameterSource()
+            .addValue("leaseInSeconds", leaseInSeconds)
+            .addValue("leasedBy", leasedBy)
+            .addValue("ids", List.copyOf(leasedItems));
+        int renewed = jdbcTemplate.update(HEARTBEAT_SQL, params);
+        LOGGER.debug("Renewed {} leases on queue {}", renewed, queueName);
+    }
+
+    private void delete(UUID id) {
+        jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("id", id));
+    }
+
+    private record ClaimedItem(UUID id, String payload, int attempts, long waitedMillis) {
+    }
+}
@@ -0,0 +1,69 @@
+package uk.gov.hmcts.reform.em.hrs.queue;
+
+import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+import uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Records how long each item waited in the wrapped queue, and publishes the queue's depth and remaining capacity.
+ */
+public class MeteredHearingRecordingQueue implements HearingRecordingQueue {
+
+    private final HearingRecordingQueue delegate;
+    private final String queueName;
+    private final IngestionMetrics ingestionMetrics;
+
+    public MeteredHearingRecordingQueue(HearingRecordingQueue delegate, String queueName,
+                                        IngestionMetrics ingestionMetrics) {
+        this.delegate = delegate;
+        this.queueName = queueName;
+        this.ingestionMetrics = ingestionMetrics;
+        ingestionMetrics.registerQueueGauges(queueName, delegate);
+    }
+
+    @Override
+    public boolean offer(HearingRecordingDto hearingRecordingDto) {
+        return delegate.offer(hearingRecordingDto);
+    }
+
+    @Override
+    public Optional<QueuedHearingRecording> poll() {
+        Optional<QueuedHearingRecording> queuedRecording = delegate.poll();
+        queuedRecording.ifPresent(item -> ingestionMetrics.recordQueueWait(
+            queueName,
+            item.hearingRecordingDto().getRecordingSource(),
+            Duration.between(item.enqueuedOn(), Instant.now())
+        ));
+        return queuedRecording;
+    }
+
+    @Override
+    public void acknowledge(QueuedHearingRecording queuedHearingRecording) {
+        delegate.acknowledge(queuedHearingRecording);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return delegate.remainingCapacity();
+    }
+
+    @Override
+    public Map<HearingSource, Long> countBySource() {
+        return delegate.countBySource();
+    }
+
+    @Override
+    public void heartbeat() {
+        delegate.heartbeat();
+    }
+}
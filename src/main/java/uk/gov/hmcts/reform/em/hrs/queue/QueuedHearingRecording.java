@@ -0,0 +1,9 @@
+package uk.gov.hmcts.reform.em.hrs.queue;
+
+import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record QueuedHearingRecording(UUID id, HearingRecordingDto hearingRecordingDto, Instant enqueuedOn) {
+}
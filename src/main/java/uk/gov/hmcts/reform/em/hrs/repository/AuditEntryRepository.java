@@ -1,10 +1,13 @@
 package uk.gov.hmcts.reform.em.hrs.repository;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.em.hrs.domain.AuditEntry;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,6 +15,22 @@ import java.util.UUID;
 public interface AuditEntryRepository
     extends CrudRepository<AuditEntry, UUID> {
 
-    List<AuditEntry> findByEventDateTimeBetween(LocalDateTime startDate, LocalDateTime endDate);
+    /**
+     * Creates the audit_entry partition for the month of the given day, if it does not exist yet.
+     *
+     * @return the name of the partition
+     */
+    @Transactional
+    @Query(value = "SELECT create_audit_entry_partition(:monthOf)", nativeQuery = true)
+    String createPartition(@Param("monthOf") LocalDate monthOf);
+
+    /**
+     * Detaches and drops the audit_entry partitions of months that end on or before the cutoff.
+     *
+     * @return the names of the dropped partitions
+     */
+    @Transactional
+    @Query(value = "SELECT drop_audit_entry_partitions_before(:cutoff)", nativeQuery = true)
+    List<String> dropPartitionsBefore(@Param("cutoff") LocalDate cutoff);
 
 }
@@ -0,0 +1,86 @@
+package uk.gov.hmcts.reform.em.hrs.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import uk.gov.hmcts.reform.em.hrs.model.AuditReportRow;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+
+/**
+ * Reads the monthly audit report in a single query, joining each entry to its recording, segment or share, rather
+ * than loading entities and their associations one by one.
+ */
+@Repository
+public class AuditReportRepository {
+
+    private static final String REPORT_ROWS_SQL = """
+        SELECT ae.action, ae.username, seg.filename, seg.ingestion_file_source_uri, seg.file_size_mb,
+               hr.hearing_source, hr.service_code, hr.ccd_case_id,
+               CASE WHEN ae.type = 'hearing_recording_segment' THEN seg.created_on ELSE hr.created_on END
+                   AS date_processed,
+               sh.shared_on, sh.sharee_email
+        FROM audit_entry ae
+        LEFT JOIN hearing_recording_segment seg ON seg.id = ae.hearing_recording_segment_id
+        LEFT JOIN hearing_recording_sharee sh ON sh.id = ae.hearing_recording_sharee_id
+        LEFT JOIN hearing_recording hr
+            ON hr.id = coalesce(ae.hearing_recording_id, seg.hearing_recording_id, sh.hearing_recording_id)
+        WHERE ae.event_date_time BETWEEN :startDate AND :endDate
+        ORDER BY ae.event_date_time
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AuditReportRepository(
+        DataSource dataSource,
+        @Value("${report.monthly-audit.fetch-size}") int fetchSize
+    ) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        // postgres only reads through a cursor when a fetch size is set and inside a transaction
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * Streams the report rows of entries between the dates, oldest first. Must be read inside a transaction and
+     * closed once read.
+     */
+    public Stream<AuditReportRow> streamReportRows(LocalDateTime startDate, LocalDateTime endDate) {
+        return jdbcTemplate.queryForStream(
+            REPORT_ROWS_SQL,
+            new MapSqlParameterSource()
+                .addValue("startDate", startDate)
+                .addValue("endDate", endDate),
+            AuditReportRepository::toRow
+        );
+    }
+
+    private static AuditReportRow toRow(ResultSet rs, int rowNum) throws SQLException {
+        return new AuditReportRow(
+            rs.getString("action"),
+            rs.getString("username"),
+            rs.getString("filename"),
+            rs.getString("ingestion_file_source_uri"),
+            rs.getString("hearing_source"),
+            rs.getString("service_code"),
+            getLong(rs, "file_size_mb"),
+            getLong(rs, "ccd_case_id"),
+            rs.getObject("date_processed", LocalDateTime.class),
+            rs.getObject("shared_on", LocalDateTime.class),
+            rs.getString("sharee_email")
+        );
+    }
+
+    private static Long getLong(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -7,7 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
-import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDeletionDto;
+import uk.gov.hmcts.reform.em.hrs.dto.CaseRecordingDeletionDto;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -33,12 +33,12 @@ public interface HearingRecordingRepository extends JpaRepository<HearingRecordi
     Long findCcdCaseIdByFilename(@Param("filename") String filename);
 
     @Query("""
-        SELECT new uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDeletionDto(
-        hr.id, null, null, hr.hearingSource, null)
-        FROM HearingRecording hr WHERE hr.ccdCaseId IN :ccdCaseIds
+        SELECT new uk.gov.hmcts.reform.em.hrs.dto.CaseRecordingDeletionDto(
+        hr.ccdCaseId, hr.id, hr.hearingSource, hrs.id, hrs.filename)
+        FROM HearingRecording hr LEFT JOIN hr.segments hrs WHERE hr.ccdCaseId IN :ccdCaseIds
         """)
-    List<HearingRecordingDeletionDto> findHearingRecordingIdsAndSourceByCcdCaseIds(@Param("ccdCaseIds")
-                                                                                   Collection<Long> ccdCaseIds);
+    List<CaseRecordingDeletionDto> findRecordingsAndSegmentsByCcdCaseIds(@Param("ccdCaseIds")
+                                                                         Collection<Long> ccdCaseIds);
 
 
     @Modifying
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegmentAuditEntry;
 
+import java.util.Collection;
 import java.util.UUID;
 
 @Repository
@@ -17,7 +18,9 @@ public interface HearingRecordingSegmentAuditEntryRepository
     @Modifying
     @Query("""
             DELETE FROM HearingRecordingSegmentAuditEntry ae
-            WHERE ae.hearingRecordingSegment.id = :hearingRecordingSegmentId
+            WHERE ae.hearingRecordingSegment.id IN (
+                SELECT hrs.id FROM HearingRecordingSegment hrs WHERE hrs.hearingRecording.id IN :hearingRecordingIds
+            )
             """)
-    void deleteByHearingRecordingSegmentId(@Param("hearingRecordingSegmentId") UUID hearingRecordingSegmentId);
+    void deleteByHearingRecordingIds(@Param("hearingRecordingIds") Collection<UUID> hearingRecordingIds);
 }
@@ -1,22 +1,49 @@
 package uk.gov.hmcts.reform.em.hrs.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
+import uk.gov.hmcts.reform.em.hrs.dto.FolderSegmentSummary;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDeletionDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 
 @Repository
-public interface HearingRecordingSegmentRepository extends JpaRepository<HearingRecordingSegment, UUID> {
+public interface HearingRecordingSegmentRepository extends JpaRepository<HearingRecordingSegment, UUID>,
+    HearingReportRowRepository {
 
-    Set<HearingRecordingSegment> findByHearingRecordingFolderName(String folderName);
+    @Query("""
+            SELECT hrs.filename
+            FROM HearingRecordingSegment hrs
+            WHERE hrs.hearingRecording.folder.name = :folderName
+            """)
+    Set<String> findFilenamesByFolderName(@Param("folderName") String folderName);
+
+    @Query("""
+            SELECT hrs.filename
+            FROM HearingRecordingSegment hrs
+            WHERE hrs.hearingRecording.folder.name = :folderName
+            AND hrs.createdOn > :createdAfter
+            """)
+    Set<String> findFilenamesByFolderNameCreatedAfter(
+        @Param("folderName") String folderName,
+        @Param("createdAfter") LocalDateTime createdAfter
+    );
+
+    @Query("""
+            SELECT new uk.gov.hmcts.reform.em.hrs.dto.FolderSegmentSummary(count(hrs), max(hrs.createdOn))
+            FROM HearingRecordingSegment hrs
+            WHERE hrs.hearingRecording.folder.name = :folderName
+            """)
+    FolderSegmentSummary summariseFolder(@Param("folderName") String folderName);
 
     List<HearingRecordingSegment> findByHearingRecordingId(UUID hearingRecordingId);
 
@@ -26,13 +53,6 @@ public interface HearingRecordingSegmentRepository extends JpaRepository<Hearing
 
     HearingRecordingSegment findByFilename(String filename);
 
-    @Query("SELECT h FROM HearingRecordingSegment h JOIN FETCH h.hearingRecording "
-        + " WHERE h.createdOn BETWEEN :startDate AND :endDate")
-    List<HearingRecordingSegment> findByCreatedOnBetweenDatesWithHearingRecording(
-        @Param("startDate") LocalDateTime startDate,
-        @Param("endDate") LocalDateTime endDate
-    );
-
     @Query("""
             SELECT new uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDeletionDto(
             null, hrs.id, null, null, hrs.filename)
@@ -41,4 +61,11 @@ public interface HearingRecordingSegmentRepository extends JpaRepository<Hearing
             """)
     List<HearingRecordingDeletionDto> findFilenamesByHearingRecordingId(UUID hearingRecordingId);
 
+    @Modifying
+    @Query("""
+            DELETE FROM HearingRecordingSegment hrs
+            WHERE hrs.hearingRecording.id IN :hearingRecordingIds
+            """)
+    void deleteByHearingRecordingIds(@Param("hearingRecordingIds") Collection<UUID> hearingRecordingIds);
+
 }
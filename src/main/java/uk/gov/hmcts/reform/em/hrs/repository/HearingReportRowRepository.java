@@ -0,0 +1,15 @@
+package uk.gov.hmcts.reform.em.hrs.repository;
+
+import uk.gov.hmcts.reform.em.hrs.model.HearingReportRow;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+public interface HearingReportRowRepository {
+
+    /**
+     * Streams the report rows of the segments created in the period from a forward-only cursor. Must be consumed, and
+     * closed, inside a transaction.
+     */
+    Stream<HearingReportRow> streamReportRowsCreatedBetween(LocalDateTime startDate, LocalDateTime endDate);
+}
@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.em.hrs.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import uk.gov.hmcts.reform.em.hrs.model.HearingReportRow;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Reads the hearing report rows with a fetch size from configuration, which query hints on the repository method
+ * cannot take.
+ */
+class HearingReportRowRepositoryImpl implements HearingReportRowRepository {
+
+    private static final String REPORT_ROWS_QUERY = """
+        SELECT new uk.gov.hmcts.reform.em.hrs.model.HearingReportRow(
+        h.filename, h.ingestionFileSourceUri, hr.hearingSource, hr.serviceCode, hr.jurisdictionCode,
+        h.fileSizeMb, hr.ccdCaseId, h.createdOn)
+        FROM HearingRecordingSegment h
+        JOIN h.hearingRecording hr
+        WHERE h.createdOn BETWEEN :startDate AND :endDate
+        """;
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    HearingReportRowRepositoryImpl(
+        EntityManager entityManager,
+        @Value("${report.hearing.fetch-size}") int fetchSize
+    ) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public Stream<HearingReportRow> streamReportRowsCreatedBetween(LocalDateTime startDate, LocalDateTime endDate) {
+        return entityManager.createQuery(REPORT_ROWS_QUERY, HearingReportRow.class)
+            .setParameter("startDate", startDate)
+            .setParameter("endDate", endDate)
+            // postgres only reads through a cursor when a fetch size is set and inside a transaction
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+}
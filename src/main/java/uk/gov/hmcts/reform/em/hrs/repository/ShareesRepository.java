@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSharee;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
@@ -14,7 +15,51 @@ import java.util.UUID;
 @Repository
 public interface ShareesRepository extends CrudRepository<HearingRecordingSharee, UUID> {
 
-    List<HearingRecordingSharee> findByShareeEmailIgnoreCase(String shareeEmail);
+    // lower() rather than IgnoreCase, which generates upper(), so the lower(sharee_email) index is used
+
+    @Query("""
+            SELECT CASE WHEN count(hrs) > 0 THEN true ELSE false END
+            FROM HearingRecordingSharee hrs
+            WHERE lower(hrs.shareeEmail) = lower(:shareeEmail)
+            """)
+    boolean existsByShareeEmail(@Param("shareeEmail") String shareeEmail);
+
+    @Query("""
+            SELECT CASE WHEN count(hrs) > 0 THEN true ELSE false END
+            FROM HearingRecordingSharee hrs
+            WHERE lower(hrs.shareeEmail) = lower(:shareeEmail)
+            AND hrs.hearingRecording.id = :recordingId
+            """)
+    boolean existsByShareeEmailAndRecordingId(@Param("shareeEmail") String shareeEmail,
+                                              @Param("recordingId") UUID recordingId);
+
+    @Query("""
+            SELECT CASE WHEN count(hrs) > 0 THEN true ELSE false END
+            FROM HearingRecordingSharee hrs, HearingRecordingSegment seg
+            WHERE lower(hrs.shareeEmail) = lower(:shareeEmail)
+            AND hrs.hearingRecording.id = :recordingId
+            AND hrs.sharedOn > :sharedAfter
+            AND seg.hearingRecording.id = :recordingId
+            AND seg.recordingSegment = :segmentNo
+            """)
+    boolean existsValidShareOfSegment(@Param("shareeEmail") String shareeEmail,
+                                      @Param("recordingId") UUID recordingId,
+                                      @Param("segmentNo") Integer segmentNo,
+                                      @Param("sharedAfter") LocalDateTime sharedAfter);
+
+    @Query("""
+            SELECT CASE WHEN count(hrs) > 0 THEN true ELSE false END
+            FROM HearingRecordingSharee hrs, HearingRecordingSegment seg
+            WHERE lower(hrs.shareeEmail) = lower(:shareeEmail)
+            AND hrs.hearingRecording.id = :recordingId
+            AND hrs.sharedOn > :sharedAfter
+            AND seg.hearingRecording.id = :recordingId
+            AND seg.filename = :filename
+            """)
+    boolean existsValidShareOfFile(@Param("shareeEmail") String shareeEmail,
+                                   @Param("recordingId") UUID recordingId,
+                                   @Param("filename") String filename,
+                                   @Param("sharedAfter") LocalDateTime sharedAfter);
 
     @Modifying
     @Query("""
@@ -26,4 +71,3 @@ public interface ShareesRepository extends CrudRepository<HearingRecordingSharee
     @Query("SELECT hrs.id FROM HearingRecordingSharee hrs WHERE hrs.hearingRecording.id IN :hearingRecordingIds")
     List<UUID> findAllByHearingRecordingIds(List<UUID> hearingRecordingIds);
 }
-
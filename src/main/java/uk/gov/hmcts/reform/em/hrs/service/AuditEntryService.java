@@ -4,8 +4,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.em.hrs.auditlog.AuditEntryWriter;
 import uk.gov.hmcts.reform.em.hrs.auditlog.AuditLogFormatter;
+import uk.gov.hmcts.reform.em.hrs.auditlog.PlaybackAuditSessions;
 import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
 import uk.gov.hmcts.reform.em.hrs.domain.AuditEntry;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
@@ -15,12 +16,10 @@ import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegmentAuditEntry;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSharee;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingShareeAuditEntry;
 import uk.gov.hmcts.reform.em.hrs.model.LogOnlyAuditEntry;
-import uk.gov.hmcts.reform.em.hrs.repository.AuditEntryRepository;
 import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingAuditEntryRepository;
 import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentAuditEntryRepository;
 import uk.gov.hmcts.reform.em.hrs.repository.ShareesAuditEntryRepository;
 
-import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.List;
 
@@ -39,8 +38,9 @@ public class AuditEntryService {
 
     private final AuditLogFormatter auditLogFormatter;
 
-    private final AuditEntryRepository auditEntryRepository;
+    private final AuditEntryWriter auditEntryWriter;
 
+    private final PlaybackAuditSessions playbackAuditSessions;
 
     @Autowired
     public AuditEntryService(
@@ -48,14 +48,16 @@ public class AuditEntryService {
         HearingRecordingSegmentAuditEntryRepository hearingRecordingSegmentAuditEntryRepository,
         ShareesAuditEntryRepository hearingRecordingShareeAuditEntryRepository,
         SecurityService securityService, AuditLogFormatter auditLogFormatter,
-        AuditEntryRepository auditEntryRepository
+        AuditEntryWriter auditEntryWriter,
+        PlaybackAuditSessions playbackAuditSessions
     ) {
         this.hearingRecordingAuditEntryRepository = hearingRecordingAuditEntryRepository;
         this.hearingRecordingSegmentAuditEntryRepository = hearingRecordingSegmentAuditEntryRepository;
         this.hearingRecordingShareeAuditEntryRepository = hearingRecordingShareeAuditEntryRepository;
         this.securityService = securityService;
         this.auditLogFormatter = auditLogFormatter;
-        this.auditEntryRepository = auditEntryRepository;
+        this.auditEntryWriter = auditEntryWriter;
+        this.playbackAuditSessions = playbackAuditSessions;
     }
 
     public void logOnly(Long caseId, AuditActions action) {
@@ -75,14 +77,6 @@ public class AuditEntryService {
         return hearingRecordingAuditEntryRepository.findByHearingRecordingOrderByEventDateTimeAsc(hearingRecording);
     }
 
-    @Transactional
-    public List<AuditEntry> listHearingRecordingAudits(
-        LocalDateTime startDate,
-        LocalDateTime endDate
-    ) {
-        return auditEntryRepository.findByEventDateTimeBetween(startDate, endDate);
-    }
-
     public HearingRecordingAuditEntry createAndSaveEntry(HearingRecording hearingRecording,
                                                          AuditActions action) {
         var entry = new HearingRecordingAuditEntry(hearingRecording);
@@ -104,8 +98,21 @@ public class AuditEntryService {
 
     public HearingRecordingSegmentAuditEntry createAndSaveEntry(HearingRecordingSegment hearingRecordingSegment,
                                                                 AuditActions action) {
+        return createAndSaveEntry(hearingRecordingSegment, action, null);
+    }
+
+    public HearingRecordingSegmentAuditEntry createAndSaveEntry(HearingRecordingSegment hearingRecordingSegment,
+                                                                AuditActions action,
+                                                                long bytesServed) {
+        return createAndSaveEntry(hearingRecordingSegment, action, Long.valueOf(bytesServed));
+    }
+
+    private HearingRecordingSegmentAuditEntry createAndSaveEntry(HearingRecordingSegment hearingRecordingSegment,
+                                                                 AuditActions action,
+                                                                 Long bytesServed) {
 
         var entry = new HearingRecordingSegmentAuditEntry(hearingRecordingSegment);
+        entry.setBytesServed(bytesServed);
 
         Long caseId = hearingRecordingSegment.getHearingRecording().getCcdCaseId();
         populateCommonFields(
@@ -117,7 +124,17 @@ public class AuditEntryService {
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info(auditLogFormatter.format(entry));
         }
-        hearingRecordingSegmentAuditEntryRepository.save(entry);
+        if (playbackAuditSessions.isEnabled()) {
+            // written once the session closes, this request is only in the log above
+            playbackAuditSessions.record(entry, bytesServed == null ? 0 : bytesServed);
+            return entry;
+        }
+        // downloads are audited on every request, keep the insert off the response
+        if (auditEntryWriter.isAsync()) {
+            auditEntryWriter.write(entry);
+        } else {
+            hearingRecordingSegmentAuditEntryRepository.save(entry);
+        }
         return entry;
     }
 
@@ -137,7 +154,11 @@ public class AuditEntryService {
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info(auditLogFormatter.format(entry));
         }
-        hearingRecordingShareeAuditEntryRepository.save(entry);
+        if (auditEntryWriter.isAsync()) {
+            auditEntryWriter.write(entry);
+        } else {
+            hearingRecordingShareeAuditEntryRepository.save(entry);
+        }
         return entry;
     }
 
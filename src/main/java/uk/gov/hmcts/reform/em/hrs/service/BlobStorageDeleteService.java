@@ -1,68 +1,101 @@
 package uk.gov.hmcts.reform.em.hrs.service;
 
-import com.azure.core.http.rest.Response;
-import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobContainerAsyncClient;
 import com.azure.storage.blob.models.BlobStorageException;
 import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
-import com.azure.storage.blob.specialized.BlockBlobClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+import uk.gov.hmcts.reform.em.hrs.storage.BlobInfoCache;
+import uk.gov.hmcts.reform.em.hrs.storage.SegmentDiskCache;
 
-import static java.lang.Boolean.TRUE;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class BlobStorageDeleteService {
 
-    private final BlobContainerClient cvpBlobContainerClient;
-    private final BlobContainerClient vhBlobContainerClient;
+    private final BlobContainerAsyncClient cvpBlobContainerAsyncClient;
+    private final BlobContainerAsyncClient vhBlobContainerAsyncClient;
+    private final BlobInfoCache blobInfoCache;
+    private final SegmentDiskCache segmentDiskCache;
+    private final int bulkDeleteConcurrency;
     private final Logger log = LoggerFactory.getLogger(BlobStorageDeleteService.class);
 
 
     @Autowired
     public BlobStorageDeleteService(
-        @Qualifier("hrsCvpBlobContainerClient") BlobContainerClient cvpBlobContainerClient,
-        @Qualifier("hrsVhBlobContainerClient") BlobContainerClient vhCloudBlobContainerClient) {
-        this.cvpBlobContainerClient = cvpBlobContainerClient;
-        this.vhBlobContainerClient = vhCloudBlobContainerClient;
+        @Qualifier("hrsCvpBlobContainerAsyncClient") BlobContainerAsyncClient cvpBlobContainerAsyncClient,
+        @Qualifier("hrsVhBlobContainerAsyncClient") BlobContainerAsyncClient vhBlobContainerAsyncClient,
+        BlobInfoCache blobInfoCache,
+        SegmentDiskCache segmentDiskCache,
+        @Value("${hrs.bulk-delete.blob-concurrency}") int bulkDeleteConcurrency) {
+        this.cvpBlobContainerAsyncClient = cvpBlobContainerAsyncClient;
+        this.vhBlobContainerAsyncClient = vhBlobContainerAsyncClient;
+        this.blobInfoCache = blobInfoCache;
+        this.segmentDiskCache = segmentDiskCache;
+        this.bulkDeleteConcurrency = bulkDeleteConcurrency;
     }
 
-    public void deleteBlob(String blobName, HearingSource source) {
-        switch (source) {
-            case CVP -> deleteBlob(blobName, cvpBlobContainerClient);
-            case VH -> deleteBlob(blobName, vhBlobContainerClient);
-            default -> log.info("invalid blob source, deletion skipped");
-        }
+    /**
+     * Deletes many blobs at once, the containers in parallel and up to the configured number of deletes in flight in
+     * each. Blobs are deleted without checking first that they exist, one that is already gone counts as deleted.
+     *
+     * @param blobNames the names of the blobs to delete, by the source whose container holds them
+     * @return the names of the blobs that could not be deleted
+     */
+    public Set<String> deleteBlobs(Map<HearingSource, ? extends Collection<String>> blobNames) {
+        return Flux.fromIterable(blobNames.entrySet())
+            .flatMap(entry -> deleteBlobs(entry.getKey(), entry.getValue()))
+            .collect(HashSet<String>::new, Set::add)
+            .block();
     }
 
-    private void deleteBlob(String blobName, BlobContainerClient blobContainerClient) {
-        try {
-            BlockBlobClient blob =
-                blobContainerClient.getBlobClient(blobName).getBlockBlobClient();
-            if (TRUE.equals(blob.exists())) {
-                Response<Void> response = blob.deleteWithResponse(
-                    DeleteSnapshotsOptionType.INCLUDE, null, null, null);
+    private Flux<String> deleteBlobs(HearingSource source, Collection<String> blobNames) {
+        BlobContainerAsyncClient blobContainerAsyncClient = switch (source) {
+            case CVP -> cvpBlobContainerAsyncClient;
+            case VH -> vhBlobContainerAsyncClient;
+        };
+        return Flux.fromIterable(blobNames)
+            .flatMap(blobName -> deleteBlob(blobName, source, blobContainerAsyncClient), bulkDeleteConcurrency);
+    }
+
+    /**
+     * Completes empty once the blob is deleted, or with its name if it could not be.
+     */
+    private Mono<String> deleteBlob(String blobName, HearingSource source,
+                                    BlobContainerAsyncClient blobContainerAsyncClient) {
+        blobInfoCache.invalidate(source, blobName);
+        segmentDiskCache.invalidate(source, blobName);
+        return Mono.defer(() -> blobContainerAsyncClient.getBlobAsyncClient(blobName)
+                .deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null))
+            .flatMap(response -> {
                 if (response.getStatusCode() != 202 && response.getStatusCode() != 404) {
                     logDeletionFailure(blobName, response.getStatusCode());
-                    return;
+                    return Mono.just(blobName);
+                }
+                return Mono.<String>empty();
+            })
+            .onErrorResume(BlobStorageException.class, e -> {
+                if (e.getStatusCode() == 404) {
+                    log.info("Blob Not found for deletion {}", blobName);
+                    return Mono.empty();
                 }
-                log.info(
-                    "Successfully deleted hrs blob: {}",
-                    blob.getBlobUrl()
-                );
-            } else {
-                log.info("blob does not exist: {}", blobName);
-            }
-        } catch (BlobStorageException e) {
-            if (e.getStatusCode() == 404) {
-                log.info("Blob Not found for deletion {}", blobName);
-            } else {
                 logDeletionFailure(blobName, e.getStatusCode());
-            }
-        }
+                return Mono.just(blobName);
+            })
+            .onErrorResume(e -> {
+                log.warn("Deleting hrs blob failed {}", blobName, e);
+                return Mono.just(blobName);
+            });
     }
 
     public void logDeletionFailure(String blobName, int statusCode) {
@@ -2,11 +2,19 @@ package uk.gov.hmcts.reform.em.hrs.service;
 
 import jakarta.validation.constraints.NotNull;
 import uk.gov.hmcts.reform.em.hrs.domain.Folder;
+import uk.gov.hmcts.reform.em.hrs.dto.FolderListing;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 public interface FolderService {
-    Set<String> getStoredFiles(String folderName);
+    /**
+     * Lists the completed and in progress files of a folder, creating the folder if it does not exist yet.
+     *
+     * @param since         when set, only completed files created after this cursor are listed
+     * @param knownVersions versions the caller already holds, for which the filenames are not read
+     */
+    FolderListing getStoredFiles(String folderName, LocalDateTime since, Set<String> knownVersions);
 
     Folder getFolderByName(@NotNull String folderName);
 }
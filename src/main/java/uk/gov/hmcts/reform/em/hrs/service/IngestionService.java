@@ -2,6 +2,10 @@ package uk.gov.hmcts.reform.em.hrs.service;
 
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface IngestionService {
     void ingest(HearingRecordingDto hearingRecordingDto);
+
+    CompletableFuture<Void> ingestAsync(HearingRecordingDto hearingRecordingDto);
 }
@@ -13,4 +13,6 @@ public interface SegmentService {
 
     void createAndSaveSegment(HearingRecording hearingRecording, HearingRecordingDto recordingDto);
 
+    void createAndSaveSegments(HearingRecording hearingRecording, List<HearingRecordingDto> recordingDtos);
+
 }
@@ -16,10 +16,13 @@ import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Component
 public class CaseDataContentCreator {
@@ -76,6 +79,26 @@ public class CaseDataContentCreator {
         return objectMapper.convertValue(caseRecording, JsonNode.class);
     }
 
+    /**
+     * Adds every segment not already on the case, so all segments of a recording can be added in one event.
+     */
+    public JsonNode createCaseUpdateDataForSegments(final Map<String, Object> caseData, final UUID recordingId,
+                                                    final List<HearingRecordingDto> hearingRecordingDtos) {
+
+        CaseHearingRecording caseRecording = getCaseRecordingObject(caseData);
+
+        Set<String> filenamesOnCase = extractCaseDocuments(caseRecording).stream()
+            .map(CaseDocument::getFilename)
+            .collect(Collectors.toCollection(HashSet::new));
+
+        for (HearingRecordingDto hearingRecordingDto : hearingRecordingDtos) {
+            if (filenamesOnCase.add(hearingRecordingDto.getFilename())) {
+                caseRecording.addRecordingFile(createSegment(hearingRecordingDto, recordingId));
+            }
+        }
+        return objectMapper.convertValue(caseRecording, JsonNode.class);
+    }
+
     public CaseHearingRecording getCaseRecordingObject(final Map<String, Object> caseData) {
         return objectMapper.convertValue(caseData, CaseHearingRecording.class);
     }
@@ -0,0 +1,68 @@
+package uk.gov.hmcts.reform.em.hrs.service.ccd;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.em.hrs.exception.CcdUploadException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serialises updates to the same ccd case on this node, while updates to different cases run in parallel. Each case
+ * maps to one of a fixed number of locks, so two cases occasionally share a lock, but memory use stays bounded.
+ * Locks are fair, so updates to one case are made in the order they asked for the lock.
+ */
+@Component
+public class CaseUpdateLocks {
+
+    private final Lock[] locks;
+    private final Timer waitTimer;
+    private final Counter contendedCounter;
+
+    @Autowired
+    public CaseUpdateLocks(final MeterRegistry meterRegistry,
+                           @Value("${hrs.ccd-case-lock-stripes}") final int stripes) {
+        this.locks = new Lock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock(true);
+        }
+        this.waitTimer = Timer.builder("hrs.ccd.case.lock.wait")
+            .description("Time spent waiting for another update to the same ccd case")
+            .register(meterRegistry);
+        this.contendedCounter = Counter.builder("hrs.ccd.case.lock.contended")
+            .description("Ccd case updates that had to wait for another update")
+            .register(meterRegistry);
+    }
+
+    public <T> T callWithLock(final Long caseId, final Supplier<T> update) {
+        Lock lock = locks[Math.floorMod(caseId.hashCode(), locks.length)];
+        acquire(lock, caseId);
+        try {
+            return update.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(final Lock lock, final Long caseId) {
+        try {
+            // a timed tryLock, unlike tryLock(), does not jump the queue of a fair lock
+            if (lock.tryLock(0, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            contendedCounter.increment();
+            long waitStart = System.nanoTime();
+            lock.lockInterruptibly();
+            waitTimer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CcdUploadException("Interrupted waiting to update case " + caseId, e);
+        }
+    }
+}
@@ -13,15 +13,21 @@ import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
 import uk.gov.hmcts.reform.ccd.client.model.Event;
 import uk.gov.hmcts.reform.ccd.client.model.StartEventResponse;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
 import uk.gov.hmcts.reform.em.hrs.exception.CcdUploadException;
+import uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics;
 import uk.gov.hmcts.reform.em.hrs.model.CaseHearingRecording;
 import uk.gov.hmcts.reform.em.hrs.service.SecurityService;
 import uk.gov.hmcts.reform.em.hrs.service.TtlService;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics.STAGE_CCD_START_EVENT;
+import static uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics.STAGE_CCD_SUBMIT_EVENT;
+
 @Service
 public class CcdDataStoreApiClient {
 
@@ -38,14 +44,19 @@ public class CcdDataStoreApiClient {
     private final CaseDataContentCreator caseDataCreator;
     private final CoreCaseDataApi coreCaseDataApi;
     private final TtlService ttlService;
+    private final CaseUpdateLocks caseUpdateLocks;
+    private final IngestionMetrics ingestionMetrics;
 
     public CcdDataStoreApiClient(SecurityService securityService,
                                  CaseDataContentCreator caseDataCreator,
-                                 CoreCaseDataApi coreCaseDataApi, TtlService ttlService) {
+                                 CoreCaseDataApi coreCaseDataApi, TtlService ttlService,
+                                 CaseUpdateLocks caseUpdateLocks, IngestionMetrics ingestionMetrics) {
         this.securityService = securityService;
         this.caseDataCreator = caseDataCreator;
         this.coreCaseDataApi = coreCaseDataApi;
         this.ttlService = ttlService;
+        this.caseUpdateLocks = caseUpdateLocks;
+        this.ingestionMetrics = ingestionMetrics;
     }
 
     public Long createCase(
@@ -57,18 +68,26 @@ public class CcdDataStoreApiClient {
         try {
             LOGGER.info("Starting Case Event");
             Map<String, String> tokens = securityService.createTokens();
-            StartEventResponse startEventResponse =
-                coreCaseDataApi.startCase(tokens.get(USER), tokens.get(SERVICE), CASE_TYPE, EVENT_CREATE_CASE);
+            HearingSource source = hearingRecordingDto.getRecordingSource();
+            StartEventResponse startEventResponse = ingestionMetrics.time(
+                STAGE_CCD_START_EVENT,
+                source,
+                () -> coreCaseDataApi.startCase(tokens.get(USER), tokens.get(SERVICE), CASE_TYPE, EVENT_CREATE_CASE)
+            );
 
-            caseData = buildCaseDataContent(
+            CaseDataContent newCaseData = buildCaseDataContent(
                 startEventResponse,
                 caseDataCreator.createCaseStartData(hearingRecordingDto, recordingId, ttl)
             );
-
-            CaseDetails caseDetails = coreCaseDataApi
-                .submitForCaseworker(tokens.get(USER), tokens.get(SERVICE), tokens.get(USER_ID),
-                                     JURISDICTION, CASE_TYPE, false, caseData
-                );
+            caseData = newCaseData;
+
+            CaseDetails caseDetails = ingestionMetrics.time(
+                STAGE_CCD_SUBMIT_EVENT,
+                source,
+                () -> coreCaseDataApi.submitForCaseworker(tokens.get(USER), tokens.get(SERVICE), tokens.get(USER_ID),
+                                                          JURISDICTION, CASE_TYPE, false, newCaseData
+                )
+            );
 
             LOGGER.info(
                 "created a new case({}) for recording ({})",
@@ -93,14 +112,26 @@ public class CcdDataStoreApiClient {
     }
 
 
-    public synchronized Long updateCaseData(final Long caseId, final UUID recordingId,
-                                            final HearingRecordingDto hearingRecordingDto) {
+    public Long updateCaseData(final Long caseId, final UUID recordingId,
+                               final HearingRecordingDto hearingRecordingDto) {
+        return caseUpdateLocks.callWithLock(
+            caseId,
+            () -> submitCaseUpdate(caseId, recordingId, hearingRecordingDto)
+        );
+    }
+
+    private Long submitCaseUpdate(final Long caseId, final UUID recordingId,
+                                  final HearingRecordingDto hearingRecordingDto) {
         CaseDataContent caseData = null;
 
         try {
             Map<String, String> tokens = securityService.createTokens();
-            StartEventResponse startEventResponse =
-                startEvent(tokens, caseId, EVENT_MANAGE_FILES);
+            HearingSource source = hearingRecordingDto.getRecordingSource();
+            StartEventResponse startEventResponse = ingestionMetrics.time(
+                STAGE_CCD_START_EVENT,
+                source,
+                () -> startEvent(tokens, caseId, EVENT_MANAGE_FILES)
+            );
 
             caseData = buildCaseDataContent(startEventResponse, caseDataCreator.createCaseUpdateData(
                 startEventResponse.getCaseDetails().getData(), recordingId, hearingRecordingDto));
@@ -111,10 +142,7 @@ public class CcdDataStoreApiClient {
                 hearingRecordingDto.getRecordingRef()
             );
 
-            CaseDetails caseDetails =
-                coreCaseDataApi.submitEventForCaseWorker(tokens.get(USER), tokens.get(SERVICE), tokens.get(USER_ID),
-                                                         JURISDICTION, CASE_TYPE, caseId.toString(), false, caseData
-                );
+            CaseDetails caseDetails = submitEvent(tokens, caseId, source, caseData);
 
             return caseDetails.getId();
 
@@ -135,6 +163,60 @@ public class CcdDataStoreApiClient {
 
     }
 
+    /**
+     * Adds all segments of one recording to its case in a single manageFiles event.
+     */
+    public Long updateCaseDataForSegments(final Long caseId, final UUID recordingId,
+                                          final List<HearingRecordingDto> hearingRecordingDtos) {
+        return caseUpdateLocks.callWithLock(
+            caseId,
+            () -> submitSegmentsUpdate(caseId, recordingId, hearingRecordingDtos)
+        );
+    }
+
+    private Long submitSegmentsUpdate(final Long caseId, final UUID recordingId,
+                                      final List<HearingRecordingDto> hearingRecordingDtos) {
+        CaseDataContent caseData = null;
+
+        try {
+            Map<String, String> tokens = securityService.createTokens();
+            HearingSource source = hearingRecordingDtos.get(0).getRecordingSource();
+            StartEventResponse startEventResponse = ingestionMetrics.time(
+                STAGE_CCD_START_EVENT,
+                source,
+                () -> startEvent(tokens, caseId, EVENT_MANAGE_FILES)
+            );
+
+            caseData = buildCaseDataContent(startEventResponse, caseDataCreator.createCaseUpdateDataForSegments(
+                startEventResponse.getCaseDetails().getData(), recordingId, hearingRecordingDtos));
+
+            LOGGER.info(
+                "updating ccd case (id {}) with {} new segments of recording (ref {})",
+                caseId,
+                hearingRecordingDtos.size(),
+                hearingRecordingDtos.get(0).getRecordingRef()
+            );
+
+            CaseDetails caseDetails = submitEvent(tokens, caseId, source, caseData);
+
+            return caseDetails.getId();
+
+        } catch (Exception e) {
+            //CCD has rejected, so log payload to assist with debugging (no sensitive information is exposed)
+            if (caseData != null) {
+                logCaseDataError(caseData);
+            } else {
+                LOGGER.error(
+                    "caseReference: {}, filenames: {}, eventSummary: {}",
+                    hearingRecordingDtos.get(0).getCaseRef(),
+                    hearingRecordingDtos.stream().map(HearingRecordingDto::getFilename).toList(),
+                    "Add Segments to Case"
+                );
+            }
+            throw new CcdUploadException("Error Uploading Segments", e);
+        }
+    }
+
     public void updateCaseWithCodes(Long ccdCaseId, String jurisdictionCode, String serviceCode) {
 
         Map<String, String> tokens = securityService.createTokens();
@@ -157,6 +239,17 @@ public class CcdDataStoreApiClient {
 
     }
 
+    private CaseDetails submitEvent(Map<String, String> tokens, Long caseId, HearingSource source,
+                                    CaseDataContent caseData) {
+        return ingestionMetrics.time(
+            STAGE_CCD_SUBMIT_EVENT,
+            source,
+            () -> coreCaseDataApi.submitEventForCaseWorker(tokens.get(USER), tokens.get(SERVICE), tokens.get(USER_ID),
+                                                           JURISDICTION, CASE_TYPE, caseId.toString(), false, caseData
+            )
+        );
+    }
+
     private StartEventResponse startEvent(Map<String, String> tokens, Long caseId, String eventType) {
         return coreCaseDataApi.startEvent(
             tokens.get(USER),
@@ -2,6 +2,13 @@ package uk.gov.hmcts.reform.em.hrs.service.ccd;
 
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
 
+import java.util.List;
+
 public interface CcdUploadService {
     void upload(HearingRecordingDto hearingRecordingDto);
+
+    /**
+     * Uploads several segments of the same recording, adding them to the case in one event.
+     */
+    void uploadSegments(List<HearingRecordingDto> hearingRecordingDtos);
 }
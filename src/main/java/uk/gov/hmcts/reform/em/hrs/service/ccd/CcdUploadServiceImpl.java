@@ -12,6 +12,7 @@ import uk.gov.hmcts.reform.em.hrs.service.HearingRecordingService;
 import uk.gov.hmcts.reform.em.hrs.service.SegmentService;
 import uk.gov.hmcts.reform.em.hrs.service.TtlService;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -66,6 +67,43 @@ public class CcdUploadServiceImpl implements CcdUploadService {
         );
     }
 
+    @Override
+    public void uploadSegments(final List<HearingRecordingDto> recordingDtos) {
+        HearingRecordingDto firstDto = recordingDtos.get(0);
+        String recordingRef = firstDto.getRecordingRef();
+        String folder = firstDto.getFolder();
+
+        LOGGER.info(
+            "determining if recording (ref {}) in folder {}) with {} segments has entry in CCD",
+            recordingRef,
+            folder,
+            recordingDtos.size()
+        );
+
+        final Optional<HearingRecording> hearingRecordingOptional =
+            hearingRecordingService.findHearingRecording(firstDto);
+
+        Long caseId;
+        if (hearingRecordingOptional.isPresent()) {
+            HearingRecording recording = hearingRecordingOptional.get();
+            caseId = updateCaseWithSegments(recording, recording.getCcdCaseId(), recordingDtos);
+        } else {
+            HearingRecording newHearingRecording = hearingRecordingService.createHearingRecording(firstDto);
+            caseId = createCaseInCcd(newHearingRecording, firstDto);
+            if (recordingDtos.size() > 1) {
+                updateCaseWithSegments(newHearingRecording, caseId, recordingDtos.subList(1, recordingDtos.size()));
+            }
+        }
+
+        // this is for dynatrace, do not change
+        recordingDtos.forEach(recordingDto -> LOGGER.info(
+            "Hearing recording processed successfully, ref:{}, source: {}, ccd caseId:{}",
+            recordingRef,
+            recordingDto.getRecordingSource(),
+            caseId
+        ));
+    }
+
     private Long updateCase(final HearingRecording recording, final HearingRecordingDto recordingDto) {
         Long ccdCaseId = recording.getCcdCaseId();
         String recordingRef = recordingDto.getRecordingRef();
@@ -101,6 +139,42 @@ public class CcdUploadServiceImpl implements CcdUploadService {
         return caseDetailsId;
     }
 
+    private Long updateCaseWithSegments(final HearingRecording recording, final Long ccdCaseId,
+                                        final List<HearingRecordingDto> recordingDtos) {
+        String recordingRef = recordingDtos.get(0).getRecordingRef();
+        String folder = recordingDtos.get(0).getFolder();
+
+        if (Objects.isNull(ccdCaseId)) {
+            LOGGER.info(
+                "Recording Ref {} in folder {}, has no ccd id, case still being created in CCD or has been rejected",
+                recordingRef, folder
+            );
+            return null;
+        }
+
+        LOGGER.info(
+            "adding {} segments of recording (ref {}) in folder {} to case (ccdId {})",
+            recordingDtos.size(), recordingRef, folder, ccdCaseId
+        );
+
+        Long caseDetailsId =
+            ccdDataStoreApiClient.updateCaseDataForSegments(ccdCaseId, recording.getId(), recordingDtos);
+
+        LOGGER.info("Case Details (id {}) updated successfully", caseDetailsId);
+
+        try {
+            segmentService.createAndSaveSegments(recording, recordingDtos);
+        } catch (ConstraintViolationException e) {
+            LOGGER.warn(
+                "Segments not added to database, which is acceptable for duplicate segments (ref {}), (ccdId {})",
+                recordingRef,
+                ccdCaseId
+            );
+        }
+
+        return caseDetailsId;
+    }
+
     private Long createCaseInCcd(final HearingRecording recording, final HearingRecordingDto recordingDto) {
         LOGGER.info("About to create case in CCD");
 
@@ -3,18 +3,13 @@ package uk.gov.hmcts.reform.em.hrs.service.email;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.springframework.stereotype.Component;
-import uk.gov.hmcts.reform.em.hrs.domain.AuditEntry;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingAuditEntry;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegmentAuditEntry;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingShareeAuditEntry;
+import uk.gov.hmcts.reform.em.hrs.model.AuditReportRow;
 
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.List;
-import java.util.Optional;
-
-import static java.util.Collections.emptyList;
+import java.util.Iterator;
+import java.util.stream.Stream;
 
 @Component
 public class AuditReportCsvWriter {
@@ -24,7 +19,10 @@ public class AuditReportCsvWriter {
         "Service Code", "File Size KB", "CCD Case Id", "Date Processed", "Shared On", "Sharee Email"
     };
 
-    public File writeHearingRecordingSummaryToCsv(List<AuditEntry> data) throws IOException {
+    /**
+     * Writes the rows as they are read, so the report is never held in memory.
+     */
+    public File writeAuditReportToCsv(Stream<AuditReportRow> rows) throws IOException {
         File csvFile = File.createTempFile(
             "hearing-audit-report",
             ".csv"
@@ -39,57 +37,26 @@ public class AuditReportCsvWriter {
             FileWriter fileWriter = new FileWriter(csvFile);
             CSVPrinter printer = new CSVPrinter(fileWriter, csvFileHeader)
         ) {
-            for (AuditEntry entry : Optional.ofNullable(data).orElse(emptyList())) {
-                if (entry instanceof HearingRecordingSegmentAuditEntry hearingAudit) {
-                    var hearingRecSeg = hearingAudit.getHearingRecordingSegment();
-                    printer.printRecord(
-                        entry.getAction(),
-                        entry.getUsername(),
-                        hearingRecSeg.getFilename(),
-                        hearingRecSeg.getIngestionFileSourceUri(),
-                        hearingRecSeg.getHearingRecording().getHearingSource(),
-                        hearingRecSeg.getHearingRecording().getServiceCode(),
-                        (int) Math.ceil((float) hearingRecSeg.getFileSizeMb() / 1000),
-                        hearingRecSeg.getHearingRecording().getCcdCaseId(),
-                        hearingRecSeg.getCreatedOn(),
-                        "",
-                        ""
-                    );
-                } else if (entry instanceof HearingRecordingAuditEntry hearingRecordingAudit) {
-                    var hearingRec = hearingRecordingAudit.getHearingRecording();
-                    printer.printRecord(
-                        entry.getAction(),
-                        entry.getUsername(),
-                        "",
-                        "",
-                        hearingRec.getHearingSource(),
-                        hearingRec.getServiceCode(),
-                        "",
-                        hearingRec.getCcdCaseId(),
-                        hearingRec.getCreatedOn(),
-                        "",
-                        ""
-                    );
-                } else if (entry instanceof HearingRecordingShareeAuditEntry hearingShareeAudit) {
-                    var hearingSharee = hearingShareeAudit.getHearingRecordingSharee();
-                    var hearingRecording = hearingSharee.getHearingRecording();
-                    printer.printRecord(
-                        entry.getAction(),
-                        entry.getUsername(),
-                        "",
-                        "",
-                        hearingRecording.getHearingSource(),
-                        hearingRecording.getServiceCode(),
-                        "",
-                        hearingRecording.getCcdCaseId(),
-                        hearingRecording.getCreatedOn(),
-                        hearingSharee.getSharedOn(),
-                        hearingSharee.getShareeEmail()
-                    );
-
-                }
+            // null columns, those that do not apply to the kind of entry, are written blank
+            Iterator<AuditReportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                AuditReportRow row = iterator.next();
+                printer.printRecord(
+                    row.action(),
+                    row.username(),
+                    row.filename(),
+                    row.sourceUri(),
+                    row.hearingSource(),
+                    row.serviceCode(),
+                    row.fileSizeMb() == null ? null : (int) Math.ceil((float) row.fileSizeMb() / 1000),
+                    row.ccdCaseId(),
+                    row.dateProcessed(),
+                    row.sharedOn(),
+                    row.shareeEmail()
+                );
             }
         }
         return csvFile;
     }
+
 }
@@ -3,7 +3,8 @@ package uk.gov.hmcts.reform.em.hrs.service.email;
 import org.slf4j.Logger;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import uk.gov.hmcts.reform.em.hrs.service.AuditEntryService;
+import uk.gov.hmcts.reform.em.hrs.model.AuditReportRow;
+import uk.gov.hmcts.reform.em.hrs.repository.AuditReportRepository;
 
 import java.io.File;
 import java.io.IOException;
@@ -11,6 +12,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.YearMonth;
+import java.util.stream.Stream;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -18,25 +20,26 @@ import static org.slf4j.LoggerFactory.getLogger;
 public class AuditReportService {
     private static final Logger LOGGER = getLogger(AuditReportService.class);
 
-    private final AuditEntryService auditEntryService;
+    private final AuditReportRepository auditReportRepository;
     private final AuditReportCsvWriter auditReportCsvWriter;
 
     public AuditReportService(
-        AuditEntryService auditEntryService,
+        AuditReportRepository auditReportRepository,
         AuditReportCsvWriter auditReportCsvWriter
     ) {
-        this.auditEntryService = auditEntryService;
+        this.auditReportRepository = auditReportRepository;
         this.auditReportCsvWriter = auditReportCsvWriter;
     }
 
-    @Transactional
+    // the rows are streamed through a cursor, which only stays open inside the transaction
+    @Transactional(readOnly = true)
     public File createMonthlyReport(Month month, int year) throws IOException {
         LocalDateTime startOfMonth = getStartOfMonth(month, year);
         LocalDateTime endOfMonth = getEndOfMonth(month, year);
         LOGGER.info("get records for from: {},to:{}", startOfMonth, endOfMonth);
-        var list = auditEntryService.listHearingRecordingAudits(startOfMonth, endOfMonth);
-
-        return auditReportCsvWriter.writeHearingRecordingSummaryToCsv(list);
+        try (Stream<AuditReportRow> rows = auditReportRepository.streamReportRows(startOfMonth, endOfMonth)) {
+            return auditReportCsvWriter.writeAuditReportToCsv(rows);
+        }
     }
 
     private LocalDateTime getStartOfMonth(Month month, int year) {
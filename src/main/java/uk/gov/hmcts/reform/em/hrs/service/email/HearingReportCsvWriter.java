@@ -3,21 +3,28 @@ package uk.gov.hmcts.reform.em.hrs.service.email;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 import org.springframework.stereotype.Component;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
+import uk.gov.hmcts.reform.em.hrs.model.HearingReportRow;
 import uk.gov.hmcts.reform.em.hrs.service.TtlService;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.List;
-import java.util.Optional;
+import java.io.OutputStreamWriter;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
-import static java.util.Collections.emptyList;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 @Component
 @SuppressWarnings("squid:S5443")
 public class HearingReportCsvWriter {
 
+    static final String CSV_ENTRY_NAME = "hearing-report.csv";
 
     private final TtlService ttlService;
     private static final String[] HEARING_SUMMARY_CSV_HEADERS = {
@@ -31,12 +38,14 @@ public class HearingReportCsvWriter {
         this.ttlService = ttlService;
     }
 
-    public File writeHearingRecordingSummaryToCsv(
-        List<HearingRecordingSegment> data
-    ) throws IOException {
-        File csvFile = File.createTempFile(
+    /**
+     * Writes the rows as they are streamed into a zip file holding the report as a single CSV, so neither the rows nor
+     * the report are held in memory. The TTL config is looked up once per service and jurisdiction of the report.
+     */
+    public File writeHearingRecordingSummaryToZip(Stream<HearingReportRow> rows) throws IOException {
+        File zipFile = File.createTempFile(
             "hearing-report",
-            ".csv"
+            ".zip"
         );
 
         CSVFormat csvFileHeader = CSVFormat
@@ -44,24 +53,43 @@ public class HearingReportCsvWriter {
             .create()
             .setHeader(HEARING_SUMMARY_CSV_HEADERS)
             .get();
+        Map<TtlConfigKey, String> hasTtlConfig = new HashMap<>();
         try (
-            FileWriter fileWriter = new FileWriter(csvFile);
-            CSVPrinter printer = new CSVPrinter(fileWriter, csvFileHeader)
+            ZipOutputStream zip = openCsvEntry(zipFile);
+            CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(zip, UTF_8), csvFileHeader)
         ) {
-            for (HearingRecordingSegment hearingRecSeg : Optional.ofNullable(data).orElse(emptyList())) {
-                var hearingRec = hearingRecSeg.getHearingRecording();
+            Iterator<HearingReportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                HearingReportRow row = iterator.next();
                 printer.printRecord(
-                    hearingRecSeg.getFilename(),
-                    hearingRecSeg.getIngestionFileSourceUri(),
-                    hearingRec.getHearingSource(),
-                    hearingRec.getServiceCode(),
-                    (int)Math.ceil((float) hearingRecSeg.getFileSizeMb() / 1000),
-                    hearingRec.getCcdCaseId(),
-                    hearingRecSeg.getCreatedOn(),
-                    this.ttlService.hasTtlConfig(hearingRec.getServiceCode(), hearingRec.getJurisdictionCode())
+                    row.filename(),
+                    row.sourceUri(),
+                    row.hearingSource(),
+                    row.serviceCode(),
+                    (int)Math.ceil((float) row.fileSizeMb() / 1000),
+                    row.ccdCaseId(),
+                    row.createdOn(),
+                    hasTtlConfig.computeIfAbsent(
+                        new TtlConfigKey(row.serviceCode(), row.jurisdictionCode()),
+                        key -> this.ttlService.hasTtlConfig(key.serviceCode(), key.jurisdictionCode())
+                    )
                 );
             }
         }
-        return csvFile;
+        return zipFile;
+    }
+
+    private static ZipOutputStream openCsvEntry(File zipFile) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zipFile)));
+        try {
+            zip.putNextEntry(new ZipEntry(CSV_ENTRY_NAME));
+        } catch (IOException e) {
+            zip.close();
+            throw e;
+        }
+        return zip;
+    }
+
+    private record TtlConfigKey(String serviceCode, String jurisdictionCode) {
     }
 }
@@ -12,12 +12,23 @@ import java.util.function.Function;
 @Configuration
 public class HearingReportEmailServiceConfig {
 
+    private static final String CSV_EXTENSION = ".csv";
+    private static final String ZIP_EXTENSION = ".zip";
+
     public static Function<LocalDate, String> monthlyReportAttachmentName(String prefix) {
-        return reportDate -> prefix + reportDate.getMonth() + "-" + reportDate.getYear() + ".csv";
+        return monthlyReportAttachmentName(prefix, CSV_EXTENSION);
+    }
+
+    public static Function<LocalDate, String> monthlyReportAttachmentName(String prefix, String extension) {
+        return reportDate -> prefix + reportDate.getMonth() + "-" + reportDate.getYear() + extension;
     }
 
     public static Function<LocalDate, String> weeklyReportAttachmentName(String prefix) {
-        return reportDate -> prefix + reportDate.minusDays(7) + ".csv";
+        return weeklyReportAttachmentName(prefix, CSV_EXTENSION);
+    }
+
+    public static Function<LocalDate, String> weeklyReportAttachmentName(String prefix, String extension) {
+        return reportDate -> prefix + reportDate.minusDays(7) + extension;
     }
 
     public static String weeklyReportEmailBody(LocalDate reportDate) {
@@ -44,7 +55,7 @@ public class HearingReportEmailServiceConfig {
             recipients,
             from,
             "Monthly hearing report for ",
-            monthlyReportAttachmentName("Monthly-hearing-report-")
+            monthlyReportAttachmentName("Monthly-hearing-report-", ZIP_EXTENSION)
         );
     }
 
@@ -61,7 +72,7 @@ public class HearingReportEmailServiceConfig {
             recipients,
             from,
             "Weekly hearing report for ",
-            weeklyReportAttachmentName("Weekly-hearing-report-from-"),
+            weeklyReportAttachmentName("Weekly-hearing-report-from-", ZIP_EXTENSION),
             Optional.of(reportDate -> weeklyReportEmailBody(reportDate))
         );
     }
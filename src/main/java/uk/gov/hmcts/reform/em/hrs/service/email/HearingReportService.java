@@ -3,6 +3,8 @@ package uk.gov.hmcts.reform.em.hrs.service.email;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.em.hrs.model.HearingReportRow;
 import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentRepository;
 
 import java.io.File;
@@ -13,6 +15,7 @@ import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.YearMonth;
 import java.time.temporal.TemporalAdjusters;
+import java.util.stream.Stream;
 
 @Service
 public class HearingReportService {
@@ -30,25 +33,30 @@ public class HearingReportService {
         this.hearingReportCsvWriter = hearingReportCsvWriter;
     }
 
+    @Transactional(readOnly = true)
     public File createMonthlyReport(Month month, int year) throws IOException {
         LocalDateTime startOfMonth = getStartOfMonth(month, year);
         LocalDateTime endOfMonth = getEndOfMonth(month, year);
         LOGGER.info("get records for from: {},to:{}", startOfMonth, endOfMonth);
-        var list = hearingRecordingSegmentRepository
-            .findByCreatedOnBetweenDatesWithHearingRecording(startOfMonth, endOfMonth);
-        return hearingReportCsvWriter.writeHearingRecordingSummaryToCsv(list);
+        return createReport(startOfMonth, endOfMonth);
     }
 
 
+    @Transactional(readOnly = true)
     public File createWeeklyReport(LocalDate reportDate) throws IOException {
         LocalDate startOfWeek = getStartOfWeekDateTime(reportDate);
         LocalDate endOfWeek = startOfWeek.plusDays(6);
         LocalDateTime startOfWeekDateTime = startOfWeek.atStartOfDay();
         LocalDateTime endOfWeekDateTime = endOfWeek.atTime(23, 59, 59);
         LOGGER.info("Fetching records from: {} to: {}", startOfWeekDateTime, endOfWeekDateTime);
-        var list = hearingRecordingSegmentRepository
-            .findByCreatedOnBetweenDatesWithHearingRecording(startOfWeekDateTime, endOfWeekDateTime);
-        return hearingReportCsvWriter.writeHearingRecordingSummaryToCsv(list);
+        return createReport(startOfWeekDateTime, endOfWeekDateTime);
+    }
+
+    private File createReport(LocalDateTime start, LocalDateTime end) throws IOException {
+        try (Stream<HearingReportRow> rows = hearingRecordingSegmentRepository
+            .streamReportRowsCreatedBetween(start, end)) {
+            return hearingReportCsvWriter.writeHearingRecordingSummaryToZip(rows);
+        }
     }
 
     public LocalDate getStartOfWeekDateTime(LocalDate reportDate) {
@@ -0,0 +1,115 @@
+package uk.gov.hmcts.reform.em.hrs.service.idam.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.nimbusds.jwt.JWTParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.idam.client.models.UserInfo;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * Caches the IDAM user info of user access tokens until the token expires, so the many requests of one playback share
+ * a single IDAM call. Entries are keyed by a hash of the token so tokens are not held in memory, and are kept for no
+ * longer than the configured maximum so role changes are picked up.
+ */
+@Component
+public class IdamUserInfoCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdamUserInfoCache.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final boolean enabled;
+    private final Duration maxTtl;
+    private final Cache<String, CachedUserInfo> cache;
+
+    @Autowired
+    public IdamUserInfoCache(
+        @Value("${idam.client.cache.user-info.enabled}") boolean enabled,
+        @Value("${idam.client.cache.user-info.max-size}") long maxSize,
+        @Value("${idam.client.cache.user-info.max-ttl-in-sec}") long maxTtlInSeconds
+    ) {
+        this.enabled = enabled;
+        this.maxTtl = Duration.ofSeconds(maxTtlInSeconds);
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new UntilTokenExpires())
+            .build();
+    }
+
+    /**
+     * Gets the user info of the token, loading it if it is not cached or the token has expired.
+     *
+     * @param userAuthorization the user token, with or without the bearer prefix
+     * @param loader            loads the user info from IDAM
+     */
+    public UserInfo get(String userAuthorization, Function<String, UserInfo> loader) {
+        if (!enabled || userAuthorization == null) {
+            return loader.apply(userAuthorization);
+        }
+        String token = userAuthorization.startsWith(BEARER_PREFIX)
+            ? userAuthorization.substring(BEARER_PREFIX.length())
+            : userAuthorization;
+        return cache.get(
+            hash(token),
+            key -> new CachedUserInfo(loader.apply(userAuthorization), expiresAt(token))
+        ).userInfo();
+    }
+
+    private Instant expiresAt(String token) {
+        Instant latest = Instant.now().plus(maxTtl);
+        try {
+            // IDAM has accepted the token by now, so its expiry claim can be trusted
+            Date expirationTime = JWTParser.parse(token).getJWTClaimsSet().getExpirationTime();
+            if (expirationTime != null && expirationTime.toInstant().isBefore(latest)) {
+                return expirationTime.toInstant();
+            }
+        } catch (ParseException e) {
+            LOGGER.debug("Could not read expiry of user token: {}", e.getMessage());
+        }
+        return latest;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CachedUserInfo(UserInfo userInfo, Instant expiresAt) {
+    }
+
+    private static class UntilTokenExpires implements Expiry<String, CachedUserInfo> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedUserInfo value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedUserInfo value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedUserInfo value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
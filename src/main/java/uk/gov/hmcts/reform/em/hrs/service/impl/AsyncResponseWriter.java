@@ -0,0 +1,239 @@
+package uk.gov.hmcts.reform.em.hrs.service.impl;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes a stream of buffers to the response with non-blocking servlet IO, so no thread is held while the client
+ * reads. One buffer is requested from the publisher at a time, and the next only once it has been handed to the
+ * container, so a slow client slows the blob download down rather than buffering it.
+ */
+@Component
+public class AsyncResponseWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncResponseWriter.class);
+
+    private final boolean enabled;
+    private final long timeoutInMillis;
+
+    @Autowired
+    public AsyncResponseWriter(
+        @Value("${hrs.download.async.enabled}") boolean enabled,
+        @Value("${hrs.download.async.timeout-in-minutes}") long timeoutInMinutes
+    ) {
+        this.enabled = enabled;
+        this.timeoutInMillis = Duration.ofMinutes(timeoutInMinutes).toMillis();
+    }
+
+    public boolean canWrite(HttpServletRequest request) {
+        return enabled && request.isAsyncSupported();
+    }
+
+    /**
+     * Starts writing the body and returns straight away. The status and headers must already be set.
+     *
+     * @param onComplete run once the whole body has been written, in the context of the original request
+     */
+    public void write(HttpServletRequest request, HttpServletResponse response, Flux<ByteBuffer> body,
+                      Runnable onComplete) throws IOException {
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(timeoutInMillis);
+        BodySubscriber subscriber = new BodySubscriber(
+            asyncContext,
+            response,
+            response.getOutputStream(),
+            onComplete,
+            RequestContextHolder.getRequestAttributes(),
+            SecurityContextHolder.getContext()
+        );
+        asyncContext.addListener(subscriber);
+        subscriber.outputStream.setWriteListener(subscriber);
+        body.subscribe(subscriber);
+    }
+
+    private static final class BodySubscriber implements Subscriber<ByteBuffer>, WriteListener, AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final HttpServletResponse response;
+        private final ServletOutputStream outputStream;
+        private final Runnable onComplete;
+        private final RequestAttributes requestAttributes;
+        private final SecurityContext securityContext;
+
+        private final Queue<ByteBuffer> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile Subscription subscription;
+        private volatile boolean bodyComplete;
+
+        private BodySubscriber(AsyncContext asyncContext, HttpServletResponse response,
+                               ServletOutputStream outputStream, Runnable onComplete,
+                               RequestAttributes requestAttributes, SecurityContext securityContext) {
+            this.asyncContext = asyncContext;
+            this.response = response;
+            this.outputStream = outputStream;
+            this.onComplete = onComplete;
+            this.requestAttributes = requestAttributes;
+            this.securityContext = securityContext;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            pending.add(buffer);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            LOGGER.warn("Blob stream failed: {}", throwable.getMessage());
+            if (!response.isCommitted()) {
+                // drop the content length and range headers set for the body that never came
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            }
+            finish(false);
+        }
+
+        @Override
+        public void onComplete() {
+            bodyComplete = true;
+            drain();
+        }
+
+        @Override
+        public void onWritePossible() {
+            drain();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            LOGGER.warn("Timed out streaming response");
+            cancel();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // usually the client went away
+            LOGGER.warn("Error streaming response: {}", event.getThrowable().getMessage());
+            cancel();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // nothing to do, finish has already run
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // not restarted
+        }
+
+        /**
+         * Writes whatever is pending while the container can take it. Only one thread drains at a time, a call that
+         * arrives while another thread is draining makes that thread go round again.
+         */
+        private void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                try {
+                    while (!finished.get() && outputStream.isReady()) {
+                        ByteBuffer buffer = pending.poll();
+                        if (buffer == null) {
+                            if (bodyComplete) {
+                                finish(true);
+                            }
+                            break;
+                        }
+                        write(buffer);
+                        subscription.request(1);
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    LOGGER.warn("Error writing response: {}", e.getMessage());
+                    cancel();
+                }
+                missed = drainRequests.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void write(ByteBuffer buffer) throws IOException {
+            if (buffer.hasArray()) {
+                outputStream.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            } else {
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                outputStream.write(bytes);
+            }
+        }
+
+        private void cancel() {
+            Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+            finish(false);
+        }
+
+        private void finish(boolean success) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (success) {
+                    runInRequestContext(onComplete);
+                }
+            } finally {
+                asyncContext.complete();
+            }
+        }
+
+        private void runInRequestContext(Runnable task) {
+            RequestAttributes previousAttributes = RequestContextHolder.getRequestAttributes();
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.error("Error after streaming response", e);
+            } finally {
+                RequestContextHolder.setRequestAttributes(previousAttributes);
+                SecurityContextHolder.setContext(previousSecurityContext);
+            }
+        }
+    }
+}
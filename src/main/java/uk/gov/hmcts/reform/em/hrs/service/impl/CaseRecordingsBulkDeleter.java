@@ -0,0 +1,190 @@
+package uk.gov.hmcts.reform.em.hrs.service.impl;
+
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.em.hrs.dto.CaseRecordingDeletionDto;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingAuditEntryRepository;
+import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingRepository;
+import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentAuditEntryRepository;
+import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentRepository;
+import uk.gov.hmcts.reform.em.hrs.repository.ShareesAuditEntryRepository;
+import uk.gov.hmcts.reform.em.hrs.repository.ShareesRepository;
+import uk.gov.hmcts.reform.em.hrs.service.BlobStorageDeleteService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Deletes the recordings of many cases at once. The recordings and segments of a chunk of cases are found with one
+ * query, all their blobs are deleted together, then their rows with one statement per table in a transaction per
+ * chunk. A case with a blob that could not be deleted keeps all its rows, so deleting the case again retries it.
+ *
+ * <p>Segment audit entries are written asynchronously, so an entry still queued for a segment when its rows are
+ * deleted fails on the foreign key when its batch is written, and the audit writer drops it with an error.
+ */
+@Component
+public class CaseRecordingsBulkDeleter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CaseRecordingsBulkDeleter.class);
+
+    private final HearingRecordingRepository hearingRecordingRepository;
+    private final HearingRecordingSegmentRepository hearingRecordingSegmentRepository;
+    private final ShareesRepository shareesRepository;
+    private final HearingRecordingAuditEntryRepository hearingRecordingAuditEntryRepository;
+    private final HearingRecordingSegmentAuditEntryRepository hearingRecordingSegmentAuditEntryRepository;
+    private final ShareesAuditEntryRepository shareesAuditEntryRepository;
+    private final BlobStorageDeleteService blobStorageDeleteService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public CaseRecordingsBulkDeleter(
+        HearingRecordingRepository hearingRecordingRepository,
+        HearingRecordingSegmentRepository hearingRecordingSegmentRepository,
+        ShareesRepository shareesRepository,
+        HearingRecordingAuditEntryRepository hearingRecordingAuditEntryRepository,
+        HearingRecordingSegmentAuditEntryRepository hearingRecordingSegmentAuditEntryRepository,
+        ShareesAuditEntryRepository shareesAuditEntryRepository,
+        BlobStorageDeleteService blobStorageDeleteService,
+        PlatformTransactionManager transactionManager,
+        @Value("${hrs.bulk-delete.chunk-size}") int chunkSize
+    ) {
+        this.hearingRecordingRepository = hearingRecordingRepository;
+        this.hearingRecordingSegmentRepository = hearingRecordingSegmentRepository;
+        this.shareesRepository = shareesRepository;
+        this.hearingRecordingAuditEntryRepository = hearingRecordingAuditEntryRepository;
+        this.hearingRecordingSegmentAuditEntryRepository = hearingRecordingSegmentAuditEntryRepository;
+        this.shareesAuditEntryRepository = shareesAuditEntryRepository;
+        this.blobStorageDeleteService = blobStorageDeleteService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Deletes the recordings of the cases, with their segments, blobs, shares and audit entries.
+     *
+     * @return the cases whose recordings were all deleted and the cases kept because something of theirs was not
+     */
+    public Result delete(Collection<Long> ccdCaseIds) {
+        Result result = new Result(new LinkedHashSet<>(), new LinkedHashSet<>());
+        for (List<Long> chunk : Lists.partition(new ArrayList<>(new LinkedHashSet<>(ccdCaseIds)), chunkSize)) {
+            deleteChunk(chunk, result);
+        }
+        LOGGER.info("Deleted recordings of {} cases, kept {} cases that failed: {}",
+                    result.deletedCaseIds().size(), result.failedCaseIds().size(), result.failedCaseIds());
+        return result;
+    }
+
+    private void deleteChunk(List<Long> ccdCaseIds, Result result) {
+        List<CaseRecordingDeletionDto> rows = hearingRecordingRepository
+            .findRecordingsAndSegmentsByCcdCaseIds(ccdCaseIds);
+        if (rows.isEmpty()) {
+            LOGGER.error("No HRS rows found for CCD Case IDs: {}", ccdCaseIds);
+            return;
+        }
+
+        Set<String> undeletedBlobs = deleteBlobs(rows);
+
+        Map<Long, List<CaseRecordingDeletionDto>> rowsByCase = rows.stream()
+            .collect(groupingBy(CaseRecordingDeletionDto::ccdCaseId, LinkedHashMap::new, toList()));
+        Map<Long, List<CaseRecordingDeletionDto>> deletableRowsByCase = new LinkedHashMap<>();
+        rowsByCase.forEach((ccdCaseId, caseRows) -> {
+            List<String> caseBlobs = caseRows.stream()
+                .map(CaseRecordingDeletionDto::filename)
+                .filter(Objects::nonNull)
+                .toList();
+            List<String> undeletedCaseBlobs = caseBlobs.stream().filter(undeletedBlobs::contains).toList();
+            if (undeletedCaseBlobs.isEmpty()) {
+                deletableRowsByCase.put(ccdCaseId, caseRows);
+            } else {
+                LOGGER.warn("Kept case {} as {} of its {} blobs could not be deleted: {}",
+                            ccdCaseId, undeletedCaseBlobs.size(), caseBlobs.size(), undeletedCaseBlobs);
+                result.failedCaseIds().add(ccdCaseId);
+            }
+        });
+        if (deletableRowsByCase.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> deleteRows(deletableRowsByCase.values().stream()
+                .flatMap(List::stream)
+                .toList()));
+        } catch (RuntimeException e) {
+            LOGGER.error("Database deletion failed for CCD Case IDs: {}", deletableRowsByCase.keySet(), e);
+            result.failedCaseIds().addAll(deletableRowsByCase.keySet());
+            return;
+        }
+        deletableRowsByCase.forEach((ccdCaseId, caseRows) -> {
+            LOGGER.info("Deleted case {}: {} recordings, {} segments", ccdCaseId,
+                        caseRows.stream().map(CaseRecordingDeletionDto::hearingRecordingId).distinct().count(),
+                        caseRows.stream().filter(row -> row.hearingRecordingSegmentId() != null).count());
+            result.deletedCaseIds().add(ccdCaseId);
+        });
+    }
+
+    /**
+     * Returns the names of the blobs that could not be deleted.
+     */
+    private Set<String> deleteBlobs(List<CaseRecordingDeletionDto> rows) {
+        Set<String> undeletedBlobs = new HashSet<>();
+        Map<HearingSource, List<String>> blobNames = new EnumMap<>(HearingSource.class);
+        for (CaseRecordingDeletionDto row : rows) {
+            if (row.filename() == null) {
+                continue;
+            }
+            Optional<HearingSource> hearingSource = Arrays.stream(HearingSource.values())
+                .filter(source -> source.name().equals(row.hearingSource()))
+                .findFirst();
+            if (hearingSource.isPresent()) {
+                blobNames.computeIfAbsent(hearingSource.get(), source -> new ArrayList<>()).add(row.filename());
+            } else {
+                LOGGER.warn("Blob {} not deleted, unknown source: {}", row.filename(), row.hearingSource());
+                undeletedBlobs.add(row.filename());
+            }
+        }
+        undeletedBlobs.addAll(blobStorageDeleteService.deleteBlobs(blobNames));
+        return undeletedBlobs;
+    }
+
+    private void deleteRows(List<CaseRecordingDeletionDto> rows) {
+        List<UUID> hearingRecordingIds = rows.stream()
+            .map(CaseRecordingDeletionDto::hearingRecordingId)
+            .distinct()
+            .toList();
+
+        hearingRecordingSegmentAuditEntryRepository.deleteByHearingRecordingIds(hearingRecordingIds);
+        hearingRecordingSegmentRepository.deleteByHearingRecordingIds(hearingRecordingIds);
+
+        List<UUID> shareeIds = shareesRepository.findAllByHearingRecordingIds(hearingRecordingIds);
+        if (!shareeIds.isEmpty()) {
+            shareesAuditEntryRepository.deleteByHearingRecordingShareeIds(shareeIds);
+        }
+        shareesRepository.deleteByHearingRecordingIds(hearingRecordingIds);
+
+        hearingRecordingAuditEntryRepository.deleteByHearingRecordingIds(hearingRecordingIds);
+        hearingRecordingRepository.deleteByHearingRecordingIds(hearingRecordingIds);
+    }
+
+    public record Result(Set<Long> deletedCaseIds, Set<Long> failedCaseIds) {
+    }
+}
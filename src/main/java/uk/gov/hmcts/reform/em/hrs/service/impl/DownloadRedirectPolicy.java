@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.em.hrs.service.impl;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.em.hrs.service.SecurityService;
+import uk.gov.hmcts.reform.em.hrs.util.HttpHeaderProcessor;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Decides whether a download is answered with a redirect to a short-lived signed blob URL instead of streaming the
+ * bytes through the API. Services listed in config are always redirected, other callers can opt in per request with
+ * the download mode header. Nothing is redirected unless the mode is enabled.
+ */
+@Component
+public class DownloadRedirectPolicy {
+
+    static final String DOWNLOAD_MODE_HEADER = "Hrs-Download-Mode";
+    static final String REDIRECT_MODE = "redirect";
+
+    private final SecurityService securityService;
+    private final boolean enabled;
+    private final List<String> services;
+    private final Duration urlValidity;
+
+    @Autowired
+    public DownloadRedirectPolicy(
+        SecurityService securityService,
+        @Value("${hrs.download.redirect.enabled}") boolean enabled,
+        @Value("${hrs.download.redirect.services}") List<String> services,
+        @Value("${hrs.download.redirect.url-validity-in-seconds}") long urlValidityInSeconds
+    ) {
+        this.securityService = securityService;
+        this.enabled = enabled;
+        this.services = services;
+        this.urlValidity = Duration.ofSeconds(urlValidityInSeconds);
+    }
+
+    public boolean shouldRedirect(HttpServletRequest request) {
+        if (!enabled) {
+            return false;
+        }
+        String downloadMode =
+            HttpHeaderProcessor.getHttpHeaderByCaseSensitiveAndLowerCase(request, DOWNLOAD_MODE_HEADER);
+        return REDIRECT_MODE.equalsIgnoreCase(downloadMode)
+            || services.contains(securityService.getCurrentlyAuthenticatedServiceName());
+    }
+
+    public Duration getUrlValidity() {
+        return urlValidity;
+    }
+}
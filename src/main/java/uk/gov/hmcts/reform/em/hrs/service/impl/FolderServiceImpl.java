@@ -4,23 +4,28 @@ import jakarta.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
-import reactor.util.function.Tuple2;
-import reactor.util.function.Tuples;
+import org.springframework.util.DigestUtils;
 import uk.gov.hmcts.reform.em.hrs.domain.Folder;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
 import uk.gov.hmcts.reform.em.hrs.domain.JobInProgress;
+import uk.gov.hmcts.reform.em.hrs.dto.FolderListing;
+import uk.gov.hmcts.reform.em.hrs.dto.FolderSegmentSummary;
 import uk.gov.hmcts.reform.em.hrs.exception.DatabaseStorageException;
 import uk.gov.hmcts.reform.em.hrs.repository.FolderRepository;
 import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentRepository;
 import uk.gov.hmcts.reform.em.hrs.service.FolderService;
 import uk.gov.hmcts.reform.em.hrs.util.SetUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Component
@@ -32,28 +37,53 @@ public class FolderServiceImpl implements FolderService {
         "Folders must explicitly exist, based on GET /folders/(foldername) creating them";
     private final FolderRepository folderRepository;
     private final HearingRecordingSegmentRepository hearingRecordingSegmentRepository;
+    private final JobInProgressBuffer jobInProgressBuffer;
+    private final Duration sinceOverlap;
 
     @Autowired
     public FolderServiceImpl(
         FolderRepository folderRepository,
-        HearingRecordingSegmentRepository hearingRecordingSegmentRepository
+        HearingRecordingSegmentRepository hearingRecordingSegmentRepository,
+        JobInProgressBuffer jobInProgressBuffer,
+        @Value("${hrs.folder-listing.since-overlap-in-seconds}") long sinceOverlapInSeconds
     ) {
         this.folderRepository = folderRepository;
         this.hearingRecordingSegmentRepository = hearingRecordingSegmentRepository;
+        this.jobInProgressBuffer = jobInProgressBuffer;
+        this.sinceOverlap = Duration.ofSeconds(sinceOverlapInSeconds);
     }
 
     @Override
-    public Set<String> getStoredFiles(String folderName) {
+    public FolderListing getStoredFiles(String folderName, LocalDateTime since, Set<String> knownVersions) {
 
         Optional<Folder> optionalFolder = folderRepository.findByName(folderName);
 
         if (optionalFolder.isEmpty()) {
             Folder newFolder = Folder.builder().name(folderName).build();
             folderRepository.save(newFolder);
-            return Collections.emptySet();
+            return new FolderListing(version(0, null, since, Collections.emptySet()), since, Collections.emptySet());
         }
 
-        return getCompletedAndInProgressFiles(optionalFolder.get());
+        Folder folder = optionalFolder.get();
+        Set<String> filesInProgress =
+            jobInProgressBuffer.overlay(folder.getName(), getFilesInProgress(folder.getJobsInProgress()));
+        LOGGER.debug("Files In Progress {}", filesInProgress);
+
+        FolderSegmentSummary summary = hearingRecordingSegmentRepository.summariseFolder(folder.getName());
+        LocalDateTime cursor = summary.latestCreatedOn() == null ? since : summary.latestCreatedOn();
+        String version = version(summary.segmentCount(), summary.latestCreatedOn(), since, filesInProgress);
+        if (knownVersions.contains(version)) {
+            LOGGER.debug("Folder {} unchanged at version {}", folderName, version);
+            return FolderListing.unchanged(version, cursor);
+        }
+
+        Set<String> completedFiles = since == null
+            ? hearingRecordingSegmentRepository.findFilenamesByFolderName(folder.getName())
+            : hearingRecordingSegmentRepository.findFilenamesByFolderNameCreatedAfter(
+                folder.getName(), since.minus(sinceOverlap));
+        LOGGER.debug("Completed Files folder={}, since={}, {}", folderName, since, completedFiles);
+
+        return new FolderListing(version, cursor, SetUtils.union(completedFiles, filesInProgress));
     }
 
     @Override
@@ -62,53 +92,23 @@ public class FolderServiceImpl implements FolderService {
             .orElseThrow(() -> new DatabaseStorageException(FOLDER_MISSING_EXCEPTION_MSG));
     }
 
-    private Set<String> getCompletedAndInProgressFiles(Folder folder) {
-
-        Tuple2<FilesInDatabase, Set<String>> databaseRecords = getFilesetsFromDatabase(folder);
-        FilesInDatabase filesInDatabase = databaseRecords.getT1();
-        LOGGER.debug("Files In Database folder={}, {}", folder.getName(), filesInDatabase);
-
-        Set<String> completedFiles = filesInDatabase.fileset;
-        LOGGER.debug("Completed Files={}", completedFiles);
-
-        Set<String> filesInProgress = databaseRecords.getT2();
-        LOGGER.debug("FilesInProgress {}", filesInProgress);
-
-        return SetUtils.union(completedFiles, filesInProgress);
-    }
-
-    private Tuple2<FilesInDatabase, Set<String>> getFilesetsFromDatabase(Folder folder) {
-
-        Set<String> filesInDatabase = getSegmentFilenamesInFolder(folder.getName());
-        LOGGER.debug("Files In Database {} ", filesInDatabase);
-        Set<String> filesInProgress = getFilesInProgress(folder.getJobsInProgress());
-        LOGGER.debug("Files In Progress {}", filesInProgress);
-        return Tuples.of(new FilesInDatabase(filesInDatabase), filesInProgress);
-    }
-
     private Set<String> getFilesInProgress(List<JobInProgress> jobInProgresses) {
         return jobInProgresses.stream()
             .map(JobInProgress::getFilename)
             .collect(Collectors.toUnmodifiableSet());
     }
 
-    private Set<String> getSegmentFilenamesInFolder(String folderName) {
-        Set<HearingRecordingSegment> segments =
-            hearingRecordingSegmentRepository.findByHearingRecordingFolderName(folderName);
-        return segments.stream()
-            .map(HearingRecordingSegment::getFilename)
-            .collect(Collectors.toUnmodifiableSet());
-    }
-
-    static class FilesInDatabase {
-        private final Set<String> fileset;
-
-        FilesInDatabase(Set<String> fileset) {
-            this.fileset = fileset;
-        }
-
-        Set<String> intersect(Set<String> filesInBlobstore) {
-            return SetUtils.intersect(fileset, filesInBlobstore);
-        }
+    /**
+     * Identifies what a listing would return without reading the filenames. Segments are only ever added to a folder
+     * or removed from it, so their count and latest creation time change whenever the completed files do.
+     */
+    private static String version(long segmentCount, LocalDateTime latestCreatedOn, LocalDateTime since,
+                                  Set<String> filesInProgress) {
+        StringBuilder state = new StringBuilder()
+            .append(segmentCount).append('|')
+            .append(latestCreatedOn).append('|')
+            .append(since);
+        new TreeSet<>(filesInProgress).forEach(filename -> state.append('|').append(filename));
+        return DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8));
     }
 }
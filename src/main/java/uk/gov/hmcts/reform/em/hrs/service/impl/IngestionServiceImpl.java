@@ -9,6 +9,8 @@ import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
 import uk.gov.hmcts.reform.em.hrs.service.IngestionService;
 import uk.gov.hmcts.reform.em.hrs.storage.HearingRecordingStorage;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @Transactional
 public class IngestionServiceImpl implements IngestionService {
@@ -29,4 +31,11 @@ public class IngestionServiceImpl implements IngestionService {
         LOGGER.info("Ingestion: Completed Copying File: {}", hrDto.getFilename());
     }
 
+    @Override
+    public CompletableFuture<Void> ingestAsync(final HearingRecordingDto hrDto) {
+        LOGGER.info("Ingestion: Starting Copy of File: {}", hrDto.getFilename());
+        return hearingRecordingStorage.copyRecordingAsync(hrDto)
+            .thenRun(() -> LOGGER.info("Ingestion: Completed Copying File: {}", hrDto.getFilename()));
+    }
+
 }
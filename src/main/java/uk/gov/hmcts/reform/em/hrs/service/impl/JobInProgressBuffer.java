@@ -0,0 +1,82 @@
+package uk.gov.hmcts.reform.em.hrs.service.impl;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registrations and deregistrations of jobs in progress that have not been written to the database yet. Only the
+ * latest change per file is kept. Changes being written stay visible until the write completes, so reads that
+ * overlay this buffer on the database never miss a file.
+ */
+@Component
+public class JobInProgressBuffer {
+
+    private final Map<FileKey, PendingChange> pending = new ConcurrentHashMap<>();
+    private final Map<FileKey, PendingChange> flushing = new ConcurrentHashMap<>();
+
+    public void register(String folderName, UUID folderId, String filename) {
+        pending.put(new FileKey(folderName, filename), new PendingChange(folderId, true, LocalDateTime.now()));
+    }
+
+    public void deRegister(String folderName, String filename) {
+        pending.put(new FileKey(folderName, filename), new PendingChange(null, false, LocalDateTime.now()));
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Applies the buffered changes for a folder to the files in progress read from the database.
+     */
+    public Set<String> overlay(String folderName, Set<String> persistedFilesInProgress) {
+        if (pending.isEmpty() && flushing.isEmpty()) {
+            return persistedFilesInProgress;
+        }
+        Set<String> filesInProgress = new HashSet<>(persistedFilesInProgress);
+        apply(flushing, folderName, filesInProgress);
+        apply(pending, folderName, filesInProgress);
+        return filesInProgress;
+    }
+
+    /**
+     * Moves the buffered changes aside for writing. Must be followed by {@link #completeFlush()}.
+     */
+    Map<FileKey, PendingChange> startFlush() {
+        for (Map.Entry<FileKey, PendingChange> entry : pending.entrySet()) {
+            flushing.put(entry.getKey(), entry.getValue());
+            // a newer change made meanwhile stays pending for the next flush
+            pending.remove(entry.getKey(), entry.getValue());
+        }
+        return Map.copyOf(flushing);
+    }
+
+    void completeFlush() {
+        flushing.clear();
+    }
+
+    private static void apply(Map<FileKey, PendingChange> changes, String folderName, Set<String> filesInProgress) {
+        changes.forEach((key, change) -> {
+            if (Objects.equals(key.folderName(), folderName)) {
+                if (change.inProgress()) {
+                    filesInProgress.add(key.filename());
+                } else {
+                    filesInProgress.remove(key.filename());
+                }
+            }
+        });
+    }
+
+    record FileKey(String folderName, String filename) {
+    }
+
+    record PendingChange(UUID folderId, boolean inProgress, LocalDateTime changedOn) {
+    }
+}
@@ -1,57 +1,80 @@
 package uk.gov.hmcts.reform.em.hrs.service.impl;
 
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.em.hrs.domain.Folder;
-import uk.gov.hmcts.reform.em.hrs.domain.JobInProgress;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
 import uk.gov.hmcts.reform.em.hrs.exception.DatabaseStorageException;
+import uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics;
 import uk.gov.hmcts.reform.em.hrs.repository.FolderRepository;
-import uk.gov.hmcts.reform.em.hrs.repository.JobInProgressRepository;
 import uk.gov.hmcts.reform.em.hrs.service.JobInProgressService;
+import uk.gov.hmcts.reform.em.hrs.service.impl.JobInProgressBuffer.FileKey;
+import uk.gov.hmcts.reform.em.hrs.service.impl.JobInProgressBuffer.PendingChange;
 
-import java.time.LocalDateTime;
-import java.util.Optional;
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics.STAGE_REGISTER_JOB;
+
+/**
+ * Registers jobs in memory and writes them to the database in batches, instead of several round trips per file.
+ * Folder ids are cached, as folders are never renamed or deleted. Reads see buffered changes through the
+ * JobInProgressBuffer, other nodes see them once flushed.
+ */
 @Service
-@Transactional
 public class JobInProgressServiceImpl implements JobInProgressService {
     private static final Logger LOGGER = LoggerFactory.getLogger(JobInProgressServiceImpl.class);
 
+    private static final String INSERT_SQL = """
+        INSERT INTO job_in_progress (id, folder_id, filename, created_on)
+        VALUES (:id, :folderId, :filename, :createdOn)
+        """;
+
+    private static final String DELETE_SQL = """
+        DELETE FROM job_in_progress j
+        USING folder f
+        WHERE j.folder_id = f.id
+        AND (f.name, j.filename) IN (:files)
+        """;
+
+    private static final int MAX_FILES_PER_DELETE = 1000;
 
-    private final JobInProgressRepository jobInProgressRepository;
     private final FolderRepository folderRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JobInProgressBuffer jobInProgressBuffer;
+    private final IngestionMetrics ingestionMetrics;
+    private final int flushThreshold;
+    private final Map<String, UUID> folderIds = new ConcurrentHashMap<>();
 
     @Autowired
     public JobInProgressServiceImpl(
-        final JobInProgressRepository jobInProgressRepository, final FolderRepository folderRepository) {
+        final FolderRepository folderRepository,
+        final NamedParameterJdbcTemplate jdbcTemplate,
+        final JobInProgressBuffer jobInProgressBuffer,
+        final IngestionMetrics ingestionMetrics,
+        @Value("${hrs.job-in-progress.flush-threshold}") final int flushThreshold) {
 
-        this.jobInProgressRepository = jobInProgressRepository;
         this.folderRepository = folderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.jobInProgressBuffer = jobInProgressBuffer;
+        this.ingestionMetrics = ingestionMetrics;
+        this.flushThreshold = flushThreshold;
     }
 
     @Override
     public void register(final HearingRecordingDto hrDto) throws DatabaseStorageException {
-        String filename = hrDto.getFilename();
-        String folderName = hrDto.getFolder();
-
-        LOGGER.info("Ingestion: Registering Job In Progress for folderName/filename: {}/{}", filename, folderName);
-        Optional<Folder> folder = folderRepository.findByName(folderName);
-        if (folder.isEmpty()) {
-            throw new DatabaseStorageException("IllegalState - Folder not found in DB: " + folderName);
-        } else {
-            JobInProgress job = JobInProgress
-                .builder()
-                .folder(folder.get())
-                .filename(filename)
-                .createdOn(LocalDateTime.now())
-                .build();
-            jobInProgressRepository.save(job);
-        }
+        ingestionMetrics.time(STAGE_REGISTER_JOB, hrDto.getRecordingSource(), () -> bufferRegistration(hrDto));
     }
 
     @Override
@@ -60,12 +83,78 @@ public class JobInProgressServiceImpl implements JobInProgressService {
         String folderName = hrDto.getFolder();
 
         LOGGER.info("Ingestion: Deregistering Job In Progress for folderName/filename: {}/{}", filename, folderName);
-        Set<JobInProgress> jobInProgressSet = jobInProgressRepository.findByFolderNameAndFilename(folderName, filename);
-        for (JobInProgress job : jobInProgressSet) {
-            jobInProgressRepository.delete(job);
+        jobInProgressBuffer.deRegister(folderName, filename);
+        flushIfFull();
+    }
+
+    /**
+     * Writes buffered changes: deregistrations as one set based delete, registrations as one batch insert.
+     * A change that cannot be written is dropped, stale rows are removed by the DeleteInProgressJobsTask.
+     */
+    @Scheduled(fixedDelayString = "${hrs.job-in-progress.flush-interval-in-millis}")
+    public synchronized void flush() {
+        Map<FileKey, PendingChange> changes = jobInProgressBuffer.startFlush();
+        if (changes.isEmpty()) {
+            jobInProgressBuffer.completeFlush();
+            return;
+        }
+
+        List<Object[]> finishedFiles = new ArrayList<>();
+        List<SqlParameterSource> newJobs = new ArrayList<>();
+        changes.forEach((key, change) -> {
+            if (change.inProgress()) {
+                newJobs.add(new MapSqlParameterSource()
+                                .addValue("id", UUID.randomUUID())
+                                .addValue("folderId", change.folderId())
+                                .addValue("filename", key.filename())
+                                .addValue("createdOn", change.changedOn()));
+            } else {
+                finishedFiles.add(new Object[]{key.folderName(), key.filename()});
+            }
+        });
+
+        try {
+            for (int i = 0; i < finishedFiles.size(); i += MAX_FILES_PER_DELETE) {
+                List<Object[]> files =
+                    finishedFiles.subList(i, Math.min(i + MAX_FILES_PER_DELETE, finishedFiles.size()));
+                jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("files", files));
+            }
+            if (!newJobs.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, newJobs.toArray(SqlParameterSource[]::new));
+            }
+            LOGGER.debug("Flushed {} new and {} finished jobs in progress", newJobs.size(), finishedFiles.size());
+        } catch (Exception e) {
+            LOGGER.error("Could not flush {} job in progress changes: {}", changes.size(), e.getMessage());
+            folderIds.clear();
+        } finally {
+            jobInProgressBuffer.completeFlush();
         }
+    }
 
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void bufferRegistration(final HearingRecordingDto hrDto) {
+        String filename = hrDto.getFilename();
+        String folderName = hrDto.getFolder();
 
+        LOGGER.info("Ingestion: Registering Job In Progress for folderName/filename: {}/{}", filename, folderName);
+        UUID folderId = folderName == null ? null : folderIds.computeIfAbsent(
+            folderName,
+            name -> folderRepository.findByName(name).map(Folder::getId).orElse(null)
+        );
+        if (folderId == null) {
+            throw new DatabaseStorageException("IllegalState - Folder not found in DB: " + folderName);
+        }
+        jobInProgressBuffer.register(folderName, folderId, filename);
+        flushIfFull();
     }
 
+    private void flushIfFull() {
+        if (jobInProgressBuffer.size() >= flushThreshold) {
+            flush();
+        }
+    }
 }
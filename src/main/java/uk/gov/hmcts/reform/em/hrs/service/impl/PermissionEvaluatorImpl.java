@@ -13,7 +13,6 @@ import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSharee;
 import uk.gov.hmcts.reform.em.hrs.repository.ShareesRepository;
 import uk.gov.hmcts.reform.em.hrs.service.AuditEntryService;
 import uk.gov.hmcts.reform.em.hrs.service.SecurityService;
@@ -86,21 +85,9 @@ public class PermissionEvaluatorImpl implements PermissionEvaluator {
                 hr.getRecordingRef(),
                 shareeEmail
             );
-            List<HearingRecordingSharee> sharedRecordings = shareesRepository.findByShareeEmailIgnoreCase(shareeEmail);
-            LOGGER.info(
-                "recordings that are shared with the user: ({}) are ({})", shareeEmail,
-                sharedRecordings.stream()
-                    .map(sharedRecording -> sharedRecording.getHearingRecording().getCaseRef())
-                    .toList()
-            );
-            if (!isEmpty(sharedRecordings)) {
-                Optional<HearingRecordingSharee> hearingRecording = sharedRecordings.stream()
-                    .filter(sharedRecording -> sharedRecording.getHearingRecording().getId().equals(recordingId))
-                    .findFirst();
-                if (hearingRecording.isPresent()) {
-                    LOGGER.info("User granted access through shared email ({})", shareeEmail);
-                    return true;
-                }
+            if (shareesRepository.existsByShareeEmailAndRecordingId(shareeEmail, recordingId)) {
+                LOGGER.info("User granted access through shared email ({})", shareeEmail);
+                return true;
             }
             auditEntryService.createAndSaveEntry(hrSegment, AuditActions.USER_DOWNLOAD_UNAUTHORIZED);
         }
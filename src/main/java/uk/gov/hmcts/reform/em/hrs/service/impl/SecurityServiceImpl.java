@@ -5,6 +5,10 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -14,6 +18,7 @@ import uk.gov.hmcts.reform.authorisation.validators.AuthTokenValidator;
 import uk.gov.hmcts.reform.em.hrs.service.SecurityService;
 import uk.gov.hmcts.reform.em.hrs.service.idam.cache.CachedIdamCredential;
 import uk.gov.hmcts.reform.em.hrs.service.idam.cache.IdamCachedClient;
+import uk.gov.hmcts.reform.em.hrs.service.idam.cache.IdamUserInfoCache;
 import uk.gov.hmcts.reform.idam.client.IdamClient;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
@@ -30,22 +35,26 @@ public class SecurityServiceImpl implements SecurityService {
     private static final String HRS_INGESTOR = "hrsIngestor";
     private static final Logger LOGGER = LoggerFactory.getLogger(SecurityServiceImpl.class);
     public static final String CLIENTIP = "x-azure-clientip";
+    private static final String USER_INFO_ATTRIBUTE = SecurityServiceImpl.class.getName() + ".userInfo";
     private final IdamClient idamClient;
     private final AuthTokenGenerator authTokenGenerator;
     private final AuthTokenValidator authTokenValidator;
     private final IdamCachedClient idamCachedClient;
+    private final IdamUserInfoCache idamUserInfoCache;
 
     @Autowired
     public SecurityServiceImpl(
         final IdamClient idamClient,
         final AuthTokenGenerator authTokenGenerator,
         final AuthTokenValidator authTokenValidator,
-        final IdamCachedClient idamCachedClient
+        final IdamCachedClient idamCachedClient,
+        final IdamUserInfoCache idamUserInfoCache
     ) {
         this.idamClient = idamClient;
         this.authTokenGenerator = authTokenGenerator;
         this.authTokenValidator = authTokenValidator;
         this.idamCachedClient = idamCachedClient;
+        this.idamUserInfoCache = idamUserInfoCache;
     }
 
     @Override
@@ -63,12 +72,49 @@ public class SecurityServiceImpl implements SecurityService {
 
     @Override
     public String getUserEmail(String userAuthorization) {
-        return idamClient.getUserInfo(userAuthorization).getSub();
+        String authenticatedEmail = getAuthenticatedEmail(userAuthorization);
+        if (authenticatedEmail != null) {
+            return authenticatedEmail;
+        }
+        return getUserInfo(userAuthorization).getSub();
     }
 
+    /**
+     * Resolves the user once per request. Later calls in the same request reuse the result, and other requests with
+     * the same token are served from the cache until the token expires.
+     */
     @Override
     public UserInfo getUserInfo(String jwtToken) {
-        return idamClient.getUserInfo(jwtToken);
+        HttpServletRequest request = getCurrentRequest();
+        if (request != null
+            && request.getAttribute(USER_INFO_ATTRIBUTE) instanceof ResolvedUser resolvedUser
+            && resolvedUser.token().equals(jwtToken)) {
+            return resolvedUser.userInfo();
+        }
+        UserInfo userInfo = idamUserInfoCache.get(jwtToken, idamClient::getUserInfo);
+        if (request != null && jwtToken != null) {
+            request.setAttribute(USER_INFO_ATTRIBUTE, new ResolvedUser(jwtToken, userInfo));
+        }
+        return userInfo;
+    }
+
+    /**
+     * The email from the claims of the token the request was authenticated with, which have already been validated.
+     * IDAM puts the email in the subject of its access tokens.
+     */
+    private String getAuthenticatedEmail(String userAuthorization) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (userAuthorization == null || !(authentication instanceof JwtAuthenticationToken jwtAuthentication)) {
+            return null;
+        }
+        Jwt jwt = jwtAuthentication.getToken();
+        String token = userAuthorization.startsWith(BEARER_PREFIX)
+            ? userAuthorization.substring(BEARER_PREFIX.length())
+            : userAuthorization;
+        if (!token.equals(jwt.getTokenValue()) || !StringUtils.contains(jwt.getSubject(), '@')) {
+            return null;
+        }
+        return jwt.getSubject();
     }
 
     private String getServiceName(final String token) {
@@ -123,4 +169,6 @@ public class SecurityServiceImpl implements SecurityService {
         return null;
     }
 
+    private record ResolvedUser(String token, UserInfo userInfo) {
+    }
 }
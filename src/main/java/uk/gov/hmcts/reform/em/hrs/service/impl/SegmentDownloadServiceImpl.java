@@ -9,14 +9,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
 import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSharee;
 import uk.gov.hmcts.reform.em.hrs.exception.InvalidRangeRequestException;
 import uk.gov.hmcts.reform.em.hrs.exception.ValidationErrorException;
 import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentRepository;
@@ -31,13 +32,14 @@ import uk.gov.hmcts.reform.em.hrs.util.HttpHeaderProcessor;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 
-import static org.springframework.util.CollectionUtils.isEmpty;
-
 @Service
 public class SegmentDownloadServiceImpl implements SegmentDownloadService {
 
@@ -48,6 +50,8 @@ public class SegmentDownloadServiceImpl implements SegmentDownloadService {
     private final AuditEntryService auditEntryService;
     private final ShareesRepository shareesRepository;
     private final SecurityService securityService;
+    private final DownloadRedirectPolicy downloadRedirectPolicy;
+    private final AsyncResponseWriter asyncResponseWriter;
 
     @Value("${shareelink.ttl}")
     private final int validityInHours;
@@ -60,6 +64,8 @@ public class SegmentDownloadServiceImpl implements SegmentDownloadService {
         AuditEntryService auditEntryService,
         ShareesRepository shareesRepository,
         SecurityService securityService,
+        DownloadRedirectPolicy downloadRedirectPolicy,
+        AsyncResponseWriter asyncResponseWriter,
         @Value("${shareelink.ttl}") int validityInHours
     ) {
         this.segmentRepository = segmentRepository;
@@ -67,6 +73,8 @@ public class SegmentDownloadServiceImpl implements SegmentDownloadService {
         this.auditEntryService = auditEntryService;
         this.shareesRepository = shareesRepository;
         this.securityService = securityService;
+        this.downloadRedirectPolicy = downloadRedirectPolicy;
+        this.asyncResponseWriter = asyncResponseWriter;
         this.validityInHours = validityInHours;
     }
 
@@ -99,25 +107,13 @@ public class SegmentDownloadServiceImpl implements SegmentDownloadService {
         if (isSharee) {
             //Check if user access has expired
             String userEmail = securityService.getUserEmail(userToken);
-            List<HearingRecordingSharee> hearingRecordingSharees =
-                shareesRepository.findByShareeEmailIgnoreCase(userEmail);
             LOGGER.debug("User  {} is trying to access the recordingId  {} with segment Number {}",
                          userEmail, recordingId, segmentNo);
-            if (!isEmpty(hearingRecordingSharees)) {
-                LOGGER.debug("User  {} has shared recordings", userEmail);
-                Optional<HearingRecordingSharee> recordingSharee = hearingRecordingSharees.stream()
-                    .filter(hearingRecordingSharee ->
-                                hearingRecordingSharee.getHearingRecording().getId().equals(recordingId))
-                    .filter(hearingRecordingSharee ->
-                                getHearingRecordingShareeSegment(hearingRecordingSharee.getHearingRecording(),
-                                                                 segmentNo))
-                    .filter(hearingRecordingSharee -> isAccessValid(hearingRecordingSharee.getSharedOn(), userEmail))
-                    .findAny();
-                if (recordingSharee.isEmpty()) {
+            if (!shareesRepository.existsValidShareOfSegment(userEmail, recordingId, segmentNo, sharedAfter())) {
+                if (shareesRepository.existsByShareeEmail(userEmail)) {
                     throw new ValidationErrorException(
                         Map.of(VALIDATION_ERROR_STRING, Constants.SHARED_EXPIRED_LINK_MSG));
                 }
-            } else {
                 LOGGER.debug("No Shared recordings found for user {}", userEmail);
             }
         }
@@ -127,30 +123,18 @@ public class SegmentDownloadServiceImpl implements SegmentDownloadService {
 
     private void validateSharee(UUID recordingId, String fileName, String userToken) {
         String userEmail = securityService.getUserEmail(userToken);
-        List<HearingRecordingSharee> hearingRecordingSharees =
-            shareesRepository.findByShareeEmailIgnoreCase(userEmail);
         LOGGER.debug("User  {} is trying to access the recordingId  {} with fileName {}",
                      userEmail, recordingId, fileName
         );
-        if (!isEmpty(hearingRecordingSharees)) {
-            LOGGER.debug("User  {} has shared recordings", userEmail);
-            Optional<HearingRecordingSharee> recordingSharee = hearingRecordingSharees.stream()
-                .filter(hearingRecordingSharee ->
-                            hearingRecordingSharee.getHearingRecording().getId().equals(recordingId))
-                .filter(hearingRecordingSharee ->
-                            getHearingRecordingShareeFile(
-                                hearingRecordingSharee.getHearingRecording(),
-                                fileName
-                            ))
-                .filter(hearingRecordingSharee -> isAccessValid(hearingRecordingSharee.getSharedOn(), userEmail))
-                .findAny();
-            if (recordingSharee.isEmpty()) {
-                throw new ValidationErrorException(Map.of(VALIDATION_ERROR_STRING, Constants.SHARED_EXPIRED_LINK_MSG));
-            }
-        } else {
-            LOGGER.error("No Shared recordings found for user {}", userEmail);
-            throw new ValidationErrorException(Map.of(VALIDATION_ERROR_STRING, Constants.NO_SHARED_FILE_FOR_USER));
+        if (shareesRepository.existsValidShareOfFile(userEmail, recordingId, fileName, sharedAfter())) {
+            return;
         }
+        // only looked up on failure, to tell an expired link from no shares at all
+        if (shareesRepository.existsByShareeEmail(userEmail)) {
+            throw new ValidationErrorException(Map.of(VALIDATION_ERROR_STRING, Constants.SHARED_EXPIRED_LINK_MSG));
+        }
+        LOGGER.error("No Shared recordings found for user {}", userEmail);
+        throw new ValidationErrorException(Map.of(VALIDATION_ERROR_STRING, Constants.NO_SHARED_FILE_FOR_USER));
     }
 
     @Override
@@ -158,24 +142,58 @@ public class SegmentDownloadServiceImpl implements SegmentDownloadService {
     public void download(HearingRecordingSegment segment, HttpServletRequest request,
                          HttpServletResponse response) throws IOException {
 
-        auditEntryService.createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_REQUESTED);
+        String entityTag = entityTag(segment);
+        long lastModified = lastModified(segment);
+        if (new ServletWebRequest(request, response).checkNotModified(entityTag, lastModified)) {
+            // status is now 304, or 412 for a failed If-Match, and no content is sent
+            return;
+        }
+
         var hearingRecording = segment.getHearingRecording();
         String hearingSource = hearingRecording.getHearingSource();
         String filename = segment.getFilename();
-        BlobInfo blobInfo = blobstoreClient.fetchBlobInfo(filename, hearingSource);
-        String contentType = blobInfo.getContentType();
         String attachmentFilename = String.format("attachment; filename=%s", filename);
 
-        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, attachmentFilename);
-        response.setHeader(HttpHeaders.CONTENT_TYPE, contentType);
-        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (HttpMethod.HEAD.matches(request.getMethod())) {
+            // size and type only, no blob stream is opened and nothing is downloaded
+            BlobInfo blobInfo = getBlobInfo(segment, hearingSource);
+            setContentHeaders(response, attachmentFilename, blobInfo.getContentType());
+            response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(blobInfo.getFileSize()));
+            return;
+        }
+
+        auditEntryService.createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_REQUESTED);
+
+        if (downloadRedirectPolicy.shouldRedirect(request)) {
+            // the client fetches the bytes, including any range, straight from blob storage
+            String readUrl = blobstoreClient.generateReadUrl(
+                filename,
+                hearingSource,
+                downloadRedirectPolicy.getUrlValidity(),
+                attachmentFilename
+            );
+            LOGGER.info("hearing source {}, redirecting download of filename {} to blob storage",
+                        hearingSource, filename);
+            response.sendRedirect(readUrl);
+            auditEntryService.createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_REDIRECTED);
+            return;
+        }
+
+        BlobInfo blobInfo = getBlobInfo(segment, hearingSource);
+        setContentHeaders(response, attachmentFilename, blobInfo.getContentType());
         response.setBufferSize(DEFAULT_BUFFER_SIZE);
 
         String rangeHeader = HttpHeaderProcessor.getHttpHeaderByCaseSensitiveAndLowerCase(request, HttpHeaders.RANGE);
         LOGGER.info("hearing source {}, Range header for filename {} = {}", hearingSource, filename, rangeHeader);
+        if (rangeHeader != null && !ifRangeMatches(request, entityTag, lastModified)) {
+            // the client's copy is out of date, so it gets the whole file rather than a range of it
+            LOGGER.info("If-Range does not match for filename {}, ignoring range", filename);
+            rangeHeader = null;
+        }
 
-        BlobRange blobRange = null;
         long fileSize = blobInfo.getFileSize();
+        // an explicit range lets the blobstore client split large downloads into chunks
+        BlobRange blobRange = fileSize > 0 ? new BlobRange(0, fileSize) : null;
         if (rangeHeader == null) {
             response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(fileSize));
         } else {
@@ -216,48 +234,82 @@ public class SegmentDownloadServiceImpl implements SegmentDownloadService {
                 throw new InvalidRangeRequestException(response, fileSize);
             }
         }
+
+        long bytesServed = blobRange == null ? 0 : blobRange.getCount();
+        if (asyncResponseWriter.canWrite(request)) {
+            // returns once the stream is set up, the request thread is not held while the client reads
+            asyncResponseWriter.write(
+                request,
+                response,
+                blobstoreClient.streamFile(filename, blobRange, hearingSource),
+                () -> auditEntryService.createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_OK, bytesServed)
+            );
+            return;
+        }
+
         ServletOutputStream outputStream = response.getOutputStream();
 
 
         blobstoreClient.downloadFile(filename, blobRange, outputStream, hearingSource);
 
-        auditEntryService.createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_OK);
+        auditEntryService.createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_OK, bytesServed);
     }
 
-    private boolean isAccessValid(LocalDateTime sharedOn, String userEmail) {
-        LocalDateTime expiryTime = sharedOn.plusHours(validityInHours);
-        LocalDateTime presentTime = LocalDateTime.now();
+    private static void setContentHeaders(HttpServletResponse response, String contentDisposition,
+                                          String contentType) {
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+        response.setHeader(HttpHeaders.CONTENT_TYPE, contentType);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    }
 
-        LOGGER.debug("sharedOn value is  {} with expiryTime as {} and presentTime as {} resulted in {} for email {}",
-                     sharedOn, expiryTime, presentTime, presentTime.isBefore(expiryTime), userEmail);
-        return  presentTime.isBefore(expiryTime);
+    /**
+     * Stored blobs never change, so the checksum taken at ingestion, or failing that the segment id, is a strong
+     * validator for the content.
+     */
+    private static String entityTag(HearingRecordingSegment segment) {
+        String checksum = segment.getFileMd5Checksum();
+        return "\"" + (StringUtils.hasText(checksum) ? checksum : segment.getId()) + "\"";
     }
 
-    private boolean getHearingRecordingShareeSegment(HearingRecording hearingRecording,
-                                                     Integer segmentNo) {
-        //Need to check if the segment is associated with this Sharee.
-        boolean segmentMatch = hearingRecording.getSegments()
-            .stream()
-            .filter(segment -> segment.getRecordingSegment().equals(segmentNo))
-            .findAny()
-            .isEmpty();
-        LOGGER.debug("Segment Match for segment number {} for hearingRecording with {} was {} ",
-                     segmentNo, hearingRecording.getId(), !segmentMatch);
-        return !segmentMatch;
+    private static long lastModified(HearingRecordingSegment segment) {
+        LocalDateTime createdOn = segment.getCreatedOn();
+        return createdOn == null ? -1 : createdOn.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
-    private boolean getHearingRecordingShareeFile(
-        HearingRecording hearingRecording,
-        String fileName
-    ) {
-        //Need to check if the segment is associated with this Sharee.
-        boolean segmentMatch = hearingRecording.getSegments()
-            .stream()
-            .anyMatch(segment -> fileName.equals(segment.getFilename()));
-        LOGGER.debug("Segment Match for fileName {} for hearingRecording with {} was {} ",
-                     fileName, hearingRecording.getId(), segmentMatch
-        );
-        return segmentMatch;
+    private static boolean ifRangeMatches(HttpServletRequest request, String entityTag, long lastModified) {
+        String ifRange = HttpHeaderProcessor.getHttpHeaderByCaseSensitiveAndLowerCase(request, HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range only allows a strong comparison, so a weak tag never matches
+            return ifRange.equals(entityTag);
+        }
+        if (lastModified < 0) {
+            return false;
+        }
+        try {
+            long ifRangeDate = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME)
+                .toInstant()
+                .toEpochMilli();
+            // http dates have no milliseconds
+            return ifRangeDate / 1000 == lastModified / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private BlobInfo getBlobInfo(HearingRecordingSegment segment, String hearingSource) {
+        if (segment.getBlobSize() != null && segment.getBlobContentType() != null) {
+            return new BlobInfo(segment.getBlobSize(), segment.getBlobContentType());
+        }
+        // segments ingested before blob properties were stored
+        return blobstoreClient.fetchBlobInfo(segment.getFilename(), hearingSource);
+    }
+
+    private LocalDateTime sharedAfter() {
+        // shares made before this have expired
+        return LocalDateTime.now().minusHours(validityInHours);
     }
 
 }
@@ -1,8 +1,10 @@
 package uk.gov.hmcts.reform.em.hrs.service.impl;
 
 import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.models.BlobProperties;
 import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.options.BlobInputStreamOptions;
+import com.azure.storage.blob.specialized.BlobInputStream;
 import org.apache.tika.Tika;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -10,15 +12,22 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDeletionDto;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics;
 import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentRepository;
 import uk.gov.hmcts.reform.em.hrs.service.SegmentService;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics.STAGE_MIME_DETECTION;
+import static uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics.STAGE_SEGMENT_SAVE;
 
 @Service
 @Transactional
@@ -27,14 +36,17 @@ public class SegmentServiceImpl implements SegmentService {
     private final HearingRecordingSegmentRepository segmentRepository;
     private final BlobContainerClient blobContainerClient;
     private final Tika tika;
+    private final IngestionMetrics ingestionMetrics;
 
     @Autowired
     public SegmentServiceImpl(final HearingRecordingSegmentRepository segmentRepository,
                               @Qualifier("hrsCvpBlobContainerClient") final BlobContainerClient blobContainerClient,
-                              final Tika tika) {
+                              final Tika tika,
+                              final IngestionMetrics ingestionMetrics) {
         this.segmentRepository = segmentRepository;
         this.blobContainerClient = blobContainerClient;
         this.tika = tika;
+        this.ingestionMetrics = ingestionMetrics;
     }
 
     @Override
@@ -45,12 +57,42 @@ public class SegmentServiceImpl implements SegmentService {
     @Override
     public void createAndSaveSegment(final HearingRecording hearingRecording, final HearingRecordingDto recordingDto) {
         HearingRecordingSegment segment = createSegment(hearingRecording, recordingDto);
-        segmentRepository.saveAndFlush(segment);
+        ingestionMetrics.time(
+            STAGE_SEGMENT_SAVE,
+            recordingDto.getRecordingSource(),
+            () -> segmentRepository.saveAndFlush(segment)
+        );
+    }
+
+    @Override
+    public void createAndSaveSegments(final HearingRecording hearingRecording,
+                                      final List<HearingRecordingDto> recordingDtos) {
+        Set<String> savedFilenames = segmentRepository.findFilenamesByHearingRecordingId(hearingRecording.getId())
+            .stream()
+            .map(HearingRecordingDeletionDto::filename)
+            .collect(Collectors.toCollection(HashSet::new));
+
+        List<HearingRecordingSegment> segments = recordingDtos.stream()
+            .filter(recordingDto -> savedFilenames.add(recordingDto.getFilename()))
+            .map(recordingDto -> createSegment(hearingRecording, recordingDto))
+            .toList();
+        if (segments.isEmpty()) {
+            return;
+        }
+        ingestionMetrics.time(
+            STAGE_SEGMENT_SAVE,
+            recordingDtos.get(0).getRecordingSource(),
+            () -> segmentRepository.saveAllAndFlush(segments)
+        );
     }
 
     private HearingRecordingSegment createSegment(final HearingRecording hearingRecording,
                                                   final HearingRecordingDto recordingDto) {
-        String mimeType = detectMimeType(recordingDto.getFilename());
+        StoredBlob storedBlob = ingestionMetrics.time(
+            STAGE_MIME_DETECTION,
+            recordingDto.getRecordingSource(),
+            () -> inspectBlob(recordingDto.getFilename())
+        );
 
         return HearingRecordingSegment.builder()
             .filename(recordingDto.getFilename())
@@ -61,16 +103,29 @@ public class SegmentServiceImpl implements SegmentService {
             .recordingSegment(recordingDto.getSegment())
             .hearingRecording(hearingRecording)
             .interpreter(recordingDto.getInterpreter())
-            .mimeType(mimeType)
+            .mimeType(storedBlob.mimeType())
+            .blobSize(storedBlob.blobSize())
+            .blobContentType(storedBlob.blobContentType())
             .build();
     }
 
-    private String detectMimeType(String blobName) {
-        try (InputStream inputStream = blobContainerClient.getBlobClient(blobName)
+    /**
+     * Detects the MIME type from the start of the blob. The properties fetched when opening the blob are kept too,
+     * so downloads can skip asking blob storage for them.
+     */
+    private StoredBlob inspectBlob(String blobName) {
+        try (BlobInputStream inputStream = blobContainerClient.getBlobClient(blobName)
             .openInputStream(new BlobInputStreamOptions().setRange(new BlobRange(0, 2L * 1024 * 1024)))) {
-            return tika.detect(inputStream);
+            BlobProperties properties = inputStream.getProperties();
+            String mimeType = tika.detect(inputStream);
+            return properties == null
+                ? new StoredBlob(mimeType, null, null)
+                : new StoredBlob(mimeType, properties.getBlobSize(), properties.getContentType());
         } catch (IOException e) {
             throw new UncheckedIOException("Failed to detect MIME type from blob", e);
         }
     }
+
+    private record StoredBlob(String mimeType, Long blobSize, String blobContentType) {
+    }
 }
@@ -0,0 +1,204 @@
+package uk.gov.hmcts.reform.em.hrs.storage;
+
+import com.azure.core.util.polling.AsyncPollResponse;
+import com.azure.storage.blob.BlobAsyncClient;
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.models.BlobCopyInfo;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.CopyStatusType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uk.gov.hmcts.reform.em.hrs.exception.BlobCopyException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts server side copies into the hrs cvp container without waiting for them. All outstanding copies are checked
+ * in a single sweep, and each copy's future is completed from there, so one node can have many copies in flight
+ * without a thread parked per copy. The sweep has a thread of its own, so scheduled reports do not hold up copies,
+ * and futures are completed on the bounded elastic scheduler, so their callers do not hold up the sweep.
+ */
+@Component
+public class BlobCopyTracker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlobCopyTracker.class);
+    private static final Duration POLLING_INTERVAL = Duration.ofSeconds(3);
+
+    private final BlobContainerAsyncClient hrsCvpBlobContainerAsyncClient;
+    private final int sweepConcurrency;
+    private final Duration copyTimeout;
+    // keyed by copy id, the same file can be copied again while an earlier copy of it is still pending
+    private final Map<String, PendingCopy> pendingCopies = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    @Autowired
+    public BlobCopyTracker(
+        @Qualifier("hrsCvpBlobContainerAsyncClient") final BlobContainerAsyncClient hrsCvpBlobContainerAsyncClient,
+        @Value("${hrs.blob-copy.sweep-concurrency}") final int sweepConcurrency,
+        @Value("${hrs.blob-copy.timeout-in-minutes}") final int copyTimeoutInMinutes,
+        @Value("${hrs.blob-copy.sweep-interval-in-seconds}") final long sweepIntervalInSeconds
+    ) {
+        this(hrsCvpBlobContainerAsyncClient, sweepConcurrency, copyTimeoutInMinutes,
+             Executors.newSingleThreadScheduledExecutor(runnable -> {
+                 Thread thread = new Thread(runnable, "blob-copy-sweep");
+                 thread.setDaemon(true);
+                 return thread;
+             }));
+        sweeper.scheduleWithFixedDelay(this::sweepQuietly, sweepIntervalInSeconds, sweepIntervalInSeconds,
+                                       TimeUnit.SECONDS);
+    }
+
+    BlobCopyTracker(
+        final BlobContainerAsyncClient hrsCvpBlobContainerAsyncClient,
+        final int sweepConcurrency,
+        final int copyTimeoutInMinutes,
+        final ScheduledExecutorService sweeper
+    ) {
+        this.hrsCvpBlobContainerAsyncClient = hrsCvpBlobContainerAsyncClient;
+        this.sweepConcurrency = sweepConcurrency;
+        this.copyTimeout = Duration.ofMinutes(copyTimeoutInMinutes);
+        this.sweeper = sweeper;
+    }
+
+    /**
+     * Starts copying sourceUri into the hrs cvp container as filename.
+     *
+     * @return a future completed once the copy has succeeded, or completed with a BlobCopyException otherwise
+     */
+    public CompletableFuture<Void> startCopy(String filename, String sourceUri) {
+        BlobAsyncClient destination = hrsCvpBlobContainerAsyncClient.getBlobAsyncClient(filename);
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+
+        destination.beginCopy(sourceUri, POLLING_INTERVAL)
+            .next()
+            .map(AsyncPollResponse::getValue)
+            // callers may use blocking clients when the future completes, keep them off the netty threads
+            .publishOn(Schedulers.boundedElastic())
+            .subscribe(
+                copyInfo -> onCopyStarted(filename, destination, copyInfo, completion),
+                error -> {
+                    LOGGER.error("Could not start copy for {}: {}", filename, error.getMessage());
+                    completion.completeExceptionally(new BlobCopyException(error.getMessage(), error));
+                }
+            );
+        return completion;
+    }
+
+    public int pendingCount() {
+        return pendingCopies.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    public void sweep() {
+        if (pendingCopies.isEmpty()) {
+            return;
+        }
+        LOGGER.debug("Checking {} pending blob copies", pendingCopies.size());
+        List<CopyCheck> copyChecks = Flux.fromIterable(pendingCopies.values())
+            .flatMap(
+                pendingCopy -> pendingCopy.destination().getProperties()
+                    .map(properties -> new CopyCheck(pendingCopy, properties))
+                    .onErrorResume(error -> {
+                        LOGGER.warn("Could not check copy status for {}: {}", pendingCopy.filename(),
+                                    error.getMessage());
+                        return Mono.empty();
+                    }),
+                sweepConcurrency
+            )
+            .collectList()
+            .block();
+
+        if (copyChecks != null) {
+            copyChecks.forEach(this::onCopyChecked);
+        }
+    }
+
+    private void sweepQuietly() {
+        // an exception would stop the executor running the sweep again
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            LOGGER.error("Blob copy sweep failed", e);
+        }
+    }
+
+    private void onCopyStarted(
+        String filename,
+        BlobAsyncClient destination,
+        BlobCopyInfo copyInfo,
+        CompletableFuture<Void> completion
+    ) {
+        LOGGER.info("Copy started for {} with status {}", filename, copyInfo.getCopyStatus());
+        if (copyInfo.getCopyStatus() == CopyStatusType.SUCCESS) {
+            completion.complete(null);
+            return;
+        }
+        var pendingCopy = new PendingCopy(filename, destination, copyInfo.getCopyId(), Instant.now(), completion);
+        pendingCopies.put(pendingCopy.copyId(), pendingCopy);
+    }
+
+    private void onCopyChecked(CopyCheck copyCheck) {
+        PendingCopy pendingCopy = copyCheck.pendingCopy();
+        BlobProperties properties = copyCheck.properties();
+        if (!pendingCopy.copyId().equals(properties.getCopyId())) {
+            fail(pendingCopy, "Copy " + pendingCopy.copyId() + " was replaced by " + properties.getCopyId());
+            return;
+        }
+
+        CopyStatusType status = properties.getCopyStatus();
+        if (status == CopyStatusType.SUCCESS) {
+            LOGGER.info("File copy completed for {}", pendingCopy.filename());
+            if (pendingCopies.remove(pendingCopy.copyId(), pendingCopy)) {
+                Schedulers.boundedElastic().schedule(() -> pendingCopy.completion().complete(null));
+            }
+        } else if (status == CopyStatusType.FAILED || status == CopyStatusType.ABORTED) {
+            fail(pendingCopy, "Copy ended with status " + status + ": " + properties.getCopyStatusDescription());
+        } else if (Instant.now().isAfter(pendingCopy.startedOn().plus(copyTimeout))) {
+            pendingCopy.destination().abortCopyFromUrl(pendingCopy.copyId())
+                .onErrorResume(error -> Mono.empty())
+                .block();
+            fail(pendingCopy, "Copy did not complete within " + copyTimeout);
+        }
+    }
+
+    private void fail(PendingCopy pendingCopy, String message) {
+        LOGGER.error("Blob copy failed for {}: {}", pendingCopy.filename(), message);
+        if (pendingCopies.remove(pendingCopy.copyId(), pendingCopy)) {
+            var exception = new BlobCopyException(message);
+            Schedulers.boundedElastic().schedule(() -> pendingCopy.completion().completeExceptionally(exception));
+        }
+    }
+
+    private record PendingCopy(
+        String filename,
+        BlobAsyncClient destination,
+        String copyId,
+        Instant startedOn,
+        CompletableFuture<Void> completion
+    ) {
+    }
+
+    private record CopyCheck(PendingCopy pendingCopy, BlobProperties properties) {
+    }
+}
@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.em.hrs.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Size and content type of recently downloaded blobs. A media player sends many range requests for one recording,
+ * and stored blobs never change, so only the first request needs to ask blob storage.
+ */
+@Component
+public class BlobInfoCache {
+
+    private final Cache<BlobKey, BlobInfo> cache;
+
+    @Autowired
+    public BlobInfoCache(
+        @Value("${hrs.blob-info-cache.max-size}") final long maxSize,
+        @Value("${hrs.blob-info-cache.ttl-in-minutes}") final long ttlInMinutes
+    ) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMinutes(ttlInMinutes))
+            .build();
+    }
+
+    public BlobInfo get(HearingSource hearingSource, String filename, Supplier<BlobInfo> loader) {
+        return cache.get(new BlobKey(hearingSource, filename), key -> loader.get());
+    }
+
+    public void invalidate(HearingSource hearingSource, String filename) {
+        cache.invalidate(new BlobKey(hearingSource, filename));
+    }
+
+    private record BlobKey(HearingSource hearingSource, String filename) {
+    }
+}
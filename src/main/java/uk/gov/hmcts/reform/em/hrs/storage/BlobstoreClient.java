@@ -1,12 +1,26 @@
 package uk.gov.hmcts.reform.em.hrs.storage;
 
 import com.azure.storage.blob.models.BlobRange;
+import reactor.core.publisher.Flux;
 
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 
 public interface BlobstoreClient {
 
     BlobInfo fetchBlobInfo(String filename, String hearingSource);
 
     void downloadFile(String filename, BlobRange blobRange, final OutputStream outputStream, String hearingSource);
+
+    /**
+     * Streams the range of the blob without blocking, fetching the next buffer only when the subscriber asks for it.
+     */
+    Flux<ByteBuffer> streamFile(String filename, BlobRange blobRange, String hearingSource);
+
+    /**
+     * Returns a read only URL for the blob, signed for the given validity, that serves it with the given
+     * content disposition.
+     */
+    String generateReadUrl(String filename, String hearingSource, Duration validity, String contentDisposition);
 }
@@ -1,40 +1,65 @@
 package uk.gov.hmcts.reform.em.hrs.storage;
 
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerAsyncClient;
 import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.models.BlobDownloadAsyncResponse;
+import com.azure.storage.blob.models.BlobProperties;
 import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.models.DownloadRetryOptions;
+import com.azure.storage.blob.sas.BlobSasPermission;
+import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
 import com.azure.storage.blob.specialized.BlockBlobClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
 
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 
 @Component
 public class BlobstoreClientImpl implements BlobstoreClient {
 
+    // allows for clock differences between the API and the storage service
+    private static final Duration SAS_CLOCK_SKEW = Duration.ofMinutes(5);
+
     private final BlobContainerClient hrsCvpBlobContainerClient;
     private final BlobContainerClient hrsVhBlobContainerClient;
+    private final BlobContainerAsyncClient hrsCvpBlobContainerAsyncClient;
+    private final BlobContainerAsyncClient hrsVhBlobContainerAsyncClient;
+    private final ParallelRangeDownloader parallelRangeDownloader;
+    private final BlobInfoCache blobInfoCache;
+    private final SegmentDiskCache segmentDiskCache;
 
     @Autowired
     public BlobstoreClientImpl(
         @Qualifier("hrsCvpBlobContainerClient") final BlobContainerClient hrsCvpBlobContainerClient,
-        @Qualifier("hrsVhBlobContainerClient") final BlobContainerClient hrsVhBlobContainerClient
+        @Qualifier("hrsVhBlobContainerClient") final BlobContainerClient hrsVhBlobContainerClient,
+        @Qualifier("hrsCvpBlobContainerAsyncClient") final BlobContainerAsyncClient hrsCvpBlobContainerAsyncClient,
+        @Qualifier("hrsVhBlobContainerAsyncClient") final BlobContainerAsyncClient hrsVhBlobContainerAsyncClient,
+        final ParallelRangeDownloader parallelRangeDownloader,
+        final BlobInfoCache blobInfoCache,
+        final SegmentDiskCache segmentDiskCache
     ) {
         this.hrsCvpBlobContainerClient = hrsCvpBlobContainerClient;
         this.hrsVhBlobContainerClient = hrsVhBlobContainerClient;
+        this.hrsCvpBlobContainerAsyncClient = hrsCvpBlobContainerAsyncClient;
+        this.hrsVhBlobContainerAsyncClient = hrsVhBlobContainerAsyncClient;
+        this.parallelRangeDownloader = parallelRangeDownloader;
+        this.blobInfoCache = blobInfoCache;
+        this.segmentDiskCache = segmentDiskCache;
     }
 
     @Override
     public BlobInfo fetchBlobInfo(String filename, String hearingSource) {
-        final BlockBlobClient blobClient =
-            getBlobContainerClient(hearingSource)
-                .getBlobClient(filename)
-                .getBlockBlobClient();
-        final long fileSize = blobClient.getProperties().getBlobSize();
-        final String contentType = blobClient.getProperties().getContentType();
-        return new BlobInfo(fileSize, contentType);
+        return blobInfoCache.get(toHearingSource(hearingSource), filename, () -> {
+            final BlobProperties properties = blockBlobClient(filename, hearingSource).getProperties();
+            return new BlobInfo(properties.getBlobSize(), properties.getContentType());
+        });
     }
 
     @Override
@@ -44,12 +69,29 @@ public class BlobstoreClientImpl implements BlobstoreClient {
         final OutputStream outputStream,
         String hearingSource
     ) {
+        HearingSource source = toHearingSource(hearingSource);
+        if (segmentDiskCache.serve(source, filename, blobRange, outputStream)) {
+            return;
+        }
+
+        BlockBlobClient blobClient = blockBlobClient(filename, hearingSource);
+        DownloadRetryOptions retryOptions = new DownloadRetryOptions().setMaxRetryRequests(5);
+        segmentDiskCache.fillInBackground(
+            source,
+            filename,
+            path -> blobClient.downloadToFile(path.toString(), true)
+        );
+
+        if (parallelRangeDownloader.shouldUse(blobRange, source)) {
+            parallelRangeDownloader.download(blobClient, blobRange, outputStream, source, retryOptions);
+            return;
+        }
 
-        blockBlobClient(filename, hearingSource)
+        blobClient
             .downloadStreamWithResponse(
                 outputStream,
                 blobRange,
-                new DownloadRetryOptions().setMaxRetryRequests(5),
+                retryOptions,
                 null,
                 false,
                 null,
@@ -57,16 +99,46 @@ public class BlobstoreClientImpl implements BlobstoreClient {
             );
     }
 
+    @Override
+    public Flux<ByteBuffer> streamFile(String filename, BlobRange blobRange, String hearingSource) {
+        BlobContainerAsyncClient containerClient = toHearingSource(hearingSource) == HearingSource.VH
+            ? hrsVhBlobContainerAsyncClient
+            : hrsCvpBlobContainerAsyncClient;
+
+        return containerClient.getBlobAsyncClient(filename)
+            .downloadStreamWithResponse(blobRange, new DownloadRetryOptions().setMaxRetryRequests(5), null, false)
+            .flatMapMany(BlobDownloadAsyncResponse::getValue);
+    }
+
+    @Override
+    public String generateReadUrl(String filename, String hearingSource, Duration validity,
+                                  String contentDisposition) {
+        BlobClient blobClient = getBlobContainerClient(hearingSource).getBlobClient(filename);
+        OffsetDateTime now = OffsetDateTime.now();
+        BlobServiceSasSignatureValues signatureValues = new BlobServiceSasSignatureValues(
+            now.plus(validity),
+            new BlobSasPermission().setReadPermission(true)
+        )
+            .setStartTime(now.minus(SAS_CLOCK_SKEW))
+            .setContentDisposition(contentDisposition);
+
+        return blobClient.getBlobUrl() + "?" + blobClient.generateSas(signatureValues);
+    }
+
     private BlockBlobClient blockBlobClient(String id, String hearingSource) {
         return getBlobContainerClient(hearingSource).getBlobClient(id).getBlockBlobClient();
     }
 
     private BlobContainerClient getBlobContainerClient(String hearingSource) {
-        if (HearingSource.VH.name().equals(hearingSource)) {
+        if (toHearingSource(hearingSource) == HearingSource.VH) {
             return this.hrsVhBlobContainerClient;
         }
 
         return this.hrsCvpBlobContainerClient;
     }
 
+    private static HearingSource toHearingSource(String hearingSource) {
+        return HearingSource.VH.name().equals(hearingSource) ? HearingSource.VH : HearingSource.CVP;
+    }
+
 }
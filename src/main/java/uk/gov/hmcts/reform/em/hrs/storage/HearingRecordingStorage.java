@@ -4,12 +4,15 @@ import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 public interface HearingRecordingStorage {
     Set<String> findByFolderName(String folderName);
 
     void copyRecording(HearingRecordingDto hrDto);
 
+    CompletableFuture<Void> copyRecordingAsync(HearingRecordingDto hrDto);
+
     StorageReport getStorageReport();
 
     HearingRecordingStorageImpl.BlobDetail findBlob(final HearingSource hearingSource, final String blobName);
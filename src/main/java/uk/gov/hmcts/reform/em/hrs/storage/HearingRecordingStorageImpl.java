@@ -1,25 +1,16 @@
 package uk.gov.hmcts.reform.em.hrs.storage;
 
 import com.azure.core.http.rest.PagedIterable;
-import com.azure.core.util.Configuration;
-import com.azure.core.util.ConfigurationBuilder;
-import com.azure.core.util.Context;
 import com.azure.core.util.polling.PollResponse;
 import com.azure.core.util.polling.SyncPoller;
-import com.azure.identity.DefaultAzureCredential;
-import com.azure.identity.DefaultAzureCredentialBuilder;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
-import com.azure.storage.blob.BlobServiceClient;
-import com.azure.storage.blob.BlobServiceClientBuilder;
 import com.azure.storage.blob.models.BlobCopyInfo;
 import com.azure.storage.blob.models.BlobItem;
 import com.azure.storage.blob.models.BlobListDetails;
 import com.azure.storage.blob.models.BlobStorageException;
 import com.azure.storage.blob.models.ListBlobsOptions;
-import com.azure.storage.blob.models.UserDelegationKey;
 import com.azure.storage.blob.sas.BlobContainerSasPermission;
-import com.azure.storage.blob.sas.BlobSasPermission;
 import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
 import com.azure.storage.blob.specialized.BlockBlobClient;
 import org.apache.commons.lang3.StringUtils;
@@ -33,6 +24,7 @@ import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
 import uk.gov.hmcts.reform.em.hrs.exception.BlobCopyException;
 import uk.gov.hmcts.reform.em.hrs.exception.BlobNotFoundException;
+import uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics;
 
 import java.io.File;
 import java.time.Duration;
@@ -43,11 +35,13 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static com.azure.core.util.polling.LongRunningOperationStatus.SUCCESSFULLY_COMPLETED;
-import static uk.gov.hmcts.reform.em.hrs.util.CvpConnectionResolver.extractAccountFromUrl;
+import static uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics.STAGE_COPY;
+import static uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics.STAGE_SAS;
 
 @SuppressWarnings("squid:S2139")
 @Component
@@ -59,22 +53,31 @@ public class HearingRecordingStorageImpl implements HearingRecordingStorage {
     private final BlobContainerClient hrsCvpBlobContainerClient;
     private final BlobContainerClient hrsVhBlobContainerClient;
     private final BlobContainerClient cvpBlobContainerClient;
-    private final String cvpConnectionString;
     private final boolean useAdAuth;
+    private final BlobCopyTracker blobCopyTracker;
+    private final UserDelegationSasGenerator userDelegationSasGenerator;
+    private final ParallelBlockCopier parallelBlockCopier;
+    private final IngestionMetrics ingestionMetrics;
 
     @Autowired
     public HearingRecordingStorageImpl(
         final @Qualifier("hrsCvpBlobContainerClient") BlobContainerClient hrsCvpContainerClient,
         final @Qualifier("hrsVhBlobContainerClient") BlobContainerClient hrsVhContainerClient,
         final @Qualifier("cvpBlobContainerClient") BlobContainerClient cvpContainerClient,
-        @Value("${azure.storage.cvp.connection-string}") String cvpConnectionString,
-        @Value("${azure.storage.use-ad-auth}") boolean useAdAuth
+        @Value("${azure.storage.use-ad-auth}") boolean useAdAuth,
+        BlobCopyTracker blobCopyTracker,
+        UserDelegationSasGenerator userDelegationSasGenerator,
+        ParallelBlockCopier parallelBlockCopier,
+        IngestionMetrics ingestionMetrics
     ) {
         this.hrsCvpBlobContainerClient = hrsCvpContainerClient;
         this.hrsVhBlobContainerClient = hrsVhContainerClient;
         this.cvpBlobContainerClient = cvpContainerClient;
-        this.cvpConnectionString = cvpConnectionString;
         this.useAdAuth = useAdAuth;
+        this.blobCopyTracker = blobCopyTracker;
+        this.userDelegationSasGenerator = userDelegationSasGenerator;
+        this.parallelBlockCopier = parallelBlockCopier;
+        this.ingestionMetrics = ingestionMetrics;
     }
 
     @Override
@@ -123,6 +126,10 @@ public class HearingRecordingStorageImpl implements HearingRecordingStorage {
 
     @Override
     public void copyRecording(HearingRecordingDto hrDto) {
+        ingestionMetrics.time(STAGE_COPY, hrDto.getRecordingSource(), () -> copyBlob(hrDto));
+    }
+
+    private void copyBlob(HearingRecordingDto hrDto) {
 
         String sourceUri = hrDto.getSourceBlobUrl();
         String filename = hrDto.getFilename();
@@ -133,11 +140,15 @@ public class HearingRecordingStorageImpl implements HearingRecordingStorage {
             BlockBlobClient sourceBlob = containersToCopy.source;
 
             LOGGER.info("########## Trying copy from URL for sourceUri {}", sourceUri);
-            if (Boolean.FALSE.equals(destinationBlobClient.exists())
-                || destinationBlobClient.getProperties().getBlobSize() == 0) {
-                sourceUri = generateSasTokenForCopy(sourceUri, filename, sourceBlob);
+            if (isMissingOrEmpty(destinationBlobClient)) {
+                sourceUri = generateSasTokenForCopy(hrDto, sourceUri, sourceBlob);
 
                 LOGGER.info("SAS token created for filename{}", filename);
+                if (parallelBlockCopier.shouldUse(hrDto.getFileSize())) {
+                    parallelBlockCopier.copy(filename, sourceUri, sourceBlob.getProperties().getBlobSize()).join();
+                    return;
+                }
+
                 PollResponse<BlobCopyInfo> poll = null;
                 poll = startBlobCopyPoll(sourceUri, filename, destinationBlobClient, sourceBlob, poll);
 
@@ -158,6 +169,54 @@ public class HearingRecordingStorageImpl implements HearingRecordingStorage {
         }
     }
 
+    @Override
+    public CompletableFuture<Void> copyRecordingAsync(HearingRecordingDto hrDto) {
+        return ingestionMetrics.timeAsync(STAGE_COPY, hrDto.getRecordingSource(), () -> startBlobCopy(hrDto));
+    }
+
+    private CompletableFuture<Void> startBlobCopy(HearingRecordingDto hrDto) {
+        String filename = hrDto.getFilename();
+
+        try {
+            var containersToCopy = getCopyContainers(filename);
+            BlockBlobClient destinationBlobClient = containersToCopy.destination;
+
+            if (!isMissingOrEmpty(destinationBlobClient)) {
+                LOGGER.info("############## target blobstore already has file: {}", filename);
+                return CompletableFuture.completedFuture(null);
+            }
+
+            BlockBlobClient sourceBlob = containersToCopy.source;
+            String sourceUri = generateSasTokenForCopy(hrDto, hrDto.getSourceBlobUrl(), sourceBlob);
+            LOGGER.info("SAS token created for filename{}, starting async copy", filename);
+            return startCopy(hrDto, sourceUri, sourceBlob)
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        destinationBlobClient.deleteIfExists();
+                    }
+                });
+        } catch (Exception e) {
+            LOGGER.error(
+                "Unhandled Exception Starting Blob Copy {}, filename {}",
+                e.getMessage(),
+                filename
+            );
+            return CompletableFuture.failedFuture(new BlobCopyException(e.getMessage(), e));
+        }
+    }
+
+    private CompletableFuture<Void> startCopy(HearingRecordingDto hrDto, String sourceUri, BlockBlobClient sourceBlob) {
+        if (parallelBlockCopier.shouldUse(hrDto.getFileSize())) {
+            return parallelBlockCopier.copy(hrDto.getFilename(), sourceUri, sourceBlob.getProperties().getBlobSize());
+        }
+        return blobCopyTracker.startCopy(hrDto.getFilename(), sourceUri);
+    }
+
+    private static boolean isMissingOrEmpty(BlockBlobClient destinationBlobClient) {
+        return Boolean.FALSE.equals(destinationBlobClient.exists())
+            || destinationBlobClient.getProperties().getBlobSize() == 0;
+    }
+
     private static PollResponse<BlobCopyInfo> startBlobCopyPoll(
         String sourceUri,
         String filename,
@@ -219,9 +278,17 @@ public class HearingRecordingStorageImpl implements HearingRecordingStorage {
 
     }
 
+    private String generateSasTokenForCopy(HearingRecordingDto hrDto, String sourceUri, BlockBlobClient sourceBlob) {
+        return ingestionMetrics.time(
+            STAGE_SAS,
+            hrDto.getRecordingSource(),
+            () -> generateSasTokenForCopy(sourceUri, hrDto.getFilename(), sourceBlob)
+        );
+    }
+
     private String generateSasTokenForCopy(String sourceUri, String filename, BlockBlobClient sourceBlob) {
         if (useAdAuth) {
-            String sasToken = generateReadSas(filename);
+            String sasToken = userDelegationSasGenerator.generateReadSas(filename);
             return sourceUri + "?" + sasToken;
         } else {
             String sasToken = sourceBlob
@@ -249,53 +316,6 @@ public class HearingRecordingStorageImpl implements HearingRecordingStorage {
         return new BlobClientsForCopy(sourceBlobClient, destinationBlobClient);
     }
 
-    private String generateReadSas(String fileName) {
-        return generateReadSas(fileName, this.cvpBlobContainerClient, this.cvpConnectionString);
-    }
-
-    private String generateReadSas(String fileName, BlobContainerClient blobContainerClient, String connectionString) {
-
-        LOGGER.debug("Attempting to generate SAS for container name {}", blobContainerClient.getBlobContainerName());
-
-        BlobServiceClient blobServiceClient = blobContainerClient.getServiceClient();
-
-        if (useAdAuth) {
-            LOGGER.info("Getting a fresh MI token for Blob Service Client");
-            BlobServiceClientBuilder builder = new BlobServiceClientBuilder();
-
-            DefaultAzureCredential credential = new DefaultAzureCredentialBuilder().build();
-            Configuration configuration = new ConfigurationBuilder()
-                .build();
-            var tenantId = configuration.get(Configuration.PROPERTY_AZURE_TENANT_ID);
-            var managedIdentityClientId = configuration.get(Configuration.PROPERTY_AZURE_CLIENT_ID);
-            LOGGER.info("Configuration tenantId {}, managedIdentityClientId {}", tenantId, managedIdentityClientId);
-            builder.endpoint(connectionString);
-            builder.credential(credential);
-            blobServiceClient = builder.buildClient();
-        }
-
-        LOGGER.info("Getting User Delegation Key using BlobServiceClient with long offset times");
-        OffsetDateTime delegationKeyStartTime = OffsetDateTime.now().minusMinutes(95);
-        OffsetDateTime delegationKeyExpiryTime = OffsetDateTime.now().plusMinutes(95);
-        UserDelegationKey
-            userDelegationKey = blobServiceClient.getUserDelegationKey(delegationKeyStartTime, delegationKeyExpiryTime);
-
-        //get SAS String for blobfile
-        LOGGER.info("get SAS String using BlobClient for blobfile: {}", fileName);
-
-        BlobClient sourceBlob = blobContainerClient.getBlobClient(fileName);
-        // generate sas token
-        OffsetDateTime expiryTime = OffsetDateTime.now().plusMinutes(95);
-        BlobSasPermission permission = new BlobSasPermission().setReadPermission(true);
-
-        BlobServiceSasSignatureValues signatureValues = new BlobServiceSasSignatureValues(expiryTime, permission)
-            .setStartTime(OffsetDateTime.now().minusMinutes(95));
-        String accountName =
-            extractAccountFromUrl(connectionString);
-        LOGGER.info("GenerateUserDelegationSas for blobfile: {}", fileName);
-        return sourceBlob.generateUserDelegationSas(signatureValues, userDelegationKey, accountName, Context.NONE);
-    }
-
     public synchronized StorageReport getStorageReport() {
         LOGGER.info("StorageReport Creating storage report");
         final BlobListDetails blobListDetails = new BlobListDetails()
@@ -0,0 +1,129 @@
+package uk.gov.hmcts.reform.em.hrs.storage;
+
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.specialized.BlockBlobAsyncClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import uk.gov.hmcts.reform.em.hrs.exception.BlobCopyException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Copies large recordings into the hrs cvp container block by block, staging several blocks from the source url at
+ * once and committing the block list at the end. Unlike a single server side copy this gives control over
+ * throughput and reports progress. A failed block is retried on its own rather than restarting the whole copy.
+ */
+@Component
+public class ParallelBlockCopier {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelBlockCopier.class);
+    private static final long ONE_MB = 1024L * 1024L;
+
+    private final BlobContainerAsyncClient hrsCvpBlobContainerAsyncClient;
+    private final long thresholdInBytes;
+    private final long blockSizeInBytes;
+    private final int parallelism;
+    private final int maxBlockRetries;
+
+    @Autowired
+    public ParallelBlockCopier(
+        @Qualifier("hrsCvpBlobContainerAsyncClient") final BlobContainerAsyncClient hrsCvpBlobContainerAsyncClient,
+        @Value("${hrs.block-copy.threshold-in-mb}") final long thresholdInMb,
+        @Value("${hrs.block-copy.block-size-in-mb}") final long blockSizeInMb,
+        @Value("${hrs.block-copy.parallelism}") final int parallelism,
+        @Value("${hrs.block-copy.max-block-retries}") final int maxBlockRetries
+    ) {
+        this.hrsCvpBlobContainerAsyncClient = hrsCvpBlobContainerAsyncClient;
+        this.thresholdInBytes = thresholdInMb * ONE_MB;
+        this.blockSizeInBytes = blockSizeInMb * ONE_MB;
+        this.parallelism = parallelism;
+        this.maxBlockRetries = maxBlockRetries;
+    }
+
+    /**
+     * Whether a recording of this size should be copied block by block.
+     *
+     * @param fileSize size reported for the recording, may be null when unknown
+     */
+    public boolean shouldUse(Long fileSize) {
+        return fileSize != null && fileSize >= thresholdInBytes;
+    }
+
+    /**
+     * Copies sourceUri, which must be readable with its SAS, into the hrs cvp container as filename.
+     *
+     * @param sourceSize actual size of the source blob in bytes
+     * @return a future completed once the block list is committed, or completed with a BlobCopyException
+     */
+    public CompletableFuture<Void> copy(String filename, String sourceUri, long sourceSize) {
+        BlockBlobAsyncClient destination = hrsCvpBlobContainerAsyncClient
+            .getBlobAsyncClient(filename)
+            .getBlockBlobAsyncClient();
+
+        int blockCount = (int) ((sourceSize + blockSizeInBytes - 1) / blockSizeInBytes);
+        List<String> blockIds = IntStream.range(0, blockCount)
+            .mapToObj(ParallelBlockCopier::blockId)
+            .toList();
+        AtomicInteger stagedBlocks = new AtomicInteger();
+
+        LOGGER.info("Block copy of {} ({} bytes) in {} blocks", filename, sourceSize, blockCount);
+        return Flux.range(0, blockCount)
+            .flatMap(
+                index -> stageBlock(destination, filename, sourceUri, sourceSize, blockIds.get(index), index)
+                    .doOnSuccess(ignored -> LOGGER.info(
+                        "Block copy of {}: staged {}/{} blocks",
+                        filename,
+                        stagedBlocks.incrementAndGet(),
+                        blockCount
+                    )),
+                parallelism
+            )
+            .then(Mono.defer(() -> destination.commitBlockList(blockIds, true)))
+            .doOnSuccess(ignored -> LOGGER.info("Block copy of {} committed", filename))
+            .onErrorMap(error -> new BlobCopyException(
+                "Block copy of " + filename + " failed: " + error.getMessage(),
+                error
+            ))
+            // callers may use blocking clients when the future completes, keep them off the netty threads
+            .publishOn(Schedulers.boundedElastic())
+            .then()
+            .toFuture();
+    }
+
+    private Mono<Void> stageBlock(
+        BlockBlobAsyncClient destination,
+        String filename,
+        String sourceUri,
+        long sourceSize,
+        String blockId,
+        int index
+    ) {
+        long offset = index * blockSizeInBytes;
+        long count = Math.min(blockSizeInBytes, sourceSize - offset);
+        return destination.stageBlockFromUrl(blockId, sourceUri, new BlobRange(offset, count))
+            .doOnError(error -> LOGGER.warn(
+                "Block copy of {}: block {} failed, {}",
+                filename,
+                index,
+                error.getMessage()
+            ))
+            .retry(maxBlockRetries);
+    }
+
+    // block ids must all have the same length within a blob
+    private static String blockId(int index) {
+        return Base64.getEncoder().encodeToString(String.format("%08d", index).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,163 @@
+package uk.gov.hmcts.reform.em.hrs.storage;
+
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.DownloadRetryOptions;
+import com.azure.storage.blob.specialized.BlockBlobClient;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+import uk.gov.hmcts.reform.em.hrs.exception.SegmentDownloadException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Downloads a range of a blob as fixed size chunks fetched over several connections at once, writing them to the
+ * output stream in order. At most parallelism chunks are held in memory per download, so a slow client holds back
+ * the read-ahead rather than buffering the whole range. The chunks held by all downloads together are limited by the
+ * memory budget, a download that finds it used up streams the rest of its range over one connection instead.
+ */
+@Component
+public class ParallelRangeDownloader {
+    private static final long ONE_KB = 1024L;
+
+    private final Map<HearingSource, ChunkSettings> settings = new EnumMap<>(HearingSource.class);
+    private final Semaphore memoryBudgetInKb;
+    private final ExecutorService executorService;
+
+    @Autowired
+    public ParallelRangeDownloader(
+        @Value("${hrs.download.cvp.chunk-size-in-kb}") final long cvpChunkSizeInKb,
+        @Value("${hrs.download.cvp.parallelism}") final int cvpParallelism,
+        @Value("${hrs.download.vh.chunk-size-in-kb}") final long vhChunkSizeInKb,
+        @Value("${hrs.download.vh.parallelism}") final int vhParallelism,
+        @Value("${hrs.download.threads}") final int threads,
+        @Value("${hrs.download.memory-budget-in-kb}") final int memoryBudgetInKb
+    ) {
+        settings.put(HearingSource.CVP, new ChunkSettings(cvpChunkSizeInKb * ONE_KB, cvpParallelism));
+        settings.put(HearingSource.VH, new ChunkSettings(vhChunkSizeInKb * ONE_KB, vhParallelism));
+        this.memoryBudgetInKb = new Semaphore(memoryBudgetInKb);
+        // every queued fetch holds part of the budget, so the queue never needs to be longer than the budget allows
+        long smallestChunkInKb = Math.max(1, Math.min(cvpChunkSizeInKb, vhChunkSizeInKb));
+        int queueCapacity = (int) Math.max(1, memoryBudgetInKb / smallestChunkInKb);
+        this.executorService = new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            new ThreadFactoryBuilder().setNameFormat("blob-download-%d").setDaemon(true).build()
+        );
+    }
+
+    /**
+     * Whether a range is big enough to be worth splitting into chunks.
+     *
+     * @param blobRange the range to download, null or without a count when reading to the end of the blob
+     */
+    public boolean shouldUse(BlobRange blobRange, HearingSource hearingSource) {
+        ChunkSettings chunkSettings = settings.get(hearingSource);
+        return blobRange != null
+            && blobRange.getCount() != null
+            && chunkSettings.parallelism() > 1
+            && blobRange.getCount() > chunkSettings.chunkSizeInBytes();
+    }
+
+    public void download(BlockBlobClient blobClient, BlobRange blobRange, OutputStream outputStream,
+                         HearingSource hearingSource, DownloadRetryOptions retryOptions) {
+        ChunkSettings chunkSettings = settings.get(hearingSource);
+        long end = blobRange.getOffset() + blobRange.getCount();
+        long nextOffset = blobRange.getOffset();
+        Deque<Chunk> readAhead = new ArrayDeque<>(chunkSettings.parallelism());
+
+        try {
+            while (nextOffset < end || !readAhead.isEmpty()) {
+                while (nextOffset < end && readAhead.size() < chunkSettings.parallelism()) {
+                    long count = Math.min(chunkSettings.chunkSizeInBytes(), end - nextOffset);
+                    Chunk chunk = scheduleFetch(blobClient, new BlobRange(nextOffset, count), retryOptions);
+                    if (chunk == null) {
+                        break;
+                    }
+                    readAhead.add(chunk);
+                    nextOffset += count;
+                }
+                if (readAhead.isEmpty()) {
+                    // other downloads hold the whole budget, the rest is written as it arrives
+                    blobClient.downloadStreamWithResponse(outputStream, new BlobRange(nextOffset, end - nextOffset),
+                                                          retryOptions, null, false, null, null);
+                    return;
+                }
+                Chunk chunk = readAhead.poll();
+                try {
+                    chunk.data().get().writeTo(outputStream);
+                } finally {
+                    memoryBudgetInKb.release(chunk.sizeInKb());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SegmentDownloadException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new SegmentDownloadException(e.getCause());
+        } catch (IOException e) {
+            // usually the client went away, there is no point fetching the rest
+            throw new SegmentDownloadException(e);
+        } finally {
+            readAhead.forEach(chunk -> {
+                chunk.data().cancel(true);
+                memoryBudgetInKb.release(chunk.sizeInKb());
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * Takes the chunk's size from the memory budget and schedules its fetch.
+     *
+     * @return the scheduled chunk, or null when the budget or the fetch queue is used up
+     */
+    private Chunk scheduleFetch(BlockBlobClient blobClient, BlobRange chunkRange, DownloadRetryOptions retryOptions) {
+        int sizeInKb = Math.toIntExact((chunkRange.getCount() + ONE_KB - 1) / ONE_KB);
+        if (!memoryBudgetInKb.tryAcquire(sizeInKb)) {
+            return null;
+        }
+        try {
+            return new Chunk(executorService.submit(() -> fetchChunk(blobClient, chunkRange, retryOptions)), sizeInKb);
+        } catch (RejectedExecutionException e) {
+            memoryBudgetInKb.release(sizeInKb);
+            return null;
+        }
+    }
+
+    private static ByteArrayOutputStream fetchChunk(BlockBlobClient blobClient, BlobRange chunkRange,
+                                                    DownloadRetryOptions retryOptions) {
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream(Math.toIntExact(chunkRange.getCount()));
+        blobClient.downloadStreamWithResponse(chunk, chunkRange, retryOptions, null, false, null, null);
+        return chunk;
+    }
+
+    private record ChunkSettings(long chunkSizeInBytes, int parallelism) {
+    }
+
+    private record Chunk(Future<ByteArrayOutputStream> data, int sizeInKb) {
+    }
+}
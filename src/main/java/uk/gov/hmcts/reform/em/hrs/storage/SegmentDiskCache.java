@@ -0,0 +1,211 @@
+package uk.gov.hmcts.reform.em.hrs.storage;
+
+import com.azure.storage.blob.models.BlobRange;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+import uk.gov.hmcts.reform.em.hrs.exception.SegmentDownloadException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Local disk copies of recently played segments, bounded by total size. A segment is copied to disk in the background
+ * the second time it is requested within the admission window, so one-off downloads do not churn the cache, and only
+ * one copy runs per segment however many requests arrive together. Cached ranges are transferred from the file
+ * channel without going back to blob storage or holding the range in memory.
+ */
+@Component
+public class SegmentDiskCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SegmentDiskCache.class);
+    private static final long ONE_KB = 1024L;
+    private static final Duration ADMISSION_WINDOW = Duration.ofMinutes(10);
+
+    private final boolean enabled;
+    private final Path directory;
+    private final ExecutorService fillExecutor;
+    private final Cache<SegmentKey, Boolean> recentMisses;
+    private final AsyncCache<SegmentKey, CachedSegment> cache;
+
+    @Autowired
+    public SegmentDiskCache(
+        @Value("${hrs.segment-disk-cache.enabled}") final boolean enabled,
+        @Value("${hrs.segment-disk-cache.directory}") final String directory,
+        @Value("${hrs.segment-disk-cache.max-size-in-mb}") final long maxSizeInMb,
+        @Value("${hrs.segment-disk-cache.fill-threads}") final int fillThreads
+    ) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.fillExecutor = Executors.newFixedThreadPool(
+            fillThreads,
+            new ThreadFactoryBuilder().setNameFormat("segment-cache-fill-%d").setDaemon(true).build()
+        );
+        this.recentMisses = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(ADMISSION_WINDOW)
+            .build();
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxSizeInMb * ONE_KB)
+            .weigher((SegmentKey key, CachedSegment segment) ->
+                         (int) Math.min(Integer.MAX_VALUE, Math.max(1L, segment.size() / ONE_KB)))
+            .removalListener((SegmentKey key, CachedSegment segment, RemovalCause cause) -> {
+                if (segment != null) {
+                    deleteQuietly(segment.path());
+                }
+            })
+            .executor(fillExecutor)
+            .buildAsync();
+
+        if (enabled) {
+            resetDirectory();
+        }
+    }
+
+    /**
+     * Writes the range from the local copy of the segment, if there is one.
+     *
+     * @return false when the segment is not cached and has to be read from blob storage
+     */
+    public boolean serve(HearingSource hearingSource, String filename, BlobRange blobRange,
+                         OutputStream outputStream) {
+        if (!enabled) {
+            return false;
+        }
+        CompletableFuture<CachedSegment> entry = cache.getIfPresent(new SegmentKey(hearingSource, filename));
+        if (entry == null || !entry.isDone() || entry.isCompletedExceptionally()) {
+            return false;
+        }
+        CachedSegment segment = entry.join();
+
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(segment.path(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            // evicted since the lookup
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try (channel) {
+            long offset = blobRange == null ? 0 : blobRange.getOffset();
+            long count = blobRange == null || blobRange.getCount() == null
+                ? segment.size() - offset
+                : blobRange.getCount();
+            transfer(channel, offset, count, Channels.newChannel(outputStream));
+            return true;
+        } catch (IOException e) {
+            // usually the client went away, bytes have been written so there is nothing to fall back to
+            throw new SegmentDownloadException(e);
+        }
+    }
+
+    /**
+     * Records a cache miss, and starts copying the segment to disk if it was also missed recently.
+     *
+     * @param downloader writes the whole blob to the given path
+     */
+    public void fillInBackground(HearingSource hearingSource, String filename, Consumer<Path> downloader) {
+        if (!enabled) {
+            return;
+        }
+        SegmentKey key = new SegmentKey(hearingSource, filename);
+        if (recentMisses.asMap().putIfAbsent(key, Boolean.TRUE) == null) {
+            return;
+        }
+        cache.get(key, (segmentKey, executor) -> CompletableFuture.supplyAsync(
+            () -> fill(segmentKey, downloader),
+            executor
+        ));
+    }
+
+    public void invalidate(HearingSource hearingSource, String filename) {
+        SegmentKey key = new SegmentKey(hearingSource, filename);
+        recentMisses.invalidate(key);
+        cache.synchronous().invalidate(key);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fillExecutor.shutdownNow();
+    }
+
+    private CachedSegment fill(SegmentKey key, Consumer<Path> downloader) {
+        Path path = directory.resolve(UUID.randomUUID().toString());
+        try {
+            downloader.accept(path);
+            CachedSegment segment = new CachedSegment(path, Files.size(path));
+            LOGGER.info("Cached {} segment {} on disk, {} bytes", key.hearingSource(), key.filename(),
+                        segment.size());
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not cache {} segment {} on disk: {}", key.hearingSource(), key.filename(),
+                        e.getMessage());
+            deleteQuietly(path);
+            throw new SegmentDownloadException(e);
+        }
+    }
+
+    private static void transfer(FileChannel channel, long offset, long count, WritableByteChannel target)
+        throws IOException {
+        long position = offset;
+        long remaining = count;
+        while (remaining > 0) {
+            long transferred = channel.transferTo(position, remaining, target);
+            if (transferred <= 0) {
+                throw new IOException("Cached segment is shorter than the requested range");
+            }
+            position += transferred;
+            remaining -= transferred;
+        }
+    }
+
+    private void resetDirectory() {
+        try {
+            // copies left by a previous run are not tracked, so they would never be evicted
+            FileSystemUtils.deleteRecursively(directory);
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn("Could not delete cached segment {}: {}", path, e.getMessage());
+        }
+    }
+
+    private record SegmentKey(HearingSource hearingSource, String filename) {
+    }
+
+    private record CachedSegment(Path path, long size) {
+    }
+}
@@ -0,0 +1,105 @@
+package uk.gov.hmcts.reform.em.hrs.storage;
+
+import com.azure.core.util.Context;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.models.UserDelegationKey;
+import com.azure.storage.blob.sas.BlobSasPermission;
+import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static uk.gov.hmcts.reform.em.hrs.util.CvpConnectionResolver.extractAccountFromUrl;
+
+/**
+ * Signs read SAS tokens for cvp blobs with a user delegation key. The key is fetched once through the cvp container's
+ * own service client, which already holds the managed identity credential, and reused until shortly before it
+ * expires, so generating a SAS needs no network call.
+ */
+@Component
+public class UserDelegationSasGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserDelegationSasGenerator.class);
+    private static final Duration CLOCK_SKEW_ALLOWANCE = Duration.ofMinutes(15);
+    private static final Duration SAS_VALIDITY = Duration.ofMinutes(95);
+
+    private final BlobContainerClient cvpBlobContainerClient;
+    private final String accountName;
+    private final Duration keyValidity;
+    private final Duration refreshMargin;
+
+    private volatile UserDelegationKey userDelegationKey;
+
+    @Autowired
+    public UserDelegationSasGenerator(
+        @Qualifier("cvpBlobContainerClient") final BlobContainerClient cvpBlobContainerClient,
+        @Value("${azure.storage.cvp.connection-string}") final String cvpConnectionString,
+        @Value("${azure.storage.cvp.delegation-key-validity-in-minutes}") final int keyValidityInMinutes,
+        @Value("${azure.storage.cvp.delegation-key-refresh-margin-in-minutes}") final int refreshMarginInMinutes
+    ) {
+        this.cvpBlobContainerClient = cvpBlobContainerClient;
+        this.accountName = extractAccountFromUrl(cvpConnectionString);
+        this.keyValidity = Duration.ofMinutes(keyValidityInMinutes);
+        // a SAS signed just before the refresh must not outlive the key it was signed with
+        this.refreshMargin = SAS_VALIDITY.plusMinutes(refreshMarginInMinutes);
+    }
+
+    public String generateReadSas(String fileName) {
+        LOGGER.info("GenerateUserDelegationSas for blobfile: {}", fileName);
+        OffsetDateTime now = OffsetDateTime.now();
+        BlobServiceSasSignatureValues signatureValues = new BlobServiceSasSignatureValues(
+            now.plus(SAS_VALIDITY),
+            new BlobSasPermission().setReadPermission(true)
+        ).setStartTime(now.minus(CLOCK_SKEW_ALLOWANCE));
+
+        return cvpBlobContainerClient.getBlobClient(fileName)
+            .generateUserDelegationSas(signatureValues, getUserDelegationKey(), accountName, Context.NONE);
+    }
+
+    /**
+     * Renews the key in the background before it is needed, so ingestion never waits on it. Does nothing until a key
+     * has been requested, which only happens when AD auth is used for the cvp storage account.
+     */
+    @Scheduled(fixedDelayString = "${azure.storage.cvp.delegation-key-refresh-interval-in-minutes}",
+        timeUnit = TimeUnit.MINUTES)
+    public void refreshIfExpiring() {
+        if (userDelegationKey != null && isExpiring(userDelegationKey)) {
+            try {
+                refresh();
+            } catch (Exception e) {
+                LOGGER.warn("Background refresh of user delegation key failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    UserDelegationKey getUserDelegationKey() {
+        UserDelegationKey key = userDelegationKey;
+        if (key == null || isExpiring(key)) {
+            key = refresh();
+        }
+        return key;
+    }
+
+    private synchronized UserDelegationKey refresh() {
+        // another thread may have refreshed while this one waited for the lock
+        if (userDelegationKey != null && !isExpiring(userDelegationKey)) {
+            return userDelegationKey;
+        }
+        LOGGER.info("Getting User Delegation Key using BlobServiceClient");
+        OffsetDateTime now = OffsetDateTime.now();
+        userDelegationKey = cvpBlobContainerClient.getServiceClient()
+            .getUserDelegationKey(now.minus(CLOCK_SKEW_ALLOWANCE), now.plus(keyValidity));
+        return userDelegationKey;
+    }
+
+    private boolean isExpiring(UserDelegationKey key) {
+        return key.getSignedExpiry().isBefore(OffsetDateTime.now().plus(refreshMargin));
+    }
+}
@@ -0,0 +1,15 @@
+CREATE TABLE public.work_queue_item (
+	id uuid NOT NULL,
+	queue_name varchar(64) NOT NULL,
+	folder varchar(255) NULL,
+	filename varchar(255) NULL,
+	payload text NOT NULL,
+	enqueued_on timestamptz NOT NULL,
+	leased_by varchar(255) NULL,
+	lease_expires_on timestamptz NULL,
+	attempts int4 NOT NULL DEFAULT 0,
+	CONSTRAINT work_queue_item_pkey PRIMARY KEY (id),
+	CONSTRAINT uc_work_queue_item_queue_folder_filename UNIQUE (queue_name, folder, filename)
+);
+
+CREATE INDEX IF NOT EXISTS work_queue_item_queue_name_enqueued_on ON work_queue_item (queue_name, enqueued_on);
@@ -0,0 +1,3 @@
+ALTER TABLE public.hearing_recording_segment
+ADD blob_size bigint NULL,
+ADD blob_content_type varchar(255) NULL;
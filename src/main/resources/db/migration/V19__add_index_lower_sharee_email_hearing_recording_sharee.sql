@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS hearing_recording_sharee_lower_sharee_email ON hearing_recording_sharee (lower(sharee_email), hearing_recording_id, shared_on);
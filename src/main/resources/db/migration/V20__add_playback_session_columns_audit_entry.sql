@@ -0,0 +1,4 @@
+ALTER TABLE public.audit_entry
+ADD last_event_date_time timestamp NULL,
+ADD request_count int4 NULL,
+ADD bytes_served int8 NULL;
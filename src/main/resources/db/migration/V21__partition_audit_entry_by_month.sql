@@ -0,0 +1,107 @@
+-- audit_entry becomes a table partitioned by month of event_date_time. The primary key has to include the partition
+-- key, ids are still generated uniquely by the application.
+ALTER TABLE public.audit_entry RENAME TO audit_entry_unpartitioned;
+
+CREATE TABLE public.audit_entry (
+	"type" varchar(31) NOT NULL,
+	id uuid NOT NULL,
+	"action" varchar(255) NOT NULL,
+	service_name varchar(255) NOT NULL,
+	username varchar(255) NULL,
+	hearing_recording_id uuid NULL,
+	hearing_recording_segment_id uuid NULL,
+	event_date_time timestamp NOT NULL,
+	ip_address varchar(255) NULL,
+	hearing_recording_sharee_id uuid NULL,
+	case_id int8 NULL,
+	last_event_date_time timestamp NULL,
+	request_count int4 NULL,
+	bytes_served int8 NULL,
+	CONSTRAINT audit_entry_pkey PRIMARY KEY (id, event_date_time),
+	CONSTRAINT audit_entry_hearing_recording_sharee_fk FOREIGN KEY (hearing_recording_sharee_id) REFERENCES public.hearing_recording_sharee(id),
+	CONSTRAINT audit_entry_hearing_recording_segment_fk FOREIGN KEY (hearing_recording_segment_id) REFERENCES public.hearing_recording_segment(id),
+	CONSTRAINT audit_entry_hearing_recording_fk FOREIGN KEY (hearing_recording_id) REFERENCES public.hearing_recording(id)
+) PARTITION BY RANGE (event_date_time);
+
+-- only takes entries no monthly partition covers, such as ones from a badly wrong clock
+CREATE TABLE public.audit_entry_default PARTITION OF public.audit_entry DEFAULT;
+
+-- creates the partition for the month of the given day, if it does not exist yet, and returns its name. Entries
+-- that landed in the default partition before the month had one are moved into it, as postgres refuses a new
+-- partition while the default holds rows in its range. The partition is filled before it is attached so that the
+-- rows are never out of audit_entry to other transactions.
+CREATE OR REPLACE FUNCTION public.create_audit_entry_partition(month_of date) RETURNS text AS $$
+DECLARE
+	month_start date := date_trunc('month', month_of)::date;
+	month_end date := (month_start + interval '1 month')::date;
+	partition_name text := 'audit_entry_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+	IF to_regclass(format('public.%I', partition_name)) IS NOT NULL THEN
+		RETURN partition_name;
+	END IF;
+	EXECUTE format('CREATE TABLE public.%I (LIKE public.audit_entry INCLUDING DEFAULTS)', partition_name);
+	EXECUTE format(
+		'WITH moved AS (DELETE FROM public.audit_entry_default WHERE event_date_time >= %L AND event_date_time < %L '
+		'RETURNING *) INSERT INTO public.%I SELECT * FROM moved',
+		month_start, month_end, partition_name
+	);
+	-- also creates the parent's indexes and foreign keys on it
+	EXECUTE format(
+		'ALTER TABLE public.audit_entry ATTACH PARTITION public.%I FOR VALUES FROM (%L) TO (%L)',
+		partition_name, month_start, month_end
+	);
+	RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- detaches and drops the monthly partitions wholly before the given day and returns their names
+CREATE OR REPLACE FUNCTION public.drop_audit_entry_partitions_before(cutoff date) RETURNS SETOF text AS $$
+DECLARE
+	partition_name text;
+BEGIN
+	FOR partition_name IN
+		SELECT c.relname
+		FROM pg_inherits i
+		JOIN pg_class c ON c.oid = i.inhrelid
+		WHERE i.inhparent = 'public.audit_entry'::regclass
+		AND c.relname ~ '^audit_entry_[0-9]{4}_[0-9]{2}$'
+		AND to_date(substring(c.relname FROM 13), 'YYYY_MM') + interval '1 month' <= cutoff
+		ORDER BY c.relname
+	LOOP
+		EXECUTE format('ALTER TABLE public.audit_entry DETACH PARTITION public.%I', partition_name);
+		EXECUTE format('DROP TABLE public.%I', partition_name);
+		RETURN NEXT partition_name;
+	END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- a partition for every month with entries, and the next few months
+DO $$
+DECLARE
+	first_month date;
+BEGIN
+	SELECT date_trunc('month', least(min(event_date_time), localtimestamp))::date INTO first_month
+	FROM public.audit_entry_unpartitioned;
+	PERFORM public.create_audit_entry_partition(month_of::date)
+	FROM generate_series(first_month::timestamp,
+	                     date_trunc('month', localtimestamp) + interval '3 months',
+	                     interval '1 month') month_of;
+END;
+$$;
+
+INSERT INTO public.audit_entry ("type", id, "action", service_name, username, hearing_recording_id,
+                                hearing_recording_segment_id, event_date_time, ip_address,
+                                hearing_recording_sharee_id, case_id, last_event_date_time, request_count,
+                                bytes_served)
+SELECT "type", id, "action", service_name, username, hearing_recording_id, hearing_recording_segment_id,
+       event_date_time, ip_address, hearing_recording_sharee_id, case_id, last_event_date_time, request_count,
+       bytes_served
+FROM public.audit_entry_unpartitioned;
+
+DROP TABLE public.audit_entry_unpartitioned;
+
+-- created on every partition, current and future
+CREATE INDEX IF NOT EXISTS audit_entry_event_date_time_index ON public.audit_entry (event_date_time);
+CREATE INDEX IF NOT EXISTS audit_entry_hearing_recording_segment_id ON public.audit_entry (hearing_recording_segment_id);
+CREATE INDEX IF NOT EXISTS audit_entry_hearing_recording_sharee_id ON public.audit_entry (hearing_recording_sharee_id);
+CREATE INDEX IF NOT EXISTS audit_entry_hearing_recording_id ON public.audit_entry (hearing_recording_id);
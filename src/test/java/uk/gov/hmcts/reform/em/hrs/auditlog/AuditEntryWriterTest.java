@@ -0,0 +1,173 @@
+package uk.gov.hmcts.reform.em.hrs.auditlog;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
+import uk.gov.hmcts.reform.em.hrs.domain.AuditEntry;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegmentAuditEntry;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditEntryWriterTest {
+
+    @TempDir
+    Path directory;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final List<Integer> insertedBatchSizes = new CopyOnWriteArrayList<>();
+    private AuditEntryWriter underTest;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (underTest != null) {
+            underTest.shutdown();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldInsertEntriesInBatches() {
+        recordInserts();
+        underTest = writer(3, 60_000);
+
+        for (int i = 0; i < 6; i++) {
+            underTest.write(entry());
+        }
+
+        await().untilAsserted(() -> assertThat(insertedBatchSizes).containsExactly(3, 3));
+    }
+
+    @Test
+    void shouldFlushPartBatchAfterInterval() {
+        recordInserts();
+        underTest = writer(100, 50);
+
+        underTest.write(entry());
+        underTest.write(entry());
+
+        await().untilAsserted(() -> assertThat(insertedBatchSizes).containsExactly(2));
+    }
+
+    @Test
+    void shouldAssignIdUpFront() {
+        recordInserts();
+        underTest = writer(100, 50);
+        AuditEntry entry = entry();
+
+        underTest.write(entry);
+
+        assertThat(entry.getId()).isNotNull();
+    }
+
+    @Test
+    void shouldWaitForTransactionToCommit() {
+        recordInserts();
+        underTest = writer(100, 50);
+        TransactionSynchronizationManager.initSynchronization();
+
+        underTest.write(entry());
+
+        await().during(Duration.ofMillis(200)).until(insertedBatchSizes::isEmpty);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        await().untilAsserted(() -> assertThat(insertedBatchSizes).containsExactly(1));
+    }
+
+    @Test
+    void shouldSpillWhenDatabaseIsUnavailableThenReplayIt() {
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class)))
+            .thenThrow(new DataAccessResourceFailureException("database unavailable"))
+            .thenAnswer(invocation -> recordInsert(invocation.getArgument(1)));
+        underTest = writer(100, 50);
+
+        underTest.write(entry());
+        underTest.write(entry());
+
+        await().untilAsserted(() -> {
+            assertThat(insertedBatchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(2);
+            assertThat(directory).isEmptyDirectory();
+        });
+    }
+
+    @Test
+    void shouldDropOnlyEntriesThatCanNoLongerBeWritten() {
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class)))
+            .thenThrow(new DataIntegrityViolationException("segment deleted"))
+            .thenThrow(new DataIntegrityViolationException("segment deleted"))
+            .thenAnswer(invocation -> recordInsert(invocation.getArgument(1)));
+        underTest = writer(2, 60_000);
+
+        underTest.write(entry());
+        underTest.write(entry());
+
+        await().untilAsserted(() -> assertThat(insertedBatchSizes).containsExactly(1));
+    }
+
+    @Test
+    void shouldSpillEntriesWrittenAfterShutdown() throws Exception {
+        underTest = new AuditEntryWriter(jdbcTemplate, false, 10, 10, 50, spillFile().toString());
+
+        underTest.shutdown();
+        underTest.write(entry());
+        underTest = null;
+
+        assertThat(Files.readAllLines(spillFile())).hasSize(1);
+    }
+
+    private AuditEntryWriter writer(int batchSize, long flushIntervalInMillis) {
+        return new AuditEntryWriter(jdbcTemplate, true, 10, batchSize, flushIntervalInMillis,
+                                    spillFile().toString());
+    }
+
+    private Path spillFile() {
+        return directory.resolve("audit-spill.jsonl");
+    }
+
+    private void recordInserts() {
+        when(jdbcTemplate.update(anyString(), any(SqlParameterSource.class)))
+            .thenAnswer(invocation -> recordInsert(invocation.getArgument(1)));
+    }
+
+    private int recordInsert(SqlParameterSource parameters) {
+        int rows = ((Collection<?>) parameters.getValue("rows")).size();
+        insertedBatchSizes.add(rows);
+        return rows;
+    }
+
+    private static AuditEntry entry() {
+        HearingRecordingSegment segment = new HearingRecordingSegment();
+        segment.setId(UUID.randomUUID());
+        HearingRecordingSegmentAuditEntry entry = new HearingRecordingSegmentAuditEntry(segment);
+        entry.setAction(AuditActions.USER_DOWNLOAD_OK);
+        entry.setServiceName("em_hrs_api");
+        entry.setUsername("user@example.com");
+        entry.setEventDateTime(new Date());
+        return entry;
+    }
+}
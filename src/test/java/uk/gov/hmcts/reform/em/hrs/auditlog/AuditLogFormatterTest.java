@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.em.hrs.auditlog;
 import org.junit.jupiter.api.Test;
 import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
 import uk.gov.hmcts.reform.em.hrs.domain.AuditEntry;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegmentAuditEntry;
 import uk.gov.hmcts.reform.em.hrs.model.LogOnlyAuditEntry;
 
 import java.text.DateFormat;
@@ -52,6 +53,17 @@ class AuditLogFormatterTest {
             + "caseId:1234567890123456789", result);
     }
 
+    @Test
+    void shouldFormatBytesServedOfSegmentEntry() throws ParseException {
+        DateFormat format = new SimpleDateFormat("dd/MM/yyyy hh:mm:ss.SSS");
+        HearingRecordingSegmentAuditEntry entry = new HearingRecordingSegmentAuditEntry();
+
+        entry.setEventDateTime(format.parse("9/06/2021 08:52:52.000"));
+        entry.setBytesServed(1024L);
+        String result = alf.format(entry);
+        assertEquals("HRS-API dateTime:2021-06-09T08:52:52,bytesServed:1024", result);
+    }
+
     @Test
     void shouldTruncateMillisecondsFromDateWhenEqualToZero() throws ParseException {
         DateFormat format = new SimpleDateFormat("dd/MM/yyyy hh:mm:ss.SSS");
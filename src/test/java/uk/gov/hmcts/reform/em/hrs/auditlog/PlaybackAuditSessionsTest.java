@@ -0,0 +1,188 @@
+package uk.gov.hmcts.reform.em.hrs.auditlog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
+import uk.gov.hmcts.reform.em.hrs.domain.AuditEntry;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
+import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegmentAuditEntry;
+import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentAuditEntryRepository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PlaybackAuditSessionsTest {
+
+    private static final Instant START = Instant.parse("2024-03-01T10:00:00Z");
+    private static final Duration WINDOW = Duration.ofMinutes(5);
+    private static final Duration MAX_DURATION = Duration.ofMinutes(60);
+
+    @Mock
+    private AuditEntryWriter auditEntryWriter;
+    @Mock
+    private HearingRecordingSegmentAuditEntryRepository segmentAuditEntryRepository;
+
+    private final MutableClock clock = new MutableClock(START);
+    private final HearingRecordingSegment segment = segment();
+
+    @Test
+    void shouldMergeRequestsWithinWindowIntoOneEntry() {
+        when(auditEntryWriter.isAsync()).thenReturn(true);
+        PlaybackAuditSessions underTest = sessions();
+
+        underTest.record(entry(segment, "user@example.com"), 1000);
+        clock.advance(Duration.ofMinutes(4));
+        underTest.record(entry(segment, "user@example.com"), 2000);
+        clock.advance(Duration.ofMinutes(4));
+        underTest.record(entry(segment, "user@example.com"), 3000);
+
+        underTest.closeIdleSessions();
+        verify(auditEntryWriter, never()).write(any());
+
+        clock.advance(WINDOW);
+        underTest.closeIdleSessions();
+
+        HearingRecordingSegmentAuditEntry written = writtenEntry();
+        assertThat(written.getHearingRecordingSegment()).isSameAs(segment);
+        assertThat(written.getAction()).isEqualTo(AuditActions.USER_DOWNLOAD_OK);
+        assertThat(written.getUsername()).isEqualTo("user@example.com");
+        assertThat(written.getEventDateTime()).isEqualTo(Date.from(START));
+        assertThat(written.getLastEventDateTime()).isEqualTo(Date.from(START.plus(Duration.ofMinutes(8))));
+        assertThat(written.getRequestCount()).isEqualTo(3);
+        assertThat(written.getBytesServed()).isEqualTo(6000L);
+    }
+
+    @Test
+    void shouldKeepSessionsOfDifferentUsersApart() {
+        when(auditEntryWriter.isAsync()).thenReturn(true);
+        PlaybackAuditSessions underTest = sessions();
+
+        underTest.record(entry(segment, "first@example.com"), 1000);
+        underTest.record(entry(segment, "second@example.com"), 1000);
+        clock.advance(WINDOW);
+        underTest.closeIdleSessions();
+
+        verify(auditEntryWriter, times(2)).write(any());
+    }
+
+    @Test
+    void shouldCloseSessionAtMaximumDuration() {
+        when(auditEntryWriter.isAsync()).thenReturn(true);
+        PlaybackAuditSessions underTest = sessions();
+
+        for (int minute = 0; minute <= MAX_DURATION.toMinutes(); minute++) {
+            underTest.record(entry(segment, "user@example.com"), 10);
+            clock.advance(Duration.ofMinutes(1));
+            underTest.closeIdleSessions();
+        }
+
+        assertThat(writtenEntry().getRequestCount()).isEqualTo(60);
+    }
+
+    @Test
+    void shouldSaveThroughRepositoryWhenWriterIsNotAsync() {
+        PlaybackAuditSessions underTest = sessions();
+
+        underTest.record(entry(segment, "user@example.com"), 1000);
+        clock.advance(WINDOW);
+        underTest.closeIdleSessions();
+
+        ArgumentCaptor<HearingRecordingSegmentAuditEntry> saved =
+            ArgumentCaptor.forClass(HearingRecordingSegmentAuditEntry.class);
+        verify(segmentAuditEntryRepository).save(saved.capture());
+        assertThat(saved.getValue().getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldWriteOpenSessionsOnShutdown() {
+        when(auditEntryWriter.isAsync()).thenReturn(true);
+        PlaybackAuditSessions underTest = sessions();
+
+        underTest.record(entry(segment, "user@example.com"), 1000);
+        underTest.shutdown();
+
+        assertThat(writtenEntry().getBytesServed()).isEqualTo(1000L);
+    }
+
+    @Test
+    void shouldNotWriteAnythingUntilARequestIsRecorded() {
+        PlaybackAuditSessions underTest = sessions();
+
+        underTest.closeIdleSessions();
+        underTest.shutdown();
+
+        verifyNoInteractions(auditEntryWriter, segmentAuditEntryRepository);
+    }
+
+    private PlaybackAuditSessions sessions() {
+        // not enabled so no sweeper runs, sessions are closed by the test
+        return new PlaybackAuditSessions(false, WINDOW, MAX_DURATION, clock, auditEntryWriter,
+                                         segmentAuditEntryRepository);
+    }
+
+    private HearingRecordingSegmentAuditEntry writtenEntry() {
+        ArgumentCaptor<AuditEntry> written = ArgumentCaptor.forClass(AuditEntry.class);
+        verify(auditEntryWriter).write(written.capture());
+        return (HearingRecordingSegmentAuditEntry) written.getValue();
+    }
+
+    private static HearingRecordingSegment segment() {
+        HearingRecordingSegment segment = new HearingRecordingSegment();
+        segment.setId(UUID.randomUUID());
+        return segment;
+    }
+
+    private static HearingRecordingSegmentAuditEntry entry(HearingRecordingSegment segment, String username) {
+        HearingRecordingSegmentAuditEntry entry = new HearingRecordingSegmentAuditEntry(segment);
+        entry.setAction(AuditActions.USER_DOWNLOAD_OK);
+        entry.setServiceName("em_hrs_api");
+        entry.setUsername(username);
+        entry.setCaseId(1234L);
+        entry.setEventDateTime(new Date());
+        return entry;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
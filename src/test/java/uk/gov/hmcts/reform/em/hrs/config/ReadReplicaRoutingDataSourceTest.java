@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.em.hrs.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.em.hrs.config.ReadReplicaRoutingDataSource.Target;
+import uk.gov.hmcts.reform.em.hrs.service.email.HearingReportService;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private final ReplicaLagMonitor replicaLagMonitor = mock(ReplicaLagMonitor.class);
+    private final ReadReplicaRoutingDataSource underTest =
+        new ReadReplicaRoutingDataSource(mock(DataSource.class), mock(DataSource.class), replicaLagMonitor);
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void shouldUseReplicaForDeclaredReadOnlyTransaction() {
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+        readOnlyTransaction(HearingReportService.class.getName() + ".createMonthlyReport");
+
+        assertThat(underTest.determineCurrentLookupKey()).isEqualTo(Target.REPLICA);
+    }
+
+    @Test
+    void shouldUsePrimaryWhenReplicaIsBehind() {
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(false);
+        readOnlyTransaction(HearingReportService.class.getName() + ".createMonthlyReport");
+
+        assertThat(underTest.determineCurrentLookupKey()).isEqualTo(Target.PRIMARY);
+    }
+
+    @Test
+    void shouldUsePrimaryForReadWriteTransaction() {
+        TransactionSynchronizationManager.setCurrentTransactionName("some.Service.write");
+
+        assertThat(underTest.determineCurrentLookupKey()).isEqualTo(Target.PRIMARY);
+    }
+
+    @Test
+    void shouldUsePrimaryOutsideTransaction() {
+        assertThat(underTest.determineCurrentLookupKey()).isEqualTo(Target.PRIMARY);
+    }
+
+    @Test
+    void shouldUsePrimaryForSpringDataRepositoryTransaction() {
+        readOnlyTransaction("org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById");
+
+        assertThat(underTest.determineCurrentLookupKey()).isEqualTo(Target.PRIMARY);
+    }
+
+    private static void readOnlyTransaction(String name) {
+        TransactionSynchronizationManager.setCurrentTransactionName(name);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+}
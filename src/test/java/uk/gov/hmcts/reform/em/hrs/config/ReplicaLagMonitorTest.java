@@ -0,0 +1,89 @@
+package uk.gov.hmcts.reform.em.hrs.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaLagMonitorTest {
+
+    private final JdbcTemplate replicaJdbcTemplate = mock(JdbcTemplate.class);
+    private final ReplicaLagMonitor underTest = new ReplicaLagMonitor(replicaJdbcTemplate, Duration.ofSeconds(30));
+
+    @Test
+    void shouldNotUseReplicaBeforeFirstCheck() {
+        assertThat(underTest.isReplicaUsable()).isFalse();
+    }
+
+    @Test
+    void shouldUseReplicaWithinMaximumLag() {
+        lagIs(30.0);
+
+        underTest.check();
+
+        assertThat(underTest.isReplicaUsable()).isTrue();
+    }
+
+    @Test
+    void shouldStopUsingReplicaBeyondMaximumLag() {
+        lagIs(0.0);
+        underTest.check();
+
+        lagIs(30.5);
+        underTest.check();
+
+        assertThat(underTest.isReplicaUsable()).isFalse();
+    }
+
+    @Test
+    void shouldStopUsingReplicaWhenItIsNotStreamingFromPrimary() {
+        lagIs(0.0);
+        underTest.check();
+
+        // what the query gives for a replica with no streaming WAL receiver or nothing replayed yet
+        lagIs(null);
+        underTest.check();
+
+        assertThat(underTest.isReplicaUsable()).isFalse();
+    }
+
+    @Test
+    void shouldOnlyCountReplicaAsCaughtUpWhileStreaming() {
+        assertThat(ReplicaLagMonitor.LAG_IN_SECONDS_QUERY)
+            .contains("pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL")
+            .contains("pg_last_xact_replay_timestamp() IS NULL THEN NULL")
+            .doesNotContain("coalesce");
+    }
+
+    @Test
+    void shouldStopUsingReplicaWhenCheckFails() {
+        lagIs(0.0);
+        underTest.check();
+
+        when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_IN_SECONDS_QUERY, Double.class))
+            .thenThrow(new DataAccessResourceFailureException("replica unavailable"));
+        underTest.check();
+
+        assertThat(underTest.isReplicaUsable()).isFalse();
+    }
+
+    @Test
+    void shouldStopUsingReplicaOnShutdown() {
+        lagIs(0.0);
+        underTest.check();
+
+        underTest.shutdown();
+
+        assertThat(underTest.isReplicaUsable()).isFalse();
+    }
+
+    private void lagIs(Double lagInSeconds) {
+        when(replicaJdbcTemplate.queryForObject(ReplicaLagMonitor.LAG_IN_SECONDS_QUERY, Double.class))
+            .thenReturn(lagInSeconds);
+    }
+}
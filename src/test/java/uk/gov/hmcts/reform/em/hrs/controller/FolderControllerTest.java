@@ -8,19 +8,28 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import uk.gov.hmcts.reform.em.hrs.dto.FolderListing;
 import uk.gov.hmcts.reform.em.hrs.dto.RecordingFilenameDto;
+import uk.gov.hmcts.reform.em.hrs.exception.ValidationErrorException;
 import uk.gov.hmcts.reform.em.hrs.service.FolderService;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class FolderControllerTest {
 
+    private static final String VERSION = "abc123";
+    private static final LocalDateTime CURSOR = LocalDateTime.of(2026, 10, 1, 12, 30, 15);
+
     @Mock
     private FolderService folderService;
 
@@ -32,32 +41,61 @@ class FolderControllerTest {
         String folderName = "folder-1";
         Set<String> files = Set.of("file1.mp4", "file2.mp4");
 
-        when(folderService.getStoredFiles(folderName)).thenReturn(files);
+        when(folderService.getStoredFiles(folderName, null, Collections.emptySet()))
+            .thenReturn(new FolderListing(VERSION, CURSOR, files));
 
-        ResponseEntity<RecordingFilenameDto> response = folderController.getFilenames(folderName);
+        ResponseEntity<RecordingFilenameDto> response = folderController.getFilenames(folderName, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"" + VERSION + "\"");
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getFolderName()).isEqualTo(folderName);
         assertThat(response.getBody().getFilenames()).containsExactlyInAnyOrder("file1.mp4", "file2.mp4");
+        assertThat(response.getBody().getCursor()).isEqualTo("2026-10-01T12:30:15");
 
-        verify(folderService).getStoredFiles(folderName);
+        verify(folderService).getStoredFiles(folderName, null, Collections.emptySet());
     }
 
     @Test
     void getFilenamesShouldReturnEmptySetWhenNoFilesExist() {
         String folderName = "folder-empty";
 
-        when(folderService.getStoredFiles(folderName)).thenReturn(Collections.emptySet());
+        when(folderService.getStoredFiles(folderName, null, Collections.emptySet()))
+            .thenReturn(new FolderListing(VERSION, null, Collections.emptySet()));
 
-        ResponseEntity<RecordingFilenameDto> response = folderController.getFilenames(folderName);
+        ResponseEntity<RecordingFilenameDto> response = folderController.getFilenames(folderName, null, null);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getFolderName()).isEqualTo(folderName);
         assertThat(response.getBody().getFilenames()).isEmpty();
+        assertThat(response.getBody().getCursor()).isNull();
+
+        verify(folderService).getStoredFiles(folderName, null, Collections.emptySet());
+    }
+
+    @Test
+    void getFilenamesShouldReturnNotModifiedWhenVersionIsKnown() {
+        String folderName = "folder-1";
+
+        when(folderService.getStoredFiles(folderName, CURSOR, Set.of(VERSION, "other")))
+            .thenReturn(FolderListing.unchanged(VERSION, CURSOR));
+
+        ResponseEntity<RecordingFilenameDto> response = folderController.getFilenames(
+            folderName, CURSOR.toString(), List.of("\"" + VERSION + "\"", "W/\"other\"")
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"" + VERSION + "\"");
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void getFilenamesShouldRejectInvalidCursor() {
+        assertThatThrownBy(() -> folderController.getFilenames("folder-1", "yesterday", null))
+            .isInstanceOf(ValidationErrorException.class);
 
-        verify(folderService).getStoredFiles(folderName);
+        verifyNoInteractions(folderService);
     }
 }
@@ -19,6 +19,7 @@ import uk.gov.hmcts.reform.ccd.client.model.CallbackRequest;
 import uk.gov.hmcts.reform.ccd.client.model.CaseDetails;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.queue.HearingRecordingQueue;
 import uk.gov.hmcts.reform.em.hrs.service.HearingRecordingService;
 import uk.gov.hmcts.reform.em.hrs.service.SegmentDownloadService;
 import uk.gov.hmcts.reform.em.hrs.service.ShareAndNotifyService;
@@ -28,7 +29,6 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.LinkedBlockingQueue;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -52,7 +52,7 @@ class HearingRecordingControllerTest {
     private SegmentDownloadService segmentDownloadService;
 
     @Mock
-    private LinkedBlockingQueue<HearingRecordingDto> ingestionQueue;
+    private HearingRecordingQueue ingestionQueue;
 
     @Mock
     private HearingRecordingService hearingRecordingService;
@@ -118,6 +118,23 @@ class HearingRecordingControllerTest {
         verify(segmentDownloadService).download(segment, request, response);
     }
 
+    @Test
+    void getSegmentBinaryShouldKeepNotModifiedStatusSetByDownload() {
+        HearingRecordingSegment segment = new HearingRecordingSegment();
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        HttpServletResponse response = mock(HttpServletResponse.class);
+
+        when(segmentDownloadService
+                 .fetchSegmentByRecordingIdAndSegmentNumber(RECORDING_ID, 1, AUTH_TOKEN, false))
+            .thenReturn(segment);
+        when(response.getStatus()).thenReturn(HttpStatus.NOT_MODIFIED.value());
+
+        ResponseEntity<Void> result = hearingRecordingController
+            .getSegmentBinary(RECORDING_ID, 1, AUTH_TOKEN, request, response);
+
+        assertThat(result.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
     @Test
     void getSegmentBinaryShouldReturnForbiddenOnAccessDenied() {
         when(segmentDownloadService
@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.em.hrs.job;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.em.hrs.repository.AuditEntryRepository;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditEntryPartitionTaskTest {
+
+    private final AuditEntryRepository auditEntryRepository = mock(AuditEntryRepository.class);
+    private final LocalDate thisMonth = LocalDate.now(Clock.systemUTC()).withDayOfMonth(1);
+
+    @Test
+    void should_create_partitions_ahead_and_drop_months_past_retention() {
+        when(auditEntryRepository.dropPartitionsBefore(thisMonth.minusMonths(24)))
+            .thenReturn(List.of("audit_entry_2001_01"));
+        var task = new AuditEntryPartitionTask(auditEntryRepository, 2, 24);
+
+        task.run();
+
+        verify(auditEntryRepository).createPartition(thisMonth);
+        verify(auditEntryRepository).createPartition(thisMonth.plusMonths(1));
+        verify(auditEntryRepository).createPartition(thisMonth.plusMonths(2));
+        verify(auditEntryRepository).dropPartitionsBefore(thisMonth.minusMonths(24));
+    }
+
+    @Test
+    void should_keep_every_month_without_retention() {
+        var task = new AuditEntryPartitionTask(auditEntryRepository, 1, 0);
+
+        task.run();
+
+        verify(auditEntryRepository).createPartition(thisMonth.plusMonths(1));
+        verify(auditEntryRepository, never()).dropPartitionsBefore(any());
+    }
+
+    @Test
+    void should_handle_exception_and_not_throw() {
+        doThrow(new RuntimeException("Database connection failed"))
+            .when(auditEntryRepository).createPartition(any(LocalDate.class));
+        var task = new AuditEntryPartitionTask(auditEntryRepository, 1, 12);
+
+        assertDoesNotThrow(task::run);
+    }
+}
@@ -4,16 +4,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.quartz.JobExecutionContext;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.queue.InMemoryHearingRecordingQueue;
 import uk.gov.hmcts.reform.em.hrs.service.JobInProgressService;
 import uk.gov.hmcts.reform.em.hrs.service.ccd.CcdUploadService;
 
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -21,12 +24,17 @@ class CcdUploadJobTest {
 
     private final HearingRecordingDto recordingDto = mock(HearingRecordingDto.class);
 
-    private final LinkedBlockingQueue<HearingRecordingDto> ccdUploadQueue = new LinkedBlockingQueue<>(1000);
+    private final InMemoryHearingRecordingQueue ccdUploadQueue = new InMemoryHearingRecordingQueue(1000);
 
     private final JobInProgressService jobInProgressService = mock(JobInProgressService.class);
     private final CcdUploadService ccdUploadService = mock(CcdUploadService.class);
     private final JobExecutionContext context = mock(JobExecutionContext.class);
-    private final CcdUploadJob underTest = new CcdUploadJob(ccdUploadQueue, ccdUploadService, jobInProgressService);
+    private final CcdUploadJob underTest = new CcdUploadJob(
+        ccdUploadQueue,
+        ccdUploadService,
+        jobInProgressService,
+        10
+    );
 
     @BeforeEach
     void prepare() {
@@ -53,10 +61,63 @@ class CcdUploadJobTest {
         verify(jobInProgressService, times(1)).deRegister(recordingDto);
     }
 
+    @Test
+    void testShouldUploadSegmentsOfTheSameRecordingTogether() {
+        HearingRecordingDto firstSegment = segment("folder-a", "ref-1", "file-1.mp4");
+        HearingRecordingDto otherRecording = segment("folder-a", "ref-2", "file-2.mp4");
+        HearingRecordingDto secondSegment = segment("folder-a", "ref-1", "file-3.mp4");
+        ccdUploadQueue.offer(firstSegment);
+        ccdUploadQueue.offer(otherRecording);
+        ccdUploadQueue.offer(secondSegment);
+
+        underTest.executeInternal(context);
+
+        verify(ccdUploadService).uploadSegments(List.of(firstSegment, secondSegment));
+        verify(ccdUploadService).upload(otherRecording);
+        verify(jobInProgressService).deRegister(firstSegment);
+        verify(jobInProgressService).deRegister(otherRecording);
+        verify(jobInProgressService).deRegister(secondSegment);
+        assertThat(ccdUploadQueue.size()).isZero();
+    }
+
+    @Test
+    void testShouldNotTakeMoreThanBatchSizeFromQueue() {
+        for (int i = 0; i < 15; i++) {
+            ccdUploadQueue.offer(segment("folder-a", "ref-" + i, "file-" + i + ".mp4"));
+        }
+
+        underTest.executeInternal(context);
+
+        verify(ccdUploadService, times(10)).upload(any(HearingRecordingDto.class));
+        verify(ccdUploadService, never()).uploadSegments(any());
+        assertThat(ccdUploadQueue.size()).isEqualTo(5);
+    }
+
+    @Test
+    void testShouldDeregisterAllSegmentsWhenBatchUploadFails() {
+        HearingRecordingDto firstSegment = segment("folder-a", "ref-1", "file-1.mp4");
+        HearingRecordingDto secondSegment = segment("folder-a", "ref-1", "file-2.mp4");
+        ccdUploadQueue.offer(firstSegment);
+        ccdUploadQueue.offer(secondSegment);
+        doThrow(RuntimeException.class).when(ccdUploadService).uploadSegments(any());
+
+        underTest.executeInternal(context);
+
+        verify(jobInProgressService).deRegister(firstSegment);
+        verify(jobInProgressService).deRegister(secondSegment);
+    }
+
     @Test
     void testNoArgsConstructorCanBeInstantiated() {
         CcdUploadJob ccdUploadJob = new CcdUploadJob();
         assertNotNull(ccdUploadJob);
     }
 
+    private static HearingRecordingDto segment(String folder, String recordingRef, String filename) {
+        return HearingRecordingDto.builder()
+            .folder(folder)
+            .recordingRef(recordingRef)
+            .filename(filename)
+            .build();
+    }
 }
@@ -4,10 +4,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.quartz.JobExecutionContext;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.exception.BlobCopyException;
+import uk.gov.hmcts.reform.em.hrs.queue.HearingRecordingQueue;
+import uk.gov.hmcts.reform.em.hrs.queue.InMemoryHearingRecordingQueue;
 import uk.gov.hmcts.reform.em.hrs.service.IngestionService;
 import uk.gov.hmcts.reform.em.hrs.service.JobInProgressService;
 
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.RejectedExecutionException;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,11 +28,9 @@ class IngestionJobTest {
 
     private final HearingRecordingDto recordingDto = mock(HearingRecordingDto.class);
 
-    private final LinkedBlockingQueue<HearingRecordingDto> ingestionQueue =
-        new LinkedBlockingQueue<>(1000);
+    private final InMemoryHearingRecordingQueue ingestionQueue = new InMemoryHearingRecordingQueue(1000);
 
-    @SuppressWarnings("unchecked")
-    private final LinkedBlockingQueue<HearingRecordingDto> ccdUploadQueue = mock(LinkedBlockingQueue.class);
+    private final HearingRecordingQueue ccdUploadQueue = mock(HearingRecordingQueue.class);
 
     private final IngestionService ingestionService = mock(IngestionService.class);
     private final JobInProgressService jobInProgressService = mock(JobInProgressService.class);
@@ -54,6 +56,7 @@ class IngestionJobTest {
         verify(ingestionService, times(1)).ingest(recordingDto);
         verify(ccdUploadQueue, times(1)).offer(recordingDto);
         verify(jobInProgressService, never()).deRegister(any());
+        assertThat(ingestionQueue.size()).isZero();
     }
 
     @Test
@@ -104,6 +107,47 @@ class IngestionJobTest {
         verify(jobInProgressService, times(1)).deRegister(recordingDto);
     }
 
+    @Test
+    void testShouldQueueForCcdUploadWhenAsyncCopyCompletes() {
+        ingestionQueue.offer(recordingDto);
+        CompletableFuture<Void> copy = new CompletableFuture<>();
+        doReturn(copy).when(ingestionService).ingestAsync(recordingDto);
+        doReturn(true).when(ccdUploadQueue).offer(recordingDto);
+
+        Optional<CompletableFuture<Void>> ingestion = underTest.ingestNextAsync();
+
+        assertThat(ingestion).isPresent();
+        verify(jobInProgressService, times(1)).register(recordingDto);
+        verify(ccdUploadQueue, never()).offer(any(HearingRecordingDto.class));
+
+        copy.complete(null);
+
+        assertThat(ingestion.get()).isCompleted();
+        verify(ccdUploadQueue, times(1)).offer(recordingDto);
+        verify(jobInProgressService, never()).deRegister(any());
+    }
+
+    @Test
+    void testShouldDeRegisterWhenAsyncCopyFails() {
+        ingestionQueue.offer(recordingDto);
+        doReturn(CompletableFuture.failedFuture(new BlobCopyException("failed")))
+            .when(ingestionService).ingestAsync(recordingDto);
+
+        Optional<CompletableFuture<Void>> ingestion = underTest.ingestNextAsync();
+
+        assertThat(ingestion).isPresent();
+        assertThat(ingestion.get()).isCompleted();
+        verify(jobInProgressService, times(1)).deRegister(recordingDto);
+        verify(ccdUploadQueue, never()).offer(any(HearingRecordingDto.class));
+    }
+
+    @Test
+    void testShouldNotStartAsyncIngestionWhenIngestionQueueIsEmpty() {
+        assertThat(underTest.ingestNextAsync()).isEmpty();
+
+        verify(jobInProgressService, never()).register(any(HearingRecordingDto.class));
+    }
+
     @Test
     void testNoArgsConstructorCanBeInstantiated() {
         IngestionJob ingestionJob = new IngestionJob();
@@ -0,0 +1,105 @@
+package uk.gov.hmcts.reform.em.hrs.job;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.em.hrs.queue.HearingRecordingQueue;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IngestionWorkerPoolTest {
+
+    private final IngestionJob ingestionJob = mock(IngestionJob.class);
+    private final HearingRecordingQueue ccdUploadQueue = mock(HearingRecordingQueue.class);
+
+    private final IngestionWorkerPool underTest =
+        new IngestionWorkerPool(ingestionJob, ccdUploadQueue, 2, 1, 10, 5);
+
+    @Test
+    void runOnceShouldStartIngestionWhenCcdQueueHasCapacity() throws InterruptedException {
+        when(ccdUploadQueue.remainingCapacity()).thenReturn(10);
+        when(ingestionJob.ingestNextAsync()).thenReturn(Optional.of(CompletableFuture.completedFuture(null)));
+
+        assertThat(underTest.runOnce()).isTrue();
+
+        verify(ingestionJob).ingestNextAsync();
+    }
+
+    @Test
+    void runOnceShouldBackOffWhenIngestionQueueIsEmpty() throws InterruptedException {
+        when(ccdUploadQueue.remainingCapacity()).thenReturn(10);
+        when(ingestionJob.ingestNextAsync()).thenReturn(Optional.empty());
+
+        assertThat(underTest.runOnce()).isFalse();
+    }
+
+    @Test
+    void runOnceShouldBackOffWhenCcdQueueIsFull() throws InterruptedException {
+        when(ccdUploadQueue.remainingCapacity()).thenReturn(0);
+
+        assertThat(underTest.runOnce()).isFalse();
+
+        verify(ingestionJob, never()).ingestNextAsync();
+    }
+
+    @Test
+    void runOnceShouldNotStartMoreThanMaxInFlightCopies() throws InterruptedException {
+        CompletableFuture<Void> copy = new CompletableFuture<>();
+        when(ccdUploadQueue.remainingCapacity()).thenReturn(10);
+        when(ingestionJob.ingestNextAsync()).thenReturn(Optional.of(copy));
+
+        underTest.runOnce();
+        underTest.runOnce();
+        verify(ingestionJob, times(1)).ingestNextAsync();
+
+        copy.complete(null);
+        underTest.runOnce();
+        verify(ingestionJob, times(2)).ingestNextAsync();
+    }
+
+    @Test
+    void workersShouldDrainQueueUntilStopped() throws InterruptedException {
+        CountDownLatch ingested = new CountDownLatch(3);
+        when(ccdUploadQueue.remainingCapacity()).thenReturn(10);
+        when(ingestionJob.ingestNextAsync()).thenAnswer(invocation -> {
+            ingested.countDown();
+            return Optional.of(CompletableFuture.completedFuture(null));
+        });
+
+        underTest.start();
+        assertThat(ingested.await(5, TimeUnit.SECONDS)).isTrue();
+        underTest.stop();
+
+        verify(ingestionJob, atLeastOnce()).ingestNextAsync();
+    }
+
+    @Test
+    void stopShouldWaitForInFlightCopies() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> copy = new CompletableFuture<>();
+        when(ccdUploadQueue.remainingCapacity()).thenReturn(10);
+        when(ingestionJob.ingestNextAsync()).thenAnswer(invocation -> {
+            started.countDown();
+            return Optional.of(copy);
+        });
+
+        underTest.start();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture.runAsync(
+            () -> copy.complete(null),
+            CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS)
+        );
+        underTest.stop();
+
+        assertThat(copy).isCompleted();
+    }
+}
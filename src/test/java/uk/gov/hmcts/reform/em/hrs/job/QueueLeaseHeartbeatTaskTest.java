@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.em.hrs.job;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import uk.gov.hmcts.reform.em.hrs.queue.HearingRecordingQueue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class QueueLeaseHeartbeatTaskTest {
+
+    private static final Duration INTERVAL = Duration.ofMillis(20);
+
+    private final HearingRecordingQueue ingestionQueue = mock(HearingRecordingQueue.class);
+    private final HearingRecordingQueue ccdUploadQueue = mock(HearingRecordingQueue.class);
+    private final CountDownLatch releaseBlockedTask = new CountDownLatch(1);
+    private ThreadPoolTaskScheduler scheduler;
+    private QueueLeaseHeartbeatTask underTest;
+
+    @AfterEach
+    void tearDown() {
+        releaseBlockedTask.countDown();
+        if (underTest != null) {
+            underTest.shutdown();
+        }
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void shouldKeepRenewingLeasesWhileSchedulerIsBlocked() {
+        // the default single threaded scheduler, held by a long running task
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.initialize();
+        CountDownLatch blockedTaskStarted = new CountDownLatch(1);
+        scheduler.schedule(() -> {
+            blockedTaskStarted.countDown();
+            try {
+                releaseBlockedTask.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, scheduler.getClock().instant());
+        await().until(() -> blockedTaskStarted.getCount() == 0);
+
+        underTest = new QueueLeaseHeartbeatTask(List.of(ingestionQueue, ccdUploadQueue), INTERVAL);
+
+        await().untilAsserted(() -> {
+            verify(ingestionQueue, atLeast(3)).heartbeat();
+            verify(ccdUploadQueue, atLeast(3)).heartbeat();
+        });
+    }
+
+    @Test
+    void shouldRenewOtherQueuesWhenOneFails() {
+        doThrow(new IllegalStateException("database unavailable")).when(ingestionQueue).heartbeat();
+
+        underTest = new QueueLeaseHeartbeatTask(List.of(ingestionQueue, ccdUploadQueue), INTERVAL);
+
+        await().untilAsserted(() -> verify(ccdUploadQueue, atLeast(2)).heartbeat());
+    }
+}
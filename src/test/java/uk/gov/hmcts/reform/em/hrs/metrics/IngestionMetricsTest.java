@@ -0,0 +1,148 @@
+package uk.gov.hmcts.reform.em.hrs.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+import uk.gov.hmcts.reform.em.hrs.queue.HearingRecordingQueue;
+import uk.gov.hmcts.reform.em.hrs.queue.InMemoryHearingRecordingQueue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IngestionMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final IngestionMetrics underTest = new IngestionMetrics(meterRegistry);
+
+    @Test
+    void timeShouldRecordSuccessfulStageBySource() {
+        String result = underTest.time(IngestionMetrics.STAGE_SAS, HearingSource.CVP, () -> "sas");
+
+        assertThat(result).isEqualTo("sas");
+        assertThat(stageTimer(IngestionMetrics.STAGE_SAS, "CVP", "success").count()).isOne();
+    }
+
+    @Test
+    void timeShouldRecordFailedStageAndRethrow() {
+        assertThatThrownBy(() -> underTest.time(IngestionMetrics.STAGE_COPY, HearingSource.VH, () -> {
+            throw new IllegalStateException("copy failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(stageTimer(IngestionMetrics.STAGE_COPY, "VH", "failure").count()).isOne();
+    }
+
+    @Test
+    void timeShouldTagUnknownSource() {
+        underTest.time(IngestionMetrics.STAGE_REGISTER_JOB, null, () -> { });
+
+        assertThat(stageTimer(IngestionMetrics.STAGE_REGISTER_JOB, "unknown", "success").count()).isOne();
+    }
+
+    @Test
+    void timeAsyncShouldRecordWhenFutureCompletes() {
+        CompletableFuture<Void> copy = new CompletableFuture<>();
+
+        CompletableFuture<Void> timed =
+            underTest.timeAsync(IngestionMetrics.STAGE_COPY, HearingSource.CVP, () -> copy);
+
+        assertThat(meterRegistry.find(IngestionMetrics.STAGE_TIMER).timer()).isNull();
+        copy.completeExceptionally(new IllegalStateException("copy failed"));
+        assertThat(timed).isCompletedExceptionally();
+        assertThat(stageTimer(IngestionMetrics.STAGE_COPY, "CVP", "failure").count()).isOne();
+    }
+
+    @Test
+    void recordQueueWaitShouldRecordByQueueAndSource() {
+        underTest.recordQueueWait("ingestion", HearingSource.VH, Duration.ofSeconds(5));
+
+        Timer timer = meterRegistry.get(IngestionMetrics.QUEUE_WAIT_TIMER)
+            .tags("queue", "ingestion", "source", "VH")
+            .timer();
+        assertThat(timer.count()).isOne();
+        assertThat(timer.totalTime(TimeUnit.SECONDS)).isEqualTo(5.0);
+    }
+
+    @Test
+    void queueGaugesShouldReportDepthBySourceAndRemainingCapacity() {
+        InMemoryHearingRecordingQueue queue = new InMemoryHearingRecordingQueue(10);
+        queue.offer(HearingRecordingDto.builder().recordingSource(HearingSource.CVP).filename("a").build());
+        queue.offer(HearingRecordingDto.builder().recordingSource(HearingSource.CVP).filename("b").build());
+        queue.offer(HearingRecordingDto.builder().recordingSource(HearingSource.VH).filename("c").build());
+
+        underTest.registerQueueGauges("ccd-upload", queue);
+
+        assertThat(depth("CVP")).isEqualTo(2.0);
+        assertThat(depth("VH")).isEqualTo(1.0);
+        assertThat(meterRegistry.get(IngestionMetrics.QUEUE_REMAINING_CAPACITY_GAUGE)
+                       .tags("queue", "ccd-upload")
+                       .gauge()
+                       .value()).isEqualTo(7.0);
+    }
+
+    @Test
+    void queueDepthGaugesShouldShareOneCountWithinTtl() {
+        IngestionMetrics caching = new IngestionMetrics(meterRegistry, Clock.systemUTC(), Duration.ofHours(1));
+        HearingRecordingQueue queue = mock(HearingRecordingQueue.class);
+        when(queue.countBySource()).thenReturn(Map.of(HearingSource.CVP, 2L));
+
+        caching.registerQueueGauges("ccd-upload", queue);
+
+        assertThat(depth("CVP")).isEqualTo(2.0);
+        assertThat(depth("VH")).isZero();
+        assertThat(depth("CVP")).isEqualTo(2.0);
+        verify(queue, times(1)).countBySource();
+    }
+
+    @Test
+    void queueDepthGaugesShouldCountAgainOnceTtlHasPassed() {
+        IngestionMetrics uncached = new IngestionMetrics(meterRegistry, Clock.systemUTC(), Duration.ZERO);
+        HearingRecordingQueue queue = mock(HearingRecordingQueue.class);
+        when(queue.countBySource())
+            .thenReturn(Map.of(HearingSource.CVP, 2L))
+            .thenReturn(Map.of(HearingSource.CVP, 5L));
+
+        uncached.registerQueueGauges("ccd-upload", queue);
+
+        assertThat(depth("CVP")).isEqualTo(2.0);
+        assertThat(depth("CVP")).isEqualTo(5.0);
+    }
+
+    @Test
+    void queueDepthGaugesShouldReportLastCountsWhenCountingFails() {
+        IngestionMetrics uncached = new IngestionMetrics(meterRegistry, Clock.systemUTC(), Duration.ZERO);
+        HearingRecordingQueue queue = mock(HearingRecordingQueue.class);
+        when(queue.countBySource())
+            .thenReturn(Map.of(HearingSource.CVP, 2L))
+            .thenThrow(new IllegalStateException("database unavailable"));
+
+        uncached.registerQueueGauges("ccd-upload", queue);
+
+        assertThat(depth("CVP")).isEqualTo(2.0);
+        assertThat(depth("CVP")).isEqualTo(2.0);
+    }
+
+    private double depth(String source) {
+        return meterRegistry.get(IngestionMetrics.QUEUE_DEPTH_GAUGE)
+            .tags("queue", "ccd-upload", "source", source)
+            .gauge()
+            .value();
+    }
+
+    private Timer stageTimer(String stage, String source, String outcome) {
+        return meterRegistry.get(IngestionMetrics.STAGE_TIMER)
+            .tags("stage", stage, "source", source, "outcome", outcome)
+            .timer();
+    }
+}
@@ -0,0 +1,165 @@
+package uk.gov.hmcts.reform.em.hrs.queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JdbcHearingRecordingQueueTest {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final JdbcHearingRecordingQueue underTest =
+        new JdbcHearingRecordingQueue(jdbcTemplate, objectMapper, "ingestion", 2, 300, 3);
+
+    private final HearingRecordingDto hrDto = HearingRecordingDto.builder()
+        .folder("folder-1")
+        .filename("file-1.mp4")
+        .build();
+
+    @Test
+    void offerShouldInsertWhenQueueHasCapacity() {
+        when(jdbcTemplate.update(startsWith("INSERT"), any(SqlParameterSource.class))).thenReturn(1);
+
+        assertThat(underTest.offer(hrDto)).isTrue();
+
+        verify(jdbcTemplate, times(1)).update(startsWith("INSERT"), any(SqlParameterSource.class));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), any(SqlParameterSource.class), eq(Boolean.class));
+    }
+
+    @Test
+    void offerShouldRejectWhenQueueIsFull() {
+        when(jdbcTemplate.update(startsWith("INSERT"), any(SqlParameterSource.class))).thenReturn(0);
+        mockQueued(false);
+
+        assertThat(underTest.offer(hrDto)).isFalse();
+    }
+
+    @Test
+    void offerShouldAcceptAlreadyQueuedFile() {
+        when(jdbcTemplate.update(startsWith("INSERT"), any(SqlParameterSource.class))).thenReturn(0);
+        mockQueued(true);
+
+        assertThat(underTest.offer(hrDto)).isTrue();
+    }
+
+    @Test
+    void pollShouldReturnEmptyWhenNothingCanBeClaimed() {
+        when(jdbcTemplate.query(startsWith("UPDATE"), any(SqlParameterSource.class), any(RowMapper.class)))
+            .thenReturn(Collections.emptyList());
+
+        assertThat(underTest.poll()).isEmpty();
+    }
+
+    @Test
+    void pollShouldReturnClaimedItemAndAcknowledgeShouldDeleteIt() throws Exception {
+        UUID id = UUID.randomUUID();
+        mockClaim(id, objectMapper.writeValueAsString(hrDto), 1);
+
+        Optional<QueuedHearingRecording> polled = underTest.poll();
+
+        assertThat(polled).isPresent();
+        assertThat(polled.get().id()).isEqualTo(id);
+        assertThat(polled.get().hearingRecordingDto().getFilename()).isEqualTo("file-1.mp4");
+
+        underTest.acknowledge(polled.get());
+
+        verify(jdbcTemplate, times(1)).update(startsWith("DELETE"), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void pollShouldDropItemWhenMaxAttemptsExceeded() throws Exception {
+        mockClaim(UUID.randomUUID(), objectMapper.writeValueAsString(hrDto), 4);
+
+        assertThat(underTest.poll()).isEmpty();
+
+        verify(jdbcTemplate, times(1)).update(startsWith("DELETE"), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void pollShouldDropUnreadableItem() throws Exception {
+        mockClaim(UUID.randomUUID(), "not-json", 1);
+
+        assertThat(underTest.poll()).isEmpty();
+
+        verify(jdbcTemplate, times(1)).update(startsWith("DELETE"), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void heartbeatShouldDoNothingWhenNoItemsLeased() {
+        underTest.heartbeat();
+
+        verify(jdbcTemplate, never()).update(anyString(), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void heartbeatShouldRenewLeaseOfPolledItem() throws Exception {
+        mockClaim(UUID.randomUUID(), objectMapper.writeValueAsString(hrDto), 1);
+        underTest.poll();
+
+        underTest.heartbeat();
+
+        verify(jdbcTemplate, times(1)).update(startsWith("UPDATE"), any(SqlParameterSource.class));
+    }
+
+    @Test
+    void countBySourceShouldSkipUnknownSources() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("source")).thenReturn("CVP", "NOT_A_SOURCE", null);
+        when(rs.getLong("items")).thenReturn(3L, 1L, 1L);
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (int row = 0; row < 3; row++) {
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT payload"), any(SqlParameterSource.class),
+                                    any(RowCallbackHandler.class));
+
+        assertThat(underTest.countBySource()).containsExactly(Map.entry(HearingSource.CVP, 3L));
+    }
+
+    private void mockQueued(boolean queued) {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT EXISTS"), any(SqlParameterSource.class),
+                                         eq(Boolean.class)))
+            .thenReturn(queued);
+    }
+
+    private void mockClaim(UUID id, String payload, int attempts) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject("id", UUID.class)).thenReturn(id);
+        when(rs.getString("payload")).thenReturn(payload);
+        when(rs.getInt("attempts")).thenReturn(attempts);
+
+        when(jdbcTemplate.query(startsWith("UPDATE"), any(SqlParameterSource.class), any(RowMapper.class)))
+            .thenAnswer(invocation -> {
+                RowMapper<?> rowMapper = invocation.getArgument(2);
+                return List.of(rowMapper.mapRow(rs, 0));
+            });
+    }
+}
@@ -0,0 +1,57 @@
+package uk.gov.hmcts.reform.em.hrs.queue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+import uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MeteredHearingRecordingQueueTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryHearingRecordingQueue delegate = new InMemoryHearingRecordingQueue(10);
+    private final MeteredHearingRecordingQueue underTest =
+        new MeteredHearingRecordingQueue(delegate, "ingestion", new IngestionMetrics(meterRegistry));
+
+    @Test
+    void pollShouldRecordQueueWaitBySource() {
+        HearingRecordingDto hrDto = HearingRecordingDto.builder()
+            .recordingSource(HearingSource.CVP)
+            .filename("file-1.mp4")
+            .build();
+        underTest.offer(hrDto);
+
+        Optional<QueuedHearingRecording> polled = underTest.poll();
+
+        assertThat(polled).map(QueuedHearingRecording::hearingRecordingDto).contains(hrDto);
+        assertThat(meterRegistry.get("hrs.ingestion.queue.wait")
+                       .tags("queue", "ingestion", "source", "CVP")
+                       .timer()
+                       .count()).isOne();
+    }
+
+    @Test
+    void pollShouldNotRecordWhenQueueIsEmpty() {
+        assertThat(underTest.poll()).isEmpty();
+
+        assertThat(meterRegistry.find("hrs.ingestion.queue.wait").timer()).isNull();
+    }
+
+    @Test
+    void shouldRegisterQueueGauges() {
+        underTest.offer(HearingRecordingDto.builder().recordingSource(HearingSource.VH).filename("a").build());
+
+        assertThat(meterRegistry.get("hrs.ingestion.queue.depth")
+                       .tags("queue", "ingestion", "source", "VH")
+                       .gauge()
+                       .value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("hrs.ingestion.queue.remaining.capacity")
+                       .tags("queue", "ingestion")
+                       .gauge()
+                       .value()).isEqualTo(9.0);
+    }
+}
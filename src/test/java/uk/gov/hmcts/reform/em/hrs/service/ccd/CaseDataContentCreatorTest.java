@@ -178,6 +178,40 @@ class CaseDataContentCreatorTest {
         );
     }
 
+    @Test
+    void createCaseUpdateDataForSegmentsShouldAddOnlySegmentsNotOnCase() {
+        Map<String, Object> valueMap = new HashMap<>();
+        valueMap.put("value", Map.of(
+            "documentLink", Map.of(
+                "document_url", "http://xui.com/hearing-recordings/12345/segments/0",
+                "document_filename", fileName
+            )
+        ));
+        List<Map<String, Object>> segmentList = new ArrayList<>();
+        segmentList.add(valueMap);
+        Map<String, Object> caseData = new HashMap<>();
+        caseData.put("recordingFiles", segmentList);
+
+        HearingRecordingDto secondSegment = segment("audiostream123/recording-file-2", 1);
+        HearingRecordingDto thirdSegment = segment("audiostream123/recording-file-3", 2);
+
+        JsonNode actual = underTest.createCaseUpdateDataForSegments(
+            caseData,
+            RECORDING_ID,
+            List.of(hearingRecordingDto, secondSegment, thirdSegment, secondSegment)
+        );
+
+        assertEquals(3, actual.get("recordingFiles").size());
+        assertEquals(
+            "http://xui.com/hearing-recordings/" + RECORDING_ID + "/file/audiostream123/recording-file-2",
+            actual.at("/recordingFiles/1/value/documentLink/document_url").asText()
+        );
+        assertEquals(
+            "http://xui.com/hearing-recordings/" + RECORDING_ID + "/file/audiostream123/recording-file-3",
+            actual.at("/recordingFiles/2/value/documentLink/document_url").asText()
+        );
+    }
+
     @Test
     void createCaseStartDataShouldSetTimeOfDayToPmForAfternoonRecording() {
         HearingRecordingDto pmHearingRecordingDto = HearingRecordingDto.builder()
@@ -215,4 +249,14 @@ class CaseDataContentCreatorTest {
 
         assertEquals("", actual.get("recordingTimeOfDay").asText());
     }
+
+    private HearingRecordingDto segment(String filename, int segment) {
+        return HearingRecordingDto.builder()
+            .caseRef(RECORDING_REF)
+            .recordingSource(HearingSource.CVP)
+            .filename(filename)
+            .urlDomain("http://xui.com")
+            .segment(segment)
+            .build();
+    }
 }
@@ -0,0 +1,93 @@
+package uk.gov.hmcts.reform.em.hrs.service.ccd;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class CaseUpdateLocksTest {
+
+    private static final Long CASE_ID = 1L;
+    private static final Long OTHER_CASE_ID = 2L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CaseUpdateLocks underTest = new CaseUpdateLocks(meterRegistry, 4);
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldReturnResultOfUpdate() {
+        assertThat(underTest.callWithLock(CASE_ID, () -> 42L)).isEqualTo(42L);
+        assertThat(meterRegistry.get("hrs.ccd.case.lock.contended").counter().count()).isZero();
+    }
+
+    @Test
+    void shouldSerialiseUpdatesToTheSameCaseOnly() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> firstUpdate = CompletableFuture.supplyAsync(
+            () -> underTest.callWithLock(CASE_ID, () -> {
+                holding.countDown();
+                awaitRelease(release);
+                return CASE_ID;
+            }),
+            executor
+        );
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Long> sameCaseUpdate = CompletableFuture.supplyAsync(
+            () -> underTest.callWithLock(CASE_ID, () -> CASE_ID),
+            executor
+        );
+        Long otherCaseResult = CompletableFuture.supplyAsync(
+            () -> underTest.callWithLock(OTHER_CASE_ID, () -> OTHER_CASE_ID),
+            executor
+        ).get(5, TimeUnit.SECONDS);
+
+        assertThat(otherCaseResult).isEqualTo(OTHER_CASE_ID);
+        await().until(() -> meterRegistry.get("hrs.ccd.case.lock.contended").counter().count() == 1);
+        assertThat(sameCaseUpdate).isNotDone();
+
+        release.countDown();
+
+        assertThat(firstUpdate.get(5, TimeUnit.SECONDS)).isEqualTo(CASE_ID);
+        assertThat(sameCaseUpdate.get(5, TimeUnit.SECONDS)).isEqualTo(CASE_ID);
+        assertThat(meterRegistry.get("hrs.ccd.case.lock.wait").timer().count()).isOne();
+    }
+
+    @Test
+    void shouldReleaseLockWhenUpdateFails() {
+        assertThatThrownBy(() -> underTest.callWithLock(CASE_ID, () -> {
+            throw new IllegalStateException("ccd rejected");
+        })).isInstanceOf(IllegalStateException.class);
+
+        CompletableFuture<Long> nextUpdate = CompletableFuture.supplyAsync(
+            () -> underTest.callWithLock(CASE_ID, () -> CASE_ID),
+            executor
+        );
+
+        await().until(nextUpdate::isDone);
+        assertThat(nextUpdate).isCompletedWithValue(CASE_ID);
+    }
+
+    private static void awaitRelease(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
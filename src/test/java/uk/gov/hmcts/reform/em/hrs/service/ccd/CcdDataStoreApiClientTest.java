@@ -2,10 +2,12 @@ package uk.gov.hmcts.reform.em.hrs.service.ccd;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.ccd.client.CoreCaseDataApi;
 import uk.gov.hmcts.reform.ccd.client.model.CaseDataContent;
@@ -14,10 +16,12 @@ import uk.gov.hmcts.reform.ccd.client.model.Event;
 import uk.gov.hmcts.reform.ccd.client.model.StartEventResponse;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
 import uk.gov.hmcts.reform.em.hrs.exception.CcdUploadException;
+import uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics;
 import uk.gov.hmcts.reform.em.hrs.service.SecurityService;
 import uk.gov.hmcts.reform.em.hrs.service.TtlService;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -60,6 +64,12 @@ class CcdDataStoreApiClientTest {
     @Mock
     TtlService ttlService;
 
+    @Spy
+    CaseUpdateLocks caseUpdateLocks = new CaseUpdateLocks(new SimpleMeterRegistry(), 4);
+
+    @Spy
+    IngestionMetrics ingestionMetrics = new IngestionMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     CcdDataStoreApiClient underTest;
 
@@ -214,6 +224,68 @@ class CcdDataStoreApiClientTest {
     }
 
 
+    @Test
+    void shouldAddAllSegmentsToCaseInOneEvent() {
+        doReturn(Map.of("user", USER_TOKEN,
+                        "userId", USER_ID,
+                        "service", SERVICE_TOKEN
+        )).when(securityService).createTokens();
+
+        StartEventResponse startEventResponse = StartEventResponse.builder()
+            .caseDetails(CaseDetails.builder().id(CASE_ID).build())
+            .build();
+
+        doReturn(startEventResponse).when(coreCaseDataApi).startEvent(
+            USER_TOKEN, SERVICE_TOKEN, String.valueOf(CASE_ID), ADD_RECORDING_FILE
+        );
+        CaseDetails caseDetails = CaseDetails.builder().id(CASE_ID).build();
+
+        JsonNode data = JsonNodeFactory.instance.objectNode();
+        List<HearingRecordingDto> segments = List.of(HEARING_RECORDING_DTO, HEARING_RECORDING_DTO);
+
+        doReturn(data).when(caseDataContentCreator).createCaseUpdateDataForSegments(
+            startEventResponse.getCaseDetails().getData(), RECORDING_ID, segments);
+
+        CaseDataContent caseData = CaseDataContent.builder().data(data)
+            .event(Event.builder().build()).build();
+
+        doReturn(caseDetails).when(coreCaseDataApi).submitEventForCaseWorker(
+            USER_TOKEN, SERVICE_TOKEN, USER_ID,
+            JURISDICTION, CASE_TYPE, String.valueOf(CASE_ID), false, caseData
+        );
+
+        Long caseId = underTest.updateCaseDataForSegments(CASE_ID, RECORDING_ID, segments);
+
+        assertEquals(CASE_ID, caseId);
+        verify(coreCaseDataApi).startEvent(USER_TOKEN, SERVICE_TOKEN, String.valueOf(CASE_ID), ADD_RECORDING_FILE);
+        verify(caseDataContentCreator, never()).createCaseUpdateData(any(), any(), any());
+    }
+
+    @Test
+    void willHandleExceptionGracefullyWhenAddingSegmentsToCase() {
+        doReturn(Map.of("user", USER_TOKEN,
+                        "userId", USER_ID,
+                        "service", SERVICE_TOKEN
+        )).when(securityService).createTokens();
+
+        doThrow(new RuntimeException("Failed to start event"))
+            .when(coreCaseDataApi).startEvent(
+                USER_TOKEN,
+                SERVICE_TOKEN,
+                String.valueOf(CASE_ID),
+                ADD_RECORDING_FILE
+            );
+
+        assertThatExceptionOfType(CcdUploadException.class)
+            .isThrownBy(() -> underTest.updateCaseDataForSegments(
+                CASE_ID,
+                RECORDING_ID,
+                List.of(HEARING_RECORDING_DTO)
+            ))
+            .withMessage("Error Uploading Segments")
+            .withCauseInstanceOf(RuntimeException.class);
+    }
+
     @Test
     void willHandleExceptionGracefully() {
         doReturn(Map.of("user", USER_TOKEN,
@@ -16,6 +16,7 @@ import uk.gov.hmcts.reform.em.hrs.service.TtlService;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -176,4 +177,71 @@ class CcdUploadServiceImplTest {
         verify(ccdDataStoreApiClient, never()).createCase(any(), any(), any());
         verify(segmentService, never()).createAndSaveSegment(any(), any());
     }
+
+    @Test
+    void testUploadSegmentsShouldAddAllSegmentsInOneUpdateWhenHearingRecordingExists() {
+        HearingRecordingDto secondDto = mock(HearingRecordingDto.class);
+        HearingRecording existingRecording = new HearingRecording();
+        existingRecording.setCcdCaseId(CCD_CASE_ID);
+        List<HearingRecordingDto> dtos = List.of(mockDto, secondDto);
+
+        doReturn(Optional.of(existingRecording))
+            .when(hearingRecordingService).findHearingRecording(mockDto);
+        doReturn(CCD_CASE_ID).when(ccdDataStoreApiClient)
+            .updateCaseDataForSegments(CCD_CASE_ID, existingRecording.getId(), dtos);
+
+        underTest.uploadSegments(dtos);
+
+        verify(ccdDataStoreApiClient).updateCaseDataForSegments(CCD_CASE_ID, existingRecording.getId(), dtos);
+        verify(segmentService).createAndSaveSegments(existingRecording, dtos);
+        verify(ccdDataStoreApiClient, never()).updateCaseData(anyLong(), any(), any());
+        verify(hearingRecordingService, never()).createHearingRecording(any());
+    }
+
+    @Test
+    void testUploadSegmentsShouldCreateCaseWithFirstSegmentAndAddTheRestInOneUpdate() {
+        HearingRecordingDto secondDto = mock(HearingRecordingDto.class);
+        HearingRecordingDto thirdDto = mock(HearingRecordingDto.class);
+        HearingRecording newRecording = new HearingRecording();
+
+        doReturn(Optional.empty()).when(hearingRecordingService).findHearingRecording(mockDto);
+        doReturn(newRecording).when(hearingRecordingService).createHearingRecording(mockDto);
+        doReturn(A_TTL_DATE).when(ttlService).createTtl(any(), any(), any());
+        doReturn(CCD_CASE_ID).when(ccdDataStoreApiClient).createCase(any(), eq(mockDto), eq(A_TTL_DATE));
+
+        underTest.uploadSegments(List.of(mockDto, secondDto, thirdDto));
+
+        verify(ccdDataStoreApiClient).createCase(newRecording.getId(), mockDto, A_TTL_DATE);
+        verify(segmentService).createAndSaveSegment(newRecording, mockDto);
+        verify(ccdDataStoreApiClient)
+            .updateCaseDataForSegments(CCD_CASE_ID, newRecording.getId(), List.of(secondDto, thirdDto));
+        verify(segmentService).createAndSaveSegments(newRecording, List.of(secondDto, thirdDto));
+    }
+
+    @Test
+    void testUploadSegmentsShouldHandleConstraintViolationExceptionWhenSegmentsExist() {
+        HearingRecording existingRecording = new HearingRecording();
+        existingRecording.setCcdCaseId(CCD_CASE_ID);
+        List<HearingRecordingDto> dtos = List.of(mockDto, mock(HearingRecordingDto.class));
+
+        doReturn(Optional.of(existingRecording))
+            .when(hearingRecordingService).findHearingRecording(mockDto);
+        doThrow(new ConstraintViolationException("test violation", null, null))
+            .when(segmentService).createAndSaveSegments(any(), any());
+
+        assertDoesNotThrow(() -> underTest.uploadSegments(dtos));
+    }
+
+    @Test
+    void testUploadSegmentsShouldNotCallCcdWhenRecordingExistsButCcdIdIsNull() {
+        HearingRecording recordingWithNullCcdId = new HearingRecording();
+
+        doReturn(Optional.of(recordingWithNullCcdId)).when(hearingRecordingService)
+            .findHearingRecording(mockDto);
+
+        underTest.uploadSegments(List.of(mockDto, mock(HearingRecordingDto.class)));
+
+        verify(ccdDataStoreApiClient, never()).updateCaseDataForSegments(any(), any(), any());
+        verify(segmentService, never()).createAndSaveSegments(any(), any());
+    }
 }
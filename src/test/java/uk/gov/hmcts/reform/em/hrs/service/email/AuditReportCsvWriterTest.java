@@ -4,138 +4,113 @@ import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.junit.jupiter.api.Test;
-import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
-import uk.gov.hmcts.reform.em.hrs.domain.AuditEntry;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingAuditEntry;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegmentAuditEntry;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSharee;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingShareeAuditEntry;
+import uk.gov.hmcts.reform.em.hrs.model.AuditReportRow;
 
 import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 class AuditReportCsvWriterTest {
 
-    private final AuditReportCsvWriter auditReportCsvWriter = new AuditReportCsvWriter();
-    private static final AuditActions ACTION = AuditActions.USER_DOWNLOAD_OK;
+    private static final LocalDateTime CREATED_ON = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
 
-    private static class UnhandledAuditEntry extends AuditEntry {
-    }
+    private final AuditReportCsvWriter auditReportCsvWriter = new AuditReportCsvWriter();
 
     @Test
-    void shouldWriteCsvWithHearingRecordingSegmentAuditEntry() throws IOException {
+    void shouldWriteCsvWithSegmentRow() throws IOException {
         // Given
-        HearingRecordingSegment segment = new HearingRecordingSegment();
-        segment.setFilename("file1.wav");
-        segment.setIngestionFileSourceUri("source-uri-1");
-        segment.setFileSizeMb(1024L);
-
-        HearingRecording hearingRecording = new HearingRecording();
-        hearingRecording.setHearingSource("HearingSource1");
-        hearingRecording.setServiceCode("Service1");
-        hearingRecording.setCcdCaseId(12345L);
-        segment.setHearingRecording(hearingRecording);
-
-        HearingRecordingSegmentAuditEntry segmentAuditEntry = new HearingRecordingSegmentAuditEntry();
-        segmentAuditEntry.setAction(ACTION);
-        segmentAuditEntry.setUsername("user1");
-        segmentAuditEntry.setEventDateTime(new Date());
-        segmentAuditEntry.setHearingRecordingSegment(segment);
+        AuditReportRow row = new AuditReportRow("USER_DOWNLOAD_OK", "user1", "file1.wav", "source-uri-1", "CVP",
+                                                "Service1", 1024L, 12345L, CREATED_ON, null, null);
 
         // When
-        File resultFile = auditReportCsvWriter.writeHearingRecordingSummaryToCsv(List.of(segmentAuditEntry));
+        File resultFile = auditReportCsvWriter.writeAuditReportToCsv(Stream.of(row));
 
         // Then
-        assertCsvContent(resultFile, 1);
+        List<CSVRecord> records = readCsv(resultFile);
+        assertEquals(1, records.size());
+        assertEquals("USER_DOWNLOAD_OK", records.get(0).get("Action"));
+        assertEquals("user1", records.get(0).get("UserName"));
+        assertEquals("file1.wav", records.get(0).get("File Name"));
+        assertEquals("source-uri-1", records.get(0).get("Source URI"));
+        assertEquals("2", records.get(0).get("File Size KB"));
+        assertEquals("12345", records.get(0).get("CCD Case Id"));
+        assertEquals("2025-01-02T03:04:05", records.get(0).get("Date Processed"));
+        assertEquals("", records.get(0).get("Shared On"));
+        assertEquals("", records.get(0).get("Sharee Email"));
     }
 
     @Test
-    void shouldWriteCsvWithHearingRecordingAuditEntry() throws IOException {
+    void shouldWriteCsvWithRecordingRow() throws IOException {
         // Given
-        HearingRecording hearingRecording = new HearingRecording();
-        hearingRecording.setHearingSource("HearingSource2");
-        hearingRecording.setServiceCode("Service2");
-        hearingRecording.setCcdCaseId(23456L);
-        hearingRecording.setCreatedOn(LocalDateTime.now());
-
-        HearingRecordingAuditEntry recordingAuditEntry = new HearingRecordingAuditEntry();
-        recordingAuditEntry.setAction(ACTION);
-        recordingAuditEntry.setUsername("user2");
-        recordingAuditEntry.setHearingRecording(hearingRecording);
+        AuditReportRow row = new AuditReportRow("USER_CREATION_OK", "user2", null, null, "VH", "Service2",
+                                                null, 23456L, CREATED_ON, null, null);
 
         // When
-        File resultFile = auditReportCsvWriter.writeHearingRecordingSummaryToCsv(List.of(recordingAuditEntry));
+        File resultFile = auditReportCsvWriter.writeAuditReportToCsv(Stream.of(row));
 
         // Then
-        assertCsvContent(resultFile, 1);
+        List<CSVRecord> records = readCsv(resultFile);
+        assertEquals(1, records.size());
+        assertEquals("", records.get(0).get("File Name"));
+        assertEquals("", records.get(0).get("File Size KB"));
+        assertEquals("VH", records.get(0).get("Hearing Source"));
+        assertEquals("Service2", records.get(0).get("Service Code"));
     }
 
     @Test
-    void shouldWriteCsvWithHearingRecordingShareeAuditEntry() throws IOException {
+    void shouldWriteCsvWithShareeRow() throws IOException {
         // Given
-        HearingRecordingSharee sharee = new HearingRecordingSharee();
-        sharee.setShareeEmail("sharee@example.com");
-        sharee.setSharedOn(LocalDateTime.now());
-
-        HearingRecording hearingRecording = new HearingRecording();
-        hearingRecording.setHearingSource("HearingSource3");
-        hearingRecording.setServiceCode("Service3");
-        hearingRecording.setCcdCaseId(34567L);
-        sharee.setHearingRecording(hearingRecording);
-
-        HearingRecordingShareeAuditEntry shareeAuditEntry = new HearingRecordingShareeAuditEntry();
-        shareeAuditEntry.setAction(ACTION);
-        shareeAuditEntry.setUsername("user3");
-        shareeAuditEntry.setHearingRecordingSharee(sharee);
-
-        // When
-        File resultFile = auditReportCsvWriter.writeHearingRecordingSummaryToCsv(List.of(shareeAuditEntry));
+        AuditReportRow row = new AuditReportRow("SHARE_GRANT_OK", "user3", null, null, "CVP", "Service3",
+                                                null, 34567L, CREATED_ON, CREATED_ON, "sharee@example.com");
 
-        // Then
-        assertCsvContent(resultFile, 1);
-    }
-
-    @Test
-    void shouldHandleEmptyListGracefully() throws IOException {
         // When
-        File resultFile = auditReportCsvWriter.writeHearingRecordingSummaryToCsv(List.of());
+        File resultFile = auditReportCsvWriter.writeAuditReportToCsv(Stream.of(row));
 
         // Then
-        assertCsvContent(resultFile, 0);
+        List<CSVRecord> records = readCsv(resultFile);
+        assertEquals(1, records.size());
+        assertEquals("2025-01-02T03:04:05", records.get(0).get("Shared On"));
+        assertEquals("sharee@example.com", records.get(0).get("Sharee Email"));
     }
 
     @Test
-    void shouldHandleNullListGracefully() throws IOException {
-        File resultFile = auditReportCsvWriter.writeHearingRecordingSummaryToCsv(null);
-
-        assertCsvContent(resultFile, 0);
+    void shouldWriteEveryRowInOrder() throws IOException {
+        Stream<AuditReportRow> rows = Stream.of(
+            new AuditReportRow("USER_DOWNLOAD_OK", "user1", "file1.wav", "source-uri-1", "CVP", "Service1",
+                               1024L, 12345L, CREATED_ON, null, null),
+            new AuditReportRow("SHARE_GRANT_OK", "user3", null, null, "CVP", "Service3",
+                               null, 34567L, CREATED_ON, CREATED_ON, "sharee@example.com")
+        );
+
+        File resultFile = auditReportCsvWriter.writeAuditReportToCsv(rows);
+
+        List<CSVRecord> records = readCsv(resultFile);
+        assertEquals(2, records.size());
+        assertEquals("user1", records.get(0).get("UserName"));
+        assertEquals("user3", records.get(1).get("UserName"));
     }
 
     @Test
-    void shouldSkipAndNotWriteUnhandledAuditEntryTypes() throws IOException {
-        UnhandledAuditEntry unhandledEntry = new UnhandledAuditEntry();
-
-        File resultFile = auditReportCsvWriter.writeHearingRecordingSummaryToCsv(List.of(unhandledEntry));
+    void shouldWriteOnlyHeaderWhenThereAreNoRows() throws IOException {
+        // When
+        File resultFile = auditReportCsvWriter.writeAuditReportToCsv(Stream.empty());
 
-        assertCsvContent(resultFile, 0);
+        // Then
+        assertEquals(0, readCsv(resultFile).size());
     }
 
-    private void assertCsvContent(File resultFile, int expectedRows) throws IOException {
+    private List<CSVRecord> readCsv(File resultFile) throws IOException {
         assertNotNull(resultFile);
         assertEquals(".csv", resultFile.getName().substring(resultFile.getName().length() - 4));
 
         try (CSVParser parser = CSVParser.builder().setFile(resultFile).setFormat(
                  CSVFormat.DEFAULT.builder().setHeader().setSkipHeaderRecord(true).get()).get()) {
-            List<CSVRecord> records = parser.getRecords();
-            assertEquals(expectedRows, records.size());
+            return parser.getRecords();
         }
     }
 }
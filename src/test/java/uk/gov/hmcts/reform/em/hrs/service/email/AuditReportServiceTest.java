@@ -5,19 +5,20 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import uk.gov.hmcts.reform.em.hrs.domain.AuditEntry;
-import uk.gov.hmcts.reform.em.hrs.service.AuditEntryService;
+import uk.gov.hmcts.reform.em.hrs.model.AuditReportRow;
+import uk.gov.hmcts.reform.em.hrs.repository.AuditReportRepository;
 
 import java.io.File;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.Month;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,16 +26,18 @@ import static org.mockito.Mockito.when;
 class AuditReportServiceTest {
 
     @Mock
-    private AuditEntryService auditEntryService;
+    private AuditReportRepository auditReportRepository;
 
     @Mock
     private AuditReportCsvWriter auditReportCsvWriter;
 
     private AuditReportService auditReportService;
 
+    private final AtomicBoolean rowsClosed = new AtomicBoolean();
+
     @BeforeEach
     void setUp() {
-        auditReportService = new AuditReportService(auditEntryService, auditReportCsvWriter);
+        auditReportService = new AuditReportService(auditReportRepository, auditReportCsvWriter);
     }
 
     @Test
@@ -45,11 +48,11 @@ class AuditReportServiceTest {
         LocalDateTime startOfMonth = LocalDateTime.of(2025, 1, 1, 0, 0);
         LocalDateTime endOfMonth = LocalDateTime.of(2025, 1, 31, 23, 59, 59);
 
-        List<AuditEntry> mockAuditEntries = new ArrayList<>();
-        when(auditEntryService.listHearingRecordingAudits(startOfMonth, endOfMonth)).thenReturn(mockAuditEntries);
+        Stream<AuditReportRow> rows = rows();
+        when(auditReportRepository.streamReportRows(startOfMonth, endOfMonth)).thenReturn(rows);
 
         File mockFile = new File("mockReport.csv");
-        when(auditReportCsvWriter.writeHearingRecordingSummaryToCsv(mockAuditEntries)).thenReturn(mockFile);
+        when(auditReportCsvWriter.writeAuditReportToCsv(rows)).thenReturn(mockFile);
 
         // Act
         File result = auditReportService.createMonthlyReport(month, year);
@@ -57,8 +60,9 @@ class AuditReportServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(mockFile, result);
-        verify(auditEntryService).listHearingRecordingAudits(startOfMonth, endOfMonth);
-        verify(auditReportCsvWriter).writeHearingRecordingSummaryToCsv(mockAuditEntries);
+        verify(auditReportRepository).streamReportRows(startOfMonth, endOfMonth);
+        verify(auditReportCsvWriter).writeAuditReportToCsv(rows);
+        assertTrue(rowsClosed.get());
     }
 
     @Test
@@ -69,17 +73,16 @@ class AuditReportServiceTest {
         LocalDateTime startOfMonth = LocalDateTime.of(2024, 2, 1, 0, 0);
         LocalDateTime endOfMonth = LocalDateTime.of(2024, 2, 29, 23, 59, 59);
 
-        List<AuditEntry> mockAuditEntries = new ArrayList<>();
-        when(auditEntryService.listHearingRecordingAudits(startOfMonth, endOfMonth)).thenReturn(mockAuditEntries);
-        when(auditReportCsvWriter.writeHearingRecordingSummaryToCsv(mockAuditEntries))
-            .thenReturn(new File("mockReport.csv"));
+        Stream<AuditReportRow> rows = rows();
+        when(auditReportRepository.streamReportRows(startOfMonth, endOfMonth)).thenReturn(rows);
+        when(auditReportCsvWriter.writeAuditReportToCsv(rows)).thenReturn(new File("mockReport.csv"));
 
         // Act
         auditReportService.createMonthlyReport(month, year);
 
         // Assert
-        verify(auditEntryService).listHearingRecordingAudits(startOfMonth, endOfMonth);
-        verify(auditReportCsvWriter).writeHearingRecordingSummaryToCsv(mockAuditEntries);
+        verify(auditReportRepository).streamReportRows(startOfMonth, endOfMonth);
+        verify(auditReportCsvWriter).writeAuditReportToCsv(rows);
     }
 
     @Test
@@ -90,12 +93,16 @@ class AuditReportServiceTest {
         LocalDateTime startOfMonth = LocalDateTime.of(2025, 3, 1, 0, 0);
         LocalDateTime endOfMonth = LocalDateTime.of(2025, 3, 31, 23, 59, 59);
 
-        List<AuditEntry> mockAuditEntries = new ArrayList<>();
-        when(auditEntryService.listHearingRecordingAudits(startOfMonth, endOfMonth)).thenReturn(mockAuditEntries);
-        when(auditReportCsvWriter.writeHearingRecordingSummaryToCsv(mockAuditEntries)).thenThrow(new IOException(
-            "Test exception"));
+        Stream<AuditReportRow> rows = rows();
+        when(auditReportRepository.streamReportRows(startOfMonth, endOfMonth)).thenReturn(rows);
+        when(auditReportCsvWriter.writeAuditReportToCsv(rows)).thenThrow(new IOException("Test exception"));
 
         // Act & Assert
         assertThrows(IOException.class, () -> auditReportService.createMonthlyReport(month, year));
+        assertTrue(rowsClosed.get());
+    }
+
+    private Stream<AuditReportRow> rows() {
+        return Stream.<AuditReportRow>empty().onClose(() -> rowsClosed.set(true));
     }
 }
@@ -1,20 +1,23 @@
 package uk.gov.hmcts.reform.em.hrs.service.email;
 
 import org.junit.jupiter.api.Test;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
+import uk.gov.hmcts.reform.em.hrs.model.HearingReportRow;
 import uk.gov.hmcts.reform.em.hrs.service.TtlService;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class HearingReportCsvWriterTest {
@@ -30,29 +33,20 @@ class HearingReportCsvWriterTest {
 
     @Test
     void should_write_hearingRecording_summary_to_csv() throws IOException {
-        HearingRecordingSegment hearingRecordingSegment = new HearingRecordingSegment();
-        hearingRecordingSegment.setFilename(FILE_NAME);
-        hearingRecordingSegment.setIngestionFileSourceUri(SOURCE_URI);
-        hearingRecordingSegment.setCreatedOn(CREATED_ON);
-        hearingRecordingSegment.setFileSizeMb(12023L);
-        var hearingRecording = new HearingRecording();
-        hearingRecording.setServiceCode("servicecode-1");
-        hearingRecording.setHearingSource("hearing-source XX");
-        hearingRecording.setCcdCaseId(1234567L);
-        hearingRecordingSegment.setHearingRecording(hearingRecording);
-
-        List<HearingRecordingSegment> data = Arrays.asList(hearingRecordingSegment);
+        HearingReportRow row = new HearingReportRow(
+            FILE_NAME, SOURCE_URI, "hearing-source XX", "servicecode-1", null, 12023L, 1234567L, CREATED_ON
+        );
         HearingReportCsvWriter hearingReportCsvWriter = new HearingReportCsvWriter(ttlService);
 
         when(ttlService.hasTtlConfig("servicecode-1", null))
             .thenReturn("Yes");
 
-        File csvFile = hearingReportCsvWriter.writeHearingRecordingSummaryToCsv(data);
+        File zipFile = hearingReportCsvWriter.writeHearingRecordingSummaryToZip(Stream.of(row));
 
-        assertTrue(csvFile.exists());
-        assertTrue(csvFile.isFile());
+        assertTrue(zipFile.exists());
+        assertTrue(zipFile.isFile());
 
-        List<String> lines = Files.readAllLines(csvFile.toPath());
+        List<String> lines = readCsvLines(zipFile);
         assertEquals(2, lines.size());
         assertEquals(HEADERS, lines.get(0));
         assertEquals(String.format(
@@ -68,18 +62,52 @@ class HearingReportCsvWriterTest {
         ), lines.get(1));
     }
 
+    @Test
+    void should_look_up_ttl_config_once_per_service_and_jurisdiction() throws IOException {
+        HearingReportCsvWriter hearingReportCsvWriter = new HearingReportCsvWriter(ttlService);
+        when(ttlService.hasTtlConfig("servicecode-1", "jurisdiction-1")).thenReturn("Yes");
+        when(ttlService.hasTtlConfig("servicecode-2", "jurisdiction-1")).thenReturn("No");
+
+        File zipFile = hearingReportCsvWriter.writeHearingRecordingSummaryToZip(Stream.of(
+            row("servicecode-1", "jurisdiction-1"),
+            row("servicecode-2", "jurisdiction-1"),
+            row("servicecode-1", "jurisdiction-1"),
+            row("servicecode-2", "jurisdiction-1")
+        ));
+
+        List<String> lines = readCsvLines(zipFile);
+        assertEquals(5, lines.size());
+        assertTrue(lines.get(3).endsWith(",Yes"));
+        assertTrue(lines.get(4).endsWith(",No"));
+        verify(ttlService, times(1)).hasTtlConfig("servicecode-1", "jurisdiction-1");
+        verify(ttlService, times(1)).hasTtlConfig("servicecode-2", "jurisdiction-1");
+    }
+
     @Test
     void should_write_empty_summary_to_csv() throws IOException {
         HearingReportCsvWriter hearingReportCsvWriter = new HearingReportCsvWriter(ttlService);
-        List<HearingRecordingSegment> data = Arrays.asList();
 
-        File csvFile = hearingReportCsvWriter.writeHearingRecordingSummaryToCsv(data);
+        File zipFile = hearingReportCsvWriter.writeHearingRecordingSummaryToZip(Stream.empty());
 
-        assertTrue(csvFile.exists());
-        assertTrue(csvFile.isFile());
+        assertTrue(zipFile.exists());
+        assertTrue(zipFile.isFile());
 
-        List<String> lines = Files.readAllLines(csvFile.toPath());
+        List<String> lines = readCsvLines(zipFile);
         assertEquals(1, lines.size());
         assertEquals(HEADERS, lines.get(0));
     }
+
+    private static HearingReportRow row(String serviceCode, String jurisdictionCode) {
+        return new HearingReportRow(
+            FILE_NAME, SOURCE_URI, "CVP", serviceCode, jurisdictionCode, 1000L, 1234567L, CREATED_ON
+        );
+    }
+
+    private static List<String> readCsvLines(File zipFile) throws IOException {
+        try (ZipFile zip = new ZipFile(zipFile)) {
+            assertEquals(1, zip.size());
+            ZipEntry entry = zip.getEntry(HearingReportCsvWriter.CSV_ENTRY_NAME);
+            return new String(zip.getInputStream(entry).readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
 }
@@ -36,6 +36,20 @@ class HearingReportEmailServiceConfigTest {
         assertEquals("Weekly_Report_2023-03-08.csv", result);
     }
 
+    @Test
+    void attachmentNameMethods_useGivenExtension() {
+        LocalDate testDate = LocalDate.of(2023, Month.MARCH, 15);
+
+        assertEquals(
+            "Monthly_Report_MARCH-2023.zip",
+            HearingReportEmailServiceConfig.monthlyReportAttachmentName("Monthly_Report_", ".zip").apply(testDate)
+        );
+        assertEquals(
+            "Weekly_Report_2023-03-08.zip",
+            HearingReportEmailServiceConfig.weeklyReportAttachmentName("Weekly_Report_", ".zip").apply(testDate)
+        );
+    }
+
     @Test
     void weeklyReportEmailBody_containsCorrectDates() {
         // Arrange
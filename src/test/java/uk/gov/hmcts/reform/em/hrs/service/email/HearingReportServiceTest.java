@@ -6,7 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
+import uk.gov.hmcts.reform.em.hrs.model.HearingReportRow;
 import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentRepository;
 
 import java.io.File;
@@ -15,11 +15,12 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
-import java.util.Arrays;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,15 +37,15 @@ class HearingReportServiceTest {
     @InjectMocks
     private HearingReportService hearingReportService;
 
-    private List<HearingRecordingSegment> expectedRecords;
+    private Stream<HearingReportRow> expectedRecords;
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     @BeforeEach
     void setUp() {
-        expectedRecords = Arrays.asList(
-            new HearingRecordingSegment(),
-            new HearingRecordingSegment(),
-            new HearingRecordingSegment()
+        HearingReportRow row = new HearingReportRow(
+            "file.mp4", "https://example.com/file.mp4", "CVP", "ABA1", "HRS", 1000L, 1L, LocalDateTime.now()
         );
+        expectedRecords = Stream.of(row, row, row).onClose(() -> closed.set(true));
     }
 
     @Test
@@ -55,18 +56,19 @@ class HearingReportServiceTest {
         LocalDateTime endOfMonth = LocalDateTime.of(2023, 6, 30, 23, 59, 59);
 
         when(hearingRecordingSegmentRepository
-                 .findByCreatedOnBetweenDatesWithHearingRecording(startOfMonth, endOfMonth))
+                 .streamReportRowsCreatedBetween(startOfMonth, endOfMonth))
             .thenReturn(expectedRecords);
 
-        when(hearingReportCsvWriter.writeHearingRecordingSummaryToCsv(expectedRecords))
+        when(hearingReportCsvWriter.writeHearingRecordingSummaryToZip(expectedRecords))
             .thenReturn(new File("temp"));
 
         File csvFile = hearingReportService.createMonthlyReport(month, year);
         assertNotNull(csvFile);
+        assertTrue(closed.get());
         verify(hearingRecordingSegmentRepository, times(1))
-            .findByCreatedOnBetweenDatesWithHearingRecording(startOfMonth, endOfMonth);
+            .streamReportRowsCreatedBetween(startOfMonth, endOfMonth);
         verify(hearingReportCsvWriter, times(1))
-            .writeHearingRecordingSummaryToCsv(expectedRecords);
+            .writeHearingRecordingSummaryToZip(expectedRecords);
     }
 
     @Test
@@ -77,7 +79,7 @@ class HearingReportServiceTest {
         LocalDateTime endOfMonth = LocalDateTime.of(2023, 6, 30, 23, 59, 59);
 
         when(hearingRecordingSegmentRepository
-                 .findByCreatedOnBetweenDatesWithHearingRecording(startOfMonth, endOfMonth))
+                 .streamReportRowsCreatedBetween(startOfMonth, endOfMonth))
             .thenThrow(new RuntimeException("Dummy error"));
 
         try {
@@ -86,7 +88,7 @@ class HearingReportServiceTest {
             assertEquals("Dummy error", exception.getMessage());
         }
         verify(hearingRecordingSegmentRepository, times(1))
-            .findByCreatedOnBetweenDatesWithHearingRecording(startOfMonth, endOfMonth);
+            .streamReportRowsCreatedBetween(startOfMonth, endOfMonth);
     }
 
     @Test
@@ -98,18 +100,19 @@ class HearingReportServiceTest {
         LocalDateTime endOfWeekDateTime = endOfWeek.atTime(23, 59, 59);
 
         when(hearingRecordingSegmentRepository
-                 .findByCreatedOnBetweenDatesWithHearingRecording(startOfWeekDateTime, endOfWeekDateTime))
+                 .streamReportRowsCreatedBetween(startOfWeekDateTime, endOfWeekDateTime))
             .thenReturn(expectedRecords);
 
-        when(hearingReportCsvWriter.writeHearingRecordingSummaryToCsv(expectedRecords))
+        when(hearingReportCsvWriter.writeHearingRecordingSummaryToZip(expectedRecords))
             .thenReturn(new File("temp"));
 
         File csvFile = hearingReportService.createWeeklyReport(reportDate);
         assertNotNull(csvFile);
+        assertTrue(closed.get());
         verify(hearingRecordingSegmentRepository, times(1))
-            .findByCreatedOnBetweenDatesWithHearingRecording(startOfWeekDateTime, endOfWeekDateTime);
+            .streamReportRowsCreatedBetween(startOfWeekDateTime, endOfWeekDateTime);
         verify(hearingReportCsvWriter, times(1))
-            .writeHearingRecordingSummaryToCsv(expectedRecords);
+            .writeHearingRecordingSummaryToZip(expectedRecords);
     }
 
     @Test
@@ -121,7 +124,7 @@ class HearingReportServiceTest {
         LocalDateTime endOfWeekDateTime = endOfWeek.atTime(23, 59, 59);
 
         when(hearingRecordingSegmentRepository
-                 .findByCreatedOnBetweenDatesWithHearingRecording(startOfWeekDateTime, endOfWeekDateTime))
+                 .streamReportRowsCreatedBetween(startOfWeekDateTime, endOfWeekDateTime))
             .thenThrow(new RuntimeException("Dummy error"));
 
         try {
@@ -130,6 +133,6 @@ class HearingReportServiceTest {
             assertEquals("Dummy error", exception.getMessage());
         }
         verify(hearingRecordingSegmentRepository, times(1))
-            .findByCreatedOnBetweenDatesWithHearingRecording(startOfWeekDateTime, endOfWeekDateTime);
+            .streamReportRowsCreatedBetween(startOfWeekDateTime, endOfWeekDateTime);
     }
 }
@@ -0,0 +1,73 @@
+package uk.gov.hmcts.reform.em.hrs.service.idam.cache;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.PlainJWT;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.idam.client.models.UserInfo;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdamUserInfoCacheTest {
+
+    private static final UserInfo USER_INFO = UserInfo.builder().sub("user@example.com").build();
+
+    private final AtomicInteger idamCalls = new AtomicInteger();
+    private final Function<String, UserInfo> loader = token -> {
+        idamCalls.incrementAndGet();
+        return USER_INFO;
+    };
+
+    private final IdamUserInfoCache underTest = new IdamUserInfoCache(true, 100, 900);
+
+    @Test
+    void shouldLoadEachTokenOnce() {
+        String token = token(Instant.now().plusSeconds(3600));
+
+        assertThat(underTest.get("Bearer " + token, loader)).isEqualTo(USER_INFO);
+        assertThat(underTest.get(token, loader)).isEqualTo(USER_INFO);
+        underTest.get(token(Instant.now().plusSeconds(1800)), loader);
+
+        assertThat(idamCalls).hasValue(2);
+    }
+
+    @Test
+    void shouldNotKeepExpiredToken() {
+        String token = token(Instant.now().minusSeconds(1));
+
+        underTest.get(token, loader);
+        underTest.get(token, loader);
+
+        assertThat(idamCalls).hasValue(2);
+    }
+
+    @Test
+    void shouldCacheTokenWithoutExpiryForMaxTtl() {
+        underTest.get("not-a-jwt", loader);
+        underTest.get("not-a-jwt", loader);
+
+        assertThat(idamCalls).hasValue(1);
+    }
+
+    @Test
+    void shouldAlwaysLoadWhenDisabled() {
+        IdamUserInfoCache disabled = new IdamUserInfoCache(false, 100, 900);
+        String token = token(Instant.now().plusSeconds(3600));
+
+        disabled.get(token, loader);
+        disabled.get(token, loader);
+
+        assertThat(idamCalls).hasValue(2);
+    }
+
+    private static String token(Instant expiresAt) {
+        return new PlainJWT(new JWTClaimsSet.Builder()
+                                .subject("user@example.com")
+                                .expirationTime(Date.from(expiresAt))
+                                .build()).serialize();
+    }
+}
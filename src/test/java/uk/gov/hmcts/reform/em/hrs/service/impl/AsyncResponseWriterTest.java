@@ -0,0 +1,138 @@
+package uk.gov.hmcts.reform.em.hrs.service.impl;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncResponseWriterTest {
+
+    @Mock
+    private HttpServletRequest request;
+    @Mock
+    private HttpServletResponse response;
+    @Mock
+    private AsyncContext asyncContext;
+
+    private final FakeOutputStream outputStream = new FakeOutputStream();
+    private final AtomicInteger completions = new AtomicInteger();
+    private final AsyncResponseWriter underTest = new AsyncResponseWriter(true, 60);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        when(request.startAsync(request, response)).thenReturn(asyncContext);
+        when(response.getOutputStream()).thenReturn(outputStream);
+    }
+
+    @Test
+    void shouldWriteWholeBodyThenCompleteRequest() throws IOException {
+        underTest.write(request, response, Flux.just(buffer("Hello "), buffer("World!")),
+                        completions::incrementAndGet);
+
+        assertThat(outputStream.written()).isEqualTo("Hello World!");
+        assertThat(completions).hasValue(1);
+        verify(asyncContext).setTimeout(60 * 60 * 1000L);
+        verify(asyncContext).complete();
+    }
+
+    @Test
+    void shouldNotRequestMoreThanContainerCanTake() throws IOException {
+        AtomicLong requested = new AtomicLong();
+        Flux<ByteBuffer> body = Flux.range(0, 3)
+            .map(i -> buffer("chunk" + i))
+            .doOnRequest(requested::addAndGet);
+        outputStream.ready = false;
+
+        underTest.write(request, response, body, completions::incrementAndGet);
+
+        assertThat(requested).hasValue(1);
+        assertThat(outputStream.written()).isEmpty();
+
+        outputStream.ready = true;
+        outputStream.listener.onWritePossible();
+
+        assertThat(outputStream.written()).isEqualTo("chunk0chunk1chunk2");
+        assertThat(completions).hasValue(1);
+        verify(asyncContext).complete();
+    }
+
+    @Test
+    void shouldRespondWithErrorWhenBlobStreamFailsBeforeAnythingIsSent() throws IOException {
+        underTest.write(request, response, Flux.error(new IllegalStateException("blob unavailable")),
+                        completions::incrementAndGet);
+
+        verify(response).reset();
+        verify(response).setStatus(500);
+        verify(asyncContext).complete();
+        assertThat(completions).hasValue(0);
+    }
+
+    @Test
+    void shouldStopWhenClientGoesAway() throws IOException {
+        outputStream.failWrites = true;
+
+        underTest.write(request, response, Flux.just(buffer("Hello")), completions::incrementAndGet);
+
+        verify(asyncContext).complete();
+        verify(response, never()).setStatus(500);
+        assertThat(completions).hasValue(0);
+    }
+
+    private static ByteBuffer buffer(String content) {
+        return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static class FakeOutputStream extends ServletOutputStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private volatile boolean ready = true;
+        private volatile boolean failWrites;
+        private WriteListener listener;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            this.listener = writeListener;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (failWrites) {
+                throw new IOException("Broken pipe");
+            }
+            bytes.write(b, off, len);
+        }
+
+        String written() {
+            return bytes.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -6,7 +6,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.em.hrs.auditlog.AuditEntryWriter;
 import uk.gov.hmcts.reform.em.hrs.auditlog.AuditLogFormatter;
+import uk.gov.hmcts.reform.em.hrs.auditlog.PlaybackAuditSessions;
 import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
 import uk.gov.hmcts.reform.em.hrs.domain.AuditEntry;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
@@ -15,24 +17,21 @@ import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegmentAuditEntry;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSharee;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingShareeAuditEntry;
-import uk.gov.hmcts.reform.em.hrs.repository.AuditEntryRepository;
 import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingAuditEntryRepository;
 import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentAuditEntryRepository;
 import uk.gov.hmcts.reform.em.hrs.repository.ShareesAuditEntryRepository;
 import uk.gov.hmcts.reform.em.hrs.service.AuditEntryService;
 import uk.gov.hmcts.reform.em.hrs.service.SecurityService;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -61,7 +60,10 @@ class AuditEntryServiceTests {
     private AuditLogFormatter auditLogFormatter;
 
     @Mock
-    private AuditEntryRepository auditEntryRepository;
+    private AuditEntryWriter auditEntryWriter;
+
+    @Mock
+    private PlaybackAuditSessions playbackAuditSessions;
 
     private HearingRecording hearingRecording;
     private HearingRecordingSegment hearingRecordingSegment;
@@ -138,76 +140,48 @@ class AuditEntryServiceTests {
     }
 
     @Test
-    void testLogsForNonEntity() {
+    void testCreateAndSaveEntryForHearingRecordingSegmentWritesBehindWhenAsync() {
         prepareMockSecurityService();
+        when(auditEntryWriter.isAsync()).thenReturn(true);
 
-        auditEntryService.logOnly(
-            1234L,
-            AuditActions.NOTIFY_OK
+        HearingRecordingSegmentAuditEntry entry = auditEntryService.createAndSaveEntry(
+            hearingRecordingSegment,
+            AuditActions.USER_DOWNLOAD_OK
         );
 
-        assertLogFormatterInvoked();
+        assertSecurityServiceValues(entry);
+        verify(auditEntryWriter, times(1)).write(entry);
+        verifyNoInteractions(hearingRecordingSegmentAuditEntryRepository);
     }
 
     @Test
-    void shouldReturnHearingRecordingSegmentAuditEntriesWithinDateRange() {
-        // given
-        var startDate = LocalDateTime.now().minusDays(30);
-        var endDate = LocalDateTime.now();
-
-        var auditEntry1 = new HearingRecordingSegmentAuditEntry();
-        var auditEntry2 = new HearingRecordingSegmentAuditEntry();
-
-        when(auditEntryRepository.findByEventDateTimeBetween(startDate, endDate))
-            .thenReturn(List.of(auditEntry1, auditEntry2));
-
-        // when
-        List<AuditEntry> result =
-            auditEntryService.listHearingRecordingAudits(startDate, endDate);
-
-        // then
-        assertEquals(2, result.size());
-        assertTrue(result.contains(auditEntry1));
-        assertTrue(result.contains(auditEntry2));
-        verify(auditEntryRepository, times(1))
-            .findByEventDateTimeBetween(startDate, endDate);
-    }
+    void testCreateAndSaveEntryForHearingRecordingSegmentJoinsPlaybackSessionWhenEnabled() {
+        prepareMockSecurityService();
+        when(playbackAuditSessions.isEnabled()).thenReturn(true);
 
-    @Test
-    void shouldReturnEmptyListWhenNoAuditEntriesFound() {
-        // given
-        var startDate = LocalDateTime.now().minusDays(30);
-        var endDate = LocalDateTime.now();
-
-        when(auditEntryRepository.findByEventDateTimeBetween(startDate, endDate))
-            .thenReturn(List.of());
-
-        // when
-        List<AuditEntry> result =
-            auditEntryService.listHearingRecordingAudits(startDate, endDate);
-
-        // then
-        assertTrue(result.isEmpty());
-        verify(auditEntryRepository, times(1))
-            .findByEventDateTimeBetween(startDate, endDate);
+        HearingRecordingSegmentAuditEntry entry = auditEntryService.createAndSaveEntry(
+            hearingRecordingSegment,
+            AuditActions.USER_DOWNLOAD_OK,
+            1024L
+        );
+
+        assertSecurityServiceValues(entry);
+        assertLogFormatterInvoked();
+        assertEquals(1024L, entry.getBytesServed());
+        verify(playbackAuditSessions, times(1)).record(entry, 1024L);
+        verifyNoInteractions(auditEntryWriter, hearingRecordingSegmentAuditEntryRepository);
     }
 
     @Test
-    void shouldThrowExceptionWhenRepositoryThrows() {
-        // given
-        var startDate = LocalDateTime.now().minusDays(30);
-        var endDate = LocalDateTime.now();
-
-        when(auditEntryRepository.findByEventDateTimeBetween(startDate, endDate))
-            .thenThrow(new RuntimeException("Database error"));
-
-        // when / then
-        assertThrows(
-            RuntimeException.class,
-            () -> auditEntryService.listHearingRecordingAudits(startDate, endDate)
+    void testLogsForNonEntity() {
+        prepareMockSecurityService();
+
+        auditEntryService.logOnly(
+            1234L,
+            AuditActions.NOTIFY_OK
         );
-        verify(auditEntryRepository, times(1))
-            .findByEventDateTimeBetween(startDate, endDate);
+
+        assertLogFormatterInvoked();
     }
 
     private void prepareMockSecurityService() {
@@ -2,138 +2,100 @@ package uk.gov.hmcts.reform.em.hrs.service.impl;
 
 
 import com.azure.core.http.rest.Response;
-import com.azure.storage.blob.BlobClient;
-import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobAsyncClient;
+import com.azure.storage.blob.BlobContainerAsyncClient;
 import com.azure.storage.blob.models.BlobStorageException;
 import com.azure.storage.blob.models.DeleteSnapshotsOptionType;
-import com.azure.storage.blob.specialized.BlockBlobClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.testcontainers.shaded.org.apache.commons.lang3.RandomStringUtils;
+import reactor.core.publisher.Mono;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
 import uk.gov.hmcts.reform.em.hrs.service.BlobStorageDeleteService;
+import uk.gov.hmcts.reform.em.hrs.storage.BlobInfoCache;
+import uk.gov.hmcts.reform.em.hrs.storage.SegmentDiskCache;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.BDDMockito.given;
-import static org.mockito.Mockito.lenient;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith({MockitoExtension.class})
 class BlobStorageDeleteServiceTest {
 
-    @Mock
-    private BlobContainerClient vhBlobContainer;
+    @Spy
+    private BlobInfoCache blobInfoCache = new BlobInfoCache(100, 10);
 
     @Mock
-    private BlobContainerClient cvpBlobContainer;
-
-    @Spy
-    @InjectMocks
-    private BlobStorageDeleteService blobStorageDeleteService;
+    private SegmentDiskCache segmentDiskCache;
 
     @Mock
-    private BlobClient blobClient;
+    private BlobContainerAsyncClient cvpBlobContainerAsync;
 
     @Mock
-    private BlockBlobClient blob;
+    private BlobContainerAsyncClient vhBlobContainerAsync;
+
+    private BlobStorageDeleteService blobStorageDeleteService;
 
     @Mock
     private Response<Void> mockResponse;
 
-    private String blobName;
-
 
     @BeforeEach
     void setUp() {
-        lenient().when(cvpBlobContainer.getBlobClient(any())).thenReturn(blobClient);
-        lenient().when(vhBlobContainer.getBlobClient(any())).thenReturn(blobClient);
-        lenient().when(blobClient.getBlockBlobClient()).thenReturn(blob);
-
-        blobName = RandomStringUtils.randomAlphanumeric(9);
-    }
-
-    @Test
-    void deleteCvpBlob() {
-        when(mockResponse.getStatusCode()).thenReturn(202);
-        given(blob.exists()).willReturn(true);
-        given(blob.deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, null))
-            .willReturn(mockResponse);
-        blobStorageDeleteService.deleteBlob(blobName, HearingSource.CVP);
-        verify(blob).deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, null);
-        verify(blobStorageDeleteService, never()).logDeletionFailure(blobName, 202);
+        blobStorageDeleteService = spy(new BlobStorageDeleteService(
+            cvpBlobContainerAsync, vhBlobContainerAsync, blobInfoCache, segmentDiskCache, 4
+        ));
     }
 
     @Test
-    void deleteVhBlob() {
+    void deleteBlobsFromBothContainers() {
+        BlobAsyncClient cvpBlob = asyncBlob(Mono.just(mockResponse));
+        BlobAsyncClient vhBlob = asyncBlob(Mono.just(mockResponse));
         when(mockResponse.getStatusCode()).thenReturn(202);
-        given(blob.exists()).willReturn(true);
-        given(blob.deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, null))
-            .willReturn(mockResponse);
-        blobStorageDeleteService.deleteBlob(blobName, HearingSource.VH);
-        verify(blob).deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, null);
-        verify(blobStorageDeleteService, never()).logDeletionFailure(blobName, 202);
+        when(cvpBlobContainerAsync.getBlobAsyncClient("cvp-1.mp4")).thenReturn(cvpBlob);
+        when(cvpBlobContainerAsync.getBlobAsyncClient("cvp-2.mp4")).thenReturn(cvpBlob);
+        when(vhBlobContainerAsync.getBlobAsyncClient("vh-1.mp4")).thenReturn(vhBlob);
+
+        var undeleted = blobStorageDeleteService.deleteBlobs(Map.of(
+            HearingSource.CVP, List.of("cvp-1.mp4", "cvp-2.mp4"),
+            HearingSource.VH, List.of("vh-1.mp4")
+        ));
+
+        assertThat(undeleted).isEmpty();
+        verify(blobInfoCache).invalidate(HearingSource.CVP, "cvp-1.mp4");
+        verify(segmentDiskCache).invalidate(HearingSource.VH, "vh-1.mp4");
     }
 
     @Test
-    void deleteBlobResponseCode404() {
-        when(mockResponse.getStatusCode()).thenReturn(404);
-        when(blob.exists()).thenReturn(true);
-        when(blob.deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, null))
-            .thenReturn(mockResponse);
-        blobStorageDeleteService.deleteBlob(blobName, HearingSource.CVP);
-        verify(blob).deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, null);
-        verify(blobStorageDeleteService, never()).logDeletionFailure(blobName, 404);
+    void deleteBlobsReturnsBlobsThatCouldNotBeDeleted() {
+        var notFound = mock(BlobStorageException.class);
+        when(notFound.getStatusCode()).thenReturn(404);
+        var conflict = mock(BlobStorageException.class);
+        when(conflict.getStatusCode()).thenReturn(409);
+        BlobAsyncClient goneBlob = asyncBlob(Mono.error(notFound));
+        BlobAsyncClient leasedBlob = asyncBlob(Mono.error(conflict));
+        when(cvpBlobContainerAsync.getBlobAsyncClient("gone.mp4")).thenReturn(goneBlob);
+        when(cvpBlobContainerAsync.getBlobAsyncClient("leased.mp4")).thenReturn(leasedBlob);
+
+        var undeleted = blobStorageDeleteService.deleteBlobs(Map.of(
+            HearingSource.CVP, List.of("gone.mp4", "leased.mp4")
+        ));
+
+        assertThat(undeleted).containsExactly("leased.mp4");
+        verify(blobStorageDeleteService).logDeletionFailure("leased.mp4", 409);
     }
 
-    @Test
-    void deleteBlobResponseCodeNot202or404() {
-        when(mockResponse.getStatusCode()).thenReturn(409);
-        when(blob.exists()).thenReturn(true);
-        when(blob.deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, null))
-            .thenReturn(mockResponse);
-        blobStorageDeleteService.deleteBlob(blobName, HearingSource.CVP);
-        verify(blob).deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, null);
-        verify(blobStorageDeleteService).logDeletionFailure(blobName, 409);
+    private static BlobAsyncClient asyncBlob(Mono<Response<Void>> deletion) {
+        BlobAsyncClient blobAsyncClient = mock(BlobAsyncClient.class);
+        when(blobAsyncClient.deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null)).thenReturn(deletion);
+        return blobAsyncClient;
     }
-
-    @Test
-    void deleteBlobException() {
-        var blobStorageException = mock(BlobStorageException.class);
-        when(blob.exists()).thenReturn(true);
-        when(blobStorageException.getStatusCode()).thenReturn(409);
-        when(blob.deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, null))
-            .thenThrow(blobStorageException);
-        blobStorageDeleteService.deleteBlob(blobName, HearingSource.CVP);
-        verify(blob).deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, null);
-        verify(blobStorageDeleteService).logDeletionFailure(blobName, 409);
-    }
-
-    @Test
-    void deleteBlob404Exception() {
-        var blobStorageException = mock(BlobStorageException.class);
-        when(blob.exists()).thenReturn(true);
-        when(blobStorageException.getStatusCode()).thenReturn(404);
-        when(blob.deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, null))
-            .thenThrow(blobStorageException);
-        blobStorageDeleteService.deleteBlob(blobName, HearingSource.CVP);
-        verify(blob).deleteWithResponse(DeleteSnapshotsOptionType.INCLUDE, null, null, null);
-        verify(blobStorageDeleteService, never()).logDeletionFailure(blobName, 404);
-    }
-
-    @Test
-    void deleteBlobNotExists() {
-        when(blob.exists()).thenReturn(false);
-        blobStorageDeleteService.deleteBlob(blobName, HearingSource.CVP);
-        verify(blob, never()).deleteWithResponse(any(), any(), any(), any());
-    }
-
 }
-
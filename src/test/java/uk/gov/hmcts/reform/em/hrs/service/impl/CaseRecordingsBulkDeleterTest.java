@@ -0,0 +1,178 @@
+package uk.gov.hmcts.reform.em.hrs.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.em.hrs.dto.CaseRecordingDeletionDto;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingAuditEntryRepository;
+import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingRepository;
+import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentAuditEntryRepository;
+import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentRepository;
+import uk.gov.hmcts.reform.em.hrs.repository.ShareesAuditEntryRepository;
+import uk.gov.hmcts.reform.em.hrs.repository.ShareesRepository;
+import uk.gov.hmcts.reform.em.hrs.service.BlobStorageDeleteService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CaseRecordingsBulkDeleterTest {
+
+    private static final Long CASE_1 = 1111L;
+    private static final Long CASE_2 = 2222L;
+
+    @Mock
+    private HearingRecordingRepository hearingRecordingRepository;
+    @Mock
+    private HearingRecordingSegmentRepository hearingRecordingSegmentRepository;
+    @Mock
+    private ShareesRepository shareesRepository;
+    @Mock
+    private HearingRecordingAuditEntryRepository hearingRecordingAuditEntryRepository;
+    @Mock
+    private HearingRecordingSegmentAuditEntryRepository hearingRecordingSegmentAuditEntryRepository;
+    @Mock
+    private ShareesAuditEntryRepository shareesAuditEntryRepository;
+    @Mock
+    private BlobStorageDeleteService blobStorageDeleteService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID recording1 = UUID.randomUUID();
+    private final UUID recording2 = UUID.randomUUID();
+
+    private CaseRecordingsBulkDeleter underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CaseRecordingsBulkDeleter(
+            hearingRecordingRepository,
+            hearingRecordingSegmentRepository,
+            shareesRepository,
+            hearingRecordingAuditEntryRepository,
+            hearingRecordingSegmentAuditEntryRepository,
+            shareesAuditEntryRepository,
+            blobStorageDeleteService,
+            transactionManager,
+            100
+        );
+    }
+
+    @Test
+    void shouldDeleteAllCasesWithOneQueryAndOneStatementPerTable() {
+        UUID shareeId = UUID.randomUUID();
+        List<Long> ccdCaseIds = List.of(CASE_1, CASE_2);
+        when(hearingRecordingRepository.findRecordingsAndSegmentsByCcdCaseIds(ccdCaseIds)).thenReturn(List.of(
+            segment(CASE_1, recording1, "CVP", "case-1-1.mp4"),
+            segment(CASE_1, recording1, "CVP", "case-1-2.mp4"),
+            segment(CASE_2, recording2, "VH", "case-2-1.mp4")
+        ));
+        when(blobStorageDeleteService.deleteBlobs(Map.of(
+            HearingSource.CVP, List.of("case-1-1.mp4", "case-1-2.mp4"),
+            HearingSource.VH, List.of("case-2-1.mp4")
+        ))).thenReturn(Set.of());
+        when(shareesRepository.findAllByHearingRecordingIds(List.of(recording1, recording2)))
+            .thenReturn(List.of(shareeId));
+
+        CaseRecordingsBulkDeleter.Result result = underTest.delete(ccdCaseIds);
+
+        assertThat(result.deletedCaseIds()).containsExactly(CASE_1, CASE_2);
+        assertThat(result.failedCaseIds()).isEmpty();
+        List<UUID> recordingIds = List.of(recording1, recording2);
+        verify(hearingRecordingSegmentAuditEntryRepository).deleteByHearingRecordingIds(recordingIds);
+        verify(hearingRecordingSegmentRepository).deleteByHearingRecordingIds(recordingIds);
+        verify(shareesAuditEntryRepository).deleteByHearingRecordingShareeIds(List.of(shareeId));
+        verify(shareesRepository).deleteByHearingRecordingIds(recordingIds);
+        verify(hearingRecordingAuditEntryRepository).deleteByHearingRecordingIds(recordingIds);
+        verify(hearingRecordingRepository).deleteByHearingRecordingIds(recordingIds);
+    }
+
+    @Test
+    void shouldKeepCaseWithBlobThatCouldNotBeDeleted() {
+        List<Long> ccdCaseIds = List.of(CASE_1, CASE_2);
+        when(hearingRecordingRepository.findRecordingsAndSegmentsByCcdCaseIds(ccdCaseIds)).thenReturn(List.of(
+            segment(CASE_1, recording1, "CVP", "case-1-1.mp4"),
+            segment(CASE_2, recording2, "CVP", "case-2-1.mp4")
+        ));
+        when(blobStorageDeleteService.deleteBlobs(any())).thenReturn(Set.of("case-1-1.mp4"));
+
+        CaseRecordingsBulkDeleter.Result result = underTest.delete(ccdCaseIds);
+
+        assertThat(result.deletedCaseIds()).containsExactly(CASE_2);
+        assertThat(result.failedCaseIds()).containsExactly(CASE_1);
+        verify(hearingRecordingRepository).deleteByHearingRecordingIds(List.of(recording2));
+    }
+
+    @Test
+    void shouldDeleteRecordingWithoutSegmentsAndNotLookUpBlobsOfUnknownSource() {
+        List<Long> ccdCaseIds = List.of(CASE_1, CASE_2);
+        when(hearingRecordingRepository.findRecordingsAndSegmentsByCcdCaseIds(ccdCaseIds)).thenReturn(List.of(
+            new CaseRecordingDeletionDto(CASE_1, recording1, "CVP", null, null),
+            segment(CASE_2, recording2, "UNKNOWN", "case-2-1.mp4")
+        ));
+        when(blobStorageDeleteService.deleteBlobs(Map.of())).thenReturn(Set.of());
+
+        CaseRecordingsBulkDeleter.Result result = underTest.delete(ccdCaseIds);
+
+        assertThat(result.deletedCaseIds()).containsExactly(CASE_1);
+        assertThat(result.failedCaseIds()).containsExactly(CASE_2);
+        verify(hearingRecordingRepository).deleteByHearingRecordingIds(List.of(recording1));
+        verify(shareesAuditEntryRepository, never()).deleteByHearingRecordingShareeIds(any());
+    }
+
+    @Test
+    void shouldReportCasesWhoseRowsCouldNotBeDeleted() {
+        List<Long> ccdCaseIds = List.of(CASE_1);
+        when(hearingRecordingRepository.findRecordingsAndSegmentsByCcdCaseIds(ccdCaseIds)).thenReturn(List.of(
+            segment(CASE_1, recording1, "CVP", "case-1-1.mp4")
+        ));
+        when(blobStorageDeleteService.deleteBlobs(any())).thenReturn(Set.of());
+        doThrow(new IllegalStateException("database down"))
+            .when(hearingRecordingSegmentAuditEntryRepository).deleteByHearingRecordingIds(List.of(recording1));
+
+        CaseRecordingsBulkDeleter.Result result = underTest.delete(ccdCaseIds);
+
+        assertThat(result.deletedCaseIds()).isEmpty();
+        assertThat(result.failedCaseIds()).containsExactly(CASE_1);
+        verify(hearingRecordingRepository, never()).deleteByHearingRecordingIds(any());
+    }
+
+    @Test
+    void shouldLookUpCasesInChunks() {
+        underTest = new CaseRecordingsBulkDeleter(
+            hearingRecordingRepository,
+            hearingRecordingSegmentRepository,
+            shareesRepository,
+            hearingRecordingAuditEntryRepository,
+            hearingRecordingSegmentAuditEntryRepository,
+            shareesAuditEntryRepository,
+            blobStorageDeleteService,
+            transactionManager,
+            2
+        );
+
+        underTest.delete(List.of(1L, 2L, 3L, 2L));
+
+        verify(hearingRecordingRepository).findRecordingsAndSegmentsByCcdCaseIds(List.of(1L, 2L));
+        verify(hearingRecordingRepository).findRecordingsAndSegmentsByCcdCaseIds(List.of(3L));
+        verifyNoInteractions(blobStorageDeleteService, transactionManager);
+    }
+
+    private static CaseRecordingDeletionDto segment(Long ccdCaseId, UUID recordingId, String source, String filename) {
+        return new CaseRecordingDeletionDto(ccdCaseId, recordingId, source, UUID.randomUUID(), filename);
+    }
+}
@@ -0,0 +1,63 @@
+package uk.gov.hmcts.reform.em.hrs.service.impl;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.em.hrs.service.SecurityService;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DownloadRedirectPolicyTest {
+
+    private static final String REDIRECTED_SERVICE = "em_gw";
+
+    @Mock
+    private SecurityService securityService;
+    @Mock
+    private HttpServletRequest request;
+
+    @Test
+    void shouldNotRedirectWhenDisabled() {
+        DownloadRedirectPolicy underTest = policy(false);
+
+        assertThat(underTest.shouldRedirect(request)).isFalse();
+        verifyNoInteractions(securityService, request);
+    }
+
+    @Test
+    void shouldRedirectCallerThatAsksForIt() {
+        when(request.getHeader(DownloadRedirectPolicy.DOWNLOAD_MODE_HEADER)).thenReturn("Redirect");
+
+        assertThat(policy(true).shouldRedirect(request)).isTrue();
+        verifyNoInteractions(securityService);
+    }
+
+    @Test
+    void shouldRedirectConfiguredService() {
+        when(securityService.getCurrentlyAuthenticatedServiceName()).thenReturn(REDIRECTED_SERVICE);
+
+        assertThat(policy(true).shouldRedirect(request)).isTrue();
+    }
+
+    @Test
+    void shouldStreamForOtherServices() {
+        when(securityService.getCurrentlyAuthenticatedServiceName()).thenReturn("xui_webapp");
+
+        DownloadRedirectPolicy underTest = policy(true);
+
+        assertThat(underTest.shouldRedirect(request)).isFalse();
+        assertThat(underTest.getUrlValidity()).isEqualTo(Duration.ofSeconds(300));
+    }
+
+    private DownloadRedirectPolicy policy(boolean enabled) {
+        return new DownloadRedirectPolicy(securityService, enabled, List.of(REDIRECTED_SERVICE), 300);
+    }
+}
@@ -1,31 +1,34 @@
 package uk.gov.hmcts.reform.em.hrs.service.impl;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.em.hrs.domain.Folder;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
 import uk.gov.hmcts.reform.em.hrs.domain.JobInProgress;
+import uk.gov.hmcts.reform.em.hrs.dto.FolderListing;
+import uk.gov.hmcts.reform.em.hrs.dto.FolderSegmentSummary;
 import uk.gov.hmcts.reform.em.hrs.exception.DatabaseStorageException;
 import uk.gov.hmcts.reform.em.hrs.repository.FolderRepository;
 import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentRepository;
-import uk.gov.hmcts.reform.em.hrs.service.impl.FolderServiceImpl.FilesInDatabase;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -36,6 +39,8 @@ class FolderServiceImplTest {
     private static final String SEGMENT_FILE_1 = "segment-1.mp4";
     private static final String SEGMENT_FILE_2 = "segment-2.mp4";
     private static final String JOB_FILE_1 = "job-1.mp4";
+    private static final long SINCE_OVERLAP_IN_SECONDS = 60;
+    private static final LocalDateTime LATEST_CREATED_ON = LocalDateTime.of(2026, 10, 1, 12, 0);
 
     @Mock
     private FolderRepository folderRepository;
@@ -43,9 +48,20 @@ class FolderServiceImplTest {
     @Mock
     private HearingRecordingSegmentRepository hearingRecordingSegmentRepository;
 
-    @InjectMocks
+    private final JobInProgressBuffer jobInProgressBuffer = new JobInProgressBuffer();
+
     private FolderServiceImpl folderService;
 
+    @BeforeEach
+    void setUp() {
+        folderService = new FolderServiceImpl(
+            folderRepository,
+            hearingRecordingSegmentRepository,
+            jobInProgressBuffer,
+            SINCE_OVERLAP_IN_SECONDS
+        );
+    }
+
     @Nested
     @DisplayName("getStoredFiles")
     class GetStoredFiles {
@@ -54,84 +70,136 @@ class FolderServiceImplTest {
         void getStoredFilesWhenFolderDoesNotExistShouldCreateNewFolderAndReturnEmptySet() {
             when(folderRepository.findByName(TEST_FOLDER_NAME)).thenReturn(Optional.empty());
 
-            Set<String> result = folderService.getStoredFiles(TEST_FOLDER_NAME);
+            FolderListing result = folderService.getStoredFiles(TEST_FOLDER_NAME, null, Set.of());
 
-            assertThat(result).isEmpty();
+            assertThat(result.filenames()).isEmpty();
+            assertThat(result.version()).isNotBlank();
 
             ArgumentCaptor<Folder> folderCaptor = ArgumentCaptor.forClass(Folder.class);
             verify(folderRepository).save(folderCaptor.capture());
 
             Folder savedFolder = folderCaptor.getValue();
             assertThat(savedFolder.getName()).isEqualTo(TEST_FOLDER_NAME);
-            verify(hearingRecordingSegmentRepository, never()).findByHearingRecordingFolderName(any());
+            verify(hearingRecordingSegmentRepository, never()).findFilenamesByFolderName(any());
         }
 
         @Test
         void getStoredFilesWhenFolderExistsWithSegmentsAndJobsShouldReturnCombinedSet() {
-            JobInProgress job = new JobInProgress();
-            job.setFilename(JOB_FILE_1);
-
-            Folder existingFolder = Folder.builder()
-                .name(TEST_FOLDER_NAME)
-                .jobsInProgress(List.of(job))
-                .build();
+            givenFolder(JOB_FILE_1);
+            givenSummary(2, LATEST_CREATED_ON);
+            when(hearingRecordingSegmentRepository.findFilenamesByFolderName(TEST_FOLDER_NAME))
+                .thenReturn(Set.of(SEGMENT_FILE_1, SEGMENT_FILE_2));
 
-            HearingRecordingSegment segment1 = new HearingRecordingSegment();
-            segment1.setFilename(SEGMENT_FILE_1);
-            HearingRecordingSegment segment2 = new HearingRecordingSegment();
-            segment2.setFilename(SEGMENT_FILE_2);
+            FolderListing result = folderService.getStoredFiles(TEST_FOLDER_NAME, null, Set.of());
 
-            when(folderRepository.findByName(TEST_FOLDER_NAME)).thenReturn(Optional.of(existingFolder));
-            when(hearingRecordingSegmentRepository.findByHearingRecordingFolderName(TEST_FOLDER_NAME))
-                .thenReturn(Set.of(segment1, segment2));
-
-            Set<String> result = folderService.getStoredFiles(TEST_FOLDER_NAME);
-
-            assertThat(result)
+            assertThat(result.filenames())
                 .hasSize(3)
                 .containsExactlyInAnyOrder(SEGMENT_FILE_1, SEGMENT_FILE_2, JOB_FILE_1);
+            assertThat(result.cursor()).isEqualTo(LATEST_CREATED_ON);
         }
 
         @Test
         void getStoredFilesWhenFolderExistsButIsEmptyShouldReturnEmptySet() {
-            Folder existingFolder = Folder.builder()
-                .name(TEST_FOLDER_NAME)
-                .jobsInProgress(Collections.emptyList())
-                .build();
-
-            when(folderRepository.findByName(TEST_FOLDER_NAME)).thenReturn(Optional.of(existingFolder));
-            when(hearingRecordingSegmentRepository.findByHearingRecordingFolderName(TEST_FOLDER_NAME))
+            givenFolder();
+            givenSummary(0, null);
+            when(hearingRecordingSegmentRepository.findFilenamesByFolderName(TEST_FOLDER_NAME))
                 .thenReturn(Collections.emptySet());
 
-            Set<String> result = folderService.getStoredFiles(TEST_FOLDER_NAME);
+            FolderListing result = folderService.getStoredFiles(TEST_FOLDER_NAME, null, Set.of());
 
-            assertThat(result).isEmpty();
+            assertThat(result.filenames()).isEmpty();
+            assertThat(result.cursor()).isNull();
         }
 
         @Test
         void getStoredFilesWhenFilesOverlapBetweenSegmentsAndJobsShouldReturnUniqueSet() {
             String duplicateFile = "duplicate.mp4";
+            givenFolder(duplicateFile);
+            givenSummary(1, LATEST_CREATED_ON);
+            when(hearingRecordingSegmentRepository.findFilenamesByFolderName(TEST_FOLDER_NAME))
+                .thenReturn(Set.of(duplicateFile));
 
-            JobInProgress job = new JobInProgress();
-            job.setFilename(duplicateFile);
+            FolderListing result = folderService.getStoredFiles(TEST_FOLDER_NAME, null, Set.of());
 
+            assertThat(result.filenames())
+                .hasSize(1)
+                .containsExactly(duplicateFile);
+        }
+
+        @Test
+        void getStoredFilesWhenVersionIsKnownShouldNotReadFilenames() {
+            givenFolder(JOB_FILE_1);
+            givenSummary(2, LATEST_CREATED_ON);
+            when(hearingRecordingSegmentRepository.findFilenamesByFolderName(TEST_FOLDER_NAME))
+                .thenReturn(Set.of(SEGMENT_FILE_1, SEGMENT_FILE_2));
+            String version = folderService.getStoredFiles(TEST_FOLDER_NAME, null, Set.of()).version();
+
+            FolderListing result = folderService.getStoredFiles(TEST_FOLDER_NAME, null, Set.of(version));
+
+            assertThat(result.isUnchanged()).isTrue();
+            assertThat(result.version()).isEqualTo(version);
+            verify(hearingRecordingSegmentRepository, times(1)).findFilenamesByFolderName(TEST_FOLDER_NAME);
+        }
+
+        @Test
+        void getStoredFilesShouldChangeVersionWhenSegmentsOrJobsChange() {
+            givenFolder(JOB_FILE_1);
+            givenSummary(2, LATEST_CREATED_ON);
+            String version = folderService.getStoredFiles(TEST_FOLDER_NAME, null, Set.of()).version();
+
+            givenSummary(3, LATEST_CREATED_ON.plusSeconds(1));
+            String afterNewSegment = folderService.getStoredFiles(TEST_FOLDER_NAME, null, Set.of(version)).version();
+            jobInProgressBuffer.deRegister(TEST_FOLDER_NAME, JOB_FILE_1);
+            String afterJobFinished =
+                folderService.getStoredFiles(TEST_FOLDER_NAME, null, Set.of(afterNewSegment)).version();
+
+            assertThat(Set.of(version, afterNewSegment, afterJobFinished)).hasSize(3);
+        }
+
+        @Test
+        void getStoredFilesSinceCursorShouldOnlyReadSegmentsCreatedAfterItLessOverlap() {
+            LocalDateTime since = LATEST_CREATED_ON.minusHours(1);
+            givenFolder(JOB_FILE_1);
+            givenSummary(2, LATEST_CREATED_ON);
+            when(hearingRecordingSegmentRepository.findFilenamesByFolderNameCreatedAfter(
+                TEST_FOLDER_NAME, since.minusSeconds(SINCE_OVERLAP_IN_SECONDS)))
+                .thenReturn(Set.of(SEGMENT_FILE_2));
+
+            FolderListing result = folderService.getStoredFiles(TEST_FOLDER_NAME, since, Set.of());
+
+            assertThat(result.filenames()).containsExactlyInAnyOrder(SEGMENT_FILE_2, JOB_FILE_1);
+            assertThat(result.cursor()).isEqualTo(LATEST_CREATED_ON);
+            verify(hearingRecordingSegmentRepository, never()).findFilenamesByFolderName(any());
+        }
+
+        @Test
+        void getStoredFilesShouldIncludeBufferedJobsInProgress() {
+            givenFolder(JOB_FILE_1);
+            givenSummary(0, null);
+            when(hearingRecordingSegmentRepository.findFilenamesByFolderName(TEST_FOLDER_NAME))
+                .thenReturn(Collections.emptySet());
+            jobInProgressBuffer.register(TEST_FOLDER_NAME, UUID.randomUUID(), SEGMENT_FILE_1);
+            jobInProgressBuffer.deRegister(TEST_FOLDER_NAME, JOB_FILE_1);
+
+            FolderListing result = folderService.getStoredFiles(TEST_FOLDER_NAME, null, Set.of());
+
+            assertThat(result.filenames()).containsExactly(SEGMENT_FILE_1);
+        }
+
+        private void givenFolder(String... filesInProgress) {
+            List<JobInProgress> jobs = Stream.of(filesInProgress)
+                .map(filename -> JobInProgress.builder().filename(filename).build())
+                .toList();
             Folder existingFolder = Folder.builder()
                 .name(TEST_FOLDER_NAME)
-                .jobsInProgress(List.of(job))
+                .jobsInProgress(jobs)
                 .build();
-
-            HearingRecordingSegment segment = new HearingRecordingSegment();
-            segment.setFilename(duplicateFile);
-
             when(folderRepository.findByName(TEST_FOLDER_NAME)).thenReturn(Optional.of(existingFolder));
-            when(hearingRecordingSegmentRepository.findByHearingRecordingFolderName(TEST_FOLDER_NAME))
-                .thenReturn(Set.of(segment));
-
-            Set<String> result = folderService.getStoredFiles(TEST_FOLDER_NAME);
+        }
 
-            assertThat(result)
-                .hasSize(1)
-                .containsExactly(duplicateFile);
+        private void givenSummary(long segmentCount, LocalDateTime latestCreatedOn) {
+            when(hearingRecordingSegmentRepository.summariseFolder(TEST_FOLDER_NAME))
+                .thenReturn(new FolderSegmentSummary(segmentCount, latestCreatedOn));
         }
     }
 
@@ -161,31 +229,4 @@ class FolderServiceImplTest {
                 .hasMessage("Folders must explicitly exist, based on GET /folders/(foldername) creating them");
         }
     }
-
-    @Nested
-    @DisplayName("FilesInDatabase")
-    class FilesInDatabaseTest {
-
-        @Test
-        void intersectShouldReturnIntersectionOfTwoSets() {
-            Set<String> databaseFiles = Set.of("A", "B", "C");
-            FilesInDatabase filesInDatabase = new FilesInDatabase(databaseFiles);
-            Set<String> blobstoreFiles = Set.of("B", "C", "D");
-
-            Set<String> result = filesInDatabase.intersect(blobstoreFiles);
-
-            assertThat(result)
-                .containsExactlyInAnyOrder("B", "C")
-                .doesNotContain("A", "D");
-        }
-
-        @Test
-        void intersectShouldReturnEmptyIfNoOverlapExists() {
-            FilesInDatabase filesInDatabase = new FilesInDatabase(Set.of("A"));
-
-            Set<String> result = filesInDatabase.intersect(Set.of("B"));
-
-            assertThat(result).isEmpty();
-        }
-    }
 }
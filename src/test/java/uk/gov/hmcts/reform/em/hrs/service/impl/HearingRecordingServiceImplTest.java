@@ -10,31 +10,20 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.em.hrs.domain.Folder;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
-import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDeletionDto;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
 import uk.gov.hmcts.reform.em.hrs.exception.CcdUploadException;
-import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingAuditEntryRepository;
 import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingRepository;
-import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentAuditEntryRepository;
-import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentRepository;
-import uk.gov.hmcts.reform.em.hrs.repository.ShareesAuditEntryRepository;
-import uk.gov.hmcts.reform.em.hrs.repository.ShareesRepository;
-import uk.gov.hmcts.reform.em.hrs.service.BlobStorageDeleteService;
 import uk.gov.hmcts.reform.em.hrs.service.FolderService;
 
 import java.sql.SQLException;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,19 +32,9 @@ class HearingRecordingServiceImplTest {
     @Mock
     private HearingRecordingRepository hearingRecordingRepository;
     @Mock
-    private HearingRecordingSegmentRepository hearingRecordingSegmentRepository;
-    @Mock
-    private ShareesRepository shareesRepository;
-    @Mock
-    private HearingRecordingAuditEntryRepository hearingRecordingAuditEntryRepository;
-    @Mock
-    private HearingRecordingSegmentAuditEntryRepository hearingRecordingSegmentAuditEntryRepository;
-    @Mock
-    private ShareesAuditEntryRepository shareesAuditEntryRepository;
-    @Mock
     private FolderService folderService;
     @Mock
-    private BlobStorageDeleteService blobStorageDeleteService;
+    private CaseRecordingsBulkDeleter caseRecordingsBulkDeleter;
 
     @InjectMocks
     private HearingRecordingServiceImpl hearingRecordingService;
@@ -65,64 +44,23 @@ class HearingRecordingServiceImplTest {
     class DeleteCaseHearingRecordings {
 
         @Test
-        void deleteCaseHearingRecordingsWhenNoRecordingsFoundShouldDoNothing() {
-            List<Long> ccdCaseIds = List.of(12345L);
-            when(hearingRecordingRepository.findHearingRecordingIdsAndSourceByCcdCaseIds(ccdCaseIds))
-                .thenReturn(Collections.emptyList());
-
-            hearingRecordingService.deleteCaseHearingRecordings(ccdCaseIds);
-
-            verify(hearingRecordingSegmentRepository, never()).findFilenamesByHearingRecordingId(any());
-            verifyNoInteractions(blobStorageDeleteService);
-            verifyNoInteractions(shareesRepository);
-        }
-
-        @Test
-        void deleteCaseHearingRecordingsWhenRecordingsFoundShouldDeleteAllAssociatedData() {
-            List<Long> ccdCaseIds = List.of(12345L);
-            UUID recordingId = UUID.randomUUID();
-            UUID segmentId = UUID.randomUUID();
-            UUID shareeId = UUID.randomUUID();
-            String filename = "recording.mp4";
-            String source = "CVP";
-
-            HearingRecordingDeletionDto recordingDto = new HearingRecordingDeletionDto(
-                recordingId, null, null, source, null
-            );
-
-            HearingRecordingDeletionDto segmentDto = new HearingRecordingDeletionDto(
-                recordingId, segmentId, null, source, filename
-            );
-
-            when(hearingRecordingRepository.findHearingRecordingIdsAndSourceByCcdCaseIds(ccdCaseIds))
-                .thenReturn(List.of(recordingDto));
-
-            when(hearingRecordingSegmentRepository.findFilenamesByHearingRecordingId(recordingId))
-                .thenReturn(List.of(segmentDto));
-
-            when(shareesRepository.findAllByHearingRecordingIds(List.of(recordingId)))
-                .thenReturn(List.of(shareeId));
+        void deleteCaseHearingRecordingsShouldDeleteInBulk() {
+            List<Long> ccdCaseIds = List.of(12345L, 67890L);
 
             hearingRecordingService.deleteCaseHearingRecordings(ccdCaseIds);
 
-            verify(blobStorageDeleteService).deleteBlob(filename, HearingSource.CVP);
-            verify(hearingRecordingSegmentAuditEntryRepository).deleteByHearingRecordingSegmentId(segmentId);
-            verify(hearingRecordingSegmentRepository).deleteById(segmentId);
-            verify(shareesAuditEntryRepository).deleteByHearingRecordingShareeIds(List.of(shareeId));
-            verify(shareesRepository).deleteByHearingRecordingIds(List.of(recordingId));
-            verify(hearingRecordingAuditEntryRepository).deleteByHearingRecordingIds(List.of(recordingId));
-            verify(hearingRecordingRepository).deleteByHearingRecordingIds(List.of(recordingId));
+            verify(caseRecordingsBulkDeleter).delete(ccdCaseIds);
         }
 
         @Test
         void deleteCaseHearingRecordingsWhenExceptionOccursShouldCatchAndLogWithoutThrowing() {
             List<Long> ccdCaseIds = List.of(12345L);
-            when(hearingRecordingRepository.findHearingRecordingIdsAndSourceByCcdCaseIds(ccdCaseIds))
+            when(caseRecordingsBulkDeleter.delete(ccdCaseIds))
                 .thenThrow(new RuntimeException("Database down"));
 
             hearingRecordingService.deleteCaseHearingRecordings(ccdCaseIds);
 
-            verifyNoInteractions(blobStorageDeleteService);
+            verify(caseRecordingsBulkDeleter).delete(ccdCaseIds);
         }
     }
 
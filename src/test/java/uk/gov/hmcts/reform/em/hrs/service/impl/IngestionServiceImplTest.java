@@ -8,7 +8,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
 import uk.gov.hmcts.reform.em.hrs.storage.HearingRecordingStorage;
 
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class IngestionServiceImplTest {
@@ -28,4 +32,14 @@ class IngestionServiceImplTest {
 
         verify(hearingRecordingStorage).copyRecording(hearingRecordingDto);
     }
+
+    @Test
+    void testShouldStartAsyncCopyToAzureStorage() {
+        when(hearingRecordingStorage.copyRecordingAsync(hearingRecordingDto))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(sutIngestionService.ingestAsync(hearingRecordingDto)).isCompleted();
+
+        verify(hearingRecordingStorage).copyRecordingAsync(hearingRecordingDto);
+    }
 }
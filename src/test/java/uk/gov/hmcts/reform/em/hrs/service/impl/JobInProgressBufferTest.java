@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.em.hrs.service.impl;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.em.hrs.service.impl.JobInProgressBuffer.FileKey;
+import uk.gov.hmcts.reform.em.hrs.service.impl.JobInProgressBuffer.PendingChange;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobInProgressBufferTest {
+
+    private static final String FOLDER = "folder";
+    private static final String OTHER_FOLDER = "other-folder";
+    private static final UUID FOLDER_ID = UUID.randomUUID();
+
+    private final JobInProgressBuffer underTest = new JobInProgressBuffer();
+
+    @Test
+    void overlayShouldReturnPersistedFilesWhenNothingBuffered() {
+        Set<String> persisted = Set.of("a.mp4");
+
+        assertThat(underTest.overlay(FOLDER, persisted)).isSameAs(persisted);
+    }
+
+    @Test
+    void overlayShouldApplyChangesForRequestedFolderOnly() {
+        underTest.register(FOLDER, FOLDER_ID, "new.mp4");
+        underTest.register(OTHER_FOLDER, UUID.randomUUID(), "elsewhere.mp4");
+        underTest.deRegister(FOLDER, "done.mp4");
+
+        assertThat(underTest.overlay(FOLDER, Set.of("done.mp4", "running.mp4")))
+            .containsExactlyInAnyOrder("new.mp4", "running.mp4");
+    }
+
+    @Test
+    void shouldKeepOnlyLatestChangeForAFile() {
+        underTest.register(FOLDER, FOLDER_ID, "a.mp4");
+        underTest.deRegister(FOLDER, "a.mp4");
+
+        assertThat(underTest.size()).isOne();
+        assertThat(underTest.overlay(FOLDER, Set.of())).isEmpty();
+    }
+
+    @Test
+    void changesBeingFlushedShouldStayVisibleUntilFlushCompletes() {
+        underTest.register(FOLDER, FOLDER_ID, "a.mp4");
+
+        Map<FileKey, PendingChange> flushing = underTest.startFlush();
+
+        assertThat(flushing).containsOnlyKeys(new FileKey(FOLDER, "a.mp4"));
+        assertThat(underTest.size()).isZero();
+        assertThat(underTest.overlay(FOLDER, Set.of())).containsExactly("a.mp4");
+
+        underTest.completeFlush();
+
+        assertThat(underTest.overlay(FOLDER, Set.of())).isEmpty();
+    }
+
+    @Test
+    void changeMadeDuringFlushShouldWinOverChangeBeingFlushed() {
+        underTest.register(FOLDER, FOLDER_ID, "a.mp4");
+        underTest.startFlush();
+
+        underTest.deRegister(FOLDER, "a.mp4");
+
+        assertThat(underTest.overlay(FOLDER, Set.of())).isEmpty();
+        assertThat(underTest.size()).isOne();
+    }
+}
@@ -1,30 +1,37 @@
 package uk.gov.hmcts.reform.em.hrs.service.impl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import uk.gov.hmcts.reform.em.hrs.domain.Folder;
-import uk.gov.hmcts.reform.em.hrs.domain.JobInProgress;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
 import uk.gov.hmcts.reform.em.hrs.exception.DatabaseStorageException;
+import uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics;
 import uk.gov.hmcts.reform.em.hrs.repository.FolderRepository;
-import uk.gov.hmcts.reform.em.hrs.repository.JobInProgressRepository;
 
-import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,55 +39,83 @@ class JobInProgressServiceImplTest {
 
     private static final String TEST_FILENAME = "test-file.mp4";
     private static final String TEST_FOLDER_NAME = "test-folder";
+    private static final UUID TEST_FOLDER_ID = UUID.randomUUID();
+    private static final int FLUSH_THRESHOLD = 3;
 
     @Mock
-    private JobInProgressRepository jobInProgressRepository;
+    private FolderRepository folderRepository;
 
     @Mock
-    private FolderRepository folderRepository;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private JobInProgressBuffer jobInProgressBuffer;
 
-    @InjectMocks
     private JobInProgressServiceImpl jobInProgressService;
 
+    @BeforeEach
+    void setUp() {
+        jobInProgressBuffer = new JobInProgressBuffer();
+        jobInProgressService = new JobInProgressServiceImpl(
+            folderRepository,
+            jdbcTemplate,
+            jobInProgressBuffer,
+            new IngestionMetrics(new SimpleMeterRegistry()),
+            FLUSH_THRESHOLD
+        );
+    }
+
     @Nested
     @DisplayName("register")
     class Register {
 
         @Test
-        void registerWhenFolderExistsShouldSaveJobInProgress() throws DatabaseStorageException {
-            HearingRecordingDto hrDto = HearingRecordingDto.builder()
-                .filename(TEST_FILENAME)
-                .folder(TEST_FOLDER_NAME)
-                .build();
+        void registerWhenFolderExistsShouldBufferJobWithoutWritingIt() throws DatabaseStorageException {
+            givenFolderExists();
+
+            jobInProgressService.register(dto(TEST_FILENAME));
 
-            Folder folder = Folder.builder().name(TEST_FOLDER_NAME).build();
-            when(folderRepository.findByName(TEST_FOLDER_NAME)).thenReturn(Optional.of(folder));
+            assertThat(jobInProgressBuffer.overlay(TEST_FOLDER_NAME, Set.of())).containsExactly(TEST_FILENAME);
+            verifyNoInteractions(jdbcTemplate);
+        }
 
-            jobInProgressService.register(hrDto);
+        @Test
+        void registerShouldLookUpEachFolderOnlyOnce() {
+            givenFolderExists();
 
-            ArgumentCaptor<JobInProgress> jobCaptor = ArgumentCaptor.forClass(JobInProgress.class);
-            verify(jobInProgressRepository).save(jobCaptor.capture());
+            jobInProgressService.register(dto("a.mp4"));
+            jobInProgressService.register(dto("b.mp4"));
 
-            JobInProgress savedJob = jobCaptor.getValue();
-            assertThat(savedJob.getFilename()).isEqualTo(TEST_FILENAME);
-            assertThat(savedJob.getFolder()).isEqualTo(folder);
-            assertThat(savedJob.getCreatedOn()).isNotNull();
+            verify(folderRepository, times(1)).findByName(TEST_FOLDER_NAME);
         }
 
         @Test
         void registerWhenFolderDoesNotExistShouldThrowDatabaseStorageException() {
-            HearingRecordingDto hrDto = HearingRecordingDto.builder()
-                .filename(TEST_FILENAME)
-                .folder(TEST_FOLDER_NAME)
-                .build();
-
             when(folderRepository.findByName(TEST_FOLDER_NAME)).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> jobInProgressService.register(hrDto))
+            assertThatThrownBy(() -> jobInProgressService.register(dto(TEST_FILENAME)))
                 .isInstanceOf(DatabaseStorageException.class)
                 .hasMessage("IllegalState - Folder not found in DB: " + TEST_FOLDER_NAME);
 
-            verify(jobInProgressRepository, never()).save(any());
+            assertThat(jobInProgressBuffer.size()).isZero();
+        }
+
+        @Test
+        void registerShouldFlushWhenBufferReachesThreshold() {
+            givenFolderExists();
+
+            jobInProgressService.register(dto("a.mp4"));
+            jobInProgressService.register(dto("b.mp4"));
+            jobInProgressService.register(dto("c.mp4"));
+
+            ArgumentCaptor<SqlParameterSource[]> batchCaptor = ArgumentCaptor.forClass(SqlParameterSource[].class);
+            verify(jdbcTemplate).batchUpdate(contains("INSERT INTO job_in_progress"), batchCaptor.capture());
+            assertThat(batchCaptor.getValue())
+                .extracting(params -> params.getValue("filename"))
+                .containsExactlyInAnyOrder("a.mp4", "b.mp4", "c.mp4");
+            assertThat(batchCaptor.getValue())
+                .extracting(params -> params.getValue("folderId"))
+                .containsOnly(TEST_FOLDER_ID);
+            assertThat(jobInProgressBuffer.size()).isZero();
         }
     }
 
@@ -89,38 +124,81 @@ class JobInProgressServiceImplTest {
     class DeRegister {
 
         @Test
-        void deRegisterWhenJobsExistShouldDeleteAllMatchingJobs() {
-            HearingRecordingDto hrDto = HearingRecordingDto.builder()
-                .filename(TEST_FILENAME)
-                .folder(TEST_FOLDER_NAME)
-                .build();
+        void deRegisterShouldHideBufferedJob() {
+            givenFolderExists();
+            jobInProgressService.register(dto(TEST_FILENAME));
+
+            jobInProgressService.deRegister(dto(TEST_FILENAME));
+
+            assertThat(jobInProgressBuffer.overlay(TEST_FOLDER_NAME, Set.of(TEST_FILENAME))).isEmpty();
+            verifyNoInteractions(jdbcTemplate);
+        }
+    }
 
-            JobInProgress job1 = JobInProgress.builder().filename(TEST_FILENAME).build();
-            JobInProgress job2 = JobInProgress.builder().filename(TEST_FILENAME).build();
-            Set<JobInProgress> jobs = Set.of(job1, job2);
+    @Nested
+    @DisplayName("flush")
+    class Flush {
 
-            when(jobInProgressRepository.findByFolderNameAndFilename(TEST_FOLDER_NAME, TEST_FILENAME))
-                .thenReturn(jobs);
+        @Test
+        void flushShouldDeleteFinishedJobsInOneStatement() {
+            jobInProgressService.deRegister(dto("a.mp4"));
+            jobInProgressService.deRegister(dto("b.mp4"));
+
+            jobInProgressService.flush();
+
+            ArgumentCaptor<MapSqlParameterSource> paramsCaptor = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+            verify(jdbcTemplate).update(contains("DELETE FROM job_in_progress"), paramsCaptor.capture());
+            @SuppressWarnings("unchecked")
+            List<Object[]> files = (List<Object[]>) paramsCaptor.getValue().getValue("files");
+            assertThat(files)
+                .extracting(file -> file[1])
+                .containsExactlyInAnyOrder("a.mp4", "b.mp4");
+            verify(jdbcTemplate, never()).batchUpdate(anyString(), any(SqlParameterSource[].class));
+        }
+
+        @Test
+        void flushShouldWriteOnlyLatestChangeForEachFile() {
+            givenFolderExists();
+            jobInProgressService.register(dto(TEST_FILENAME));
+            jobInProgressService.deRegister(dto(TEST_FILENAME));
 
-            jobInProgressService.deRegister(hrDto);
+            jobInProgressService.flush();
 
-            verify(jobInProgressRepository, times(1)).delete(job1);
-            verify(jobInProgressRepository, times(1)).delete(job2);
+            verify(jdbcTemplate).update(contains("DELETE FROM job_in_progress"), any(MapSqlParameterSource.class));
+            verify(jdbcTemplate, never()).batchUpdate(anyString(), any(SqlParameterSource[].class));
         }
 
         @Test
-        void deRegisterWhenNoJobsExistShouldDoNothing() {
-            HearingRecordingDto hrDto = HearingRecordingDto.builder()
-                .filename(TEST_FILENAME)
-                .folder(TEST_FOLDER_NAME)
-                .build();
+        void flushWhenNothingBufferedShouldNotTouchDatabase() {
+            jobInProgressService.flush();
 
-            when(jobInProgressRepository.findByFolderNameAndFilename(TEST_FOLDER_NAME, TEST_FILENAME))
-                .thenReturn(Collections.emptySet());
+            verifyNoInteractions(jdbcTemplate);
+        }
+
+        @Test
+        void flushWhenWriteFailsShouldDropChangesAndLookUpFolderAgain() {
+            givenFolderExists();
+            jobInProgressService.register(dto(TEST_FILENAME));
+            when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class)))
+                .thenThrow(new IllegalStateException("database unavailable"));
 
-            jobInProgressService.deRegister(hrDto);
+            jobInProgressService.flush();
+            jobInProgressService.register(dto("next.mp4"));
 
-            verify(jobInProgressRepository, never()).delete(any());
+            assertThat(jobInProgressBuffer.overlay(TEST_FOLDER_NAME, Set.of())).containsExactly("next.mp4");
+            verify(folderRepository, times(2)).findByName(TEST_FOLDER_NAME);
         }
     }
+
+    private void givenFolderExists() {
+        Folder folder = Folder.builder().id(TEST_FOLDER_ID).name(TEST_FOLDER_NAME).build();
+        when(folderRepository.findByName(TEST_FOLDER_NAME)).thenReturn(Optional.of(folder));
+    }
+
+    private static HearingRecordingDto dto(String filename) {
+        return HearingRecordingDto.builder()
+            .filename(filename)
+            .folder(TEST_FOLDER_NAME)
+            .build();
+    }
 }
@@ -12,7 +12,6 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSharee;
 import uk.gov.hmcts.reform.em.hrs.repository.ShareesRepository;
 import uk.gov.hmcts.reform.em.hrs.service.AuditEntryService;
 import uk.gov.hmcts.reform.em.hrs.service.SecurityService;
@@ -110,13 +109,8 @@ class PermissionEvaluatorImplTest {
             .hearingRecording(recording)
             .build();
 
-        HearingRecordingSharee sharee = HearingRecordingSharee.builder()
-            .hearingRecording(recording)
-            .shareeEmail(USER_EMAIL)
-            .build();
-
         when(securityService.getUserEmail("Bearer " + TOKEN_VALUE)).thenReturn(USER_EMAIL);
-        when(shareesRepository.findByShareeEmailIgnoreCase(USER_EMAIL)).thenReturn(List.of(sharee));
+        when(shareesRepository.existsByShareeEmailAndRecordingId(USER_EMAIL, RECORDING_ID)).thenReturn(true);
 
         boolean result = permissionEvaluator.hasPermission(authentication, segment, "READ");
 
@@ -135,7 +129,7 @@ class PermissionEvaluatorImplTest {
             .build();
 
         when(securityService.getUserEmail("Bearer " + TOKEN_VALUE)).thenReturn(USER_EMAIL);
-        when(shareesRepository.findByShareeEmailIgnoreCase(USER_EMAIL)).thenReturn(Collections.emptyList());
+        when(shareesRepository.existsByShareeEmailAndRecordingId(USER_EMAIL, RECORDING_ID)).thenReturn(false);
 
         boolean result = permissionEvaluator.hasPermission(authentication, segment, "READ");
 
@@ -153,14 +147,9 @@ class PermissionEvaluatorImplTest {
             .hearingRecording(requestedRecording)
             .build();
 
-        HearingRecording differentRecording = HearingRecording.builder().id(UUID.randomUUID()).build();
-        HearingRecordingSharee sharee = HearingRecordingSharee.builder()
-            .hearingRecording(differentRecording)
-            .shareeEmail(USER_EMAIL)
-            .build();
-
+        // shared on a different recording, so there is no share of the requested one
         when(securityService.getUserEmail("Bearer " + TOKEN_VALUE)).thenReturn(USER_EMAIL);
-        when(shareesRepository.findByShareeEmailIgnoreCase(USER_EMAIL)).thenReturn(List.of(sharee));
+        when(shareesRepository.existsByShareeEmailAndRecordingId(USER_EMAIL, RECORDING_ID)).thenReturn(false);
 
         boolean result = permissionEvaluator.hasPermission(authentication, segment, "READ");
 
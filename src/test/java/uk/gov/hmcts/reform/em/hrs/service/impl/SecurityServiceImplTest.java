@@ -5,15 +5,19 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
 import uk.gov.hmcts.reform.authorisation.validators.AuthTokenValidator;
 import uk.gov.hmcts.reform.em.hrs.service.idam.cache.CachedIdamCredential;
 import uk.gov.hmcts.reform.em.hrs.service.idam.cache.IdamCachedClient;
+import uk.gov.hmcts.reform.em.hrs.service.idam.cache.IdamUserInfoCache;
 import uk.gov.hmcts.reform.idam.client.IdamClient;
 import uk.gov.hmcts.reform.idam.client.models.UserInfo;
 
@@ -21,6 +25,9 @@ import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.reform.em.hrs.service.impl.SecurityServiceImpl.CLIENTIP;
 import static uk.gov.hmcts.reform.em.hrs.service.impl.SecurityServiceImpl.DUMMY_NAME;
@@ -52,17 +59,24 @@ class SecurityServiceImplTest {
     @Mock
     private HttpServletRequest httpServletRequest;
 
-    @InjectMocks
     private SecurityServiceImpl securityService;
 
     @BeforeEach
     void setUp() {
         RequestContextHolder.resetRequestAttributes();
+        securityService = new SecurityServiceImpl(
+            idmClient,
+            authTokenGenerator,
+            authTokenValidator,
+            idmCachedClient,
+            new IdamUserInfoCache(true, 100, 900)
+        );
     }
 
     @AfterEach
     void tearDown() {
         RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
     }
 
     @Test
@@ -100,6 +114,50 @@ class SecurityServiceImplTest {
         assertThat(actualUserInfo).isEqualTo(expectedUserInfo);
     }
 
+    @Test
+    void getUserInfoShouldOnlyCallIdamOncePerToken() {
+        UserInfo expectedUserInfo = mock(UserInfo.class);
+        when(idmClient.getUserInfo(MOCK_USER_TOKEN)).thenReturn(expectedUserInfo);
+
+        securityService.getUserInfo(MOCK_USER_TOKEN);
+        UserInfo actualUserInfo = securityService.getUserInfo(MOCK_USER_TOKEN);
+
+        assertThat(actualUserInfo).isEqualTo(expectedUserInfo);
+        verify(idmClient, times(1)).getUserInfo(MOCK_USER_TOKEN);
+    }
+
+    @Test
+    void getUserInfoShouldReuseUserResolvedEarlierInRequest() {
+        securityService = new SecurityServiceImpl(
+            idmClient, authTokenGenerator, authTokenValidator, idmCachedClient,
+            new IdamUserInfoCache(false, 100, 900)
+        );
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        UserInfo userInfo = mock(UserInfo.class);
+        when(userInfo.getSub()).thenReturn(MOCK_EMAIL);
+        when(idmClient.getUserInfo(MOCK_USER_TOKEN)).thenReturn(userInfo);
+
+        securityService.getUserInfo(MOCK_USER_TOKEN);
+        String email = securityService.getUserEmail(MOCK_USER_TOKEN);
+
+        assertThat(email).isEqualTo(MOCK_EMAIL);
+        verify(idmClient, times(1)).getUserInfo(MOCK_USER_TOKEN);
+    }
+
+    @Test
+    void getUserEmailShouldUseClaimsOfAuthenticatedToken() {
+        Jwt jwt = Jwt.withTokenValue(MOCK_USER_TOKEN)
+            .header("alg", "none")
+            .subject(MOCK_EMAIL)
+            .build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+
+        String email = securityService.getUserEmail("Bearer " + MOCK_USER_TOKEN);
+
+        assertThat(email).isEqualTo(MOCK_EMAIL);
+        verifyNoInteractions(idmClient);
+    }
+
     @Test
     void getCurrentlyAuthenticatedServiceNameShouldReturnDummyNameWhenRequestIsNull() {
         RequestContextHolder.resetRequestAttributes();
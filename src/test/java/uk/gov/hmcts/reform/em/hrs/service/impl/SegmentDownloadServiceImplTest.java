@@ -8,15 +8,18 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import reactor.core.publisher.Flux;
 import uk.gov.hmcts.reform.em.hrs.domain.AuditActions;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
-import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSharee;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
 import uk.gov.hmcts.reform.em.hrs.exception.InvalidRangeRequestException;
 import uk.gov.hmcts.reform.em.hrs.exception.ValidationErrorException;
@@ -29,23 +32,29 @@ import uk.gov.hmcts.reform.em.hrs.storage.BlobInfo;
 import uk.gov.hmcts.reform.em.hrs.storage.BlobstoreClient;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -70,6 +79,10 @@ class SegmentDownloadServiceImplTest {
     @Mock
     private SecurityService securityService;
     @Mock
+    private DownloadRedirectPolicy downloadRedirectPolicy;
+    @Mock
+    private AsyncResponseWriter asyncResponseWriter;
+    @Mock
     private HttpServletRequest request;
     @Mock
     private HttpServletResponse response;
@@ -87,6 +100,8 @@ class SegmentDownloadServiceImplTest {
             auditEntryService,
             shareesRepository,
             securityService,
+            downloadRedirectPolicy,
+            asyncResponseWriter,
             LINK_VALIDITY_HOURS
         );
 
@@ -119,15 +134,16 @@ class SegmentDownloadServiceImplTest {
             assertThat(result).isNotNull();
             assertThat(result.getId()).isEqualTo(SEGMENT_ID);
             verify(securityService, never()).getUserEmail(anyString());
-            verify(shareesRepository, never()).findByShareeEmailIgnoreCase(anyString());
+            verifyNoInteractions(shareesRepository);
         }
 
         @Test
         @DisplayName("Should return segment for a sharee with a valid, non-expired link")
         void testFetchSegmentForShareeWithValidLink() {
             when(securityService.getUserEmail(USER_TOKEN)).thenReturn(USER_EMAIL);
-            List<HearingRecordingSharee> sharees = createShareeList(RECORDING_ID, LocalDateTime.now());
-            when(shareesRepository.findByShareeEmailIgnoreCase(USER_EMAIL)).thenReturn(sharees);
+            ArgumentCaptor<LocalDateTime> sharedAfter = ArgumentCaptor.forClass(LocalDateTime.class);
+            when(shareesRepository.existsValidShareOfSegment(eq(USER_EMAIL), eq(RECORDING_ID), eq(0),
+                                                             sharedAfter.capture())).thenReturn(true);
             when(segmentRepository.findByHearingRecordingIdAndRecordingSegment(RECORDING_ID, 0))
                 .thenReturn(segment);
 
@@ -137,15 +153,18 @@ class SegmentDownloadServiceImplTest {
 
             assertThat(result).isNotNull();
             assertThat(result.getId()).isEqualTo(SEGMENT_ID);
+            assertThat(sharedAfter.getValue())
+                .isCloseTo(LocalDateTime.now().minusHours(LINK_VALIDITY_HOURS), within(1, ChronoUnit.MINUTES));
+            verify(shareesRepository, never()).existsByShareeEmail(anyString());
         }
 
         @Test
         @DisplayName("Should throw ValidationErrorException for a sharee with an expired link")
         void testFetchSegmentForShareeWithExpiredLink() {
             when(securityService.getUserEmail(USER_TOKEN)).thenReturn(USER_EMAIL);
-            LocalDateTime expiredDateTime = LocalDateTime.now().minusHours(LINK_VALIDITY_HOURS + 1);
-            List<HearingRecordingSharee> sharees = createShareeList(RECORDING_ID, expiredDateTime);
-            when(shareesRepository.findByShareeEmailIgnoreCase(USER_EMAIL)).thenReturn(sharees);
+            when(shareesRepository.existsValidShareOfSegment(eq(USER_EMAIL), eq(RECORDING_ID), eq(0), any()))
+                .thenReturn(false);
+            when(shareesRepository.existsByShareeEmail(USER_EMAIL)).thenReturn(true);
 
             var exception = assertThrows(ValidationErrorException.class, () ->
                 segmentDownloadService.fetchSegmentByRecordingIdAndSegmentNumber(
@@ -160,7 +179,9 @@ class SegmentDownloadServiceImplTest {
         @DisplayName("Should fetch segment successfully if sharee check passes but no shares are found")
         void testFetchSegmentWhenShareeHasNoShares() {
             when(securityService.getUserEmail(USER_TOKEN)).thenReturn(USER_EMAIL);
-            when(shareesRepository.findByShareeEmailIgnoreCase(USER_EMAIL)).thenReturn(Collections.emptyList());
+            when(shareesRepository.existsValidShareOfSegment(eq(USER_EMAIL), eq(RECORDING_ID), eq(0), any()))
+                .thenReturn(false);
+            when(shareesRepository.existsByShareeEmail(USER_EMAIL)).thenReturn(false);
             when(segmentRepository.findByHearingRecordingIdAndRecordingSegment(RECORDING_ID, 0))
                 .thenReturn(segment);
 
@@ -169,7 +190,7 @@ class SegmentDownloadServiceImplTest {
             );
 
             assertThat(result).isEqualTo(segment);
-            verify(shareesRepository).findByShareeEmailIgnoreCase(USER_EMAIL);
+            verify(shareesRepository).existsByShareeEmail(USER_EMAIL);
         }
     }
 
@@ -180,8 +201,8 @@ class SegmentDownloadServiceImplTest {
         @DisplayName("Should return segment for a sharee with a valid, non-expired link")
         void testFetchSegmentWithValidLink() {
             when(securityService.getUserEmail(USER_TOKEN)).thenReturn(USER_EMAIL);
-            List<HearingRecordingSharee> sharees = createShareeList(RECORDING_ID, LocalDateTime.now());
-            when(shareesRepository.findByShareeEmailIgnoreCase(USER_EMAIL)).thenReturn(sharees);
+            when(shareesRepository.existsValidShareOfFile(eq(USER_EMAIL), eq(RECORDING_ID), eq(FILENAME), any()))
+                .thenReturn(true);
             when(segmentRepository.findByHearingRecordingIdAndFilename(RECORDING_ID, FILENAME)).thenReturn(segment);
 
             HearingRecordingSegment result = segmentDownloadService.fetchSegmentByRecordingIdAndFileNameForSharee(
@@ -196,8 +217,9 @@ class SegmentDownloadServiceImplTest {
         @DisplayName("Should throw ValidationErrorException when sharee has no shares for that recording")
         void testShouldThrowExceptionForWrongRecording() {
             when(securityService.getUserEmail(USER_TOKEN)).thenReturn(USER_EMAIL);
-            List<HearingRecordingSharee> sharees = createShareeList(UUID.randomUUID(), LocalDateTime.now());
-            when(shareesRepository.findByShareeEmailIgnoreCase(USER_EMAIL)).thenReturn(sharees);
+            when(shareesRepository.existsValidShareOfFile(eq(USER_EMAIL), eq(RECORDING_ID), eq(FILENAME), any()))
+                .thenReturn(false);
+            when(shareesRepository.existsByShareeEmail(USER_EMAIL)).thenReturn(true);
 
             var exception = assertThrows(ValidationErrorException.class, () ->
                 segmentDownloadService.fetchSegmentByRecordingIdAndFileNameForSharee(
@@ -211,7 +233,9 @@ class SegmentDownloadServiceImplTest {
         @DisplayName("Should throw ValidationErrorException when user has no shares at all")
         void testShouldThrowExceptionWhenNoSharesExist() {
             when(securityService.getUserEmail(USER_TOKEN)).thenReturn(USER_EMAIL);
-            when(shareesRepository.findByShareeEmailIgnoreCase(USER_EMAIL)).thenReturn(Collections.emptyList());
+            when(shareesRepository.existsValidShareOfFile(eq(USER_EMAIL), eq(RECORDING_ID), eq(FILENAME), any()))
+                .thenReturn(false);
+            when(shareesRepository.existsByShareeEmail(USER_EMAIL)).thenReturn(false);
 
             var exception = assertThrows(ValidationErrorException.class, () ->
                 segmentDownloadService.fetchSegmentByRecordingIdAndFileNameForSharee(
@@ -242,9 +266,14 @@ class SegmentDownloadServiceImplTest {
             verify(response).setHeader(HttpHeaders.CONTENT_TYPE, "video/mp4");
             verify(response).setHeader(HttpHeaders.CONTENT_LENGTH, "2000");
             verify(response).setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
-            verify(blobstoreClient).downloadFile(FILENAME, null, servletOutputStream, "CVP");
+            verify(blobstoreClient).downloadFile(
+                Mockito.eq(FILENAME),
+                Mockito.argThat(range -> range.getOffset() == 0 && range.getCount() == 2000L),
+                Mockito.eq(servletOutputStream),
+                Mockito.eq("CVP")
+            );
             verify(auditEntryService).createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_REQUESTED);
-            verify(auditEntryService).createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_OK);
+            verify(auditEntryService).createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_OK, 2000L);
         }
 
         @Test
@@ -265,7 +294,7 @@ class SegmentDownloadServiceImplTest {
                 Mockito.eq(servletOutputStream),
                 Mockito.eq("CVP")
             );
-            verify(auditEntryService).createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_OK);
+            verify(auditEntryService).createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_OK, 1024L);
         }
 
         @Test
@@ -279,7 +308,7 @@ class SegmentDownloadServiceImplTest {
             verify(response).setStatus(HttpStatus.PARTIAL_CONTENT.value());
             verify(response).setHeader(HttpHeaders.CONTENT_RANGE, "bytes 1000-1999/2000");
             verify(response).setHeader(HttpHeaders.CONTENT_LENGTH, "1000");
-            verify(auditEntryService).createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_OK);
+            verify(auditEntryService).createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_OK, 1000L);
         }
 
         @Test
@@ -292,7 +321,8 @@ class SegmentDownloadServiceImplTest {
 
             assertThat(exception).isNotNull();
             verify(auditEntryService).createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_FAIL);
-            verify(auditEntryService, never()).createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_OK);
+            verify(auditEntryService, never())
+                .createAndSaveEntry(eq(segment), eq(AuditActions.USER_DOWNLOAD_OK), anyLong());
         }
 
         @Test
@@ -308,26 +338,177 @@ class SegmentDownloadServiceImplTest {
             verify(auditEntryService, times(1))
                 .createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_REQUESTED);
             verify(auditEntryService, never())
-                .createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_OK);
+                .createAndSaveEntry(eq(segment), eq(AuditActions.USER_DOWNLOAD_OK), anyLong());
             verify(auditEntryService, never())
                 .createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_FAIL);
         }
     }
 
-    private List<HearingRecordingSharee> createShareeList(UUID recordingId, LocalDateTime sharedOn) {
-        HearingRecordingSharee sharee = new HearingRecordingSharee();
-        sharee.setSharedOn(sharedOn);
-        sharee.setShareeEmail(USER_EMAIL);
+    @Test
+    @DisplayName("Should use stored blob size and content type without asking blob storage")
+    void testDownloadUsesStoredBlobProperties() throws IOException {
+        segment.setBlobSize(3000L);
+        segment.setBlobContentType("audio/mpeg");
+        when(response.getOutputStream()).thenReturn(servletOutputStream);
+
+        segmentDownloadService.download(segment, request, response);
+
+        verify(response).setHeader(HttpHeaders.CONTENT_TYPE, "audio/mpeg");
+        verify(response).setHeader(HttpHeaders.CONTENT_LENGTH, "3000");
+        verify(blobstoreClient, never()).fetchBlobInfo(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should redirect to a signed blob URL instead of streaming when redirect mode applies")
+    void testDownloadRedirectsToSignedUrl() throws IOException {
+        when(downloadRedirectPolicy.shouldRedirect(request)).thenReturn(true);
+        when(downloadRedirectPolicy.getUrlValidity()).thenReturn(Duration.ofMinutes(5));
+        when(blobstoreClient.generateReadUrl(
+            FILENAME, "CVP", Duration.ofMinutes(5), "attachment; filename=" + FILENAME
+        )).thenReturn("https://hrs.blob/" + FILENAME + "?sig=abc");
+
+        segmentDownloadService.download(segment, request, response);
+
+        verify(response).sendRedirect("https://hrs.blob/" + FILENAME + "?sig=abc");
+        verify(response, never()).getOutputStream();
+        verify(blobstoreClient, never()).downloadFile(anyString(), any(), any(), anyString());
+        verify(blobstoreClient, never()).fetchBlobInfo(anyString(), anyString());
+        verify(auditEntryService).createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_REQUESTED);
+        verify(auditEntryService).createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_REDIRECTED);
+    }
+
+    @Test
+    @DisplayName("Should hand the blob stream to the async writer and audit success once it completes")
+    void testAsyncDownload() throws IOException {
+        segment.setBlobSize(3000L);
+        segment.setBlobContentType("video/mp4");
+        Flux<ByteBuffer> body = Flux.just(ByteBuffer.wrap(new byte[3000]));
+        when(asyncResponseWriter.canWrite(request)).thenReturn(true);
+        when(blobstoreClient.streamFile(
+            Mockito.eq(FILENAME),
+            Mockito.argThat(range -> range.getOffset() == 0 && range.getCount() == 3000L),
+            Mockito.eq("CVP")
+        )).thenReturn(body);
+
+        segmentDownloadService.download(segment, request, response);
+
+        ArgumentCaptor<Runnable> onComplete = ArgumentCaptor.forClass(Runnable.class);
+        verify(asyncResponseWriter).write(Mockito.eq(request), Mockito.eq(response), Mockito.eq(body),
+                                          onComplete.capture());
+        verify(response).setHeader(HttpHeaders.CONTENT_LENGTH, "3000");
+        verify(response, never()).getOutputStream();
+        verify(auditEntryService, never())
+            .createAndSaveEntry(eq(segment), eq(AuditActions.USER_DOWNLOAD_OK), anyLong());
+
+        onComplete.getValue().run();
+
+        verify(auditEntryService).createAndSaveEntry(segment, AuditActions.USER_DOWNLOAD_OK, 3000L);
+    }
+
+    @Nested
+    @DisplayName("conditional and HEAD request Tests")
+    class ConditionalRequests {
+        private static final String CHECKSUM = "d41d8cd98f00b204e9800998ecf8427e";
+        private static final String ETAG = "\"" + CHECKSUM + "\"";
+        private static final LocalDateTime CREATED_ON = LocalDateTime.of(2024, 3, 1, 10, 15, 30);
+
+        private final MockHttpServletRequest mockRequest = new MockHttpServletRequest("GET", "/segments/0");
+        private final MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+
+        @BeforeEach
+        void conditionalSetup() {
+            segment.setFileMd5Checksum(CHECKSUM);
+            segment.setCreatedOn(CREATED_ON);
+            segment.setBlobSize(2000L);
+            segment.setBlobContentType("video/mp4");
+        }
+
+        @Test
+        @DisplayName("Should answer 304 without auditing or reading the blob when the ETag matches")
+        void testNotModifiedForMatchingEtag() throws IOException {
+            mockRequest.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+            segmentDownloadService.download(segment, mockRequest, mockResponse);
+
+            assertThat(mockResponse.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+            assertThat(mockResponse.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+            verifyNoInteractions(auditEntryService, blobstoreClient);
+        }
+
+        @Test
+        @DisplayName("Should answer 304 when not modified since the given date")
+        void testNotModifiedSinceDate() throws IOException {
+            mockRequest.addHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModifiedMillis() + 1000);
+
+            segmentDownloadService.download(segment, mockRequest, mockResponse);
+
+            assertThat(mockResponse.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+            verifyNoInteractions(blobstoreClient);
+        }
+
+        @Test
+        @DisplayName("Should send the requested range when If-Range matches the ETag")
+        void testRangeSentWhenIfRangeMatches() throws IOException {
+            mockRequest.addHeader(HttpHeaders.RANGE, "bytes=0-99");
+            mockRequest.addHeader(HttpHeaders.IF_RANGE, ETAG);
+
+            segmentDownloadService.download(segment, mockRequest, mockResponse);
+
+            assertThat(mockResponse.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+            assertThat(mockResponse.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 0-99/2000");
+            assertThat(mockResponse.getHeader(HttpHeaders.LAST_MODIFIED)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should send the whole file when If-Range does not match")
+        void testWholeFileSentWhenIfRangeDoesNotMatch() throws IOException {
+            mockRequest.addHeader(HttpHeaders.RANGE, "bytes=0-99");
+            mockRequest.addHeader(HttpHeaders.IF_RANGE, "\"something-else\"");
+
+            segmentDownloadService.download(segment, mockRequest, mockResponse);
+
+            assertThat(mockResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(mockResponse.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+            assertThat(mockResponse.getHeader(HttpHeaders.CONTENT_LENGTH)).isEqualTo("2000");
+            verify(blobstoreClient).downloadFile(
+                Mockito.eq(FILENAME),
+                Mockito.argThat(range -> range.getOffset() == 0 && range.getCount() == 2000L),
+                any(),
+                Mockito.eq("CVP")
+            );
+        }
+
+        @Test
+        @DisplayName("Should send the range when If-Range carries the last modified date")
+        void testRangeSentWhenIfRangeDateMatches() throws IOException {
+            mockRequest.addHeader(HttpHeaders.RANGE, "bytes=0-99");
+            mockRequest.addHeader(HttpHeaders.IF_RANGE, httpDate(lastModifiedMillis()));
+
+            segmentDownloadService.download(segment, mockRequest, mockResponse);
+
+            assertThat(mockResponse.getStatus()).isEqualTo(HttpStatus.PARTIAL_CONTENT.value());
+        }
+
+        @Test
+        @DisplayName("Should answer HEAD with size and type without auditing or opening the blob")
+        void testHeadRequest() throws IOException {
+            mockRequest.setMethod("HEAD");
 
-        HearingRecording recording = new HearingRecording();
-        recording.setId(recordingId);
+            segmentDownloadService.download(segment, mockRequest, mockResponse);
 
-        HearingRecordingSegment sharedSegment = new HearingRecordingSegment();
-        sharedSegment.setRecordingSegment(0);
-        sharedSegment.setFilename(FILENAME);
-        recording.setSegments(new HashSet<>(Set.of(sharedSegment)));
+            assertThat(mockResponse.getStatus()).isEqualTo(HttpStatus.OK.value());
+            assertThat(mockResponse.getHeader(HttpHeaders.CONTENT_LENGTH)).isEqualTo("2000");
+            assertThat(mockResponse.getHeader(HttpHeaders.CONTENT_TYPE)).isEqualTo("video/mp4");
+            assertThat(mockResponse.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+            verifyNoInteractions(auditEntryService, blobstoreClient);
+        }
 
-        sharee.setHearingRecording(recording);
-        return new ArrayList<>(List.of(sharee));
+        private long lastModifiedMillis() {
+            return CREATED_ON.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+
+        private String httpDate(long millis) {
+            return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(millis).atZone(ZoneOffset.UTC));
+        }
     }
 }
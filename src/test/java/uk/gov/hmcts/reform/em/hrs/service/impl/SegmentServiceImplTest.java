@@ -2,8 +2,10 @@ package uk.gov.hmcts.reform.em.hrs.service.impl;
 
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.models.BlobProperties;
 import com.azure.storage.blob.options.BlobInputStreamOptions;
 import com.azure.storage.blob.specialized.BlobInputStream;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.apache.tika.Tika;
 import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,10 +15,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecording;
 import uk.gov.hmcts.reform.em.hrs.domain.HearingRecordingSegment;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDeletionDto;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingRecordingDto;
+import uk.gov.hmcts.reform.em.hrs.metrics.IngestionMetrics;
 import uk.gov.hmcts.reform.em.hrs.repository.HearingRecordingSegmentRepository;
 
 import java.io.IOException;
@@ -30,6 +35,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -52,6 +58,11 @@ class SegmentServiceImplTest {
 
     @Captor
     private ArgumentCaptor<HearingRecordingSegment> segmentCaptor;
+    @Captor
+    private ArgumentCaptor<List<HearingRecordingSegment>> segmentsCaptor;
+
+    @Spy
+    private IngestionMetrics ingestionMetrics = new IngestionMetrics(new SimpleMeterRegistry());
 
     @InjectMocks
     private SegmentServiceImpl segmentService;
@@ -120,6 +131,43 @@ class SegmentServiceImplTest {
         verify(blobInputStream).close();
     }
 
+    @Test
+    void createAndSaveSegmentShouldStoreBlobSizeAndContentType() {
+        BlobProperties blobProperties = mock(BlobProperties.class);
+        when(blobProperties.getBlobSize()).thenReturn(2048L);
+        when(blobProperties.getContentType()).thenReturn("audio/mpeg");
+        when(blobContainerClient.getBlobClient(TEST_FILENAME)).thenReturn(blobClient);
+        when(blobClient.openInputStream(any(BlobInputStreamOptions.class))).thenReturn(blobInputStream);
+        when(blobInputStream.getProperties()).thenReturn(blobProperties);
+
+        segmentService.createAndSaveSegment(hearingRecording, recordingDto);
+
+        verify(segmentRepository).saveAndFlush(segmentCaptor.capture());
+        assertThat(segmentCaptor.getValue().getBlobSize()).isEqualTo(2048L);
+        assertThat(segmentCaptor.getValue().getBlobContentType()).isEqualTo("audio/mpeg");
+    }
+
+    @Test
+    void createAndSaveSegmentsShouldSaveOnlyNewSegmentsInOneBatch() throws IOException {
+        HearingRecordingDto savedDto = HearingRecordingDto.builder().filename("saved.mp3").build();
+        when(segmentRepository.findFilenamesByHearingRecordingId(hearingRecording.getId())).thenReturn(List.of(
+            new HearingRecordingDeletionDto(hearingRecording.getId(), UUID.randomUUID(), null, "CVP", "saved.mp3")
+        ));
+        when(blobContainerClient.getBlobClient(TEST_FILENAME)).thenReturn(blobClient);
+        when(blobClient.openInputStream(any(BlobInputStreamOptions.class))).thenReturn(blobInputStream);
+        when(tika.detect(any(InputStream.class))).thenReturn("audio/mpeg");
+
+        segmentService.createAndSaveSegments(hearingRecording, List.of(savedDto, recordingDto, recordingDto));
+
+        verify(segmentRepository).saveAllAndFlush(segmentsCaptor.capture());
+        assertThat(segmentsCaptor.getValue())
+            .singleElement()
+            .satisfies(segment -> {
+                assertThat(segment.getFilename()).isEqualTo(TEST_FILENAME);
+                assertThat(segment.getHearingRecording()).isEqualTo(hearingRecording);
+            });
+    }
+
     @Test
     void createAndSaveSegmentShouldPropagateExceptionWhenAzureSdkFails() {
         when(blobContainerClient.getBlobClient(TEST_FILENAME)).thenReturn(blobClient);
@@ -0,0 +1,210 @@
+package uk.gov.hmcts.reform.em.hrs.storage;
+
+import com.azure.core.util.polling.LongRunningOperationStatus;
+import com.azure.core.util.polling.PollResponse;
+import com.azure.core.util.polling.PollerFlux;
+import com.azure.storage.blob.BlobAsyncClient;
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.models.BlobCopyInfo;
+import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.CopyStatusType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.em.hrs.exception.BlobCopyException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BlobCopyTrackerTest {
+
+    private static final String FILENAME = "folder/file.mp4";
+    private static final String SOURCE_URI = "http://cvp/folder/file.mp4?sas";
+    private static final String COPY_ID = "copy-id";
+
+    private final BlobContainerAsyncClient containerClient = mock(BlobContainerAsyncClient.class);
+    private final BlobAsyncClient blobClient = mock(BlobAsyncClient.class);
+
+    private final BlobCopyTracker underTest = new BlobCopyTracker(containerClient, 4, 120, null);
+
+    @BeforeEach
+    void setUp() {
+        when(containerClient.getBlobAsyncClient(FILENAME)).thenReturn(blobClient);
+    }
+
+    @Test
+    void sweepShouldCompleteCopyWhenBlobReportsSuccess() {
+        CompletableFuture<Void> copy = startPendingCopy();
+        mockProperties(COPY_ID, CopyStatusType.SUCCESS);
+
+        underTest.sweep();
+
+        await().until(copy::isDone);
+        assertThat(copy).isNotCompletedExceptionally();
+        assertThat(underTest.pendingCount()).isZero();
+    }
+
+    @Test
+    void sweepShouldCompleteCopyOffTheSweepingThread() {
+        CompletableFuture<Void> copy = startPendingCopy();
+        AtomicReference<Thread> completingThread = new AtomicReference<>();
+        CompletableFuture<Void> callback = copy.thenRun(() -> completingThread.set(Thread.currentThread()));
+        mockProperties(COPY_ID, CopyStatusType.SUCCESS);
+
+        underTest.sweep();
+
+        await().until(callback::isDone);
+        assertThat(completingThread.get()).isNotSameAs(Thread.currentThread());
+    }
+
+    @Test
+    void sweepShouldKeepCopyPendingWhileBlobReportsPending() {
+        CompletableFuture<Void> copy = startPendingCopy();
+        mockProperties(COPY_ID, CopyStatusType.PENDING);
+
+        underTest.sweep();
+
+        assertThat(copy).isNotDone();
+        assertThat(underTest.pendingCount()).isOne();
+        verify(blobClient, never()).abortCopyFromUrl(anyString());
+    }
+
+    @Test
+    void sweepShouldFailCopyWhenBlobReportsFailure() {
+        CompletableFuture<Void> copy = startPendingCopy();
+        mockProperties(COPY_ID, CopyStatusType.FAILED);
+
+        underTest.sweep();
+
+        await().until(copy::isDone);
+        assertThat(copy).isCompletedExceptionally();
+        assertThat(copy).failsWithin(Duration.ZERO)
+            .withThrowableThat()
+            .withCauseInstanceOf(BlobCopyException.class);
+        assertThat(underTest.pendingCount()).isZero();
+    }
+
+    @Test
+    void sweepShouldFailCopyWhenAnotherCopyReplacedIt() {
+        CompletableFuture<Void> copy = startPendingCopy();
+        mockProperties("another-copy-id", CopyStatusType.PENDING);
+
+        underTest.sweep();
+
+        await().until(copy::isDone);
+        assertThat(copy).isCompletedExceptionally();
+    }
+
+    @Test
+    void sweepShouldCompleteBothCopiesOfTheSameFile() {
+        CompletableFuture<Void> first = startPendingCopy();
+        mockBeginCopy("second-copy-id", CopyStatusType.PENDING);
+        CompletableFuture<Void> second = underTest.startCopy(FILENAME, SOURCE_URI);
+        await().until(() -> underTest.pendingCount() == 2);
+        mockProperties("second-copy-id", CopyStatusType.SUCCESS);
+
+        underTest.sweep();
+
+        await().until(() -> first.isDone() && second.isDone());
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isNotCompletedExceptionally();
+        assertThat(underTest.pendingCount()).isZero();
+    }
+
+    @Test
+    void sweepShouldKeepCopyPendingWhenStatusCannotBeRead() {
+        CompletableFuture<Void> copy = startPendingCopy();
+        when(blobClient.getProperties()).thenReturn(Mono.error(new RuntimeException("unavailable")));
+
+        underTest.sweep();
+
+        assertThat(copy).isNotDone();
+        assertThat(underTest.pendingCount()).isOne();
+    }
+
+    @Test
+    void sweepShouldAbortCopyThatTimedOut() {
+        BlobCopyTracker timingOutTracker = new BlobCopyTracker(containerClient, 4, -1, null);
+        mockBeginCopy(CopyStatusType.PENDING);
+        CompletableFuture<Void> copy = timingOutTracker.startCopy(FILENAME, SOURCE_URI);
+        await().until(() -> timingOutTracker.pendingCount() == 1);
+        mockProperties(COPY_ID, CopyStatusType.PENDING);
+        when(blobClient.abortCopyFromUrl(COPY_ID)).thenReturn(Mono.empty());
+
+        timingOutTracker.sweep();
+
+        await().until(copy::isDone);
+        assertThat(copy).isCompletedExceptionally();
+        verify(blobClient).abortCopyFromUrl(COPY_ID);
+    }
+
+    @Test
+    void startCopyShouldCompleteWhenCopyFinishesImmediately() {
+        mockBeginCopy(CopyStatusType.SUCCESS);
+
+        CompletableFuture<Void> copy = underTest.startCopy(FILENAME, SOURCE_URI);
+
+        await().until(copy::isDone);
+        assertThat(copy).isNotCompletedExceptionally();
+        assertThat(underTest.pendingCount()).isZero();
+    }
+
+    @Test
+    void startCopyShouldFailWhenCopyCannotBeStarted() {
+        when(blobClient.beginCopy(anyString(), any(Duration.class)))
+            .thenReturn(PollerFlux.create(
+                Duration.ofMillis(10),
+                context -> Mono.error(new RuntimeException("forbidden")),
+                context -> Mono.error(new RuntimeException("forbidden")),
+                (context, response) -> Mono.empty(),
+                context -> Mono.empty()
+            ));
+
+        CompletableFuture<Void> copy = underTest.startCopy(FILENAME, SOURCE_URI);
+
+        await().until(copy::isDone);
+        assertThat(copy).isCompletedExceptionally();
+    }
+
+    private CompletableFuture<Void> startPendingCopy() {
+        mockBeginCopy(CopyStatusType.PENDING);
+        CompletableFuture<Void> copy = underTest.startCopy(FILENAME, SOURCE_URI);
+        await().until(() -> underTest.pendingCount() == 1);
+        return copy;
+    }
+
+    private void mockBeginCopy(CopyStatusType copyStatus) {
+        mockBeginCopy(COPY_ID, copyStatus);
+    }
+
+    private void mockBeginCopy(String copyId, CopyStatusType copyStatus) {
+        BlobCopyInfo copyInfo = new BlobCopyInfo(SOURCE_URI, copyId, copyStatus, "etag", null, null);
+        PollResponse<BlobCopyInfo> response =
+            new PollResponse<>(LongRunningOperationStatus.IN_PROGRESS, copyInfo);
+        when(blobClient.beginCopy(anyString(), any(Duration.class)))
+            .thenReturn(PollerFlux.create(
+                Duration.ofMillis(10),
+                context -> Mono.just(response),
+                context -> Mono.just(response),
+                (context, pollResponse) -> Mono.empty(),
+                context -> Mono.empty()
+            ));
+    }
+
+    private void mockProperties(String copyId, CopyStatusType copyStatus) {
+        BlobProperties properties = mock(BlobProperties.class);
+        when(properties.getCopyId()).thenReturn(copyId);
+        when(properties.getCopyStatus()).thenReturn(copyStatus);
+        when(blobClient.getProperties()).thenReturn(Mono.just(properties));
+    }
+}
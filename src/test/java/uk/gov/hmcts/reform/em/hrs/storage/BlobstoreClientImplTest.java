@@ -1,25 +1,37 @@
 package uk.gov.hmcts.reform.em.hrs.storage;
 
+import com.azure.storage.blob.BlobAsyncClient;
 import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerAsyncClient;
 import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.models.BlobDownloadAsyncResponse;
 import com.azure.storage.blob.models.BlobProperties;
 import com.azure.storage.blob.models.BlobRange;
 import com.azure.storage.blob.models.DownloadRetryOptions;
+import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
 import com.azure.storage.blob.specialized.BlockBlobClient;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
 
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -38,17 +50,38 @@ class BlobstoreClientImplTest {
     @Mock
     private BlobContainerClient hrsVhBlobContainerClient;
     @Mock
+    private BlobContainerAsyncClient hrsCvpBlobContainerAsyncClient;
+    @Mock
+    private BlobContainerAsyncClient hrsVhBlobContainerAsyncClient;
+    @Mock
     private BlobClient blobClient;
     @Mock
     private BlockBlobClient blockBlobClient;
     @Mock
     private BlobProperties blobProperties;
+    @Mock
+    private SegmentDiskCache segmentDiskCache;
 
+    private ParallelRangeDownloader parallelRangeDownloader;
     private BlobstoreClientImpl blobstoreClient;
 
     @BeforeEach
     void setUp() {
-        blobstoreClient = new BlobstoreClientImpl(hrsCvpBlobContainerClient, hrsVhBlobContainerClient);
+        parallelRangeDownloader = new ParallelRangeDownloader(1, 2, 1, 2, 2, 1024);
+        blobstoreClient = new BlobstoreClientImpl(
+            hrsCvpBlobContainerClient,
+            hrsVhBlobContainerClient,
+            hrsCvpBlobContainerAsyncClient,
+            hrsVhBlobContainerAsyncClient,
+            parallelRangeDownloader,
+            new BlobInfoCache(100, 10),
+            segmentDiskCache
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelRangeDownloader.shutdown();
     }
 
     @Test
@@ -63,7 +96,7 @@ class BlobstoreClientImplTest {
 
         assertEquals(FILE_SIZE, blobInfo.getFileSize());
         assertEquals(CONTENT_TYPE, blobInfo.getContentType());
-        verify(blockBlobClient, times(2)).getProperties();
+        verify(blockBlobClient).getProperties();
         verify(hrsCvpBlobContainerClient).getBlobClient(FILENAME);
         verifyNoInteractions(hrsVhBlobContainerClient);
     }
@@ -80,11 +113,26 @@ class BlobstoreClientImplTest {
 
         assertEquals(FILE_SIZE, blobInfo.getFileSize());
         assertEquals(CONTENT_TYPE, blobInfo.getContentType());
-        verify(blockBlobClient, times(2)).getProperties();
+        verify(blockBlobClient).getProperties();
         verify(hrsVhBlobContainerClient).getBlobClient(FILENAME);
         verifyNoInteractions(hrsCvpBlobContainerClient);
     }
 
+    @Test
+    void fetchBlobInfoShouldAskBlobStorageOncePerBlob() {
+        when(hrsCvpBlobContainerClient.getBlobClient(FILENAME)).thenReturn(blobClient);
+        when(blobClient.getBlockBlobClient()).thenReturn(blockBlobClient);
+        when(blockBlobClient.getProperties()).thenReturn(blobProperties);
+        when(blobProperties.getBlobSize()).thenReturn(FILE_SIZE);
+        when(blobProperties.getContentType()).thenReturn(CONTENT_TYPE);
+
+        blobstoreClient.fetchBlobInfo(FILENAME, HearingSource.CVP.name());
+        BlobInfo blobInfo = blobstoreClient.fetchBlobInfo(FILENAME, HearingSource.CVP.name());
+
+        assertEquals(FILE_SIZE, blobInfo.getFileSize());
+        verify(blockBlobClient, times(1)).getProperties();
+    }
+
     @Test
     void downloadFileShouldUseCvpClientForCvpSource() {
         when(hrsCvpBlobContainerClient.getBlobClient(FILENAME)).thenReturn(blobClient);
@@ -132,8 +180,77 @@ class BlobstoreClientImplTest {
         String hearingSource = "some-other-source";
         blobstoreClient.fetchBlobInfo(FILENAME, hearingSource);
 
-        verify(blockBlobClient, times(2)).getProperties();
+        verify(blockBlobClient).getProperties();
         verify(hrsCvpBlobContainerClient).getBlobClient(FILENAME);
         verify(hrsVhBlobContainerClient, never()).getBlobClient(anyString());
     }
+
+    @Test
+    void downloadFileShouldSplitRangeLargerThanChunkSize() {
+        when(hrsCvpBlobContainerClient.getBlobClient(FILENAME)).thenReturn(blobClient);
+        when(blobClient.getBlockBlobClient()).thenReturn(blockBlobClient);
+
+        final BlobRange blobRange = new BlobRange(0, 2048L);
+        final OutputStream outputStream = new ByteArrayOutputStream();
+
+        blobstoreClient.downloadFile(FILENAME, blobRange, outputStream, HearingSource.CVP.name());
+
+        verify(blockBlobClient, times(2)).downloadStreamWithResponse(
+            any(OutputStream.class), any(BlobRange.class), any(DownloadRetryOptions.class),
+            eq(null), eq(false), eq(null), eq(null)
+        );
+        verify(blockBlobClient, never()).downloadStreamWithResponse(
+            eq(outputStream), any(BlobRange.class), any(DownloadRetryOptions.class),
+            eq(null), eq(false), eq(null), eq(null)
+        );
+    }
+
+    @Test
+    void generateReadUrlShouldSignReadOnlySasForTheBlob() {
+        when(hrsVhBlobContainerClient.getBlobClient(FILENAME)).thenReturn(blobClient);
+        when(blobClient.getBlobUrl()).thenReturn("https://hrs.blob/vh/" + FILENAME);
+        when(blobClient.generateSas(any(BlobServiceSasSignatureValues.class))).thenReturn("sig=abc");
+
+        String url = blobstoreClient.generateReadUrl(
+            FILENAME, HearingSource.VH.name(), Duration.ofMinutes(5), "attachment; filename=" + FILENAME
+        );
+
+        assertEquals("https://hrs.blob/vh/" + FILENAME + "?sig=abc", url);
+        verify(blobClient).generateSas(argThat((BlobServiceSasSignatureValues values) ->
+            "r".equals(values.getPermissions())
+                && values.getExpiryTime().isBefore(OffsetDateTime.now().plusMinutes(6))
+                && ("attachment; filename=" + FILENAME).equals(values.getContentDisposition())
+        ));
+        verifyNoInteractions(hrsCvpBlobContainerClient);
+    }
+
+    @Test
+    void downloadFileShouldServeCachedSegmentWithoutBlobStorage() {
+        final BlobRange blobRange = new BlobRange(0, 2048L);
+        final OutputStream outputStream = new ByteArrayOutputStream();
+        when(segmentDiskCache.serve(HearingSource.CVP, FILENAME, blobRange, outputStream)).thenReturn(true);
+
+        blobstoreClient.downloadFile(FILENAME, blobRange, outputStream, HearingSource.CVP.name());
+
+        verifyNoInteractions(hrsCvpBlobContainerClient, hrsVhBlobContainerClient);
+        verify(segmentDiskCache, never()).fillInBackground(any(), anyString(), any());
+    }
+
+    @Test
+    void streamFileShouldUseAsyncClientForSource() {
+        BlobAsyncClient blobAsyncClient = mock(BlobAsyncClient.class);
+        BlobDownloadAsyncResponse downloadResponse = mock(BlobDownloadAsyncResponse.class);
+        ByteBuffer content = ByteBuffer.wrap(new byte[]{1, 2, 3});
+        BlobRange blobRange = new BlobRange(0, 3L);
+        when(hrsVhBlobContainerAsyncClient.getBlobAsyncClient(FILENAME)).thenReturn(blobAsyncClient);
+        when(blobAsyncClient.downloadStreamWithResponse(eq(blobRange), any(DownloadRetryOptions.class), eq(null),
+                                                        eq(false)))
+            .thenReturn(Mono.just(downloadResponse));
+        when(downloadResponse.getValue()).thenReturn(Flux.just(content));
+
+        Flux<ByteBuffer> body = blobstoreClient.streamFile(FILENAME, blobRange, HearingSource.VH.name());
+
+        assertEquals(content, body.blockFirst());
+        verifyNoInteractions(hrsCvpBlobContainerAsyncClient, hrsVhBlobContainerClient);
+    }
 }
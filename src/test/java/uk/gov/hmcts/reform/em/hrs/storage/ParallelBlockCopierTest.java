@@ -0,0 +1,108 @@
+package uk.gov.hmcts.reform.em.hrs.storage;
+
+import com.azure.storage.blob.BlobAsyncClient;
+import com.azure.storage.blob.BlobContainerAsyncClient;
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.BlockBlobItem;
+import com.azure.storage.blob.specialized.BlockBlobAsyncClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+import uk.gov.hmcts.reform.em.hrs.exception.BlobCopyException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ParallelBlockCopierTest {
+
+    private static final long ONE_MB = 1024L * 1024L;
+    private static final String FILENAME = "folder/file.mp4";
+    private static final String SOURCE_URI = "http://cvp/folder/file.mp4?sas";
+
+    private final BlobContainerAsyncClient containerClient = mock(BlobContainerAsyncClient.class);
+    private final BlobAsyncClient blobClient = mock(BlobAsyncClient.class);
+    private final BlockBlobAsyncClient blockBlobClient = mock(BlockBlobAsyncClient.class);
+
+    private final ParallelBlockCopier underTest = new ParallelBlockCopier(containerClient, 10, 1, 2, 2);
+
+    @BeforeEach
+    void setUp() {
+        when(containerClient.getBlobAsyncClient(FILENAME)).thenReturn(blobClient);
+        when(blobClient.getBlockBlobAsyncClient()).thenReturn(blockBlobClient);
+        when(blockBlobClient.commitBlockList(anyList(), anyBoolean()))
+            .thenReturn(Mono.just(mock(BlockBlobItem.class)));
+    }
+
+    @Test
+    void shouldUseOnlyForRecordingsAboveThreshold() {
+        assertThat(underTest.shouldUse(null)).isFalse();
+        assertThat(underTest.shouldUse(9 * ONE_MB)).isFalse();
+        assertThat(underTest.shouldUse(10 * ONE_MB)).isTrue();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void copyShouldStageEveryBlockAndCommitThemInOrder() {
+        when(blockBlobClient.stageBlockFromUrl(anyString(), eq(SOURCE_URI), any(BlobRange.class)))
+            .thenReturn(Mono.empty());
+
+        underTest.copy(FILENAME, SOURCE_URI, 2 * ONE_MB + 10).join();
+
+        ArgumentCaptor<BlobRange> ranges = ArgumentCaptor.forClass(BlobRange.class);
+        verify(blockBlobClient, times(3)).stageBlockFromUrl(anyString(), eq(SOURCE_URI), ranges.capture());
+        assertThat(ranges.getAllValues())
+            .extracting(BlobRange::getOffset, BlobRange::getCount)
+            .containsExactlyInAnyOrder(
+                tuple(0L, ONE_MB),
+                tuple(ONE_MB, ONE_MB),
+                tuple(2 * ONE_MB, 10L)
+            );
+
+        ArgumentCaptor<List<String>> blockIds = ArgumentCaptor.forClass(List.class);
+        verify(blockBlobClient).commitBlockList(blockIds.capture(), eq(true));
+        assertThat(blockIds.getValue()).hasSize(3).doesNotHaveDuplicates();
+        assertThat(blockIds.getValue()).extracting(String::length).containsOnly(blockIds.getValue().get(0).length());
+    }
+
+    @Test
+    void copyShouldRetryFailedBlock() {
+        AtomicInteger attempts = new AtomicInteger();
+        when(blockBlobClient.stageBlockFromUrl(anyString(), eq(SOURCE_URI), any(BlobRange.class)))
+            .thenReturn(Mono.defer(() -> attempts.incrementAndGet() == 1
+                ? Mono.error(new RuntimeException("timeout"))
+                : Mono.empty()));
+
+        underTest.copy(FILENAME, SOURCE_URI, ONE_MB).join();
+
+        assertThat(attempts.get()).isEqualTo(2);
+        verify(blockBlobClient).commitBlockList(anyList(), eq(true));
+    }
+
+    @Test
+    void copyShouldFailWithoutCommittingWhenBlockKeepsFailing() {
+        when(blockBlobClient.stageBlockFromUrl(anyString(), eq(SOURCE_URI), any(BlobRange.class)))
+            .thenReturn(Mono.error(new RuntimeException("forbidden")));
+
+        var copy = underTest.copy(FILENAME, SOURCE_URI, ONE_MB);
+
+        assertThat(copy).failsWithin(Duration.ofSeconds(5))
+            .withThrowableThat()
+            .withCauseInstanceOf(BlobCopyException.class);
+        verify(blockBlobClient, never()).commitBlockList(anyList(), anyBoolean());
+    }
+}
@@ -0,0 +1,159 @@
+package uk.gov.hmcts.reform.em.hrs.storage;
+
+import com.azure.storage.blob.models.BlobRange;
+import com.azure.storage.blob.models.DownloadRetryOptions;
+import com.azure.storage.blob.specialized.BlockBlobClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+import uk.gov.hmcts.reform.em.hrs.exception.SegmentDownloadException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class ParallelRangeDownloaderTest {
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final DownloadRetryOptions RETRY_OPTIONS = new DownloadRetryOptions();
+
+    private final ParallelRangeDownloader underTest = new ParallelRangeDownloader(1, 3, 2, 1, 4, 1024);
+    private final BlockBlobClient blobClient = mock(BlockBlobClient.class);
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+    }
+
+    @Test
+    void shouldOnlySplitRangesLargerThanOneChunk() {
+        assertThat(underTest.shouldUse(new BlobRange(0, CHUNK_SIZE + 1L), HearingSource.CVP)).isTrue();
+        assertThat(underTest.shouldUse(new BlobRange(0, (long) CHUNK_SIZE), HearingSource.CVP)).isFalse();
+        assertThat(underTest.shouldUse(new BlobRange(0), HearingSource.CVP)).isFalse();
+        assertThat(underTest.shouldUse(null, HearingSource.CVP)).isFalse();
+    }
+
+    @Test
+    void shouldNotSplitWhenParallelismIsOne() {
+        assertThat(underTest.shouldUse(new BlobRange(0, 10L * CHUNK_SIZE), HearingSource.VH)).isFalse();
+    }
+
+    @Test
+    void shouldWriteChunksInOrderWhateverOrderTheyArriveIn() {
+        byte[] blob = new byte[10 * CHUNK_SIZE + 100];
+        ThreadLocalRandom.current().nextBytes(blob);
+        List<BlobRange> requestedRanges = serveFrom(blob);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        underTest.download(blobClient, new BlobRange(50, blob.length - 50L), output, HearingSource.CVP, RETRY_OPTIONS);
+
+        byte[] expected = new byte[blob.length - 50];
+        System.arraycopy(blob, 50, expected, 0, expected.length);
+        assertThat(output.toByteArray()).isEqualTo(expected);
+        assertThat(requestedRanges)
+            .hasSize(11)
+            .allMatch(range -> range.getCount() <= CHUNK_SIZE);
+    }
+
+    @Test
+    void shouldStreamRangeOverOneConnectionWhenMemoryBudgetIsUsedUp() {
+        ParallelRangeDownloader noBudget = new ParallelRangeDownloader(1, 3, 1, 3, 4, 0);
+        byte[] blob = new byte[4 * CHUNK_SIZE];
+        ThreadLocalRandom.current().nextBytes(blob);
+        List<BlobRange> requestedRanges = serveFrom(blob);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        try {
+            noBudget.download(blobClient, new BlobRange(0, (long) blob.length), output, HearingSource.CVP,
+                              RETRY_OPTIONS);
+        } finally {
+            noBudget.shutdown();
+        }
+
+        assertThat(output.toByteArray()).isEqualTo(blob);
+        assertThat(requestedRanges).singleElement()
+            .satisfies(range -> assertThat(range.getCount()).isEqualTo(blob.length));
+    }
+
+    @Test
+    void shouldReturnMemoryBudgetOnceDownloadIsWritten() {
+        ParallelRangeDownloader threeChunkBudget = new ParallelRangeDownloader(1, 3, 1, 3, 4, 3);
+        byte[] blob = new byte[6 * CHUNK_SIZE];
+        ThreadLocalRandom.current().nextBytes(blob);
+        List<BlobRange> requestedRanges = serveFrom(blob);
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                threeChunkBudget.download(blobClient, new BlobRange(0, (long) blob.length),
+                                          new ByteArrayOutputStream(), HearingSource.CVP, RETRY_OPTIONS);
+            }
+        } finally {
+            threeChunkBudget.shutdown();
+        }
+
+        assertThat(requestedRanges)
+            .hasSize(12)
+            .allMatch(range -> range.getCount() == CHUNK_SIZE);
+    }
+
+    @Test
+    void shouldFailDownloadWhenAChunkFails() {
+        doThrow(new IllegalStateException("blob unavailable")).when(blobClient).downloadStreamWithResponse(
+            any(OutputStream.class), argThat(range -> range != null && range.getOffset() == CHUNK_SIZE),
+            any(), any(), eq(false), any(), any()
+        );
+
+        assertThatThrownBy(() -> underTest.download(
+            blobClient, new BlobRange(0, 4L * CHUNK_SIZE), new ByteArrayOutputStream(), HearingSource.CVP,
+            RETRY_OPTIONS
+        )).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldStopWhenClientGoesAway() {
+        OutputStream closedOutput = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> underTest.download(
+            blobClient, new BlobRange(0, 4L * CHUNK_SIZE), closedOutput, HearingSource.CVP, RETRY_OPTIONS
+        )).isInstanceOf(SegmentDownloadException.class)
+            .hasCauseInstanceOf(IOException.class);
+    }
+
+    private List<BlobRange> serveFrom(byte[] blob) {
+        List<BlobRange> requestedRanges = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            OutputStream chunk = invocation.getArgument(0);
+            BlobRange range = invocation.getArgument(1);
+            requestedRanges.add(range);
+            Thread.sleep(ThreadLocalRandom.current().nextInt(5));
+            chunk.write(blob, (int) range.getOffset(), range.getCount().intValue());
+            return null;
+        }).when(blobClient).downloadStreamWithResponse(
+            any(OutputStream.class), any(BlobRange.class), eq(RETRY_OPTIONS), any(), eq(false), any(), any()
+        );
+        return requestedRanges;
+    }
+}
@@ -0,0 +1,175 @@
+package uk.gov.hmcts.reform.em.hrs.storage;
+
+import com.azure.storage.blob.models.BlobRange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.gov.hmcts.reform.em.hrs.dto.HearingSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class SegmentDiskCacheTest {
+
+    private static final String FILENAME = "folder/segment.mp4";
+    private static final int ONE_MB = 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private SegmentDiskCache underTest;
+    private final byte[] blob = randomBytes(ONE_MB);
+    private final AtomicInteger downloads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        underTest = new SegmentDiskCache(true, directory.toString(), 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+    }
+
+    @Test
+    void shouldOnlyFillOnSecondMiss() {
+        underTest.fillInBackground(HearingSource.CVP, FILENAME, downloader(blob));
+
+        assertThat(downloads).hasValue(0);
+        assertThat(underTest.serve(HearingSource.CVP, FILENAME, null, new ByteArrayOutputStream())).isFalse();
+    }
+
+    @Test
+    void shouldServeRangesFromDiskOnceFilled() {
+        fill(HearingSource.CVP, FILENAME, blob);
+
+        ByteArrayOutputStream full = new ByteArrayOutputStream();
+        ByteArrayOutputStream range = new ByteArrayOutputStream();
+
+        assertThat(underTest.serve(HearingSource.CVP, FILENAME, new BlobRange(0, (long) blob.length), full)).isTrue();
+        assertThat(underTest.serve(HearingSource.CVP, FILENAME, new BlobRange(100, 50L), range)).isTrue();
+
+        assertThat(full.toByteArray()).isEqualTo(blob);
+        byte[] expected = new byte[50];
+        System.arraycopy(blob, 100, expected, 0, 50);
+        assertThat(range.toByteArray()).isEqualTo(expected);
+        assertThat(underTest.serve(HearingSource.VH, FILENAME, null, new ByteArrayOutputStream())).isFalse();
+    }
+
+    @Test
+    void shouldFillOnlyOnceForConcurrentMisses() {
+        CountDownLatch release = new CountDownLatch(1);
+        Consumer<Path> slowDownloader = path -> {
+            awaitRelease(release);
+            downloader(blob).accept(path);
+        };
+
+        for (int i = 0; i < 5; i++) {
+            underTest.fillInBackground(HearingSource.CVP, FILENAME, slowDownloader);
+        }
+        release.countDown();
+
+        await().until(() -> underTest.serve(HearingSource.CVP, FILENAME, null, new ByteArrayOutputStream()));
+        assertThat(downloads).hasValue(1);
+    }
+
+    @Test
+    void shouldDeleteFileWhenInvalidated() throws IOException {
+        fill(HearingSource.CVP, FILENAME, blob);
+
+        underTest.invalidate(HearingSource.CVP, FILENAME);
+
+        assertThat(underTest.serve(HearingSource.CVP, FILENAME, null, new ByteArrayOutputStream())).isFalse();
+        await().untilAsserted(() -> assertThat(cachedFiles()).isZero());
+    }
+
+    @Test
+    void shouldEvictToStayWithinMaxSize() {
+        fill(HearingSource.CVP, "a.mp4", blob);
+        fill(HearingSource.CVP, "b.mp4", blob);
+
+        underTest.fillInBackground(HearingSource.CVP, "c.mp4", downloader(blob));
+        underTest.fillInBackground(HearingSource.CVP, "c.mp4", downloader(blob));
+
+        await().untilAsserted(() -> {
+            assertThat(downloads).hasValue(3);
+            assertThat(cachedFiles()).isLessThanOrEqualTo(2);
+        });
+    }
+
+    @Test
+    void shouldNotKeepFailedFills() {
+        Consumer<Path> failing = path -> {
+            throw new IllegalStateException("blob unavailable");
+        };
+        underTest.fillInBackground(HearingSource.CVP, FILENAME, failing);
+        underTest.fillInBackground(HearingSource.CVP, FILENAME, failing);
+
+        await().untilAsserted(() -> {
+            assertThat(underTest.serve(HearingSource.CVP, FILENAME, null, new ByteArrayOutputStream())).isFalse();
+            assertThat(cachedFiles()).isZero();
+        });
+    }
+
+    @Test
+    void shouldDoNothingWhenDisabled() {
+        SegmentDiskCache disabled = new SegmentDiskCache(false, directory.resolve("disabled").toString(), 2, 1);
+
+        disabled.fillInBackground(HearingSource.CVP, FILENAME, downloader(blob));
+        disabled.fillInBackground(HearingSource.CVP, FILENAME, downloader(blob));
+
+        assertThat(downloads).hasValue(0);
+        assertThat(disabled.serve(HearingSource.CVP, FILENAME, null, new ByteArrayOutputStream())).isFalse();
+        disabled.shutdown();
+    }
+
+    private void fill(HearingSource hearingSource, String filename, byte[] content) {
+        underTest.fillInBackground(hearingSource, filename, downloader(content));
+        underTest.fillInBackground(hearingSource, filename, downloader(content));
+        await().until(() -> underTest.serve(hearingSource, filename, new BlobRange(0, 1L),
+                                            new ByteArrayOutputStream()));
+    }
+
+    private Consumer<Path> downloader(byte[] content) {
+        return path -> {
+            try {
+                Files.write(path, content);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            downloads.incrementAndGet();
+        };
+    }
+
+    private static void awaitRelease(CountDownLatch release) {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private long cachedFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,97 @@
+package uk.gov.hmcts.reform.em.hrs.storage;
+
+import com.azure.core.util.Context;
+import com.azure.storage.blob.BlobClient;
+import com.azure.storage.blob.BlobContainerClient;
+import com.azure.storage.blob.BlobServiceClient;
+import com.azure.storage.blob.models.UserDelegationKey;
+import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserDelegationSasGeneratorTest {
+
+    private static final String CVP_URL = "https://cvprecordingssa.blob.core.windows.net";
+
+    private final BlobContainerClient cvpBlobContainerClient = mock(BlobContainerClient.class);
+    private final BlobServiceClient blobServiceClient = mock(BlobServiceClient.class);
+    private final BlobClient blobClient = mock(BlobClient.class);
+
+    private final UserDelegationSasGenerator underTest =
+        new UserDelegationSasGenerator(cvpBlobContainerClient, CVP_URL, 360, 15);
+
+    @BeforeEach
+    void setUp() {
+        when(cvpBlobContainerClient.getServiceClient()).thenReturn(blobServiceClient);
+        when(cvpBlobContainerClient.getBlobClient(any())).thenReturn(blobClient);
+        when(blobClient.generateUserDelegationSas(
+            any(BlobServiceSasSignatureValues.class),
+            any(UserDelegationKey.class),
+            eq("cvprecordingssa"),
+            eq(Context.NONE)
+        )).thenReturn("sas");
+    }
+
+    @Test
+    void shouldReuseDelegationKeyAcrossFiles() {
+        mockDelegationKey(OffsetDateTime.now().plusHours(6));
+
+        assertThat(underTest.generateReadSas("file-1.mp4")).isEqualTo("sas");
+        assertThat(underTest.generateReadSas("file-2.mp4")).isEqualTo("sas");
+
+        verify(blobServiceClient, times(1)).getUserDelegationKey(any(), any());
+    }
+
+    @Test
+    void shouldFetchNewKeyWhenCachedKeyIsAboutToExpire() {
+        mockDelegationKey(OffsetDateTime.now().plusMinutes(30));
+
+        underTest.generateReadSas("file-1.mp4");
+        underTest.generateReadSas("file-2.mp4");
+
+        verify(blobServiceClient, times(2)).getUserDelegationKey(any(), any());
+    }
+
+    @Test
+    void backgroundRefreshShouldDoNothingBeforeFirstUse() {
+        underTest.refreshIfExpiring();
+
+        verify(blobServiceClient, never()).getUserDelegationKey(any(), any());
+    }
+
+    @Test
+    void backgroundRefreshShouldRenewExpiringKey() {
+        mockDelegationKey(OffsetDateTime.now().plusMinutes(30));
+        underTest.generateReadSas("file-1.mp4");
+
+        underTest.refreshIfExpiring();
+
+        verify(blobServiceClient, times(2)).getUserDelegationKey(any(), any());
+    }
+
+    @Test
+    void backgroundRefreshShouldKeepValidKey() {
+        mockDelegationKey(OffsetDateTime.now().plusHours(6));
+        underTest.generateReadSas("file-1.mp4");
+
+        underTest.refreshIfExpiring();
+
+        verify(blobServiceClient, times(1)).getUserDelegationKey(any(), any());
+    }
+
+    private void mockDelegationKey(OffsetDateTime expiry) {
+        UserDelegationKey key = new UserDelegationKey().setSignedExpiry(expiry);
+        when(blobServiceClient.getUserDelegationKey(any(), any())).thenReturn(key);
+    }
+}